@@ -0,0 +1,66 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.items.HealingItem;
+import tales.of.knights.items.Weapon;
+import tales.of.knights.simulation.AttackPolicy;
+import tales.of.knights.simulation.BattleOutcome;
+import tales.of.knights.simulation.BattleSimulator;
+import tales.of.knights.simulation.HealingPolicy;
+
+/**
+ * BattleBenchmark - Measures a complete scripted battle
+ * 
+ * Each invocation builds a fresh hero and monster and fights them to the end
+ * with the headless BattleSimulator, so the score covers setup and every turn.
+ * 
+ * @author cobbina
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BattleBenchmark {
+    
+    /** Simulator that always attacks */
+    private BattleSimulator attackOnly;
+    
+    /** Simulator that drinks potions when low on health */
+    private BattleSimulator healing;
+    
+    /**
+     * Builds the simulators and silences game output for the benchmark thread
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        OutputContext.bind(NullOutput.INSTANCE);
+        this.attackOnly = new BattleSimulator(new AttackPolicy());
+        this.healing = new BattleSimulator(new HealingPolicy(40));
+    }
+    
+    @Benchmark
+    public BattleOutcome chamberOneAttackOnly() {
+        return this.attackOnly.fight(new Hero("Bench", "Knight", 100, 15), new Monster("Goblin", 40, 12, 1));
+    }
+    
+    @Benchmark
+    public BattleOutcome chamberFiveWithPotions() {
+        Hero hero = new Hero("Bench", "Knight", 100, 15);
+        hero.equipWeapon(new Weapon("Iron Sword", 20, 50));
+        hero.getItemBag().addItem(new HealingItem("Health Potion", 25, 3, 25));
+        hero.getItemBag().addItem(new HealingItem("Health Potion", 25, 3, 25));
+        return this.healing.fight(hero, new Monster("Demon", 80, 20, 5));
+    }
+}
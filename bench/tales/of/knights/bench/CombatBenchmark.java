@@ -0,0 +1,147 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tales.of.knights.characters.CombatStats;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.items.Armor;
+import tales.of.knights.items.Weapon;
+import tales.of.knights.random.GameRandom;
+import tales.of.knights.simulation.AttackPolicy;
+import tales.of.knights.simulation.BattleOutcome;
+import tales.of.knights.simulation.BattleSimulator;
+
+/**
+ * CombatBenchmark - Measures the single-hit combat methods
+ * 
+ * Covers Fighter.attack() and Fighter.takeDamage() with and without equipment,
+ * and the random damage roll in Monster.attack(). Output is bound to NullOutput,
+ * as in simulations, so the numbers show the cost of the rules themselves.
+ * 
+ * The same hit and the same whole duel are also measured both ways: through
+ * the getter-based Fighter methods, and on CombatStats snapshots with
+ * rollAttack() and reduce(), as BattleSimulator.duel() fights.
+ * 
+ * @author cobbina
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatBenchmark {
+    
+    /** Hero with no equipment */
+    private Hero bareHero;
+    
+    /** Hero with a weapon equipped */
+    private Hero armedHero;
+    
+    /** Monster with no armor, used as a damage target */
+    private Monster bareTarget;
+    
+    /** Monster with armor equipped, used as a damage target */
+    private Monster armoredTarget;
+    
+    /** Monster whose random attack roll is measured */
+    private Monster attacker;
+    
+    /** Stats of the armed hero */
+    private CombatStats armedStats;
+    
+    /** Stats of an armored demon, the duel opponent */
+    private CombatStats armoredStats;
+    
+    /** Generator for the CombatStats rolls */
+    private GameRandom random;
+    
+    /** Simulator that always attacks, for the duels */
+    private BattleSimulator simulator;
+    
+    /**
+     * Builds the fighters and silences game output for the benchmark thread
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        OutputContext.bind(NullOutput.INSTANCE);
+        this.bareHero = new Hero("Bench", "Knight", 100, 15);
+        this.armedHero = new Hero("Bench", "Knight", 100, 15);
+        this.armedHero.equipWeapon(new Weapon("Iron Sword", 20, 50));
+        this.bareTarget = new Monster("Troll", 1_000_000, 14, 3);
+        this.armoredTarget = new Monster("Troll", 1_000_000, 14, 3);
+        this.armoredTarget.equipArmor(new Armor("Steel Armor", 10, 60));
+        this.attacker = new Monster("Dragon", 60, 16, 4);
+        
+        Monster demon = new Monster("Demon", 80, 20, 5);
+        demon.equipArmor(new Armor("Steel Armor", 10, 60));
+        this.armedStats = CombatStats.of(this.armedHero);
+        this.armoredStats = CombatStats.of(demon);
+        this.random = new GameRandom(42);
+        this.simulator = new BattleSimulator(new AttackPolicy());
+    }
+    
+    @Benchmark
+    public int attackWithoutWeapon() {
+        return this.bareHero.attack();
+    }
+    
+    @Benchmark
+    public int attackWithWeapon() {
+        return this.armedHero.attack();
+    }
+    
+    @Benchmark
+    public int takeDamageWithoutArmor() {
+        this.bareTarget.takeDamage(25);
+        this.bareTarget.setHealth(this.bareTarget.getMaxHealth());
+        return this.bareTarget.getHealth();
+    }
+    
+    @Benchmark
+    public int takeDamageWithArmor() {
+        this.armoredTarget.takeDamage(25);
+        this.armoredTarget.setHealth(this.armoredTarget.getMaxHealth());
+        return this.armoredTarget.getHealth();
+    }
+    
+    @Benchmark
+    public int monsterAttackRoll() {
+        return this.attacker.attack();
+    }
+    
+    @Benchmark
+    public int hitOnFighters() {
+        this.armoredTarget.takeDamage(this.armedHero.attack());
+        int health = this.armoredTarget.getHealth();
+        this.armoredTarget.setHealth(this.armoredTarget.getMaxHealth());
+        return health;
+    }
+    
+    @Benchmark
+    public int hitOnCombatStats() {
+        return this.armoredStats.getHealth() - this.armoredStats.reduce(this.armedStats.rollAttack(this.random));
+    }
+    
+    @Benchmark
+    public BattleOutcome duelOnFighters() {
+        Hero hero = new Hero("Bench", "Knight", 100, 15);
+        hero.equipWeapon(new Weapon("Iron Sword", 20, 50));
+        Monster demon = new Monster("Demon", 80, 20, 5);
+        demon.equipArmor(new Armor("Steel Armor", 10, 60));
+        return this.simulator.fight(hero, demon);
+    }
+    
+    @Benchmark
+    public BattleOutcome duelOnCombatStats() {
+        return this.simulator.duel(this.armedStats, this.armoredStats);
+    }
+}
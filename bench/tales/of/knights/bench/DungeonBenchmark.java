@@ -0,0 +1,140 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.places.Dungeon;
+import tales.of.knights.places.Room;
+
+/**
+ * DungeonBenchmark - Measures room generation and dungeon progression
+ * 
+ * Room construction runs Room.createMonster for the given level. The nextRoom
+ * benchmarks move a dungeon down one level from a fixed starting level: the
+ * dungeon is put back on that level before every call, outside the
+ * measurement, so each parameter value measures its own step.
+ * - nextRoom: a classic dungeon, plain or pooled; from Chamber 5 it stays in
+ *   the final chamber and refills it
+ * - nextRoomEndless: an endless dungeon, shallow and deep
+ * 
+ * @author cobbina
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DungeonBenchmark {
+    
+    /** Seed of the endless dungeon */
+    private static final long SEED = 42;
+    
+    /**
+     * Silences game output for the benchmark thread
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        OutputContext.bind(NullOutput.INSTANCE);
+    }
+    
+    @Benchmark
+    public Room createRoom(RoomLevel state) {
+        return new Room(state.level);
+    }
+    
+    @Benchmark
+    public Room nextRoom(ClassicDungeon state) {
+        state.dungeon.nextRoom();
+        return state.dungeon.getCurrentRoom();
+    }
+    
+    @Benchmark
+    public Room nextRoomEndless(EndlessDungeon state) {
+        state.dungeon.nextRoom();
+        return state.dungeon.getCurrentRoom();
+    }
+    
+    /**
+     * RoomLevel State - The level of the rooms built by createRoom
+     */
+    @State(Scope.Thread)
+    public static class RoomLevel {
+        
+        /** Level of the rooms */
+        @Param({"1", "5"})
+        public int level;
+    }
+    
+    /**
+     * ClassicDungeon State - A five-chamber dungeon put back on its chamber before every call
+     */
+    @State(Scope.Thread)
+    public static class ClassicDungeon {
+        
+        /** Chamber every call starts from */
+        @Param({"1", "4", "5"})
+        public int chamber;
+        
+        /** True to reuse one Room and Monster for every level */
+        @Param({"false", "true"})
+        public boolean pooled;
+        
+        /** The dungeon */
+        private Dungeon dungeon;
+        
+        /**
+         * Builds the dungeon
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            OutputContext.bind(NullOutput.INSTANCE);
+            this.dungeon = new Dungeon(this.chamber, this.pooled);
+        }
+        
+        /**
+         * Moves the dungeon back to its starting chamber
+         */
+        @Setup(Level.Invocation)
+        public void rewind() {
+            this.dungeon.reset(this.chamber);
+        }
+    }
+    
+    /**
+     * EndlessDungeon State - An endless dungeon put back on its floor before every call
+     */
+    @State(Scope.Thread)
+    public static class EndlessDungeon {
+        
+        /** Floor every call starts from */
+        @Param({"1", "500"})
+        public int floor;
+        
+        /** The dungeon */
+        private Dungeon dungeon;
+        
+        /**
+         * Builds the dungeon
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            OutputContext.bind(NullOutput.INSTANCE);
+            this.dungeon = Dungeon.endless(SEED, this.floor);
+        }
+        
+        /**
+         * Moves the dungeon back to its starting floor
+         */
+        @Setup(Level.Invocation)
+        public void rewind() {
+            this.dungeon.reset(this.floor);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.items.Item;
+import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCatalog;
+import tales.of.knights.items.Weapon;
+
+/**
+ * InventoryBenchmark - Measures ItemBag add, remove and lookup
+ * 
+ * The slot benchmarks use weapons, which never stack, so every add fills a
+ * new slot and every remove empties one. The bag is kept half full so adds
+ * and removes never hit the capacity check. The stack benchmark adds and
+ * removes potions on a stack that always has room.
+ * 
+ * @author cobbina
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+    
+    /** Bag of weapons, one per slot, kept half full */
+    private ItemBag bag;
+    
+    /** Weapon added and removed by the slot benchmarks */
+    private Item weapon;
+    
+    /** Bag holding one stack of potions */
+    private ItemBag stackBag;
+    
+    /**
+     * Fills the bags and silences game output for the benchmark thread
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        OutputContext.bind(NullOutput.INSTANCE);
+        this.bag = new ItemBag();
+        for (int i = 0; i < ItemBag.DEFAULT_CAPACITY / 2; i++) {
+            this.bag.addItem(new Weapon("Sword " + (i + 1), 10 + i, 30));
+        }
+        this.weapon = new Weapon("Iron Sword", 20, 50);
+        
+        this.stackBag = new ItemBag();
+        for (int i = 0; i < ItemBag.MAX_STACK / 2; i++) {
+            this.stackBag.addItem(ItemCatalog.HEALTH_POTION);
+        }
+    }
+    
+    @Benchmark
+    public boolean addThenRemoveLast() {
+        this.bag.addItem(this.weapon);
+        return this.bag.removeItem(this.bag.getItemCount() - 1);
+    }
+    
+    @Benchmark
+    public boolean addThenRemoveFirst() {
+        this.bag.addItem(this.weapon);
+        return this.bag.removeItem(0);
+    }
+    
+    @Benchmark
+    public Item getItem() {
+        return this.bag.getItem(2);
+    }
+    
+    @Benchmark
+    public boolean addThenRemoveFromStack() {
+        this.stackBag.addItem(ItemCatalog.HEALTH_POTION);
+        return this.stackBag.removeItem(0);
+    }
+}
@@ -4,7 +4,26 @@
  */
 package tales.of.knights;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import tales.of.knights.bots.BotRunner;
+import tales.of.knights.bots.GreedyBotPolicy;
+import tales.of.knights.bots.RuleBasedBotPolicy;
+import tales.of.knights.events.SegmentedEventLog;
 import tales.of.knights.game.TalesofKnights;
+import tales.of.knights.io.BufferedOutput;
+import tales.of.knights.io.ConsoleOutput;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.MappedInput;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.items.PricingEngine;
+import tales.of.knights.items.SharedShopStock;
+import tales.of.knights.metrics.GameMetrics;
+import tales.of.knights.server.SessionHost;
+import tales.of.knights.server.TcpFrontend;
+import tales.of.knights.simulation.AutoBalancer;
+import tales.of.knights.simulation.BalanceResult;
 
 /**
  * Entry point for Tales of Knights
@@ -14,14 +33,187 @@ public class Main {
     
     /**
      * Main method - Entry point
+     * 
+     * Usage: java -jar Tales-of-Knights.jar [--seed number] [--events directory]
+     *        [--endless seed] [--script file [--quiet]] [--serve port]
+     *        [--shop-stock capacity] [--dynamic-prices] [--balance generations]
+     *        [--bots games] [save-file]
+     * 
+     * When a save file is given, the game is resumed from it if it exists
+     * and autosaved to it after every battle. A seed makes every random roll
+     * repeatable, so the same input always plays out the same way. An events
+     * directory records every state change in a binary event log there.
+     * The endless option replaces the five chambers with a dungeon generated
+     * from the given seed that never ends.
+     * A script file is played instead of the console, one command per line,
+     * until it runs out; --quiet throws the game's text away so the script
+     * runs as fast as the game allows.
+     * With --serve, no local game is played: remote players connect over TCP
+     * to the given port (e.g. nc localhost 4000) and each gets their own game.
+     * With --shop-stock, the shop no longer has an endless supply: every game
+     * in the process buys from one shared stock holding the given number of
+     * each item, restocked every few seconds.
+     * With --dynamic-prices, shop prices follow the demand of every game in
+     * the process instead of staying at each item's value.
+     * With --balance, no game is played either: the monster curve is searched
+     * for the given number of generations and the best curves are printed.
+     * With --bots, the given number of whole games is played by each built-in
+     * bot policy on a thread pool, and each policy's results are printed.
+     * Game statistics are published over JMX as tales.of.knights:type=GameMetrics.
+     * 
      * @param args command line arguments
      */
     public static void main(String[] args) {
+        SegmentedEventLog events = null;
         try {
-            TalesofKnights game = new TalesofKnights();
+            GameMetrics.INSTANCE.register();
+            Long seed = null;
+            Long endless = null;
+            Path script = null;
+            boolean quiet = false;
+            boolean dynamicPrices = false;
+            int serve = -1;
+            int balance = -1;
+            int bots = -1;
+            int shopStock = 0;
+            int arg = 0;
+            while (args.length > arg && args[arg].startsWith("--")) {
+                String option = args[arg++];
+                if (option.equals("--quiet")) {
+                    quiet = true;
+                    continue;
+                }
+                if (option.equals("--dynamic-prices")) {
+                    dynamicPrices = true;
+                    continue;
+                }
+                if (args.length == arg) {
+                    System.out.println("Missing value for option: " + option);
+                    break;
+                }
+                String value = args[arg++];
+                switch (option) {
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--endless" -> endless = Long.parseLong(value);
+                    case "--script" -> script = Paths.get(value);
+                    case "--serve" -> serve = Integer.parseInt(value);
+                    case "--balance" -> balance = Integer.parseInt(value);
+                    case "--bots" -> bots = Integer.parseInt(value);
+                    case "--shop-stock" -> shopStock = Integer.parseInt(value);
+                    case "--events" -> events = new SegmentedEventLog(Paths.get(value));
+                    default -> System.out.println("Unknown option: " + option);
+                }
+            }
+            
+            SharedShopStock stock = shopStock > 0
+                    ? new SharedShopStock(shopStock, SharedShopStock.DEFAULT_RESTOCK_MILLIS) : null;
+            PricingEngine pricing = dynamicPrices
+                    ? new PricingEngine(PricingEngine.DEFAULT_RECOMPUTE_MILLIS, PricingEngine.DEFAULT_SELL_PERCENT) : null;
+            
+            if (serve >= 0) {
+                serve(serve, stock, pricing);
+                return;
+            }
+            if (balance >= 0) {
+                balance(balance, seed);
+                return;
+            }
+            if (bots >= 0) {
+                bots(bots, seed);
+                return;
+            }
+            
+            TalesofKnights game;
+            if (script != null) {
+                GameOutput out = quiet ? NullOutput.INSTANCE : new BufferedOutput(System.out);
+                game = new TalesofKnights(new MappedInput(script), out);
+            } else {
+                game = new TalesofKnights();
+            }
+            if (seed != null) {
+                game.setSeed(seed);
+            }
+            if (endless != null) {
+                game.setEndless(endless);
+            }
+            if (events != null) {
+                game.setEventLog(events);
+            }
+            if (stock != null) {
+                game.setShopStock(stock);
+            }
+            if (pricing != null) {
+                game.setPricing(pricing);
+            }
+            if (args.length > arg) {
+                game.setSaveFile(Paths.get(args[arg]));
+            }
             game.startGame();
         } catch (Exception e) {
             System.out.println("Fatal error: " + e.getMessage());
+        } finally {
+            if (events != null) {
+                try {
+                    events.close();
+                } catch (IOException e) {
+                    System.out.println("Error writing event log: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Runs the TCP frontend until the process is stopped
+     * 
+     * @param port the port to listen on
+     * @param stock the stock every session's shop sells from, or null for endless shops
+     * @param pricing the engine every session's prices come from, or null for fixed prices
+     * @throws IOException if the port cannot be bound
+     * @throws InterruptedException if interrupted while serving
+     */
+    private static void serve(int port, SharedShopStock stock, PricingEngine pricing) throws IOException, InterruptedException {
+        try (SessionHost host = new SessionHost();
+             TcpFrontend frontend = new TcpFrontend(host, port)) {
+            host.setShopStock(stock);
+            host.setPricing(pricing);
+            frontend.start();
+            System.out.println("Tales of Knights is listening on port " + frontend.getPort());
+            frontend.join();
+        }
+    }
+    
+    /**
+     * Searches for monster curves that hit the default win rate targets and prints the best
+     * 
+     * @param generations number of generations to breed
+     * @param seed the search seed, or null for a random one
+     */
+    private static void balance(int generations, Long seed) {
+        AutoBalancer balancer = new AutoBalancer();
+        balancer.setOutput(new ConsoleOutput());
+        if (seed != null) {
+            balancer.setSeed(seed);
+        }
+        for (BalanceResult result : balancer.search(generations, 3)) {
+            System.out.println(result);
+        }
+    }
+    
+    /**
+     * Plays games with each built-in bot policy and prints their results
+     * 
+     * @param games number of games per policy
+     * @param seed the batch seed, or null for a random one
+     */
+    private static void bots(int games, Long seed) {
+        for (BotRunner runner : new BotRunner[] {
+            new BotRunner(new GreedyBotPolicy()),
+            new BotRunner(new RuleBasedBotPolicy())
+        }) {
+            if (seed != null) {
+                runner.setSeed(seed);
+            }
+            System.out.println(runner.run(games));
         }
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.bots;
+
+/**
+ * BotGoal Enum - What a bot wants to do next outside of battle
+ * 
+ * Asked of the BotPolicy at every main, town and dungeon menu. The BotInput
+ * walks the menus towards the goal: to the inn to rest, to the shop, or down
+ * into the dungeon.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotPolicy
+ * @see BotInput
+ */
+public enum BotGoal {
+    
+    /** Rest in town to recover health (Hero.rest) */
+    REST,
+    
+    /** Buy items at the shop (Shopkeeper.sellItem) */
+    SHOP,
+    
+    /** Enter the next chamber and fight its monster */
+    FIGHT,
+    
+    /** Quit the game from the main menu */
+    QUIT
+}
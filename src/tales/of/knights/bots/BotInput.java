@@ -0,0 +1,308 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bots;
+
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.characters.Shopkeeper;
+import tales.of.knights.game.GameMenu;
+import tales.of.knights.game.TalesofKnights;
+import tales.of.knights.io.GameInput;
+import tales.of.knights.items.ItemCategory;
+import tales.of.knights.places.Room;
+
+/**
+ * BotInput Class - Player commands decided by a BotPolicy
+ * 
+ * Plays a real TalesofKnights game with no one at the keyboard: every time
+ * the game reads a line, the input asks the game which menu it is at
+ * (TalesofKnights.getMenu()) and answers with the option the policy picks.
+ * Shopping goes through the shop menu to Shopkeeper.sellItem(), resting
+ * through the town menu to Hero.rest(), and battles through the battle menu.
+ * 
+ * The input keeps the game moving whatever the policy says:
+ * - Resting at full health counts as FIGHT
+ * - Once a purchase fails (sold out or bag full), the bot leaves the shop and
+ *   a SHOP goal counts as FIGHT until the next battle
+ * - After maxDecisions lines the input ends, which stops the game
+ * 
+ * Winning the final chamber ends the input too, unless the policy goes on
+ * to New Game+. Inn, gambling and selling are never chosen.
+ * 
+ * Not thread safe - one input per game.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotPolicy
+ * @see BotRunner
+ */
+public class BotInput implements GameInput {
+    
+    /** Shop option that leaves the shop */
+    private static final String LEAVE_SHOP = "6";
+    
+    /** Policy that makes every decision */
+    private final BotPolicy policy;
+    
+    /** Name given to the bot's hero */
+    private final String name;
+    
+    /** Most lines answered before the input ends */
+    private final long maxDecisions;
+    
+    /** Game being played, or null until attached */
+    private TalesofKnights game;
+    
+    /** Number of lines answered */
+    private long decisions;
+    
+    /** Menu answered last, or null before the first line */
+    private GameMenu lastMenu;
+    
+    /** Current battle turn, starting at 1 */
+    private int battleTurn;
+    
+    /** Hero's gold just before the last purchase of this shop visit, or -1 */
+    private int goldBeforePurchase = -1;
+    
+    /** Whether a purchase failed since the last battle */
+    private boolean shopFailed;
+    
+    /** Number of times the final chamber was won */
+    private int clears;
+    
+    /** Whether the input ended because maxDecisions ran out */
+    private boolean outOfDecisions;
+    
+    /**
+     * Creates a new BotInput
+     * 
+     * @param policy the policy that plays - must not be null
+     * @param name the hero's name - must not be empty
+     * @param maxDecisions most lines to answer - must be positive
+     * 
+     * @throws IllegalArgumentException if an argument is null or out of range
+     */
+    public BotInput(BotPolicy policy, String name, long maxDecisions) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be empty");
+        }
+        if (maxDecisions <= 0) {
+            throw new IllegalArgumentException("Max decisions must be positive");
+        }
+        this.policy = policy;
+        this.name = name;
+        this.maxDecisions = maxDecisions;
+    }
+    
+    /**
+     * Attaches the input to the game it plays
+     * 
+     * The game is built with this input, so it can only be attached afterwards.
+     * Must be called before the game starts.
+     * 
+     * @param game the game reading from this input - must not be null
+     * 
+     * @throws IllegalArgumentException if game is null
+     */
+    public void attach(TalesofKnights game) {
+        if (game == null) {
+            throw new IllegalArgumentException("Game cannot be null");
+        }
+        this.game = game;
+    }
+    
+    /**
+     * Answers the menu the game is at
+     * 
+     * @return the policy's choice, or null once the bot is done
+     * 
+     * @throws IllegalStateException if the input was never attached to a game
+     */
+    @Override
+    public String readLine() {
+        if (this.game == null) {
+            throw new IllegalStateException("BotInput is not attached to a game");
+        }
+        if (this.decisions >= this.maxDecisions) {
+            this.outOfDecisions = true;
+            return null;
+        }
+        this.decisions++;
+        
+        GameMenu menu = this.game.getMenu();
+        String answer = answer(menu);
+        this.lastMenu = menu;
+        return answer;
+    }
+    
+    /**
+     * Gets the number of lines answered so far
+     * 
+     * @return decisions made
+     */
+    @Override
+    public long getLineCount() {
+        return this.decisions;
+    }
+    
+    /**
+     * Gets the number of times the final chamber was won
+     * 
+     * @return 0 if the bot never cleared the dungeon
+     */
+    public int getClears() {
+        return this.clears;
+    }
+    
+    /**
+     * Checks if the input ended because the bot ran out of decisions
+     * 
+     * @return true if maxDecisions lines were answered without the game ending
+     */
+    public boolean isOutOfDecisions() {
+        return this.outOfDecisions;
+    }
+    
+    /**
+     * Picks the line for one menu
+     * 
+     * @param menu the menu the game is at
+     * @return the line, or null to end the input
+     */
+    private String answer(GameMenu menu) {
+        Hero hero = this.game.getPlayer();
+        if (menu != GameMenu.SHOP) {
+            this.goldBeforePurchase = -1;
+        }
+        switch (menu) {
+            case NAME:
+                return this.name;
+            case TITLE:
+                return this.policy.getName();
+            case MAIN:
+                return switch (goal(hero)) {
+                    case REST, SHOP -> "1";
+                    case FIGHT -> "2";
+                    case QUIT -> "5";
+                };
+            case TOWN:
+                return switch (goal(hero)) {
+                    case REST -> "3";
+                    case SHOP -> "1";
+                    case FIGHT, QUIT -> "4";
+                };
+            case SHOP:
+                return shop(hero);
+            case DUNGEON:
+                return goal(hero) == BotGoal.FIGHT ? "1" : "2";
+            case BATTLE:
+                return battle(hero);
+            case BATTLE_ITEM:
+                return Integer.toString(this.policy.chooseItem(hero, currentMonster()));
+            case VICTORY:
+                this.clears++;
+                return this.policy.continueAfterVictory(hero) ? "2" : null;
+            case INN:
+                return "3";
+            default:
+                return "";
+        }
+    }
+    
+    /**
+     * Asks the policy for its goal, turning goals that would stall into FIGHT
+     * 
+     * @param hero the bot's hero
+     * @return the goal to follow
+     */
+    private BotGoal goal(Hero hero) {
+        BotGoal goal = this.policy.chooseGoal(hero, currentMonster(), shopkeeper());
+        if (goal == BotGoal.REST && hero.getHealth() >= hero.getMaxHealth()
+                || goal == BotGoal.SHOP && this.shopFailed) {
+            return BotGoal.FIGHT;
+        }
+        return goal;
+    }
+    
+    /**
+     * Picks the next purchase, leaving if the last one failed
+     * 
+     * @param hero the bot's hero
+     * @return the shop option
+     */
+    private String shop(Hero hero) {
+        if (this.goldBeforePurchase == hero.getMoney()) {
+            this.shopFailed = true;
+            this.goldBeforePurchase = -1;
+            return LEAVE_SHOP;
+        }
+        ItemCategory category = this.shopFailed ? null : this.policy.choosePurchase(hero, shopkeeper());
+        String option = shopOption(category);
+        this.goldBeforePurchase = option != null ? hero.getMoney() : -1;
+        return option != null ? option : LEAVE_SHOP;
+    }
+    
+    /**
+     * Picks the battle action, counting the turns of the battle
+     * 
+     * @param hero the bot's hero
+     * @return the battle option
+     */
+    private String battle(Hero hero) {
+        if (this.lastMenu != GameMenu.BATTLE && this.lastMenu != GameMenu.BATTLE_ITEM) {
+            this.battleTurn = 0;
+            this.shopFailed = false;
+        }
+        this.battleTurn++;
+        return switch (this.policy.chooseAction(hero, currentMonster(), this.battleTurn)) {
+            case ATTACK -> "1";
+            case USE_ITEM -> "2";
+            case ESCAPE -> "4";
+        };
+    }
+    
+    /**
+     * Gets the shop option that sells a category
+     * 
+     * @param category the category, or null
+     * @return "1" to "4", or null if the shop does not sell the category
+     */
+    private static String shopOption(ItemCategory category) {
+        if (category == null) {
+            return null;
+        }
+        return switch (category) {
+            case WEAPON -> "1";
+            case ARMOR -> "2";
+            case HEALING -> "3";
+            case DAMAGE -> "4";
+            default -> null;
+        };
+    }
+    
+    /**
+     * Gets the monster of the current chamber
+     * 
+     * @return the monster, or null if the chamber has none
+     */
+    private Monster currentMonster() {
+        Room room = this.game.getDungeon().getCurrentRoom();
+        return room != null ? room.getMonster() : null;
+    }
+    
+    /**
+     * Gets the town's shopkeeper
+     * 
+     * @return the shopkeeper
+     */
+    private Shopkeeper shopkeeper() {
+        return this.game.getTown().getShopkeeper();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.bots;
+
+/**
+ * BotOutcome Enum - How a bot's game ended
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotReport
+ */
+public enum BotOutcome {
+    
+    /** Won the final chamber and was still alive when the game stopped, however it stopped */
+    CLEARED,
+    
+    /** The hero was defeated */
+    DIED,
+    
+    /** The bot quit from the main menu */
+    QUIT,
+    
+    /** The bot used up its decisions without the game ending or the final chamber being won */
+    OUT_OF_DECISIONS
+}
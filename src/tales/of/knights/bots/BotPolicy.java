@@ -0,0 +1,74 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.bots;
+
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.characters.Shopkeeper;
+import tales.of.knights.items.ItemCategory;
+import tales.of.knights.simulation.BattlePolicy;
+
+/**
+ * BotPolicy Interface - Decides everything a player decides in a whole game
+ * 
+ * A bot policy takes the place of the player at every menu of a real
+ * TalesofKnights game, through a BotInput. Outside of battle it chooses a
+ * goal (rest, shop, fight or quit) and, at the shop, what to buy. In battle
+ * it is asked like any BattlePolicy whether to attack, use an item or
+ * escape, and which item to use.
+ * 
+ * One policy plays many games at once on different threads, so policies
+ * must keep no state of their own between calls. Like battle policies they
+ * must not block or read input.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotInput
+ * @see GreedyBotPolicy
+ * @see RuleBasedBotPolicy
+ */
+public interface BotPolicy extends BattlePolicy {
+    
+    /**
+     * Gets the policy's name, used as the title of its heroes
+     * 
+     * @return a short name, e.g. "Greedy"
+     */
+    String getName();
+    
+    /**
+     * Chooses what to do next outside of battle
+     * 
+     * Resting at full health or shopping when nothing can be bought is
+     * treated as FIGHT, so a game always moves on.
+     * 
+     * @param hero the hero controlled by this policy
+     * @param next the monster of the next chamber, before any New Game+ scaling
+     * @param shopkeeper the town's shopkeeper
+     * @return the goal. Never null.
+     */
+    BotGoal chooseGoal(Hero hero, Monster next, Shopkeeper shopkeeper);
+    
+    /**
+     * Chooses the next item to buy at the shop
+     * 
+     * Called again after every purchase until it returns null. The shop's
+     * options are one item per category: WEAPON, ARMOR, HEALING and DAMAGE.
+     * 
+     * @param hero the hero controlled by this policy
+     * @param shopkeeper the shopkeeper, for the current prices
+     * @return the category to buy from, or null to leave the shop
+     */
+    ItemCategory choosePurchase(Hero hero, Shopkeeper shopkeeper);
+    
+    /**
+     * Chooses whether to go on after winning the final chamber
+     * 
+     * @param hero the hero controlled by this policy
+     * @return true to start New Game+, false to end the game there
+     */
+    boolean continueAfterVictory(Hero hero);
+}
@@ -0,0 +1,192 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bots;
+
+/**
+ * BotReport Class - Aggregated results of many games played by bots
+ * 
+ * Counts how each game ended and keeps running sums of what the heroes
+ * achieved, so any number of games fits in a handful of fields and reports
+ * from different threads can simply be merged.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotRunner
+ * @see BotOutcome
+ */
+public class BotReport {
+    
+    /** Name of the policy that played */
+    private final String policy;
+    
+    /** Number of games per outcome, indexed by BotOutcome.ordinal() */
+    private final long[] outcomes;
+    
+    /** Number of games in which the final chamber was won at least once */
+    private long cleared;
+    
+    /** Battles won across all games */
+    private long totalVictories;
+    
+    /** Gold the heroes held at the end of all games */
+    private long totalGold;
+    
+    /** Fame the heroes held at the end of all games */
+    private long totalFame;
+    
+    /** Lines the bots answered across all games */
+    private long totalDecisions;
+    
+    /**
+     * Creates a new, empty BotReport
+     * 
+     * @param policy the name of the policy that played
+     */
+    public BotReport(String policy) {
+        this.policy = policy;
+        this.outcomes = new long[BotOutcome.values().length];
+    }
+    
+    /**
+     * Records the result of one game
+     * 
+     * @param outcome how the game ended
+     * @param clears times the final chamber was won
+     * @param victories battles won
+     * @param gold the hero's gold at the end
+     * @param fame the hero's fame at the end
+     * @param decisions lines the bot answered
+     */
+    public void record(BotOutcome outcome, int clears, int victories, int gold, int fame, long decisions) {
+        this.outcomes[outcome.ordinal()]++;
+        if (clears > 0) {
+            this.cleared++;
+        }
+        this.totalVictories += victories;
+        this.totalGold += gold;
+        this.totalFame += fame;
+        this.totalDecisions += decisions;
+    }
+    
+    /**
+     * Adds all results of another report to this one
+     * 
+     * @param other the report to merge in - must not be null
+     */
+    public void merge(BotReport other) {
+        for (int i = 0; i < this.outcomes.length; i++) {
+            this.outcomes[i] += other.outcomes[i];
+        }
+        this.cleared += other.cleared;
+        this.totalVictories += other.totalVictories;
+        this.totalGold += other.totalGold;
+        this.totalFame += other.totalFame;
+        this.totalDecisions += other.totalDecisions;
+    }
+    
+    /**
+     * Gets the name of the policy that played
+     * 
+     * @return the policy name
+     */
+    public String getPolicy() {
+        return this.policy;
+    }
+    
+    /**
+     * Gets the number of games recorded
+     * 
+     * @return the number of games
+     */
+    public long getGames() {
+        long games = 0;
+        for (long count : this.outcomes) {
+            games += count;
+        }
+        return games;
+    }
+    
+    /**
+     * Gets the number of games that ended a certain way
+     * 
+     * @param outcome the outcome to count
+     * @return the number of games
+     */
+    public long getCount(BotOutcome outcome) {
+        return this.outcomes[outcome.ordinal()];
+    }
+    
+    /**
+     * Gets the fraction of games in which the final chamber was won
+     * 
+     * @return clear rate between 0.0 and 1.0, or 0.0 if no games were recorded
+     */
+    public double getClearRate() {
+        long games = getGames();
+        return games > 0 ? (double) this.cleared / games : 0.0;
+    }
+    
+    /**
+     * Gets the average number of battles won per game
+     * 
+     * @return the mean, or 0.0 if no games were recorded
+     */
+    public double getAverageVictories() {
+        return average(this.totalVictories);
+    }
+    
+    /**
+     * Gets the average gold held at the end of a game
+     * 
+     * @return the mean, or 0.0 if no games were recorded
+     */
+    public double getAverageGold() {
+        return average(this.totalGold);
+    }
+    
+    /**
+     * Gets the average fame held at the end of a game
+     * 
+     * @return the mean, or 0.0 if no games were recorded
+     */
+    public double getAverageFame() {
+        return average(this.totalFame);
+    }
+    
+    /**
+     * Gets the average number of lines answered per game
+     * 
+     * @return the mean, or 0.0 if no games were recorded
+     */
+    public double getAverageDecisions() {
+        return average(this.totalDecisions);
+    }
+    
+    /**
+     * Divides a total by the number of games
+     * 
+     * @param total the total
+     * @return the mean, or 0.0 if no games were recorded
+     */
+    private double average(long total) {
+        long games = getGames();
+        return games > 0 ? (double) total / games : 0.0;
+    }
+    
+    /**
+     * Summarises the report on one line
+     * 
+     * @return the games, outcomes and averages
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d games, %.1f%% cleared, %d died, %d quit, %d out of decisions, "
+                + "%.2f wins, %.0f gold, %.0f fame, %.0f decisions per game",
+                this.policy, getGames(), getClearRate() * 100, getCount(BotOutcome.DIED),
+                getCount(BotOutcome.QUIT), getCount(BotOutcome.OUT_OF_DECISIONS),
+                getAverageVictories(), getAverageGold(), getAverageFame(), getAverageDecisions());
+    }
+}
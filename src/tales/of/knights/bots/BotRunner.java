@@ -0,0 +1,191 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bots;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.game.TalesofKnights;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.random.GameRandom;
+
+/**
+ * BotRunner Class - Plays batches of whole games with a bot policy
+ * 
+ * Every game is a real TalesofKnights game, menus and all, played by a
+ * BotInput on NullOutput and kept off the fame leaderboard and out of
+ * GameMetrics, so a load run does not skew the published numbers. Games are
+ * split across a ForkJoinPool; each game binds its own output, random
+ * generator and effect wheel to the worker thread while it runs, so
+ * thousands can be played side by side.
+ * 
+ * Every game gets its own seed, drawn from a GameRandom split off its
+ * parent task before forking, so a seeded batch gives the same report
+ * however the tasks are scheduled.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotPolicy
+ * @see BotReport
+ */
+public class BotRunner {
+    
+    /** Default number of lines a bot answers before its game is stopped */
+    public static final int DEFAULT_MAX_DECISIONS = 10_000;
+    
+    /** Games played by one task before it stops splitting */
+    private static final int GAMES_PER_TASK = 16;
+    
+    /** Policy every game is played with */
+    private final BotPolicy policy;
+    
+    /** Most lines a bot answers per game */
+    private final int maxDecisions;
+    
+    /** Pool the games are played on */
+    private final ForkJoinPool pool;
+    
+    /** Seed for the next batch */
+    private long seed;
+    
+    /**
+     * Creates a new BotRunner on the common fork/join pool
+     * 
+     * @param policy the policy to play with - must not be null
+     * 
+     * @throws IllegalArgumentException if policy is null
+     */
+    public BotRunner(BotPolicy policy) {
+        this(policy, DEFAULT_MAX_DECISIONS, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates a new BotRunner
+     * 
+     * @param policy the policy to play with - must not be null
+     * @param maxDecisions most lines a bot answers per game - must be positive
+     * @param pool the pool to play games on - must not be null
+     * 
+     * @throws IllegalArgumentException if an argument is null or out of range
+     */
+    public BotRunner(BotPolicy policy, int maxDecisions, ForkJoinPool pool) {
+        if (policy == null || pool == null) {
+            throw new IllegalArgumentException("Policy and pool cannot be null");
+        }
+        if (maxDecisions <= 0) {
+            throw new IllegalArgumentException("Max decisions must be positive");
+        }
+        this.policy = policy;
+        this.maxDecisions = maxDecisions;
+        this.pool = pool;
+        this.seed = System.nanoTime();
+    }
+    
+    /**
+     * Sets the seed used by the following batches
+     * 
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Plays a batch of games
+     * 
+     * @param games number of games to play - must not be negative
+     * @return the aggregated results
+     * 
+     * @throws IllegalArgumentException if games is negative
+     */
+    public BotReport run(int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Games cannot be negative");
+        }
+        return this.pool.invoke(new GameTask(0, games, new GameRandom(this.seed)));
+    }
+    
+    /**
+     * Plays one game
+     * 
+     * @param number the game's number in the batch, used to name its hero
+     * @param seed the game's seed
+     * @param report the report to record the game in
+     */
+    private void playGame(int number, long seed, BotReport report) {
+        BotInput input = new BotInput(this.policy, "Bot " + (number + 1), this.maxDecisions);
+        TalesofKnights game = new TalesofKnights(input, NullOutput.INSTANCE);
+        input.attach(game);
+        game.setSeed(seed);
+        game.setLeaderboard(null);
+        game.setMetrics(null);
+        game.startGame();
+        
+        Hero hero = game.getPlayer();
+        BotOutcome outcome;
+        if (hero == null || !hero.isAlive()) {
+            outcome = BotOutcome.DIED;
+        } else if (input.getClears() > 0) {
+            outcome = BotOutcome.CLEARED;
+        } else if (input.isOutOfDecisions()) {
+            outcome = BotOutcome.OUT_OF_DECISIONS;
+        } else {
+            outcome = BotOutcome.QUIT;
+        }
+        report.record(outcome, input.getClears(), game.getVictories(),
+                hero != null ? hero.getMoney() : 0, hero != null ? hero.getFame() : 0, input.getLineCount());
+    }
+    
+    /**
+     * GameTask Class - Plays a range of games, splitting it across workers
+     */
+    private final class GameTask extends RecursiveTask<BotReport> {
+        
+        /** Tasks are never serialized, but RecursiveTask is Serializable */
+        private static final long serialVersionUID = 1L;
+        
+        /** Number of the first game */
+        private final int first;
+        
+        /** Number of games this task plays */
+        private final int games;
+        
+        /** This task's own generator */
+        private final transient GameRandom random;
+        
+        /**
+         * Creates a new GameTask
+         * 
+         * @param first number of the first game
+         * @param games number of games to play
+         * @param random the task's own generator
+         */
+        GameTask(int first, int games, GameRandom random) {
+            this.first = first;
+            this.games = games;
+            this.random = random;
+        }
+        
+        @Override
+        protected BotReport compute() {
+            if (this.games <= GAMES_PER_TASK) {
+                BotReport report = new BotReport(BotRunner.this.policy.getName());
+                for (int i = 0; i < this.games; i++) {
+                    playGame(this.first + i, this.random.nextLong(), report);
+                }
+                return report;
+            }
+            
+            int half = this.games / 2;
+            GameTask left = new GameTask(this.first, half, this.random.split());
+            GameTask right = new GameTask(this.first + half, this.games - half, this.random.split());
+            left.fork();
+            BotReport report = right.compute();
+            report.merge(left.join());
+            return report;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bots;
+
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.characters.Shopkeeper;
+import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCatalog;
+import tales.of.knights.items.ItemCategory;
+import tales.of.knights.simulation.BattleAction;
+
+/**
+ * GreedyBotPolicy Class - Always takes the biggest payoff in front of it
+ * 
+ * The greedy bot never plans ahead:
+ * - Resting is free, so it rests whenever it is hurt
+ * - All its gold goes on damage items, as many as one stack holds
+ * - In battle it uses a damage item whenever no boost is running and
+ *   otherwise attacks; it never drinks potions and never escapes
+ * - After the final chamber it always starts New Game+
+ * 
+ * A baseline for the other policies: it shows how far raw firepower gets.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotPolicy
+ * @see RuleBasedBotPolicy
+ */
+public class GreedyBotPolicy implements BotPolicy {
+    
+    /**
+     * Gets the policy's name
+     * 
+     * @return "Greedy"
+     */
+    @Override
+    public String getName() {
+        return "Greedy";
+    }
+    
+    /**
+     * Rests when hurt, shops when a damage item is affordable, otherwise fights
+     * 
+     * @param hero the hero controlled by this policy
+     * @param next the monster of the next chamber
+     * @param shopkeeper the town's shopkeeper
+     * @return REST, SHOP or FIGHT
+     */
+    @Override
+    public BotGoal chooseGoal(Hero hero, Monster next, Shopkeeper shopkeeper) {
+        if (hero.getHealth() < hero.getMaxHealth()) {
+            return BotGoal.REST;
+        }
+        if (choosePurchase(hero, shopkeeper) != null) {
+            return BotGoal.SHOP;
+        }
+        return BotGoal.FIGHT;
+    }
+    
+    /**
+     * Buys damage items until the gold or the stack runs out
+     * 
+     * @param hero the hero controlled by this policy
+     * @param shopkeeper the shopkeeper, for the current price
+     * @return DAMAGE, or null to leave
+     */
+    @Override
+    public ItemCategory choosePurchase(Hero hero, Shopkeeper shopkeeper) {
+        ItemBag bag = hero.getItemBag();
+        if (bag.getCategoryQuantity(ItemCategory.DAMAGE) < ItemBag.MAX_STACK
+                && hero.getMoney() >= shopkeeper.getBuyPrice(ItemCatalog.EXPLOSIVE_BOMB)) {
+            return ItemCategory.DAMAGE;
+        }
+        return null;
+    }
+    
+    /**
+     * Uses a damage item when no boost is running, otherwise attacks
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @param turn the current turn number
+     * @return USE_ITEM or ATTACK
+     */
+    @Override
+    public BattleAction chooseAction(Hero hero, Monster enemy, int turn) {
+        if (hero.getStatusEffects().getPowerModifier() <= 0
+                && hero.getItemBag().findFirst(ItemCategory.DAMAGE) >= 0) {
+            return BattleAction.USE_ITEM;
+        }
+        return BattleAction.ATTACK;
+    }
+    
+    /**
+     * Picks the first damage item in the inventory
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @return index of the first damage item, or 0 if there is none
+     */
+    @Override
+    public int chooseItem(Hero hero, Monster enemy) {
+        return Math.max(0, hero.getItemBag().findFirst(ItemCategory.DAMAGE));
+    }
+    
+    /**
+     * Always goes on to New Game+
+     * 
+     * @param hero the hero controlled by this policy
+     * @return true
+     */
+    @Override
+    public boolean continueAfterVictory(Hero hero) {
+        return true;
+    }
+}
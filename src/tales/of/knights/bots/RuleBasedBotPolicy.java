@@ -0,0 +1,217 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.bots;
+
+import tales.of.knights.characters.CombatStats;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.characters.Shopkeeper;
+import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCatalog;
+import tales.of.knights.items.ItemCategory;
+import tales.of.knights.simulation.BattleAction;
+
+/**
+ * RuleBasedBotPolicy Class - Plays by a careful player's rules of thumb
+ * 
+ * Before every chamber the bot rests to full health and keeps a reserve of
+ * potions and damage items, potions first. In battle it goes down this list
+ * and takes the first rule that applies:
+ * - Attack if one hit finishes the monster
+ * - Drink a potion if the monster's next hit could be fatal, or health is
+ *   below the heal threshold
+ * - Escape if the next hit could be fatal, no potion is left and resting
+ *   would help
+ * - Use a damage item if no boost is running and the fight has more than
+ *   two hits to go
+ * - Attack
+ * 
+ * The bot stops once it has won the final chamber. Weapons and armor are
+ * never bought: the game has no way to equip bought gear.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BotPolicy
+ * @see GreedyBotPolicy
+ */
+public class RuleBasedBotPolicy implements BotPolicy {
+    
+    /** Default number of potions kept in reserve */
+    public static final int DEFAULT_POTIONS = 3;
+    
+    /** Default number of damage items kept in reserve */
+    public static final int DEFAULT_BOMBS = 2;
+    
+    /** Default health percentage below which a potion is drunk */
+    public static final int DEFAULT_HEAL_PERCENT = 30;
+    
+    /** Potions bought before each chamber */
+    private final int potionReserve;
+    
+    /** Damage items bought before each chamber, once the potions are in */
+    private final int bombReserve;
+    
+    /** Health percentage (0-100) below which a potion is drunk */
+    private final int healPercent;
+    
+    /** Whether the bot flees from a fatal hit when out of potions */
+    private final boolean escapes;
+    
+    /**
+     * Creates a RuleBasedBotPolicy with the default rules
+     */
+    public RuleBasedBotPolicy() {
+        this(DEFAULT_POTIONS, DEFAULT_BOMBS, DEFAULT_HEAL_PERCENT, true);
+    }
+    
+    /**
+     * Creates a RuleBasedBotPolicy
+     * 
+     * @param potionReserve potions to keep - 0 to ItemBag.MAX_STACK
+     * @param bombReserve damage items to keep - 0 to ItemBag.MAX_STACK
+     * @param healPercent health percentage below which a potion is drunk - 0 to 100
+     * @param escapes true to flee from a fatal hit when out of potions
+     * 
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public RuleBasedBotPolicy(int potionReserve, int bombReserve, int healPercent, boolean escapes) {
+        if (potionReserve < 0 || potionReserve > ItemBag.MAX_STACK
+                || bombReserve < 0 || bombReserve > ItemBag.MAX_STACK) {
+            throw new IllegalArgumentException("Reserves must be between 0 and " + ItemBag.MAX_STACK);
+        }
+        if (healPercent < 0 || healPercent > 100) {
+            throw new IllegalArgumentException("Heal percent must be between 0 and 100");
+        }
+        this.potionReserve = potionReserve;
+        this.bombReserve = bombReserve;
+        this.healPercent = healPercent;
+        this.escapes = escapes;
+    }
+    
+    /**
+     * Gets the policy's name
+     * 
+     * @return "Careful"
+     */
+    @Override
+    public String getName() {
+        return "Careful";
+    }
+    
+    /**
+     * Rests to full health, tops up the reserves, then fights
+     * 
+     * @param hero the hero controlled by this policy
+     * @param next the monster of the next chamber
+     * @param shopkeeper the town's shopkeeper
+     * @return REST, SHOP or FIGHT
+     */
+    @Override
+    public BotGoal chooseGoal(Hero hero, Monster next, Shopkeeper shopkeeper) {
+        if (hero.getHealth() < hero.getMaxHealth()) {
+            return BotGoal.REST;
+        }
+        if (choosePurchase(hero, shopkeeper) != null) {
+            return BotGoal.SHOP;
+        }
+        return BotGoal.FIGHT;
+    }
+    
+    /**
+     * Buys potions up to the reserve, then damage items up to theirs
+     * 
+     * @param hero the hero controlled by this policy
+     * @param shopkeeper the shopkeeper, for the current prices
+     * @return HEALING, DAMAGE, or null once both reserves are full or unaffordable
+     */
+    @Override
+    public ItemCategory choosePurchase(Hero hero, Shopkeeper shopkeeper) {
+        ItemBag bag = hero.getItemBag();
+        int gold = hero.getMoney();
+        if (bag.getCategoryQuantity(ItemCategory.HEALING) < this.potionReserve
+                && gold >= shopkeeper.getBuyPrice(ItemCatalog.HEALTH_POTION)) {
+            return ItemCategory.HEALING;
+        }
+        if (bag.getCategoryQuantity(ItemCategory.DAMAGE) < this.bombReserve
+                && gold >= shopkeeper.getBuyPrice(ItemCatalog.EXPLOSIVE_BOMB)) {
+            return ItemCategory.DAMAGE;
+        }
+        return null;
+    }
+    
+    /**
+     * Applies the battle rules in order
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @param turn the current turn number
+     * @return the action of the first rule that applies
+     */
+    @Override
+    public BattleAction chooseAction(Hero hero, Monster enemy, int turn) {
+        CombatStats heroStats = CombatStats.of(hero);
+        CombatStats enemyStats = CombatStats.of(enemy);
+        int hit = enemyStats.reduce(heroStats.getMaxAttack());
+        if (enemyStats.getHealth() <= hit) {
+            return BattleAction.ATTACK;
+        }
+        ItemBag bag = hero.getItemBag();
+        if (needsHealing(heroStats, enemyStats) && bag.findFirst(ItemCategory.HEALING) >= 0) {
+            return BattleAction.USE_ITEM;
+        }
+        if (this.escapes && heroStats.getHealth() < heroStats.getMaxHealth()
+                && heroStats.getHealth() <= heroStats.reduce(enemyStats.getMaxAttack())) {
+            return BattleAction.ESCAPE;
+        }
+        if (hero.getStatusEffects().getPowerModifier() <= 0 && enemyStats.getHealth() > 2L * hit
+                && bag.findFirst(ItemCategory.DAMAGE) >= 0) {
+            return BattleAction.USE_ITEM;
+        }
+        return BattleAction.ATTACK;
+    }
+    
+    /**
+     * Picks a potion if the hero needs healing, otherwise a damage item
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @return index of the item, or 0 if the bag has neither
+     */
+    @Override
+    public int chooseItem(Hero hero, Monster enemy) {
+        ItemBag bag = hero.getItemBag();
+        int potion = bag.findFirst(ItemCategory.HEALING);
+        if (potion >= 0 && needsHealing(CombatStats.of(hero), CombatStats.of(enemy))) {
+            return potion;
+        }
+        int bomb = bag.findFirst(ItemCategory.DAMAGE);
+        return bomb >= 0 ? bomb : Math.max(0, potion);
+    }
+    
+    /**
+     * Stops after the final chamber
+     * 
+     * @param hero the hero controlled by this policy
+     * @return false
+     */
+    @Override
+    public boolean continueAfterVictory(Hero hero) {
+        return false;
+    }
+    
+    /**
+     * Checks if the hero should drink a potion
+     * 
+     * @param hero the hero's stats
+     * @param enemy the monster's stats
+     * @return true if the next hit could be fatal or health is below the threshold
+     */
+    private boolean needsHealing(CombatStats hero, CombatStats enemy) {
+        return hero.getHealth() < hero.getMaxHealth()
+                && (hero.getHealth() <= hero.reduce(enemy.getMaxAttack())
+                    || hero.getHealth() * 100L < (long) hero.getMaxHealth() * this.healPercent);
+    }
+}
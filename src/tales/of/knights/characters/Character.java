@@ -4,6 +4,17 @@
  */
 package tales.of.knights.characters;
 
+import java.util.concurrent.atomic.AtomicLong;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.events.EventContext;
+import tales.of.knights.events.EventLog;
+import tales.of.knights.events.EventType;
+import tales.of.knights.effects.EffectContext;
+import tales.of.knights.effects.EffectType;
+import tales.of.knights.effects.StatusEffect;
+import tales.of.knights.effects.StatusEffects;
+
 /**
  * Character Abstract Base Class - Foundation for all character types in Tales of Knights
  * 
@@ -31,6 +42,12 @@ package tales.of.knights.characters;
  */
 public abstract class Character {
     
+    /** Source of character ids */
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+    
+    /** Number that identifies this character for the life of the process - never reused */
+    private final long id;
+    
     /** The character's name - unique identifier for the character */
     protected String name;
     
@@ -52,6 +69,9 @@ public abstract class Character {
     /** Character's money/gold - currency used for buying items and transactions */
     protected int money;
     
+    /** Timed status effects on the character - created on first use */
+    private StatusEffects statusEffects;
+    
     /**
      * Constructor for creating a new Character
      * 
@@ -78,6 +98,7 @@ public abstract class Character {
      * 
      */
     public Character(String name, String title, int health, int power) {
+        this.id = NEXT_ID.getAndIncrement();
         try {
             if (name == null || name.trim().isEmpty()) {
                 throw new IllegalArgumentException("Name cannot be empty");
@@ -100,7 +121,7 @@ public abstract class Character {
             this.fame = 0;
             this.money = 100;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating character: " + e.getMessage());
+            OutputContext.current().println("Error creating character: " + e.getMessage());
             throw e;
         }
     }
@@ -124,16 +145,16 @@ public abstract class Character {
      */
     public void introduce() {
         try {
-            System.out.println("\n========== CHARACTER PROFILE ==========");
-            System.out.println("Name: " + this.name);
-            System.out.println("Title: " + this.title);
-            System.out.println("Health: " + this.health + "/" + this.maxHealth);
-            System.out.println("Power: " + this.power);
-            System.out.println("Fame: " + this.fame);
-            System.out.println("Money: " + this.money + " gold");
-            System.out.println("========================================\n");
+            OutputContext.current().println("\n========== CHARACTER PROFILE ==========");
+            OutputContext.current().println("Name: " + this.name);
+            OutputContext.current().println("Title: " + this.title);
+            OutputContext.current().println("Health: " + this.health + "/" + this.maxHealth);
+            OutputContext.current().println("Power: " + this.power);
+            OutputContext.current().println("Fame: " + this.fame);
+            OutputContext.current().println("Money: " + this.money + " gold");
+            OutputContext.current().println("========================================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying character info: " + e.getMessage());
+            OutputContext.current().println("Error displaying character info: " + e.getMessage());
         }
     }
     
@@ -160,18 +181,27 @@ public abstract class Character {
     public void takeDamage(int damage) {
         try {
             if (damage < 0) {
-                System.out.println("Error: Damage cannot be negative!");
+                OutputContext.current().println("Error: Damage cannot be negative!");
                 return;
             }
             
+            int before = this.health;
             this.health -= damage;
             if (this.health < 0) {
                 this.health = 0;
             }
             
-            System.out.println(this.name + " takes " + damage + " damage! (Health: " + this.health + ")");
+            EventLog log = EventContext.current();
+            if (log.isEnabled()) {
+                log.record(EventType.DAMAGE_TAKEN, eventActor(), before - this.health, 0);
+            }
+            
+            GameOutput out = OutputContext.current();
+            if (out.isEnabled()) {
+                out.println(this.name + " takes " + damage + " damage! (Health: " + this.health + ")");
+            }
         } catch (Exception e) {
-            System.out.println("Error taking damage: " + e.getMessage());
+            OutputContext.current().println("Error taking damage: " + e.getMessage());
         }
     }
     
@@ -189,18 +219,24 @@ public abstract class Character {
     public void heal(int amount) {
         try {
             if (amount < 0) {
-                System.out.println("Error: Heal amount cannot be negative!");
+                OutputContext.current().println("Error: Heal amount cannot be negative!");
                 return;
             }
             
-            this.health += amount;
-            if (this.health > this.maxHealth) {
-                this.health = this.maxHealth;
+            int before = this.health;
+            this.health = (int) Math.min((long) this.health + amount, this.maxHealth);
+            
+            EventLog log = EventContext.current();
+            if (log.isEnabled()) {
+                log.record(EventType.HEALED, eventActor(), this.health - before, 0);
             }
             
-            System.out.println(this.name + " recovers " + amount + " health! (Health: " + this.health + ")");
+            GameOutput out = OutputContext.current();
+            if (out.isEnabled()) {
+                out.println(this.name + " recovers " + amount + " health! (Health: " + this.health + ")");
+            }
         } catch (Exception e) {
-            System.out.println("Error healing: " + e.getMessage());
+            OutputContext.current().println("Error healing: " + e.getMessage());
         }
     }
     
@@ -228,6 +264,18 @@ public abstract class Character {
     // GETTERS AND SETTERS WITH COMPREHENSIVE EXCEPTION HANDLING
 
     
+    /**
+     * Gets the character's id
+     * 
+     * Unlike the name, the id is unique: two characters never share one, even
+     * if they have the same name.
+     * 
+     * @return the id, a positive number assigned when the character was created
+     */
+    public long getId() {
+        return this.id;
+    }
+    
     /**
      * Gets the character's name
      * 
@@ -241,7 +289,7 @@ public abstract class Character {
         try {
             return this.name != null ? this.name : "Unknown";
         } catch (Exception e) {
-            System.out.println("Error getting name: " + e.getMessage());
+            OutputContext.current().println("Error getting name: " + e.getMessage());
             return "Unknown";
         }
     }
@@ -265,7 +313,7 @@ public abstract class Character {
             }
             this.name = name;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error setting name: " + e.getMessage());
+            OutputContext.current().println("Error setting name: " + e.getMessage());
         }
     }
     
@@ -282,7 +330,7 @@ public abstract class Character {
         try {
             return this.title != null ? this.title : "Unknown";
         } catch (Exception e) {
-            System.out.println("Error getting title: " + e.getMessage());
+            OutputContext.current().println("Error getting title: " + e.getMessage());
             return "Unknown";
         }
     }
@@ -306,7 +354,7 @@ public abstract class Character {
             }
             this.title = title;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error setting title: " + e.getMessage());
+            OutputContext.current().println("Error setting title: " + e.getMessage());
         }
     }
     
@@ -323,11 +371,36 @@ public abstract class Character {
         try {
             return this.health >= 0 ? this.health : 0;
         } catch (Exception e) {
-            System.out.println("Error getting health: " + e.getMessage());
+            OutputContext.current().println("Error getting health: " + e.getMessage());
             return 0;
         }
     }
     
+    /**
+     * Sets the character's current health
+     * 
+     * Used when restoring or resetting a character, e.g. after a simulation
+     * or when scaling monsters. The value is clamped between 0 and the
+     * character's maximum health.
+     * 
+     * @param health the new health value
+     * 
+     */
+    public void setHealth(int health) {
+        try {
+            if (health < 0) {
+                health = 0;
+            }
+            if (health > this.maxHealth) {
+                health = this.maxHealth;
+            }
+            this.health = health;
+            recordEvent(EventType.HEALTH_SET, health);
+        } catch (Exception e) {
+            OutputContext.current().println("Error setting health: " + e.getMessage());
+        }
+    }
+    
     /**
      * Gets the character's maximum health
      * 
@@ -341,7 +414,7 @@ public abstract class Character {
         try {
             return this.maxHealth > 0 ? this.maxHealth : 1;
         } catch (Exception e) {
-            System.out.println("Error getting max health: " + e.getMessage());
+            OutputContext.current().println("Error getting max health: " + e.getMessage());
             return 1;
         }
     }
@@ -359,11 +432,69 @@ public abstract class Character {
         try {
             return this.power > 0 ? this.power : 1;
         } catch (Exception e) {
-            System.out.println("Error getting power: " + e.getMessage());
+            OutputContext.current().println("Error getting power: " + e.getMessage());
             return 1;
         }
     }
     
+    /**
+     * Gets the power the character fights with right now
+     * 
+     * The base power plus every active POWER_BOOST, minus every active
+     * WEAKNESS. Unlike setPower, status effects never change the base power,
+     * so they cannot compound.
+     * 
+     * @return the effective power, never negative
+     */
+    public int getEffectivePower() {
+        long effective = this.power;
+        if (this.statusEffects != null) {
+            effective += this.statusEffects.getPowerModifier();
+        }
+        return (int) Math.max(0, Math.min(effective, Integer.MAX_VALUE));
+    }
+    
+    /**
+     * Puts a timed status effect on the character
+     * 
+     * The effect is scheduled on the EffectWheel bound to the current thread,
+     * which the game advances once per combat turn.
+     * 
+     * @param type what the effect does - must not be null
+     * @param magnitude how strong the effect is - must be positive
+     * @param turns how many turns the effect lasts, counting the current one
+     * @return the active effect
+     * 
+     * @throws IllegalArgumentException if an argument is null or out of range
+     * @throws IllegalStateException if the character has effects on another wheel
+     * 
+     * @see EffectContext
+     */
+    public StatusEffect applyEffect(EffectType type, int magnitude, int turns) {
+        return EffectContext.current().apply(this, type, magnitude, turns);
+    }
+    
+    /**
+     * Gets the status effects currently on the character
+     * 
+     * @return the running totals of all active effects
+     */
+    public StatusEffects getStatusEffects() {
+        if (this.statusEffects == null) {
+            this.statusEffects = new StatusEffects(this);
+        }
+        return this.statusEffects;
+    }
+    
+    /**
+     * Ends every status effect on the character, e.g. when a battle is over
+     */
+    public void clearEffects() {
+        if (this.statusEffects != null) {
+            this.statusEffects.clear();
+        }
+    }
+    
     /**
      * Sets the character's power/damage stat
      * 
@@ -381,8 +512,9 @@ public abstract class Character {
                 throw new IllegalArgumentException("Power must be positive");
             }
             this.power = power;
+            recordEvent(EventType.POWER_SET, power);
         } catch (IllegalArgumentException e) {
-            System.out.println("Error setting power: " + e.getMessage());
+            OutputContext.current().println("Error setting power: " + e.getMessage());
         }
     }
     
@@ -399,7 +531,7 @@ public abstract class Character {
         try {
             return this.fame >= 0 ? this.fame : 0;
         } catch (Exception e) {
-            System.out.println("Error getting fame: " + e.getMessage());
+            OutputContext.current().println("Error getting fame: " + e.getMessage());
             return 0;
         }
     }
@@ -420,8 +552,10 @@ public abstract class Character {
             } else {
                 this.fame = fame;
             }
+            recordEvent(EventType.FAME_SET, this.fame);
+            fameChanged();
         } catch (Exception e) {
-            System.out.println("Error setting fame: " + e.getMessage());
+            OutputContext.current().println("Error setting fame: " + e.getMessage());
         }
     }
     
@@ -443,12 +577,14 @@ public abstract class Character {
     public void addFame(int amount) {
         try {
             if (amount < 0) {
-                System.out.println("Error: Fame amount cannot be negative!");
+                OutputContext.current().println("Error: Fame amount cannot be negative!");
                 return;
             }
-            this.fame += amount;
+            this.fame = (int) Math.min((long) this.fame + amount, Integer.MAX_VALUE);
+            recordEvent(EventType.FAME_ADDED, amount);
+            fameChanged();
         } catch (Exception e) {
-            System.out.println("Error adding fame: " + e.getMessage());
+            OutputContext.current().println("Error adding fame: " + e.getMessage());
         }
     }
     
@@ -465,7 +601,7 @@ public abstract class Character {
         try {
             return this.money >= 0 ? this.money : 0;
         } catch (Exception e) {
-            System.out.println("Error getting money: " + e.getMessage());
+            OutputContext.current().println("Error getting money: " + e.getMessage());
             return 0;
         }
     }
@@ -486,8 +622,9 @@ public abstract class Character {
             } else {
                 this.money = money;
             }
+            recordEvent(EventType.MONEY_SET, this.money);
         } catch (Exception e) {
-            System.out.println("Error setting money: " + e.getMessage());
+            OutputContext.current().println("Error setting money: " + e.getMessage());
         }
     }
     
@@ -509,12 +646,13 @@ public abstract class Character {
     public void addMoney(int amount) {
         try {
             if (amount < 0) {
-                System.out.println("Error: Money amount cannot be negative!");
+                OutputContext.current().println("Error: Money amount cannot be negative!");
                 return;
             }
-            this.money += amount;
+            this.money = (int) Math.min((long) this.money + amount, Integer.MAX_VALUE);
+            recordEvent(EventType.MONEY_ADDED, amount);
         } catch (Exception e) {
-            System.out.println("Error adding money: " + e.getMessage());
+            OutputContext.current().println("Error adding money: " + e.getMessage());
         }
     }
     
@@ -542,16 +680,49 @@ public abstract class Character {
     public void removeMoney(int amount) {
         try {
             if (amount < 0) {
-                System.out.println("Error: Money amount cannot be negative!");
+                OutputContext.current().println("Error: Money amount cannot be negative!");
                 return;
             }
             if (amount > this.money) {
-                System.out.println("Error: Not enough money!");
+                OutputContext.current().println("Error: Not enough money!");
                 return;
             }
             this.money -= amount;
+            recordEvent(EventType.MONEY_REMOVED, amount);
         } catch (Exception e) {
-            System.out.println("Error removing money: " + e.getMessage());
+            OutputContext.current().println("Error removing money: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets the actor code this character's events are recorded with
+     * 
+     * Subclasses the event log tells apart (Hero, Monster) override this.
+     * 
+     * @return EventLog.ACTOR_OTHER
+     */
+    protected int eventActor() {
+        return EventLog.ACTOR_OTHER;
+    }
+    
+    /**
+     * Called after setFame or addFame changed this character's fame
+     * 
+     * Does nothing here; Hero reports the change to the leaderboard.
+     */
+    protected void fameChanged() {
+    }
+    
+    /**
+     * Records a state change in the event log bound to the current thread
+     * 
+     * @param type the kind of change
+     * @param value the event's first argument
+     */
+    private void recordEvent(EventType type, int value) {
+        EventLog log = EventContext.current();
+        if (log.isEnabled()) {
+            log.record(type, eventActor(), value, 0);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,241 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.characters;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CombatOdds Class - Chance of winning a fight, computed exactly
+ * 
+ * Models a battle in which the fighter attacks every turn and the enemy
+ * strikes back while it is alive, with the same rules as combat:
+ * - The fighter hits for power + weapon damage (Fighter.attack), reduced by
+ *   the enemy's armor to no less than 1 (Fighter.takeDamage)
+ * - A Monster rolls evenly between power - 3 and power + 3 (Monster.attack);
+ *   any other enemy hits for power + weapon damage. The fighter's armor
+ *   reduces each hit to no less than 1
+ * 
+ * The fighter's hits are fixed, so the number of hits needed to win is known
+ * up front. What remains random is the total damage the enemy deals before
+ * then, which is worked out exactly by spreading the probability of every
+ * damage total over the enemy's rolls, one turn at a time. Fights that last
+ * longer than MAX_TURNS count as undecided.
+ * 
+ * The fight is set up from both fighters' CombatStats. A fighter that rolls
+ * its own attacks is counted with the middle of its range.
+ * 
+ * Results are cached in a small LRU map shared by all sessions, keyed on the
+ * stats that decide the fight. Analyzing the same matchup again, in any game,
+ * is a hash lookup.
+ * 
+ * Instances are immutable.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see Fighter#analyzeEnemy(Fighter)
+ */
+public final class CombatOdds {
+    
+    /** Turns after which a fight counts as undecided */
+    public static final int MAX_TURNS = 1000;
+    
+    /** Number of matchups kept in the cache */
+    public static final int CACHE_SIZE = 4096;
+    
+    /** Most recently used results, eldest first */
+    private static final Map<Key, CombatOdds> CACHE = new LinkedHashMap<>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CombatOdds> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    
+    /** Probability that the fighter wins */
+    private final double winProbability;
+    
+    /** Probability that the fighter is defeated */
+    private final double lossProbability;
+    
+    /** Expected number of turns the fight lasts */
+    private final double expectedTurns;
+    
+    /**
+     * Creates a result
+     * 
+     * @param winProbability probability that the fighter wins
+     * @param lossProbability probability that the fighter is defeated
+     * @param expectedTurns expected number of turns
+     */
+    private CombatOdds(double winProbability, double lossProbability, double expectedTurns) {
+        this.winProbability = winProbability;
+        this.lossProbability = lossProbability;
+        this.expectedTurns = expectedTurns;
+    }
+    
+    /**
+     * Computes the odds of a fighter against an enemy, from their current stats
+     * 
+     * @param fighter the fighter attacking every turn - must not be null
+     * @param enemy the enemy striking back - must not be null
+     * @return the odds of the fight
+     * 
+     * @throws IllegalArgumentException if fighter or enemy is null
+     */
+    public static CombatOdds of(Fighter fighter, Fighter enemy) {
+        if (fighter == null || enemy == null) {
+            throw new IllegalArgumentException("Fighter and enemy cannot be null");
+        }
+        return of(CombatStats.of(fighter), CombatStats.of(enemy));
+    }
+    
+    /**
+     * Computes the odds of a fight between two sets of combat stats
+     * 
+     * @param fighter the stats of the fighter attacking every turn - must not be null
+     * @param enemy the stats of the enemy striking back - must not be null
+     * @return the odds of the fight
+     * 
+     * @throws IllegalArgumentException if fighter or enemy is null
+     */
+    public static CombatOdds of(CombatStats fighter, CombatStats enemy) {
+        if (fighter == null || enemy == null) {
+            throw new IllegalArgumentException("Fighter and enemy stats cannot be null");
+        }
+        
+        int attack = (int) (((long) fighter.getMinAttack() + fighter.getMaxAttack()) / 2);
+        int hit = enemy.reduce(attack);
+        int hitsToWin = (int) Math.min((enemy.getHealth() + (long) hit - 1) / hit, MAX_TURNS + 1);
+        Key key = new Key(hitsToWin, fighter.getHealth(), enemy.getMinAttack(), enemy.getMaxAttack(), fighter.getProtection());
+        CombatOdds odds;
+        synchronized (CACHE) {
+            odds = CACHE.get(key);
+        }
+        if (odds == null) {
+            odds = compute(key);
+            synchronized (CACHE) {
+                CACHE.put(key, odds);
+            }
+        }
+        return odds;
+    }
+    
+    /**
+     * Works out the odds of a matchup
+     * 
+     * @param key the stats that decide the fight
+     * @return the odds
+     */
+    private static CombatOdds compute(Key key) {
+        if (key.hitsToWin() <= 0) {
+            return new CombatOdds(1, 0, 0);
+        }
+        if (key.health() <= 0) {
+            return new CombatOdds(0, 1, 0);
+        }
+        
+        int minHit = Math.max(1, key.minRoll() - key.protection());
+        int spread = Math.max(1, key.maxRoll() - key.protection()) - minHit;
+        double rollChance = 1.0 / (key.maxRoll() - key.minRoll() + 1);
+        
+        // current[i] = chance the fighter is alive having taken base + i damage
+        double[] current = new double[spread * MAX_TURNS + 1];
+        double[] next = new double[current.length];
+        current[0] = 1;
+        long base = 0;
+        int width = 1;
+        double alive = 1;
+        double lost = 0;
+        double turns = 0;
+        
+        for (int turn = 1; turn <= MAX_TURNS && width > 0; turn++) {
+            if (turn == key.hitsToWin()) {
+                turns += turn * alive;
+                return new CombatOdds(alive, lost, turns);
+            }
+            
+            int nextWidth = width + spread;
+            Arrays.fill(next, 0, nextWidth, 0);
+            for (int i = 0; i < width; i++) {
+                double chance = current[i] * rollChance;
+                if (chance == 0) {
+                    continue;
+                }
+                for (int roll = key.minRoll(); roll <= key.maxRoll(); roll++) {
+                    next[i + Math.max(1, roll - key.protection()) - minHit] += chance;
+                }
+            }
+            base += minHit;
+            
+            // Totals that reach the fighter's health are defeats on this turn
+            int survivors = (int) Math.max(0, Math.min(nextWidth, key.health() - base));
+            double died = 0;
+            for (int i = survivors; i < nextWidth; i++) {
+                died += next[i];
+            }
+            lost += died;
+            alive -= died;
+            turns += turn * died;
+            
+            double[] swap = current;
+            current = next;
+            next = swap;
+            width = survivors;
+        }
+        
+        if (width == 0) {
+            alive = 0;
+        }
+        turns += MAX_TURNS * alive;
+        return new CombatOdds(0, lost, turns);
+    }
+    
+    /**
+     * Gets the probability that the fighter wins
+     * 
+     * @return a value between 0 and 1
+     */
+    public double getWinProbability() {
+        return this.winProbability;
+    }
+    
+    /**
+     * Gets the probability that the fighter is defeated
+     * 
+     * Smaller than 1 - getWinProbability() when fights can run past MAX_TURNS.
+     * 
+     * @return a value between 0 and 1
+     */
+    public double getLossProbability() {
+        return this.lossProbability;
+    }
+    
+    /**
+     * Gets the expected number of turns the fight lasts
+     * 
+     * Undecided fights count as MAX_TURNS.
+     * 
+     * @return the expected turns
+     */
+    public double getExpectedTurns() {
+        return this.expectedTurns;
+    }
+    
+    /**
+     * The stats that decide a fight
+     * 
+     * @param hitsToWin hits the fighter needs, capped at MAX_TURNS + 1
+     * @param health the fighter's current health
+     * @param minRoll the enemy's lowest hit before armor
+     * @param maxRoll the enemy's highest hit before armor
+     * @param protection the fighter's armor protection
+     */
+    private record Key(int hitsToWin, int health, int minRoll, int maxRoll, int protection) {
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.characters;
+
+import tales.of.knights.random.GameRandom;
+
+/**
+ * CombatStats Class - A fighter's combat numbers, validated once
+ * 
+ * The Character and Item getters are a defensive facade: every call checks
+ * and clamps its field. That is right for the menus, but wasteful on a combat
+ * path that reads the same numbers every turn. CombatStats captures them once,
+ * checks every invariant in the constructor, and from then on only hands out
+ * plain final fields, so a combat loop over CombatStats has no branches for
+ * bad data and nothing that can throw.
+ * 
+ * Invariants:
+ * - 0 <= health <= maxHealth, and maxHealth > 0
+ * - 1 <= minAttack <= maxAttack
+ * - protection >= 0
+ * 
+ * The rules match the object model:
+ * - A Monster rolls evenly between minAttack and maxAttack (Monster.attack);
+ *   anyone else hits for exactly effective power + weapon damage
+ *   (Fighter.attack), active status effects included
+ * - Armor takes protection off every hit, but at least 1 gets through
+ *   (Fighter.takeDamage)
+ * 
+ * Instances are immutable and can be shared between threads.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see Fighter#getCombatStats()
+ */
+public final class CombatStats {
+    
+    /** Current health */
+    private final int health;
+    
+    /** Maximum health */
+    private final int maxHealth;
+    
+    /** Lowest damage of one attack, before the defender's armor */
+    private final int minAttack;
+    
+    /** Highest damage of one attack, before the defender's armor */
+    private final int maxAttack;
+    
+    /** Damage taken off every incoming hit */
+    private final int protection;
+    
+    /**
+     * Creates validated combat stats
+     * 
+     * @param health current health
+     * @param maxHealth maximum health
+     * @param minAttack lowest damage of one attack
+     * @param maxAttack highest damage of one attack
+     * @param protection damage taken off every incoming hit
+     * 
+     * @throws IllegalArgumentException if an invariant is broken
+     */
+    public CombatStats(int health, int maxHealth, int minAttack, int maxAttack, int protection) {
+        if (maxHealth <= 0 || health < 0 || health > maxHealth) {
+            throw new IllegalArgumentException("Health must be between 0 and a positive maximum");
+        }
+        if (minAttack < 1 || maxAttack < minAttack || maxAttack == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Attack range must be positive and ordered");
+        }
+        if (protection < 0) {
+            throw new IllegalArgumentException("Protection cannot be negative");
+        }
+        this.health = health;
+        this.maxHealth = maxHealth;
+        this.minAttack = minAttack;
+        this.maxAttack = maxAttack;
+        this.protection = protection;
+    }
+    
+    /**
+     * Captures a fighter's current combat stats
+     * 
+     * Reads each field and equipment value once and clamps it into range,
+     * the same way the getters would.
+     * 
+     * @param fighter the fighter - must not be null
+     * @return the fighter's stats
+     * 
+     * @throws IllegalArgumentException if fighter is null
+     */
+    public static CombatStats of(Fighter fighter) {
+        if (fighter == null) {
+            throw new IllegalArgumentException("Fighter cannot be null");
+        }
+        int maxHealth = Math.max(1, fighter.maxHealth);
+        int health = Math.max(0, Math.min(fighter.health, maxHealth));
+        int protection = fighter.armor != null ? fighter.armor.getProtection() : 0;
+        
+        if (fighter instanceof Monster monster) {
+            return new CombatStats(health, maxHealth, monster.minDamage(), monster.maxDamage(), protection);
+        }
+        long damage = fighter.getEffectivePower();
+        if (fighter.weapon != null) {
+            damage += fighter.weapon.getDamage();
+        }
+        int attack = (int) Math.max(1, Math.min(damage, Integer.MAX_VALUE - 1));
+        return new CombatStats(health, maxHealth, attack, attack, protection);
+    }
+    
+    /**
+     * Rolls the damage of one attack
+     * 
+     * Fixed attacks do not draw from the generator, just like Fighter.attack.
+     * 
+     * @param random the generator for rolling attacks
+     * @return damage between minAttack and maxAttack
+     */
+    public int rollAttack(GameRandom random) {
+        return this.minAttack == this.maxAttack ? this.minAttack : random.nextIntBetween(this.minAttack, this.maxAttack);
+    }
+    
+    /**
+     * Applies this fighter's armor to an incoming hit
+     * 
+     * @param damage the incoming damage, at least 1
+     * @return the damage that gets through, at least 1
+     */
+    public int reduce(int damage) {
+        return this.protection == 0 ? damage : Math.max(1, damage - this.protection);
+    }
+    
+    /**
+     * Gets the current health
+     * 
+     * @return health, between 0 and getMaxHealth()
+     */
+    public int getHealth() {
+        return this.health;
+    }
+    
+    /**
+     * Gets the maximum health
+     * 
+     * @return maximum health, positive
+     */
+    public int getMaxHealth() {
+        return this.maxHealth;
+    }
+    
+    /**
+     * Gets the lowest damage of one attack
+     * 
+     * @return the lowest damage, at least 1
+     */
+    public int getMinAttack() {
+        return this.minAttack;
+    }
+    
+    /**
+     * Gets the highest damage of one attack
+     * 
+     * @return the highest damage, at least getMinAttack()
+     */
+    public int getMaxAttack() {
+        return this.maxAttack;
+    }
+    
+    /**
+     * Gets the damage taken off every incoming hit
+     * 
+     * @return the protection, not negative
+     */
+    public int getProtection() {
+        return this.protection;
+    }
+    
+    /**
+     * Checks if every attack deals the same damage
+     * 
+     * @return true if minAttack equals maxAttack
+     */
+    public boolean isFixedAttack() {
+        return this.minAttack == this.maxAttack;
+    }
+}
@@ -7,6 +7,8 @@ package tales.of.knights.characters;
 import tales.of.knights.interfaces.Aggression;
 import tales.of.knights.items.Weapon;
 import tales.of.knights.items.Armor;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.OutputContext;
 
 /**
  * Fighter Abstract Class - Adds Combat Abilities to Characters
@@ -91,7 +93,7 @@ public abstract class Fighter extends Character implements Aggression {
             this.weapon = null;
             this.armor = null;
         } catch (Exception e) {
-            System.out.println("Error initializing fighter: " + e.getMessage());
+            OutputContext.current().println("Error initializing fighter: " + e.getMessage());
         }
     }
     
@@ -127,22 +129,25 @@ public abstract class Fighter extends Character implements Aggression {
     @Override
     public int attack() {
         try {
-            int baseDamage = this.power;
+            int baseDamage = getEffectivePower();
             int totalDamage = baseDamage;
             
+            GameOutput out = OutputContext.current();
             if (this.weapon != null) {
-                totalDamage += this.weapon.getDamage();
-                System.out.println(this.name + " attacks with " + this.weapon.getDescription() + " for " + totalDamage + " damage!");
-            } else {
-                System.out.println(this.name + " attacks for " + baseDamage + " damage!");
+                totalDamage = (int) Math.min((long) baseDamage + this.weapon.getDamage(), Integer.MAX_VALUE);
+                if (out.isEnabled()) {
+                    out.println(this.name + " attacks with " + this.weapon.getDescription() + " for " + totalDamage + " damage!");
+                }
+            } else if (out.isEnabled()) {
+                out.println(this.name + " attacks for " + baseDamage + " damage!");
             }
             
             return totalDamage > 0 ? totalDamage : 1;
         } catch (NullPointerException e) {
-            System.out.println("Error during attack: weapon is null");
+            OutputContext.current().println("Error during attack: weapon is null");
             return this.power;
         } catch (Exception e) {
-            System.out.println("Error during attack: " + e.getMessage());
+            OutputContext.current().println("Error during attack: " + e.getMessage());
             return this.power;
         }
     }
@@ -186,7 +191,7 @@ public abstract class Fighter extends Character implements Aggression {
     public void takeDamage(int damage) {
         try {
             if (damage < 0) {
-                System.out.println("Error: Damage cannot be negative!");
+                OutputContext.current().println("Error: Damage cannot be negative!");
                 return;
             }
             
@@ -195,12 +200,15 @@ public abstract class Fighter extends Character implements Aggression {
             if (this.armor != null) {
                 int reduction = this.armor.getProtection();
                 actualDamage = Math.max(1, damage - reduction);
-                System.out.println(this.armor.getDescription() + " reduces damage by " + reduction + "!");
+                GameOutput out = OutputContext.current();
+                if (out.isEnabled()) {
+                    out.println(this.armor.getDescription() + " reduces damage by " + reduction + "!");
+                }
             }
             
             super.takeDamage(actualDamage);
         } catch (Exception e) {
-            System.out.println("Error taking damage: " + e.getMessage());
+            OutputContext.current().println("Error taking damage: " + e.getMessage());
             super.takeDamage(damage);
         }
     }
@@ -243,14 +251,17 @@ public abstract class Fighter extends Character implements Aggression {
     public void equipWeapon(Weapon weapon) {
         try {
             if (weapon == null) {
-                System.out.println("Error: Cannot equip null weapon!");
+                OutputContext.current().println("Error: Cannot equip null weapon!");
                 return;
             }
             
             this.weapon = weapon;
-            System.out.println(this.name + " equipped " + weapon.getDescription());
+            GameOutput out = OutputContext.current();
+            if (out.isEnabled()) {
+                out.println(this.name + " equipped " + weapon.getDescription());
+            }
         } catch (Exception e) {
-            System.out.println("Error equipping weapon: " + e.getMessage());
+            OutputContext.current().println("Error equipping weapon: " + e.getMessage());
         }
     }
     
@@ -297,14 +308,17 @@ public abstract class Fighter extends Character implements Aggression {
     public void equipArmor(Armor armor) {
         try {
             if (armor == null) {
-                System.out.println("Error: Cannot equip null armor!");
+                OutputContext.current().println("Error: Cannot equip null armor!");
                 return;
             }
             
             this.armor = armor;
-            System.out.println(this.name + " equipped " + armor.getDescription());
+            GameOutput out = OutputContext.current();
+            if (out.isEnabled()) {
+                out.println(this.name + " equipped " + armor.getDescription());
+            }
         } catch (Exception e) {
-            System.out.println("Error equipping armor: " + e.getMessage());
+            OutputContext.current().println("Error equipping armor: " + e.getMessage());
         }
     }
     
@@ -340,7 +354,7 @@ public abstract class Fighter extends Character implements Aggression {
         try {
             return this.weapon;
         } catch (Exception e) {
-            System.out.println("Error getting weapon: " + e.getMessage());
+            OutputContext.current().println("Error getting weapon: " + e.getMessage());
             return null;
         }
     }
@@ -375,11 +389,22 @@ public abstract class Fighter extends Character implements Aggression {
         try {
             return this.armor;
         } catch (Exception e) {
-            System.out.println("Error getting armor: " + e.getMessage());
+            OutputContext.current().println("Error getting armor: " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Captures this fighter's combat stats for a fast combat path
+     * 
+     * @return validated, immutable stats as of now
+     * 
+     * @see CombatStats
+     */
+    public CombatStats getCombatStats() {
+        return CombatStats.of(this);
+    }
+    
     /**
      * Analyzes an opponent to view their combat statistics
      * 
@@ -391,12 +416,16 @@ public abstract class Fighter extends Character implements Aggression {
      * - Enemy's health: How much damage you need to deal to win
      * - Enemy's maximum health: Their full capacity (useful to estimate difficulty)
      * - Enemy's power: How much damage they can deal per attack
+     * - Chance to win and expected turns if you attack every turn, worked out
+     *   exactly from both fighters' stats and equipment (see CombatOdds)
      * 
      * Example Display:
      * ========== ENEMY ANALYSIS ==========
      * Name: Goblin
      * Health: 30/30
      * Power: 10
+     * Chance to win: 100.0%
+     * Expected turns: 2.0
      * ====================================
      * 
      * Strategic Uses:
@@ -425,17 +454,21 @@ public abstract class Fighter extends Character implements Aggression {
     public void analyzeEnemy(Fighter enemy) {
         try {
             if (enemy == null) {
-                System.out.println("Error: Enemy is null!");
+                OutputContext.current().println("Error: Enemy is null!");
                 return;
             }
             
-            System.out.println("\n========== ENEMY ANALYSIS ==========");
-            System.out.println("Name: " + enemy.getName());
-            System.out.println("Health: " + enemy.getHealth() + "/" + enemy.getMaxHealth());
-            System.out.println("Power: " + enemy.getPower());
-            System.out.println("====================================\n");
+            OutputContext.current().println("\n========== ENEMY ANALYSIS ==========");
+            OutputContext.current().println("Name: " + enemy.getName());
+            OutputContext.current().println("Health: " + enemy.getHealth() + "/" + enemy.getMaxHealth());
+            OutputContext.current().println("Power: " + enemy.getPower());
+            
+            CombatOdds odds = CombatOdds.of(this, enemy);
+            OutputContext.current().println("Chance to win: " + Math.round(odds.getWinProbability() * 1000) / 10.0 + "%");
+            OutputContext.current().println("Expected turns: " + Math.round(odds.getExpectedTurns() * 10) / 10.0);
+            OutputContext.current().println("====================================\n");
         } catch (Exception e) {
-            System.out.println("Error analyzing enemy: " + e.getMessage());
+            OutputContext.current().println("Error analyzing enemy: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -3,7 +3,9 @@
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
  */
 package tales.of.knights.characters;
-import java.util.Random;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.random.GameRandom;
+import tales.of.knights.random.RandomContext;
 
 /**
  * Gambler NPC - Offers gambling games to the player
@@ -19,8 +21,20 @@ import java.util.Random;
  */
 public class Gambler extends Villager {
     
-    /** Random number generator for 50/50 gambling odds */
-    private Random random;
+    /** A win pays the bet times this, and the bet itself is kept */
+    public static final int WIN_MULTIPLIER = 2;
+    
+    /** Fame gained on every win */
+    public static final int WIN_FAME = 5;
+    
+    /** Smallest bet offered at the table */
+    public static final int SMALL_BET = 10;
+    
+    /** Medium bet offered at the table */
+    public static final int MEDIUM_BET = 50;
+    
+    /** Largest bet offered at the table */
+    public static final int LARGE_BET = 100;
     
     /**
      * Creates a new Gambler NPC
@@ -29,12 +43,6 @@ public class Gambler extends Villager {
      */
     public Gambler(String name) {
         super(name, "Gambler", "Gambler");
-        try {
-            this.random = new Random();
-        } catch (Exception e) {
-            System.out.println("Error creating gambler: " + e.getMessage());
-            this.random = new Random();
-        }
     }
     
     /**
@@ -47,48 +55,61 @@ public class Gambler extends Villager {
      * @param bet amount of gold to wager - must be positive and available
      * @return true if hero won the gamble, false if lost or error occurred
      * 
+     * @see #gamble(Hero, int, GameRandom)
      * @see #displayGamblingOptions()
      */
     public boolean gamble(Hero hero, int bet) {
+        return gamble(hero, bet, RandomContext.current());
+    }
+    
+    /**
+     * Play a gambling game with the hero, flipping the coin with the given generator
+     * 
+     * @param hero the player - must not be null
+     * @param bet amount of gold to wager - must be positive and available
+     * @param random the generator that decides the outcome
+     * @return true if hero won the gamble, false if lost or error occurred
+     */
+    public boolean gamble(Hero hero, int bet, GameRandom random) {
         try {
             if (hero == null) {
-                System.out.println("Error: Hero is null!");
+                OutputContext.current().println("Error: Hero is null!");
                 return false;
             }
             
             if (bet < 0) {
-                System.out.println("Error: Bet cannot be negative!");
+                OutputContext.current().println("Error: Bet cannot be negative!");
                 return false;
             }
             
             if (bet == 0) {
-                System.out.println("Error: Bet must be greater than 0!");
+                OutputContext.current().println("Error: Bet must be greater than 0!");
                 return false;
             }
             
             if (hero.getMoney() < bet) {
-                System.out.println("Error: Not enough money to bet!");
+                OutputContext.current().println("Error: Not enough money to bet!");
                 return false;
             }
             
-            System.out.println("\n" + this.name + " says: 'Let's gamble! You bet " + bet + " gold!'");
+            OutputContext.current().println("\n" + this.name + " says: 'Let's gamble! You bet " + bet + " gold!'");
             
             // 50% chance to win
-            boolean heroWins = this.random.nextBoolean();
+            boolean heroWins = random.nextBoolean();
             
             if (heroWins) {
-                int winnings = bet * 2;
+                int winnings = bet * WIN_MULTIPLIER;
                 hero.addMoney(winnings);
-                hero.addFame(5);
-                System.out.println("You won! You gain " + winnings + " gold and 5 fame!");
+                hero.addFame(WIN_FAME);
+                OutputContext.current().println("You won! You gain " + winnings + " gold and " + WIN_FAME + " fame!");
                 return true;
             } else {
                 hero.removeMoney(bet);
-                System.out.println("You lost! You lost " + bet + " gold.");
+                OutputContext.current().println("You lost! You lost " + bet + " gold.");
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("Error during gamble: " + e.getMessage());
+            OutputContext.current().println("Error during gamble: " + e.getMessage());
             return false;
         }
     }
@@ -102,16 +123,16 @@ public class Gambler extends Villager {
      */
     public void displayGamblingOptions() {
         try {
-            System.out.println("\n========== GAMBLING ==========");
-            System.out.println("Welcome to the gambling table!");
-            System.out.println("Risk your gold for a chance to double it!");
-            System.out.println("1. Bet 10 gold");
-            System.out.println("2. Bet 50 gold");
-            System.out.println("3. Bet 100 gold");
-            System.out.println("4. Leave");
-            System.out.println("==============================\n");
+            OutputContext.current().println("\n========== GAMBLING ==========");
+            OutputContext.current().println("Welcome to the gambling table!");
+            OutputContext.current().println("Risk your gold for a chance to double it!");
+            OutputContext.current().println("1. Bet " + SMALL_BET + " gold");
+            OutputContext.current().println("2. Bet " + MEDIUM_BET + " gold");
+            OutputContext.current().println("3. Bet " + LARGE_BET + " gold");
+            OutputContext.current().println("4. Leave");
+            OutputContext.current().println("==============================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying gambling options: " + e.getMessage());
+            OutputContext.current().println("Error displaying gambling options: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
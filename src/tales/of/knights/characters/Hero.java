@@ -6,7 +6,16 @@ package tales.of.knights.characters;
 
 import tales.of.knights.items.Item;
 import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCatalog;
 import tales.of.knights.interfaces.Consumable;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.events.EventContext;
+import tales.of.knights.events.EventLog;
+import tales.of.knights.events.EventType;
+import tales.of.knights.leaderboard.FameContext;
+import tales.of.knights.random.GameRandom;
+import tales.of.knights.random.RandomContext;
 
 /**
  * Hero Class - The Player Character
@@ -40,7 +49,7 @@ public class Hero extends Fighter {
         try {
             this.itemBag = new ItemBag();
         } catch (Exception e) {
-            System.out.println("Error creating hero: " + e.getMessage());
+            OutputContext.current().println("Error creating hero: " + e.getMessage());
             this.itemBag = new ItemBag();
         }
     }
@@ -57,7 +66,7 @@ public class Hero extends Fighter {
             }
             return this.itemBag;
         } catch (Exception e) {
-            System.out.println("Error getting item bag: " + e.getMessage());
+            OutputContext.current().println("Error getting item bag: " + e.getMessage());
             return new ItemBag();
         }
     }
@@ -73,34 +82,36 @@ public class Hero extends Fighter {
     public void useItem(int index) {
         try {
             if (this.itemBag == null) {
-                System.out.println("Error: Item bag is null!");
+                OutputContext.current().println("Error: Item bag is null!");
                 return;
             }
             
             if (index < 0) {
-                System.out.println("Error: Item index cannot be negative!");
+                OutputContext.current().println("Error: Item index cannot be negative!");
                 return;
             }
             
             Item item = this.itemBag.getItem(index);
             
             if (item == null) {
-                System.out.println("Error: Item not found!");
+                OutputContext.current().println("Error: Item not found!");
                 return;
             }
             
             if (item instanceof Consumable consumable) {
                 consumable.use(this);
-                this.itemBag.removeItem(index);
+                if (this.itemBag.removeItem(index)) {
+                    recordItemEvent(EventType.ITEM_USED, index, ItemCatalog.idOf(item));
+                }
             } else {
-                System.out.println("Cannot use that item!");
+                OutputContext.current().println("Cannot use that item!");
             }
         } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error: Invalid item index!");
+            OutputContext.current().println("Error: Invalid item index!");
         } catch (ClassCastException e) {
-            System.out.println("Error: Item type mismatch!");
+            OutputContext.current().println("Error: Item type mismatch!");
         } catch (Exception e) {
-            System.out.println("Error using item: " + e.getMessage());
+            OutputContext.current().println("Error using item: " + e.getMessage());
         }
     }
     
@@ -108,34 +119,53 @@ public class Hero extends Fighter {
      * Purchases an item and adds it to inventory
      * 
      * Deducts gold from hero's money and adds item to inventory.
-     * Fails if hero doesn't have enough gold.
+     * Fails if hero doesn't have enough gold or the bag is full.
      * 
      * @param item the item to purchase - must not be null
+     * @return true if the item was bought
      */
-    public void buy(Item item) {
+    public boolean buy(Item item) {
+        return buy(item, item != null ? item.getValue() : 0);
+    }
+    
+    /**
+     * Purchases an item at a given price and adds it to inventory
+     * 
+     * Used when the shop's prices differ from the item's value.
+     * 
+     * @param item the item to purchase - must not be null
+     * @param price the gold to pay - must not be negative
+     * @return true if the item was bought
+     */
+    public boolean buy(Item item, int price) {
         try {
             if (item == null) {
-                System.out.println("Error: Item is null!");
-                return;
+                OutputContext.current().println("Error: Item is null!");
+                return false;
             }
             
-            int itemValue = item.getValue();
+            int itemValue = price;
             
             if (itemValue < 0) {
-                System.out.println("Error: Invalid item value!");
-                return;
+                OutputContext.current().println("Error: Invalid item value!");
+                return false;
             }
             
             if (this.money < itemValue) {
-                System.out.println("You don't have enough money! Need " + itemValue + ", have " + this.money);
-                return;
+                OutputContext.current().println("You don't have enough money! Need " + itemValue + ", have " + this.money);
+                return false;
             }
             
+            if (!this.itemBag.addItem(item)) {
+                return false;
+            }
             this.removeMoney(itemValue);
-            this.itemBag.addItem(item);
-            System.out.println("You bought " + item.getDescription() + " for " + itemValue + " gold!");
+            recordItemEvent(EventType.ITEM_BOUGHT, ItemCatalog.idOf(item), itemValue);
+            OutputContext.current().println("You bought " + item.getDescription() + " for " + itemValue + " gold!");
+            return true;
         } catch (Exception e) {
-            System.out.println("Error buying item: " + e.getMessage());
+            OutputContext.current().println("Error buying item: " + e.getMessage());
+            return false;
         }
     }
     
@@ -145,40 +175,75 @@ public class Hero extends Fighter {
      * Removes item from inventory and adds gold to hero's money.
      * 
      * @param index the position of the item to sell in inventory
+     * @return true if the item was sold
      */
-    public void sell(int index) {
+    public boolean sell(int index) {
+        return sellAt(index, -1);
+    }
+    
+    /**
+     * Sells an item from inventory at a given price
+     * 
+     * Used when the shop pays something other than the item's value.
+     * 
+     * @param index the position of the item to sell in inventory
+     * @param price the gold the hero receives - must not be negative
+     * @return true if the item was sold
+     */
+    public boolean sell(int index, int price) {
+        if (price < 0) {
+            OutputContext.current().println("Error: Invalid item value!");
+            return false;
+        }
+        return sellAt(index, price);
+    }
+    
+    /**
+     * Sells an item from inventory
+     * 
+     * @param index the position of the item to sell in inventory
+     * @param price the gold the hero receives, or -1 for the item's value
+     * @return true if the item was sold
+     */
+    private boolean sellAt(int index, int price) {
         try {
             if (index < 0) {
-                System.out.println("Error: Invalid item index!");
-                return;
+                OutputContext.current().println("Error: Invalid item index!");
+                return false;
             }
             
             if (this.itemBag == null) {
-                System.out.println("Error: Item bag is null!");
-                return;
+                OutputContext.current().println("Error: Item bag is null!");
+                return false;
             }
             
             Item item = this.itemBag.getItem(index);
             
             if (item == null) {
-                System.out.println("Error: Item not found!");
-                return;
+                OutputContext.current().println("Error: Item not found!");
+                return false;
             }
             
-            int itemValue = item.getValue();
+            int itemValue = price >= 0 ? price : item.getValue();
             
             if (itemValue < 0) {
-                System.out.println("Error: Invalid item value!");
-                return;
+                OutputContext.current().println("Error: Invalid item value!");
+                return false;
             }
             
+            if (!this.itemBag.removeItem(index)) {
+                return false;
+            }
             this.addMoney(itemValue);
-            this.itemBag.removeItem(index);
-            System.out.println("You sold " + item.getDescription() + " for " + itemValue + " gold!");
+            recordItemEvent(EventType.ITEM_SOLD, index, itemValue);
+            OutputContext.current().println("You sold " + item.getDescription() + " for " + itemValue + " gold!");
+            return true;
         } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error: Item index out of range!");
+            OutputContext.current().println("Error: Item index out of range!");
+            return false;
         } catch (Exception e) {
-            System.out.println("Error selling item: " + e.getMessage());
+            OutputContext.current().println("Error selling item: " + e.getMessage());
+            return false;
         }
     }
     
@@ -189,21 +254,37 @@ public class Hero extends Fighter {
      * If failed, hero stays in battle.
      * 
      * @return true if escape was successful, false if failed
+     * 
+     * @see #escape(GameRandom)
      */
     public boolean escape() {
+        return escape(RandomContext.current());
+    }
+    
+    /**
+     * Attempts to escape from battle, rolling with the given generator
+     * 
+     * @param random the generator that decides the attempt
+     * @return true if escape was successful, false if failed
+     */
+    public boolean escape(GameRandom random) {
         try {
             double escapeChance = 0.3; // 30% chance
-            double random = Math.random();
             
-            if (random < escapeChance) {
-                System.out.println(this.name + " successfully escaped!");
+            GameOutput out = OutputContext.current();
+            if (random.nextDouble() < escapeChance) {
+                if (out.isEnabled()) {
+                    out.println(this.name + " successfully escaped!");
+                }
                 return true;
             } else {
-                System.out.println(this.name + " failed to escape!");
+                if (out.isEnabled()) {
+                    out.println(this.name + " failed to escape!");
+                }
                 return false;
             }
         } catch (Exception e) {
-            System.out.println("Error during escape: " + e.getMessage());
+            OutputContext.current().println("Error during escape: " + e.getMessage());
             return false;
         }
     }
@@ -219,14 +300,46 @@ public class Hero extends Fighter {
             int healAmount = 50;
             
             if (healAmount < 0) {
-                System.out.println("Error: Invalid heal amount!");
+                OutputContext.current().println("Error: Invalid heal amount!");
                 return;
             }
             
             this.heal(healAmount);
-            System.out.println(this.name + " rests and recovers.");
+            OutputContext.current().println(this.name + " rests and recovers.");
         } catch (Exception e) {
-            System.out.println("Error resting: " + e.getMessage());
+            OutputContext.current().println("Error resting: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Records the hero's events as ACTOR_HERO
+     * 
+     * @return EventLog.ACTOR_HERO
+     */
+    @Override
+    protected int eventActor() {
+        return EventLog.ACTOR_HERO;
+    }
+    
+    /**
+     * Reports the hero's new fame to the FameListener bound to the current thread
+     */
+    @Override
+    protected void fameChanged() {
+        FameContext.current().fameChanged(this, this.fame);
+    }
+    
+    /**
+     * Records a change to the item bag in the event log bound to the current thread
+     * 
+     * @param type ITEM_BOUGHT, ITEM_SOLD or ITEM_USED
+     * @param a the event's first argument
+     * @param b the event's second argument
+     */
+    private void recordItemEvent(EventType type, int a, int b) {
+        EventLog log = EventContext.current();
+        if (log.isEnabled()) {
+            log.record(type, EventLog.ACTOR_HERO, a, b);
         }
     }
 }
\ No newline at end of file
@@ -3,28 +3,31 @@
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
  */
 package tales.of.knights.characters;
-import java.util.Random;
+import tales.of.knights.events.EventLog;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.random.GameRandom;
+import tales.of.knights.random.RandomContext;
 
 /**
  * Monster Class - Enemy Character
  * 
  * Extends Fighter to represent enemies in the dungeon. Each monster has a challenge
  * level that determines difficulty, and rewards gold/fame based on difficulty.
+ * The rewards per challenge level come from MonsterScaling.DEFAULT.
  * 
  * @author cobbina
  * @version 1.0
  * 
  * @see Fighter
  * @see Hero
+ * @see MonsterScaling
  */
 public class Monster extends Fighter {
     
     /** Difficulty level (1-5) - affects rewards and damage variation */
     private int challenge;
     
-    /** Random number generator for damage variation */
-    private Random random;
-    
     /**
      * Creates a new Monster enemy
      * 
@@ -47,13 +50,11 @@ public class Monster extends Fighter {
             }
             
             this.challenge = challenge;
-            this.random = new Random();
-            this.money = challenge * 50;
-            this.fame = challenge * 10;
+            this.money = MonsterScaling.DEFAULT.getGold(challenge);
+            this.fame = MonsterScaling.DEFAULT.getFame(challenge);
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating monster: " + e.getMessage());
+            OutputContext.current().println("Error creating monster: " + e.getMessage());
             this.challenge = 1;
-            this.random = new Random();
         }
     }
     
@@ -63,32 +64,70 @@ public class Monster extends Fighter {
      * Damage varies between (power - 3) and (power + 3) for unpredictability.
      * Minimum damage is always 1.
      * 
+     * Rolls are drawn from the RandomContext of the current thread.
+     * 
      * @return the damage dealt by this attack
+     * 
+     * @see #attack(GameRandom)
      */
     @Override
     public int attack() {
+        return attack(RandomContext.current());
+    }
+    
+    /**
+     * Attacks with randomized damage variation drawn from the given generator
+     * 
+     * Damage varies between (power - 3) and (power + 3) for unpredictability.
+     * Minimum damage is always 1.
+     * 
+     * @param random the generator to roll damage with
+     * @return the damage dealt by this attack
+     */
+    public int attack(GameRandom random) {
         try {
-            int minDamage = Math.max(1, this.power - 3);
-            int maxDamage = this.power + 3;
+            int minDamage = minDamage();
+            int maxDamage = maxDamage();
             
             if (minDamage < 0) minDamage = 1;
             if (maxDamage < minDamage) maxDamage = minDamage + 1;
             
-            int damage = minDamage + this.random.nextInt(maxDamage - minDamage + 1);
+            int damage = random.nextIntBetween(minDamage, maxDamage);
             
             if (damage < 0) damage = 1;
             
-            System.out.println(this.name + " attacks for " + damage + " damage!");
+            GameOutput out = OutputContext.current();
+            if (out.isEnabled()) {
+                out.println(this.name + " attacks for " + damage + " damage!");
+            }
             return damage;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error calculating attack damage: " + e.getMessage());
+            OutputContext.current().println("Error calculating attack damage: " + e.getMessage());
             return this.power;
         } catch (Exception e) {
-            System.out.println("Error during monster attack: " + e.getMessage());
+            OutputContext.current().println("Error during monster attack: " + e.getMessage());
             return this.power;
         }
     }
     
+    /**
+     * Gets the lowest damage attack() can roll
+     * 
+     * @return effective power - 3, at least 1
+     */
+    int minDamage() {
+        return Math.max(1, getEffectivePower() - 3);
+    }
+    
+    /**
+     * Gets the highest damage attack() can roll
+     * 
+     * @return effective power + 3, saturating instead of overflowing
+     */
+    int maxDamage() {
+        return (int) Math.min(getEffectivePower() + 3L, Integer.MAX_VALUE - 1);
+    }
+    
     /**
      * Gets the monster's challenge level
      * 
@@ -101,47 +140,70 @@ public class Monster extends Fighter {
         try {
             return this.challenge > 0 ? this.challenge : 1;
         } catch (Exception e) {
-            System.out.println("Error getting challenge: " + e.getMessage());
+            OutputContext.current().println("Error getting challenge: " + e.getMessage());
             return 1;
         }
     }
     
     /**
-     * Sets the maximum health for this monster
+     * Brings this monster back as a fresh enemy
      * 
-     * Used for scaling monsters in New Game+ mode.
+     * Reinitializes every stat in place, exactly as the constructor would, so a
+     * pooled monster can be reused for a new room or a respawn without
+     * allocating a new one. Any equipment is removed.
      * 
-     * @param maxHealth the new maximum health value
+     * @param name the monster's name - must not be null or empty
+     * @param health the monster's health points - must be positive
+     * @param power the monster's attack power - must be positive
+     * @param challenge the difficulty level - must be positive
+     * 
+     * @throws IllegalArgumentException if any argument is invalid; the monster is left unchanged
      */
-    public void setMaxHealth(int maxHealth) {
+    public void reset(String name, int health, int power, int challenge) {
         try {
-            if (maxHealth < 1) {
-                maxHealth = 1;
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Name cannot be empty");
             }
-            this.maxHealth = maxHealth;
-        } catch (Exception e) {
-            System.out.println("Error setting max health: " + e.getMessage());
+            if (health <= 0) {
+                throw new IllegalArgumentException("Health must be positive");
+            }
+            if (power <= 0) {
+                throw new IllegalArgumentException("Power must be positive");
+            }
+            if (challenge < 1) {
+                throw new IllegalArgumentException("Challenge level must be positive");
+            }
+            
+            this.name = name;
+            this.health = health;
+            this.maxHealth = health;
+            this.power = power;
+            this.challenge = challenge;
+            this.money = MonsterScaling.DEFAULT.getGold(challenge);
+            this.fame = MonsterScaling.DEFAULT.getFame(challenge);
+            this.weapon = null;
+            this.armor = null;
+        } catch (IllegalArgumentException e) {
+            OutputContext.current().println("Error resetting monster: " + e.getMessage());
+            throw e;
         }
     }
     
     /**
-     * Sets the current health for this monster
+     * Sets the maximum health for this monster
      * 
-     * Used for scaling and resetting monsters.
+     * Used for scaling monsters in New Game+ mode.
      * 
-     * @param health the new health value
+     * @param maxHealth the new maximum health value
      */
-    public void setHealth(int health) {
+    public void setMaxHealth(int maxHealth) {
         try {
-            if (health < 0) {
-                health = 0;
-            }
-            if (health > this.maxHealth) {
-                health = this.maxHealth;
+            if (maxHealth < 1) {
+                maxHealth = 1;
             }
-            this.health = health;
+            this.maxHealth = maxHealth;
         } catch (Exception e) {
-            System.out.println("Error setting health: " + e.getMessage());
+            OutputContext.current().println("Error setting max health: " + e.getMessage());
         }
     }
     
@@ -159,7 +221,7 @@ public class Monster extends Fighter {
             }
             this.power = power;
         } catch (Exception e) {
-            System.out.println("Error setting power: " + e.getMessage());
+            OutputContext.current().println("Error setting power: " + e.getMessage());
         }
     }
     
@@ -171,14 +233,24 @@ public class Monster extends Fighter {
      */
     public void display() {
         try {
-            System.out.println("\n========== MONSTER STATS ==========");
-            System.out.println("Name: " + this.name);
-            System.out.println("Health: " + this.health + "/" + this.maxHealth);
-            System.out.println("Power: " + this.power);
-            System.out.println("Challenge: " + this.challenge);
-            System.out.println("===================================\n");
+            OutputContext.current().println("\n========== MONSTER STATS ==========");
+            OutputContext.current().println("Name: " + this.name);
+            OutputContext.current().println("Health: " + this.health + "/" + this.maxHealth);
+            OutputContext.current().println("Power: " + this.power);
+            OutputContext.current().println("Challenge: " + this.challenge);
+            OutputContext.current().println("===================================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying monster stats: " + e.getMessage());
+            OutputContext.current().println("Error displaying monster stats: " + e.getMessage());
         }
     }
+    
+    /**
+     * Records the monster's events as ACTOR_MONSTER
+     * 
+     * @return EventLog.ACTOR_MONSTER
+     */
+    @Override
+    protected int eventActor() {
+        return EventLog.ACTOR_MONSTER;
+    }
 }
\ No newline at end of file
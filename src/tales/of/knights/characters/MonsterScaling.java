@@ -0,0 +1,288 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.characters;
+
+/**
+ * MonsterScaling Class - The numbers behind the monster difficulty curve
+ * 
+ * Collects every constant that decides how hard a monster is and what it is
+ * worth:
+ * - Health is healthBase + healthPerLevel * level
+ * - Power is powerBase + powerPerLevel * level
+ * - A defeated monster pays goldPerChallenge and famePerChallenge per challenge level
+ * - In New Game+ health and power are scaled by the New Game+ percentages
+ * 
+ * DEFAULT holds the values the game ships with. Other sets usually come
+ * from tales.of.knights.simulation.AutoBalancer.
+ * 
+ * Every result saturates at MAX_STAT (or Integer.MAX_VALUE for rewards) instead
+ * of overflowing, so any level is safe. Instances are immutable and can be
+ * shared between threads.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see Monster
+ * @see tales.of.knights.places.Room
+ */
+public final class MonsterScaling {
+    
+    /** Largest health or power a monster can be given */
+    public static final int MAX_STAT = 1_000_000_000;
+    
+    /** The hand-tuned curve the game ships with */
+    public static final MonsterScaling DEFAULT = new MonsterScaling(30, 10, 10, 2, 50, 10, 300, 250);
+    
+    /** Health at level 0 */
+    private final int healthBase;
+    
+    /** Health gained per level */
+    private final int healthPerLevel;
+    
+    /** Power at level 0 */
+    private final int powerBase;
+    
+    /** Power gained per level */
+    private final int powerPerLevel;
+    
+    /** Gold paid per challenge level */
+    private final int goldPerChallenge;
+    
+    /** Fame paid per challenge level */
+    private final int famePerChallenge;
+    
+    /** Health in New Game+, as a percentage of the normal health */
+    private final int newGamePlusHealthPercent;
+    
+    /** Power in New Game+, as a percentage of the normal power */
+    private final int newGamePlusPowerPercent;
+    
+    /**
+     * Creates a new MonsterScaling
+     * 
+     * @param healthBase health at level 0 - must not be negative
+     * @param healthPerLevel health gained per level - must not be negative
+     * @param powerBase power at level 0 - must not be negative
+     * @param powerPerLevel power gained per level - must not be negative
+     * @param goldPerChallenge gold paid per challenge level - must not be negative
+     * @param famePerChallenge fame paid per challenge level - must not be negative
+     * @param newGamePlusHealthPercent New Game+ health percentage - must be positive
+     * @param newGamePlusPowerPercent New Game+ power percentage - must be positive
+     * 
+     * @throws IllegalArgumentException if a value is out of range
+     */
+    public MonsterScaling(int healthBase, int healthPerLevel, int powerBase, int powerPerLevel,
+                          int goldPerChallenge, int famePerChallenge,
+                          int newGamePlusHealthPercent, int newGamePlusPowerPercent) {
+        if (healthBase < 0 || healthPerLevel < 0 || powerBase < 0 || powerPerLevel < 0) {
+            throw new IllegalArgumentException("Stat curve cannot be negative");
+        }
+        if (goldPerChallenge < 0 || famePerChallenge < 0) {
+            throw new IllegalArgumentException("Rewards cannot be negative");
+        }
+        if (newGamePlusHealthPercent <= 0 || newGamePlusPowerPercent <= 0) {
+            throw new IllegalArgumentException("New Game+ percentages must be positive");
+        }
+        this.healthBase = healthBase;
+        this.healthPerLevel = healthPerLevel;
+        this.powerBase = powerBase;
+        this.powerPerLevel = powerPerLevel;
+        this.goldPerChallenge = goldPerChallenge;
+        this.famePerChallenge = famePerChallenge;
+        this.newGamePlusHealthPercent = newGamePlusHealthPercent;
+        this.newGamePlusPowerPercent = newGamePlusPowerPercent;
+    }
+    
+    /**
+     * Gets a monster's health for a level
+     * 
+     * @param level the room level
+     * @return healthBase + healthPerLevel * level, between 1 and MAX_STAT
+     */
+    public int getHealth(int level) {
+        return getHealth(level, 100);
+    }
+    
+    /**
+     * Gets a monster's health for a level, varied by a percentage
+     * 
+     * @param level the room level
+     * @param percent the percentage of the curve's health to keep
+     * @return the varied health, between 1 and MAX_STAT
+     */
+    public int getHealth(int level, int percent) {
+        return scale(this.healthBase, this.healthPerLevel, level, percent);
+    }
+    
+    /**
+     * Gets a monster's power for a level
+     * 
+     * @param level the room level
+     * @return powerBase + powerPerLevel * level, between 1 and MAX_STAT
+     */
+    public int getPower(int level) {
+        return getPower(level, 100);
+    }
+    
+    /**
+     * Gets a monster's power for a level, varied by a percentage
+     * 
+     * @param level the room level
+     * @param percent the percentage of the curve's power to keep
+     * @return the varied power, between 1 and MAX_STAT
+     */
+    public int getPower(int level, int percent) {
+        return scale(this.powerBase, this.powerPerLevel, level, percent);
+    }
+    
+    /**
+     * Gets the gold a monster pays
+     * 
+     * @param challenge the monster's challenge level
+     * @return goldPerChallenge * challenge, saturating at Integer.MAX_VALUE
+     */
+    public int getGold(int challenge) {
+        return (int) Math.min((long) this.goldPerChallenge * challenge, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Gets the fame a monster pays
+     * 
+     * @param challenge the monster's challenge level
+     * @return famePerChallenge * challenge, saturating at Integer.MAX_VALUE
+     */
+    public int getFame(int challenge) {
+        return (int) Math.min((long) this.famePerChallenge * challenge, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Scales a monster's health for New Game+
+     * 
+     * @param health the normal health
+     * @return the New Game+ health, between 1 and MAX_STAT
+     */
+    public int newGamePlusHealth(int health) {
+        return clamp((long) health * this.newGamePlusHealthPercent / 100);
+    }
+    
+    /**
+     * Scales a monster's power for New Game+
+     * 
+     * @param power the normal power
+     * @return the New Game+ power, between 1 and MAX_STAT
+     */
+    public int newGamePlusPower(int power) {
+        return clamp((long) power * this.newGamePlusPowerPercent / 100);
+    }
+    
+    /**
+     * Computes a stat for a level without overflowing
+     * 
+     * @param base the stat at level 0
+     * @param perLevel how much the stat grows per level
+     * @param level the room level
+     * @param percent the percentage of the computed stat to keep
+     * @return (base + perLevel * level) * percent / 100, between 1 and MAX_STAT
+     */
+    private static int scale(int base, int perLevel, int level, int percent) {
+        return clamp((base + (long) perLevel * level) * percent / 100);
+    }
+    
+    /**
+     * Clamps a computed stat into the range a monster can hold
+     * 
+     * @param stat the computed stat
+     * @return the stat, between 1 and MAX_STAT
+     */
+    private static int clamp(long stat) {
+        return (int) Math.min(Math.max(stat, 1), MAX_STAT);
+    }
+    
+    /**
+     * Gets the health at level 0
+     * 
+     * @return the health base
+     */
+    public int getHealthBase() {
+        return this.healthBase;
+    }
+    
+    /**
+     * Gets the health gained per level
+     * 
+     * @return the health per level
+     */
+    public int getHealthPerLevel() {
+        return this.healthPerLevel;
+    }
+    
+    /**
+     * Gets the power at level 0
+     * 
+     * @return the power base
+     */
+    public int getPowerBase() {
+        return this.powerBase;
+    }
+    
+    /**
+     * Gets the power gained per level
+     * 
+     * @return the power per level
+     */
+    public int getPowerPerLevel() {
+        return this.powerPerLevel;
+    }
+    
+    /**
+     * Gets the gold paid per challenge level
+     * 
+     * @return the gold per challenge level
+     */
+    public int getGoldPerChallenge() {
+        return this.goldPerChallenge;
+    }
+    
+    /**
+     * Gets the fame paid per challenge level
+     * 
+     * @return the fame per challenge level
+     */
+    public int getFamePerChallenge() {
+        return this.famePerChallenge;
+    }
+    
+    /**
+     * Gets the New Game+ health percentage
+     * 
+     * @return health in New Game+ as a percentage of the normal health
+     */
+    public int getNewGamePlusHealthPercent() {
+        return this.newGamePlusHealthPercent;
+    }
+    
+    /**
+     * Gets the New Game+ power percentage
+     * 
+     * @return power in New Game+ as a percentage of the normal power
+     */
+    public int getNewGamePlusPowerPercent() {
+        return this.newGamePlusPowerPercent;
+    }
+    
+    /**
+     * Describes the curve in the same terms as the constructor
+     * 
+     * @return e.g. "health 30+10/lvl, power 10+2/lvl, gold 50/ch, fame 10/ch, NG+ 300%/250%"
+     */
+    @Override
+    public String toString() {
+        return "health " + this.healthBase + "+" + this.healthPerLevel + "/lvl"
+                + ", power " + this.powerBase + "+" + this.powerPerLevel + "/lvl"
+                + ", gold " + this.goldPerChallenge + "/ch"
+                + ", fame " + this.famePerChallenge + "/ch"
+                + ", NG+ " + this.newGamePlusHealthPercent + "%/" + this.newGamePlusPowerPercent + "%";
+    }
+}
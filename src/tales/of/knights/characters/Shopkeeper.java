@@ -5,6 +5,7 @@
 package tales.of.knights.characters;
 
 import tales.of.knights.items.*;
+import tales.of.knights.io.OutputContext;
 
 /**
  * Shopkeeper Class - Merchant NPC
@@ -12,18 +13,31 @@ import tales.of.knights.items.*;
  * Extends Villager to provide shopping services. The shopkeeper manages a shop
  * inventory and sells items to the hero. Each item type has different variants.
  * 
+ * By default the supply is endless. Given a SharedShopStock, the shopkeeper
+ * only sells what is in that stock and puts items the hero sells back into it.
+ * Given a PricingEngine, the shopkeeper charges and pays the engine's current
+ * prices instead of each item's fixed value, and reports every trade to it.
+ * 
  * @author cobbina
  * @version 1.0
  * 
  * @see Villager
  * @see Hero
  * @see ItemBag
+ * @see SharedShopStock
+ * @see PricingEngine
  */
 public class Shopkeeper extends Villager {
     
     /** Shop inventory containing items for sale */
     private ItemBag shop;
     
+    /** Shared stock sold from and bought back into, or null for an endless supply */
+    private SharedShopStock stock;
+    
+    /** Engine the prices come from, or null to charge each item's value */
+    private PricingEngine pricing;
+    
     /**
      * Creates a new Shopkeeper NPC
      * 
@@ -38,7 +52,7 @@ public class Shopkeeper extends Villager {
             this.shop = new ItemBag();
             initializeShop();
         } catch (Exception e) {
-            System.out.println("Error creating shopkeeper: " + e.getMessage());
+            OutputContext.current().println("Error creating shopkeeper: " + e.getMessage());
             this.shop = new ItemBag();
         }
     }
@@ -47,18 +61,15 @@ public class Shopkeeper extends Villager {
      * Initializes shop with starting items
      * 
      * Adds weapons, armor, healing items, and damage items to shop inventory.
+     * The shop shows the shared ItemCatalog entries rather than its own copies.
      */
     private void initializeShop() {
         try {
-            this.shop.addItem(new Weapon("Iron Sword", 20, 50));
-            this.shop.addItem(new Weapon("Steel Sword", 30, 75));
-            this.shop.addItem(new Armor("Leather Armor", 5, 40));
-            this.shop.addItem(new Armor("Steel Armor", 10, 60));
-            this.shop.addItem(new HealingItem("Health Potion", 25, 3, 25));
-            this.shop.addItem(new HealingItem("Greater Potion", 50, 5, 40));
-            this.shop.addItem(new DamageItem("Explosive Bomb", 25, 30));
+            for (int id = 0; id < ItemCatalog.size(); id++) {
+                this.shop.addItem(ItemCatalog.get(id));
+            }
         } catch (Exception e) {
-            System.out.println("Error initializing shop: " + e.getMessage());
+            OutputContext.current().println("Error initializing shop: " + e.getMessage());
         }
     }
     
@@ -66,20 +77,21 @@ public class Shopkeeper extends Villager {
      * Displays shop menu and available categories
      * 
      * Shows options to buy weapons, armor, potions, or damage items.
+     * With a pricing engine, each option shows its current price.
      */
     public void displayShop() {
         try {
-            System.out.println("\n========== GENERAL SHOP ==========");
-            System.out.println("Welcome to the shop!");
-            System.out.println("1. Buy Weapon");
-            System.out.println("2. Buy Armor");
-            System.out.println("3. Buy Healing Item");
-            System.out.println("4. Buy Damage Item");
-            System.out.println("5. Sell Item");
-            System.out.println("6. Leave Shop");
-            System.out.println("=================================\n");
+            OutputContext.current().println("\n========== GENERAL SHOP ==========");
+            OutputContext.current().println("Welcome to the shop!");
+            OutputContext.current().println("1. Buy Weapon" + priceTag(ItemCatalog.IRON_SWORD));
+            OutputContext.current().println("2. Buy Armor" + priceTag(ItemCatalog.LEATHER_ARMOR));
+            OutputContext.current().println("3. Buy Healing Item" + priceTag(ItemCatalog.HEALTH_POTION));
+            OutputContext.current().println("4. Buy Damage Item" + priceTag(ItemCatalog.EXPLOSIVE_BOMB));
+            OutputContext.current().println("5. Sell Item");
+            OutputContext.current().println("6. Leave Shop");
+            OutputContext.current().println("=================================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying shop: " + e.getMessage());
+            OutputContext.current().println("Error displaying shop: " + e.getMessage());
         }
     }
     
@@ -94,21 +106,21 @@ public class Shopkeeper extends Villager {
     public Item getShopItem(int index) {
         try {
             if (this.shop == null) {
-                System.out.println("Error: Shop is null!");
+                OutputContext.current().println("Error: Shop is null!");
                 return null;
             }
             
             if (index < 0) {
-                System.out.println("Error: Index cannot be negative!");
+                OutputContext.current().println("Error: Index cannot be negative!");
                 return null;
             }
             
             return this.shop.getItem(index);
         } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error: Item index out of range!");
+            OutputContext.current().println("Error: Item index out of range!");
             return null;
         } catch (Exception e) {
-            System.out.println("Error getting shop item: " + e.getMessage());
+            OutputContext.current().println("Error getting shop item: " + e.getMessage());
             return null;
         }
     }
@@ -116,8 +128,9 @@ public class Shopkeeper extends Villager {
     /**
      * Sells an item to the hero
      * 
-     * Creates an item based on type and sells it to the hero if they have
+     * Picks the catalog item for the type and sells it to the hero if they have
      * enough gold. Item types: "weapon", "armor", "healing", "damage".
+     * The hero receives the shared catalog instance, so nothing is allocated.
      * 
      * @param hero the player making the purchase
      * @param itemType the type of item to sell ("weapon", "armor", etc.)
@@ -125,36 +138,144 @@ public class Shopkeeper extends Villager {
     public void sellItem(Hero hero, String itemType) {
         try {
             if (hero == null) {
-                System.out.println("Error: Hero is null!");
+                OutputContext.current().println("Error: Hero is null!");
                 return;
             }
             
             if (itemType == null || itemType.trim().isEmpty()) {
-                System.out.println("Error: Item type is invalid!");
+                OutputContext.current().println("Error: Item type is invalid!");
                 return;
             }
             
             Item item = null;
             
             switch (itemType.toLowerCase()) {
-                case "weapon" -> item = new Weapon("Iron Sword", 20, 50);
-                case "armor" -> item = new Armor("Leather Armor", 5, 40);
-                case "healing" -> item = new HealingItem("Health Potion", 25, 3, 25);
-                case "damage" -> item = new DamageItem("Explosive Bomb", 25, 30);
+                case "weapon" -> item = ItemCatalog.IRON_SWORD;
+                case "armor" -> item = ItemCatalog.LEATHER_ARMOR;
+                case "healing" -> item = ItemCatalog.HEALTH_POTION;
+                case "damage" -> item = ItemCatalog.EXPLOSIVE_BOMB;
                 default -> {
-                    System.out.println("Error: Unknown item type!");
+                    OutputContext.current().println("Error: Unknown item type!");
                     return;
                 }
             }
             
             if (item == null) {
-                System.out.println("Error: Could not create item!");
+                OutputContext.current().println("Error: Could not create item!");
+                return;
+            }
+            
+            int id = ItemCatalog.idOf(item);
+            if (this.stock != null && !this.stock.take(id)) {
+                OutputContext.current().println("Sorry, " + item.getName() + " is sold out! Come back later.");
                 return;
             }
             
-            hero.buy(item);
+            int price = getBuyPrice(item);
+            if (hero.buy(item, price)) {
+                if (this.pricing != null) {
+                    this.pricing.recordPurchase(id);
+                }
+            } else if (this.stock != null) {
+                this.stock.put(id);
+            }
+        } catch (Exception e) {
+            OutputContext.current().println("Error selling item: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Buys an item back from the hero
+     * 
+     * The hero is paid through Hero.sell(), at the item's value or, with a
+     * pricing engine, at the engine's current sell price. With a shared stock,
+     * a sold catalog item goes back into the stock for other heroes to buy.
+     * 
+     * @param hero the player selling the item
+     * @param index the position of the item in the hero's inventory
+     * @return true if the item was sold
+     */
+    public boolean buyItem(Hero hero, int index) {
+        try {
+            if (hero == null) {
+                OutputContext.current().println("Error: Hero is null!");
+                return false;
+            }
+            
+            if (index < 0 || index >= hero.getItemBag().getItemCount()) {
+                return hero.sell(index);
+            }
+            
+            int id = ItemCatalog.idOf(hero.getItemBag().getItem(index));
+            boolean sold = this.pricing != null && id >= 0
+                    ? hero.sell(index, this.pricing.current().getSellPrice(id))
+                    : hero.sell(index);
+            if (!sold) {
+                return false;
+            }
+            
+            if (id >= 0) {
+                if (this.stock != null) {
+                    this.stock.put(id);
+                }
+                if (this.pricing != null) {
+                    this.pricing.recordSale(id);
+                }
+            }
+            return true;
         } catch (Exception e) {
-            System.out.println("Error selling item: " + e.getMessage());
+            OutputContext.current().println("Error buying item: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Gets the price the shopkeeper currently charges for an item
+     * 
+     * @param item the catalog item - must not be null
+     * @return the pricing engine's buy price, or the item's value without one
+     */
+    public int getBuyPrice(Item item) {
+        return this.pricing != null ? this.pricing.current().getBuyPrice(ItemCatalog.idOf(item)) : item.getValue();
+    }
+    
+    /**
+     * Describes the current price of an item for the shop menu
+     * 
+     * @param item the catalog item
+     * @return e.g. " (52 gold)", or an empty string without a pricing engine
+     */
+    private String priceTag(Item item) {
+        if (this.pricing == null) {
+            return "";
         }
+        return " (" + getBuyPrice(item) + " gold)";
+    }
+    
+    /**
+     * Sets the engine the shopkeeper's prices come from
+     * 
+     * @param pricing the pricing engine, or null to charge each item's value
+     */
+    public void setPricing(PricingEngine pricing) {
+        this.pricing = pricing;
+    }
+    
+    /**
+     * Sets the stock the shopkeeper sells from
+     * 
+     * @param stock the shared stock, or null for an endless supply
+     */
+    public void setStock(SharedShopStock stock) {
+        this.stock = stock;
+    }
+    
+    /**
+     * Gets the stock the shopkeeper sells from
+     * 
+     * @return the shared stock, or null if the supply is endless
+     */
+    public SharedShopStock getStock() {
+        return this.stock;
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@
  */
 package tales.of.knights.characters;
 
+import tales.of.knights.io.OutputContext;
+
 /**
  * Villager Abstract Class - Base for NPC Characters
  * 
@@ -43,7 +45,7 @@ public abstract class Villager extends Character {
             }
             this.role = role;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating villager: " + e.getMessage());
+            OutputContext.current().println("Error creating villager: " + e.getMessage());
             this.role = "Unknown";
         }
     }
@@ -57,7 +59,7 @@ public abstract class Villager extends Character {
         try {
             return this.role != null ? this.role : "Unknown";
         } catch (Exception e) {
-            System.out.println("Error getting role: " + e.getMessage());
+            OutputContext.current().println("Error getting role: " + e.getMessage());
             return "Unknown";
         }
     }
@@ -76,7 +78,7 @@ public abstract class Villager extends Character {
             }
             this.role = role;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error setting role: " + e.getMessage());
+            OutputContext.current().println("Error setting role: " + e.getMessage());
         }
     }
     
@@ -87,9 +89,9 @@ public abstract class Villager extends Character {
      */
     public void greet() {
         try {
-            System.out.println("\nHello! I'm " + this.name + ", a " + this.role + ".");
+            OutputContext.current().println("\nHello! I'm " + this.name + ", a " + this.role + ".");
         } catch (Exception e) {
-            System.out.println("Error greeting: " + e.getMessage());
+            OutputContext.current().println("Error greeting: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.effects;
+
+/**
+ * EffectContext Class - Holds the EffectWheel of the current thread
+ * 
+ * Works like RandomContext: a game session binds its own EffectWheel on the
+ * thread that runs it, and Character.applyEffect() registers effects on it.
+ * Threads that never bind one get a private wheel, so sessions never share
+ * turn clocks.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see EffectWheel
+ * @see tales.of.knights.random.RandomContext
+ */
+public final class EffectContext {
+    
+    /** Wheel bound to each thread, created on first use */
+    private static final ThreadLocal<EffectWheel> CURRENT = ThreadLocal.withInitial(EffectWheel::new);
+    
+    /**
+     * Not instantiable - all methods are static
+     */
+    private EffectContext() {
+    }
+    
+    /**
+     * Gets the wheel bound to the current thread
+     * 
+     * @return the bound wheel, never null
+     */
+    public static EffectWheel current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Binds a wheel to the current thread
+     * 
+     * @param wheel the wheel to use from now on, or null for a fresh one
+     * @return the wheel that was bound before, so it can be restored
+     */
+    public static EffectWheel bind(EffectWheel wheel) {
+        EffectWheel previous = CURRENT.get();
+        CURRENT.set(wheel != null ? wheel : new EffectWheel());
+        return previous;
+    }
+}
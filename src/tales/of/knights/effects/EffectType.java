@@ -0,0 +1,62 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.effects;
+
+/**
+ * EffectType Enum - Kinds of timed status effect a character can be under
+ * 
+ * The magnitude of an effect is always positive; the type decides what it
+ * does. Effects of the same type add up.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see StatusEffect
+ * @see EffectWheel
+ */
+public enum EffectType {
+    
+    /** Raises power by the magnitude while it lasts */
+    POWER_BOOST("Power Boost"),
+    
+    /** Lowers power by the magnitude while it lasts */
+    WEAKNESS("Weakness"),
+    
+    /** Deals the magnitude as damage at the end of every turn */
+    POISON("Poison"),
+    
+    /** Heals the magnitude at the end of every turn */
+    REGENERATION("Regeneration");
+    
+    /** Name shown to the player */
+    private final String displayName;
+    
+    /**
+     * Creates an effect type
+     * 
+     * @param displayName name shown to the player
+     */
+    EffectType(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    /**
+     * Gets the name shown to the player
+     * 
+     * @return e.g. "Power Boost"
+     */
+    public String getDisplayName() {
+        return this.displayName;
+    }
+    
+    /**
+     * Checks if the effect acts at the end of every turn
+     * 
+     * @return true for POISON and REGENERATION
+     */
+    public boolean isPeriodic() {
+        return this == POISON || this == REGENERATION;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.effects;
+
+import java.util.Arrays;
+import tales.of.knights.characters.Character;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.OutputContext;
+
+/**
+ * EffectWheel Class - Turn clock that ends status effects on time
+ * 
+ * Every game session (and every simulated battle) has one wheel, advanced
+ * once per combat turn. Effects are kept in a hierarchical timing wheel:
+ * LEVELS rings of SLOTS buckets each, where a bucket of level 0 holds the
+ * effects ending on one turn, a bucket of level 1 those ending within one
+ * span of SLOTS turns, and so on. An effect goes into the lowest level its
+ * remaining duration fits. Whenever a lower ring wraps around, the next bucket
+ * of the ring above is emptied into the rings below, so each effect moves at
+ * most LEVELS - 1 times before it ends.
+ * 
+ * Applying, cancelling and ending an effect are all O(1), however many
+ * effects are active. At the end of every turn, only the characters with
+ * poison or regeneration are visited, and each takes one combined hit or
+ * heal from the running totals kept by its StatusEffects.
+ * 
+ * Not thread safe - use one wheel per session.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see StatusEffect
+ * @see EffectContext
+ */
+public final class EffectWheel {
+    
+    /** Bits of the turn each level covers */
+    private static final int BITS = 6;
+    
+    /** Buckets per level */
+    private static final int SLOTS = 1 << BITS;
+    
+    /** Mask for a bucket index within a level */
+    private static final int MASK = SLOTS - 1;
+    
+    /** Number of levels */
+    private static final int LEVELS = 4;
+    
+    /** Longest duration an effect can have, in turns */
+    public static final int MAX_DURATION = (1 << (BITS * LEVELS)) - 1;
+    
+    /** First effect of every bucket, level by level */
+    private final StatusEffect[] buckets = new StatusEffect[LEVELS * SLOTS];
+    
+    /** Characters with poison or regeneration, packed at the front */
+    private StatusEffects[] periodic = new StatusEffects[8];
+    
+    /** Number of characters in periodic */
+    private int periodicCount;
+    
+    /** Number of active effects */
+    private int active;
+    
+    /** Current turn */
+    private long turn;
+    
+    /**
+     * Puts a new effect on a character
+     * 
+     * @param target the character - must not be null
+     * @param type what the effect does - must not be null
+     * @param magnitude how strong the effect is - must be positive
+     * @param turns how many turns the effect lasts, counting the current one - 1 to MAX_DURATION
+     * @return the active effect, which can be cancelled early
+     * 
+     * @throws IllegalArgumentException if an argument is null or out of range
+     * @throws IllegalStateException if the character has effects on another wheel
+     */
+    public StatusEffect apply(Character target, EffectType type, int magnitude, int turns) {
+        if (target == null || type == null) {
+            throw new IllegalArgumentException("Target and type cannot be null");
+        }
+        if (magnitude <= 0) {
+            throw new IllegalArgumentException("Magnitude must be positive");
+        }
+        if (turns <= 0 || turns > MAX_DURATION) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + MAX_DURATION + " turns");
+        }
+        StatusEffects effects = target.getStatusEffects();
+        if (effects.wheel != null && effects.wheel != this) {
+            throw new IllegalStateException(target.getName() + " already has effects on another wheel");
+        }
+        
+        StatusEffect effect = new StatusEffect(type, magnitude, effects, this.turn + turns);
+        effect.wheel = this;
+        schedule(effect);
+        effects.wheel = this;
+        effects.add(effect);
+        updatePeriodic(effects);
+        this.active++;
+        return effect;
+    }
+    
+    /**
+     * Ends an effect before its expiry turn
+     * 
+     * @param effect the effect - ignored if null
+     * @return true if the effect was active on this wheel
+     */
+    public boolean cancel(StatusEffect effect) {
+        if (effect == null || effect.wheel != this) {
+            return false;
+        }
+        unlink(effect);
+        end(effect);
+        return true;
+    }
+    
+    /**
+     * Ends the current turn
+     * 
+     * Characters under poison or regeneration take their damage or healing,
+     * then the turn counter moves on and every effect whose time is up ends.
+     * An effect applied for n turns acts at the end of n turns, then ends.
+     */
+    public void advance() {
+        for (int i = 0; i < this.periodicCount; i++) {
+            tick(this.periodic[i]);
+        }
+        
+        this.turn++;
+        int level = 1;
+        while (level < LEVELS && (this.turn & ((1L << (BITS * level)) - 1)) == 0) {
+            level++;
+        }
+        for (int l = level - 1; l >= 1; l--) {
+            cascade(l, (int) (this.turn >>> (BITS * l)) & MASK);
+        }
+        
+        GameOutput out = OutputContext.current();
+        int bucket = (int) this.turn & MASK;
+        StatusEffect effect = this.buckets[bucket];
+        this.buckets[bucket] = null;
+        while (effect != null) {
+            StatusEffect next = effect.bucketNext;
+            effect.bucketPrev = null;
+            effect.bucketNext = null;
+            end(effect);
+            if (out.isEnabled()) {
+                out.println(effect.getTarget().getName() + "'s " + effect.getType().getDisplayName() + " wore off.");
+            }
+            effect = next;
+        }
+    }
+    
+    /**
+     * Gets the current turn
+     * 
+     * @return the number of times advance() has been called
+     */
+    public long getTurn() {
+        return this.turn;
+    }
+    
+    /**
+     * Gets the number of active effects on all characters
+     * 
+     * @return the active effect count
+     */
+    public int getActiveCount() {
+        return this.active;
+    }
+    
+    /**
+     * Applies one turn of poison and regeneration to a character
+     * 
+     * Dead characters are skipped. Poison is a hit like any other, so armor
+     * softens it.
+     * 
+     * @param effects the character's effects
+     */
+    private void tick(StatusEffects effects) {
+        Character owner = effects.getOwner();
+        if (!owner.isAlive()) {
+            return;
+        }
+        GameOutput out = OutputContext.current();
+        int poison = effects.getPoison();
+        if (poison > 0) {
+            if (out.isEnabled()) {
+                out.println(owner.getName() + " suffers from poison!");
+            }
+            owner.takeDamage(poison);
+        }
+        int regeneration = effects.getRegeneration();
+        if (regeneration > 0 && owner.isAlive()) {
+            owner.heal(regeneration);
+        }
+    }
+    
+    /**
+     * Moves the effects of a higher-level bucket into the levels below
+     * 
+     * @param level the level of the bucket
+     * @param slot the bucket within the level
+     */
+    private void cascade(int level, int slot) {
+        int bucket = level * SLOTS + slot;
+        StatusEffect effect = this.buckets[bucket];
+        this.buckets[bucket] = null;
+        while (effect != null) {
+            StatusEffect next = effect.bucketNext;
+            effect.bucketPrev = null;
+            effect.bucketNext = null;
+            schedule(effect);
+            effect = next;
+        }
+    }
+    
+    /**
+     * Puts an effect into the bucket for its remaining duration
+     * 
+     * @param effect the effect
+     */
+    private void schedule(StatusEffect effect) {
+        long remaining = effect.expiry - this.turn;
+        int level = 0;
+        while (level < LEVELS - 1 && remaining >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int bucket = level * SLOTS + ((int) (effect.expiry >>> (BITS * level)) & MASK);
+        
+        StatusEffect head = this.buckets[bucket];
+        effect.bucket = bucket;
+        effect.bucketNext = head;
+        if (head != null) {
+            head.bucketPrev = effect;
+        }
+        this.buckets[bucket] = effect;
+    }
+    
+    /**
+     * Takes an effect out of its bucket
+     * 
+     * @param effect the effect
+     */
+    private void unlink(StatusEffect effect) {
+        if (effect.bucketPrev != null) {
+            effect.bucketPrev.bucketNext = effect.bucketNext;
+        } else {
+            this.buckets[effect.bucket] = effect.bucketNext;
+        }
+        if (effect.bucketNext != null) {
+            effect.bucketNext.bucketPrev = effect.bucketPrev;
+        }
+        effect.bucketPrev = null;
+        effect.bucketNext = null;
+    }
+    
+    /**
+     * Ends an effect that has already been taken out of its bucket
+     * 
+     * @param effect the effect
+     */
+    private void end(StatusEffect effect) {
+        effect.wheel = null;
+        StatusEffects effects = effect.target;
+        effects.remove(effect);
+        if (effects.getCount() == 0) {
+            effects.wheel = null;
+        }
+        updatePeriodic(effects);
+        this.active--;
+    }
+    
+    /**
+     * Adds a character to, or removes it from, the characters ticked every turn
+     * 
+     * @param effects the character's effects
+     */
+    private void updatePeriodic(StatusEffects effects) {
+        boolean listed = effects.periodicPosition >= 0;
+        if (effects.isPeriodic() && !listed) {
+            if (this.periodicCount == this.periodic.length) {
+                this.periodic = Arrays.copyOf(this.periodic, this.periodicCount * 2);
+            }
+            effects.periodicPosition = this.periodicCount;
+            this.periodic[this.periodicCount++] = effects;
+        } else if (!effects.isPeriodic() && listed) {
+            int last = --this.periodicCount;
+            StatusEffects moved = this.periodic[last];
+            this.periodic[effects.periodicPosition] = moved;
+            moved.periodicPosition = effects.periodicPosition;
+            this.periodic[last] = null;
+            effects.periodicPosition = -1;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.effects;
+
+import tales.of.knights.characters.Character;
+
+/**
+ * StatusEffect Class - One timed effect on one character
+ * 
+ * Created by EffectWheel.apply() and active until the wheel reaches its
+ * expiry turn or it is cancelled. The effect is its own list node: it links
+ * itself into a bucket of the wheel and into the list of its target's
+ * effects, so neither applying nor removing it allocates or searches.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see EffectWheel
+ * @see StatusEffects
+ */
+public final class StatusEffect {
+    
+    /** What the effect does */
+    private final EffectType type;
+    
+    /** How strong the effect is */
+    private final int magnitude;
+    
+    /** The effects of the character the effect is on */
+    final StatusEffects target;
+    
+    /** Turn of the wheel at which the effect ends */
+    final long expiry;
+    
+    /** Wheel the effect is scheduled on, or null once it has ended */
+    EffectWheel wheel;
+    
+    /** Bucket of the wheel the effect is in */
+    int bucket;
+    
+    /** Previous effect in the same bucket */
+    StatusEffect bucketPrev;
+    
+    /** Next effect in the same bucket */
+    StatusEffect bucketNext;
+    
+    /** Previous effect on the same character */
+    StatusEffect targetPrev;
+    
+    /** Next effect on the same character */
+    StatusEffect targetNext;
+    
+    /**
+     * Creates a new StatusEffect
+     * 
+     * @param type what the effect does
+     * @param magnitude how strong the effect is
+     * @param target the effects of the character the effect is on
+     * @param expiry turn of the wheel at which the effect ends
+     */
+    StatusEffect(EffectType type, int magnitude, StatusEffects target, long expiry) {
+        this.type = type;
+        this.magnitude = magnitude;
+        this.target = target;
+        this.expiry = expiry;
+    }
+    
+    /**
+     * Gets what the effect does
+     * 
+     * @return the effect type
+     */
+    public EffectType getType() {
+        return this.type;
+    }
+    
+    /**
+     * Gets how strong the effect is
+     * 
+     * @return power change, or damage or healing per turn
+     */
+    public int getMagnitude() {
+        return this.magnitude;
+    }
+    
+    /**
+     * Gets the character the effect is on
+     * 
+     * @return the target
+     */
+    public Character getTarget() {
+        return this.target.getOwner();
+    }
+    
+    /**
+     * Gets the turn at which the effect ends
+     * 
+     * @return the wheel turn of expiry
+     */
+    public long getExpiryTurn() {
+        return this.expiry;
+    }
+    
+    /**
+     * Checks if the effect is still in force
+     * 
+     * @return false once it expired or was cancelled
+     */
+    public boolean isActive() {
+        return this.wheel != null;
+    }
+    
+    /**
+     * Ends the effect before its expiry turn
+     * 
+     * @return true if the effect was active
+     */
+    public boolean cancel() {
+        EffectWheel current = this.wheel;
+        return current != null && current.cancel(this);
+    }
+    
+    /**
+     * Describes the effect
+     * 
+     * @return e.g. "Power Boost 25 until turn 12"
+     */
+    @Override
+    public String toString() {
+        return this.type.getDisplayName() + " " + this.magnitude + " until turn " + this.expiry;
+    }
+}
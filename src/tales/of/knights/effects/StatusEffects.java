@@ -0,0 +1,188 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.effects;
+
+import tales.of.knights.characters.Character;
+
+/**
+ * StatusEffects Class - The active status effects of one character
+ * 
+ * Keeps a running total per kind of effect, updated as effects start and
+ * end, so the combat code reads the power change or the poison damage of a
+ * character in O(1) no matter how many effects are on it.
+ * 
+ * All effects of a character are scheduled on one EffectWheel at a time.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see StatusEffect
+ * @see EffectWheel
+ */
+public final class StatusEffects {
+    
+    /** The character these effects are on */
+    private final Character owner;
+    
+    /** Sum of POWER_BOOST minus sum of WEAKNESS magnitudes */
+    private long powerModifier;
+    
+    /** Sum of POISON magnitudes */
+    private long poison;
+    
+    /** Sum of REGENERATION magnitudes */
+    private long regeneration;
+    
+    /** Number of active effects */
+    private int count;
+    
+    /** Most recently applied active effect */
+    private StatusEffect head;
+    
+    /** Wheel the effects are scheduled on, or null if there are none */
+    EffectWheel wheel;
+    
+    /** Position in the wheel's list of periodic targets, or -1 */
+    int periodicPosition = -1;
+    
+    /**
+     * Creates an empty StatusEffects
+     * 
+     * @param owner the character the effects will be on - must not be null
+     * 
+     * @throws IllegalArgumentException if owner is null
+     */
+    public StatusEffects(Character owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        this.owner = owner;
+    }
+    
+    /**
+     * Gets the character the effects are on
+     * 
+     * @return the owner
+     */
+    public Character getOwner() {
+        return this.owner;
+    }
+    
+    /**
+     * Gets the net power change of all active effects
+     * 
+     * @return boosts minus weaknesses, clamped to the int range
+     */
+    public int getPowerModifier() {
+        return clamp(this.powerModifier);
+    }
+    
+    /**
+     * Gets the damage all active poisons deal each turn
+     * 
+     * @return the total poison, 0 if none
+     */
+    public int getPoison() {
+        return clamp(this.poison);
+    }
+    
+    /**
+     * Gets the health all active regenerations restore each turn
+     * 
+     * @return the total regeneration, 0 if none
+     */
+    public int getRegeneration() {
+        return clamp(this.regeneration);
+    }
+    
+    /**
+     * Gets the number of active effects
+     * 
+     * @return 0 if the character is under no effect
+     */
+    public int getCount() {
+        return this.count;
+    }
+    
+    /**
+     * Ends every active effect at once, e.g. when a battle is over
+     * 
+     * Costs O(1) per effect.
+     */
+    public void clear() {
+        while (this.head != null) {
+            this.head.cancel();
+        }
+    }
+    
+    /**
+     * Checks if the effects have to act at the end of every turn
+     * 
+     * @return true if there is poison or regeneration
+     */
+    boolean isPeriodic() {
+        return this.poison != 0 || this.regeneration != 0;
+    }
+    
+    /**
+     * Adds a newly applied effect
+     * 
+     * @param effect the effect
+     */
+    void add(StatusEffect effect) {
+        effect.targetNext = this.head;
+        if (this.head != null) {
+            this.head.targetPrev = effect;
+        }
+        this.head = effect;
+        this.count++;
+        total(effect, effect.getMagnitude());
+    }
+    
+    /**
+     * Removes an effect that ended
+     * 
+     * @param effect the effect
+     */
+    void remove(StatusEffect effect) {
+        if (effect.targetPrev != null) {
+            effect.targetPrev.targetNext = effect.targetNext;
+        } else {
+            this.head = effect.targetNext;
+        }
+        if (effect.targetNext != null) {
+            effect.targetNext.targetPrev = effect.targetPrev;
+        }
+        effect.targetPrev = null;
+        effect.targetNext = null;
+        this.count--;
+        total(effect, -effect.getMagnitude());
+    }
+    
+    /**
+     * Adds an effect's magnitude to, or takes it off, the running total of its type
+     * 
+     * @param effect the effect
+     * @param amount the signed magnitude
+     */
+    private void total(StatusEffect effect, long amount) {
+        switch (effect.getType()) {
+            case POWER_BOOST -> this.powerModifier += amount;
+            case WEAKNESS -> this.powerModifier -= amount;
+            case POISON -> this.poison += amount;
+            case REGENERATION -> this.regeneration += amount;
+        }
+    }
+    
+    /**
+     * Clamps a total to the int range
+     * 
+     * @param value the total
+     * @return the value, or Integer.MIN_VALUE / MAX_VALUE if out of range
+     */
+    private static int clamp(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(value, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.events;
+
+/**
+ * EventContext Class - Holds the EventLog of the current thread
+ * 
+ * Works like OutputContext: a game session binds its log on the thread that
+ * runs it, and every state change made on that thread is recorded there.
+ * Threads that never bind a log use NullEventLog.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see EventLog
+ * @see tales.of.knights.io.OutputContext
+ */
+public final class EventContext {
+    
+    /** Log bound to each thread */
+    private static final ThreadLocal<EventLog> CURRENT = ThreadLocal.withInitial(() -> NullEventLog.INSTANCE);
+    
+    /**
+     * Not instantiable - all methods are static
+     */
+    private EventContext() {
+    }
+    
+    /**
+     * Gets the log bound to the current thread
+     * 
+     * @return the bound log, never null
+     */
+    public static EventLog current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Binds a log to the current thread
+     * 
+     * @param log the log to use from now on, or null to stop recording
+     * @return the log that was bound before, so it can be restored
+     */
+    public static EventLog bind(EventLog log) {
+        EventLog previous = CURRENT.get();
+        CURRENT.set(log != null ? log : NullEventLog.INSTANCE);
+        return previous;
+    }
+}
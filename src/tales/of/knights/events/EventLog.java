@@ -0,0 +1,101 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.events;
+
+import tales.of.knights.characters.Hero;
+import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCatalog;
+import tales.of.knights.places.Dungeon;
+
+/**
+ * EventLog Interface - Destination for game state change events
+ * 
+ * Characters, the hero's item bag and the dungeon report every state change
+ * to the EventLog bound to the current thread (see EventContext). When no log
+ * is bound, NullEventLog swallows them and isEnabled() lets callers skip the
+ * call entirely.
+ * 
+ * Implementations must be cheap to call from the game thread: record() is on
+ * the combat hot path.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see EventContext
+ * @see SegmentedEventLog
+ * @see NullEventLog
+ */
+public interface EventLog {
+    
+    /** Actor code for the hero */
+    int ACTOR_HERO = 0;
+    
+    /** Actor code for a monster */
+    int ACTOR_MONSTER = 1;
+    
+    /** Actor code for anything else (villagers, the dungeon) */
+    int ACTOR_OTHER = 2;
+    
+    /**
+     * Checks if events are recorded at all
+     * 
+     * @return false if every event is discarded
+     */
+    boolean isEnabled();
+    
+    /**
+     * Records one event
+     * 
+     * @param type the kind of change
+     * @param actor who changed - ACTOR_HERO, ACTOR_MONSTER or ACTOR_OTHER
+     * @param a the first argument (see EventType)
+     * @param b the second argument (see EventType)
+     */
+    void record(EventType type, int actor, int a, int b);
+    
+    /**
+     * Records a HERO_CREATED event
+     * 
+     * @param name the hero's name
+     * @param title the hero's title
+     * @param maxHealth the hero's maximum health
+     * @param power the hero's power
+     */
+    void recordHero(String name, String title, int maxHealth, int power);
+    
+    /**
+     * Records the complete state of a hero and the dungeon
+     * 
+     * Written when a game starts or is loaded from a save, so the log can be
+     * replayed on its own. Items that are not in the ItemCatalog cannot be
+     * referred to by id and are left out.
+     * 
+     * @param hero the hero - must not be null
+     * @param dungeon the dungeon the hero is in - must not be null
+     * @param newGamePlus true if the game is in New Game+
+     */
+    default void recordSnapshot(Hero hero, Dungeon dungeon, boolean newGamePlus) {
+        if (!isEnabled()) {
+            return;
+        }
+        recordHero(hero.getName(), hero.getTitle(), hero.getMaxHealth(), hero.getPower());
+        if (dungeon.isEndless()) {
+            long seed = dungeon.getSeed();
+            record(EventType.DUNGEON_ENDLESS, ACTOR_OTHER, (int) seed, (int) (seed >>> 32));
+        }
+        record(EventType.HEALTH_SET, ACTOR_HERO, hero.getHealth(), 0);
+        record(EventType.MONEY_SET, ACTOR_HERO, hero.getMoney(), 0);
+        record(EventType.FAME_SET, ACTOR_HERO, hero.getFame(), 0);
+        ItemBag bag = hero.getItemBag();
+        for (int i = 0; i < bag.getItemCount(); i++) {
+            int id = ItemCatalog.idOf(bag.getItem(i));
+            for (int copy = 0; id >= 0 && copy < bag.getQuantity(i); copy++) {
+                record(EventType.ITEM_ADDED, ACTOR_HERO, id, 0);
+            }
+        }
+        record(EventType.LEVEL_CHANGED, ACTOR_OTHER, dungeon.getCurrentLevel(), 0);
+        record(EventType.NEW_GAME_PLUS, ACTOR_OTHER, newGamePlus ? 1 : 0, 0);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.events;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.items.ItemCatalog;
+import tales.of.knights.places.Dungeon;
+
+/**
+ * EventReplayer Class - Rebuilds game state from an event log
+ * 
+ * Reads every segment of a SegmentedEventLog directory in order and applies
+ * the hero's events to a fresh Hero. A HERO_CREATED event starts over with a
+ * new hero, so the result is the state at the end of the last game recorded.
+ * Monster events are counted but do not change anything.
+ * 
+ * A segment that ends in the middle of a record (e.g. after a crash) is read
+ * up to the last complete record.
+ * 
+ * Example:
+ * EventReplayer replay = EventReplayer.replay(Paths.get("events"));
+ * Hero hero = replay.getHero();
+ * Dungeon dungeon = replay.createDungeon();
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see SegmentedEventLog
+ * @see EventType
+ */
+public final class EventReplayer {
+    
+    /** The rebuilt hero, or null before the first HERO_CREATED event */
+    private Hero hero;
+    
+    /** The dungeon level at the end of the log */
+    private int dungeonLevel;
+    
+    /** True if the last game recorded plays an endless dungeon */
+    private boolean endless;
+    
+    /** Seed of the endless dungeon */
+    private long seed;
+    
+    /** True if the log ends in New Game+ */
+    private boolean newGamePlus;
+    
+    /** Number of events read */
+    private long events;
+    
+    /**
+     * Creates an empty replayer - use replay()
+     */
+    private EventReplayer() {
+        this.dungeonLevel = 1;
+    }
+    
+    /**
+     * Replays an event log directory
+     * 
+     * @param directory the directory the log was written to
+     * @return the replayed state
+     * @throws IOException if a segment cannot be read, is not an event log, or no hero was recorded
+     */
+    public static EventReplayer replay(Path directory) throws IOException {
+        EventReplayer replayer = new EventReplayer();
+        GameOutput previousOutput = OutputContext.bind(NullOutput.INSTANCE);
+        EventLog previousLog = EventContext.bind(NullEventLog.INSTANCE);
+        try {
+            for (Path segment : SegmentedEventLog.listSegments(directory)) {
+                replayer.readSegment(segment);
+            }
+        } finally {
+            EventContext.bind(previousLog);
+            OutputContext.bind(previousOutput);
+        }
+        if (replayer.hero == null) {
+            throw new IOException("Event log contains no hero: " + directory);
+        }
+        return replayer;
+    }
+    
+    /**
+     * Gets the rebuilt hero
+     * 
+     * @return the hero as it was after the last event
+     */
+    public Hero getHero() {
+        return this.hero;
+    }
+    
+    /**
+     * Gets the dungeon level at the end of the log
+     * 
+     * @return the level (1-5, or deeper if endless)
+     */
+    public int getDungeonLevel() {
+        return this.dungeonLevel;
+    }
+    
+    /**
+     * Checks if the last game recorded plays an endless dungeon
+     * 
+     * @return true if the dungeon is endless
+     */
+    public boolean isEndless() {
+        return this.endless;
+    }
+    
+    /**
+     * Gets the seed of the endless dungeon
+     * 
+     * @return the seed, or 0 if the dungeon is classic
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    /**
+     * Creates a dungeon at the level the log ended on
+     * 
+     * An endless run is rebuilt from its seed, so its rooms are the ones the
+     * logged game played.
+     * 
+     * @return a new Dungeon, endless if the logged game was
+     */
+    public Dungeon createDungeon() {
+        return this.endless ? Dungeon.endless(this.seed, this.dungeonLevel) : new Dungeon(this.dungeonLevel);
+    }
+    
+    /**
+     * Checks if the log ends in New Game+
+     * 
+     * @return true if New Game+ was on
+     */
+    public boolean isNewGamePlus() {
+        return this.newGamePlus;
+    }
+    
+    /**
+     * Gets the number of events read
+     * 
+     * @return the number of events in all segments
+     */
+    public long getEventCount() {
+        return this.events;
+    }
+    
+    /**
+     * Reads and applies every complete record of one segment
+     * 
+     * @param file the segment file
+     * @throws IOException if the file cannot be read or is not an event log segment
+     */
+    private void readSegment(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < SegmentedEventLog.HEADER_BYTES
+                    || buffer.getInt() != SegmentedEventLog.MAGIC) {
+                throw new IOException("Not an event log segment: " + file);
+            }
+            short version = buffer.getShort();
+            if (version != SegmentedEventLog.VERSION) {
+                throw new IOException("Unsupported event log version " + version + ": " + file);
+            }
+            buffer.getInt();
+            
+            while (buffer.remaining() >= SegmentedEventLog.RECORD_BYTES) {
+                byte code = buffer.get();
+                int actor = buffer.get();
+                int a = buffer.getInt();
+                int b = buffer.getInt();
+                buffer.getLong();
+                
+                EventType type = EventType.fromCode(code);
+                if (type == null) {
+                    throw new IOException("Unknown event type " + code + " in " + file);
+                }
+                if (type == EventType.HERO_CREATED) {
+                    String name = getString(buffer);
+                    String title = name != null ? getString(buffer) : null;
+                    if (title == null) {
+                        return;
+                    }
+                    this.hero = new Hero(name, title, a, b);
+                    this.hero.getItemBag().clear();
+                    this.endless = false;
+                    this.seed = 0;
+                } else {
+                    apply(type, actor, a, b);
+                }
+                this.events++;
+            }
+        }
+    }
+    
+    /**
+     * Reads a length-prefixed UTF-8 string
+     * 
+     * @param buffer the buffer to read from
+     * @return the string, or null if the segment ends before it does
+     */
+    private static String getString(MappedByteBuffer buffer) {
+        if (buffer.remaining() < 2) {
+            return null;
+        }
+        int length = buffer.getShort() & 0xFFFF;
+        if (buffer.remaining() < length) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Applies one event to the replayed state
+     * 
+     * @param type the event type
+     * @param actor the actor code
+     * @param a the first argument
+     * @param b the second argument
+     */
+    private void apply(EventType type, int actor, int a, int b) {
+        switch (type) {
+            case LEVEL_CHANGED -> this.dungeonLevel = a;
+            case NEW_GAME_PLUS -> this.newGamePlus = a != 0;
+            case DUNGEON_ENDLESS -> {
+                this.endless = true;
+                this.seed = (a & 0xFFFFFFFFL) | ((long) b << 32);
+            }
+            default -> {
+                if (actor == EventLog.ACTOR_HERO && this.hero != null) {
+                    applyToHero(type, a);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Applies one hero event
+     * 
+     * @param type the event type
+     * @param a the first argument
+     */
+    private void applyToHero(EventType type, int a) {
+        switch (type) {
+            case HEALTH_SET -> this.hero.setHealth(a);
+            case DAMAGE_TAKEN -> this.hero.setHealth(this.hero.getHealth() - a);
+            case HEALED -> this.hero.setHealth(this.hero.getHealth() + a);
+            case MONEY_ADDED -> this.hero.addMoney(a);
+            case MONEY_REMOVED -> this.hero.removeMoney(a);
+            case MONEY_SET -> this.hero.setMoney(a);
+            case FAME_ADDED -> this.hero.addFame(a);
+            case FAME_SET -> this.hero.setFame(a);
+            case POWER_SET -> this.hero.setPower(a);
+            case ITEM_ADDED, ITEM_BOUGHT -> {
+                if (a >= 0 && a < ItemCatalog.size()) {
+                    this.hero.getItemBag().addItem(ItemCatalog.get(a));
+                }
+            }
+            case ITEM_SOLD, ITEM_USED -> this.hero.getItemBag().removeItem(a);
+            default -> {
+            }
+        }
+    }
+}
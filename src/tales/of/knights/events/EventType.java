@@ -0,0 +1,116 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.events;
+
+/**
+ * EventType Enum - Every kind of state change recorded in the event log
+ * 
+ * Each event carries two int arguments (a and b). Events that change health,
+ * money or fame record the amount that was actually applied after clamping,
+ * so replaying them gives exactly the same state. Item events only describe
+ * the change to the item bag - the gold or health they cost or gave is
+ * recorded by the money and health events they trigger.
+ * 
+ * The codes are written to disk and must never change.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see EventLog
+ * @see EventReplayer
+ */
+public enum EventType {
+    
+    /** A hero starts (or restarts) the log - a = max health, b = power, followed by name and title */
+    HERO_CREATED(1),
+    
+    /** Health set directly - a = new health */
+    HEALTH_SET(2),
+    
+    /** Damage taken - a = health actually lost */
+    DAMAGE_TAKEN(3),
+    
+    /** Healed - a = health actually gained */
+    HEALED(4),
+    
+    /** Gold gained - a = amount */
+    MONEY_ADDED(5),
+    
+    /** Gold spent - a = amount */
+    MONEY_REMOVED(6),
+    
+    /** Gold set directly - a = new amount */
+    MONEY_SET(7),
+    
+    /** Fame gained - a = amount */
+    FAME_ADDED(8),
+    
+    /** Fame set directly - a = new fame */
+    FAME_SET(9),
+    
+    /** Power set - a = new power */
+    POWER_SET(10),
+    
+    /** Item put in the bag outside the shop (e.g. a loaded save) - a = catalog id */
+    ITEM_ADDED(11),
+    
+    /** Item bought and put in the bag - a = catalog id, b = price */
+    ITEM_BOUGHT(12),
+    
+    /** Item sold from the bag - a = bag index, b = price */
+    ITEM_SOLD(13),
+    
+    /** Item used up from the bag - a = bag index, b = catalog id */
+    ITEM_USED(14),
+    
+    /** The dungeon moved to a room - a = level */
+    LEVEL_CHANGED(15),
+    
+    /** New Game+ switched on or off - a = 1 for on, 0 for off */
+    NEW_GAME_PLUS(16),
+    
+    /** The game is played in an endless dungeon - a = low 32 bits of its seed, b = high 32 bits */
+    DUNGEON_ENDLESS(17);
+    
+    /** Event types by code, for decoding */
+    private static final EventType[] BY_CODE = new EventType[18];
+    
+    static {
+        for (EventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+    
+    /** The code written to disk */
+    private final byte code;
+    
+    /**
+     * Creates an event type
+     * 
+     * @param code the code written to disk
+     */
+    EventType(int code) {
+        this.code = (byte) code;
+    }
+    
+    /**
+     * Gets the code written to disk for this type
+     * 
+     * @return the code
+     */
+    public byte getCode() {
+        return this.code;
+    }
+    
+    /**
+     * Gets the event type with a given code
+     * 
+     * @param code the code read from disk
+     * @return the event type, or null if the code is unknown
+     */
+    public static EventType fromCode(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
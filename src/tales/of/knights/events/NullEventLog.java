@@ -0,0 +1,42 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.events;
+
+/**
+ * NullEventLog Class - Event log that discards every event
+ * 
+ * The default log of every thread. Reports itself as disabled, so hooks that
+ * check isEnabled() first cost one ThreadLocal lookup and nothing more.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see EventLog
+ * @see EventContext
+ */
+public final class NullEventLog implements EventLog {
+    
+    /** The shared instance - the class has no state */
+    public static final NullEventLog INSTANCE = new NullEventLog();
+    
+    /**
+     * Use INSTANCE instead
+     */
+    private NullEventLog() {
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+    
+    @Override
+    public void record(EventType type, int actor, int a, int b) {
+    }
+    
+    @Override
+    public void recordHero(String name, String title, int maxHealth, int power) {
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.events;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * SegmentedEventLog Class - Append-only binary event log on disk
+ * 
+ * The game thread never touches the disk. record() copies the event into a
+ * preallocated ring buffer of primitive arrays and publishes it with a single
+ * ordered write; a background writer thread drains the ring, encodes the
+ * events into a direct buffer and appends them to the current segment file.
+ * When a segment reaches its size limit the writer closes it and starts the
+ * next one, so no single file grows without bound.
+ * 
+ * Segments are named events-000000.log, events-000001.log, ... inside the log
+ * directory. Opening a log on a directory that already has segments continues
+ * the numbering, so several runs append to one history.
+ * 
+ * Segment layout:
+ * - int MAGIC, short VERSION, int segment number
+ * - records: byte type, byte actor, int a, int b, long nanoseconds since the
+ *   log was opened; HERO_CREATED is followed by the name and title as a short
+ *   length and UTF-8 bytes each
+ * 
+ * Only one thread may record into a log - the thread of the game session it
+ * is bound to. If the writer falls behind and the ring fills up, record()
+ * waits for space rather than dropping events. If the writer fails, events
+ * are discarded and close() reports the error.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see EventLog
+ * @see EventReplayer
+ */
+public class SegmentedEventLog implements EventLog, AutoCloseable {
+    
+    /** Identifies an event log segment ("TOKE") */
+    public static final int MAGIC = 0x544F4B45;
+    
+    /** Format version written to every segment */
+    public static final short VERSION = 1;
+    
+    /** Default ring buffer capacity in events */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    
+    /** Default segment size limit in bytes */
+    public static final long DEFAULT_SEGMENT_BYTES = 16L << 20;
+    
+    /** Size of a segment header in bytes */
+    static final int HEADER_BYTES = 4 + 2 + 4;
+    
+    /** Size of a record without strings in bytes */
+    static final int RECORD_BYTES = 1 + 1 + 4 + 4 + 8;
+    
+    /** Longest name or title written, in bytes */
+    static final int MAX_STRING_BYTES = 1024;
+    
+    /** Size of the writer's encode buffer in bytes */
+    private static final int BUFFER_BYTES = 64 * 1024;
+    
+    /** Segment file name prefix */
+    private static final String SEGMENT_PREFIX = "events-";
+    
+    /** Segment file name suffix */
+    private static final String SEGMENT_SUFFIX = ".log";
+    
+    /** Directory the segments are written to */
+    private final Path directory;
+    
+    /** Largest size of one segment in bytes */
+    private final long segmentLimit;
+    
+    /** Ring capacity minus one - the capacity is a power of two */
+    private final int mask;
+    
+    /** Ring: type, actor and argument a of each event, packed */
+    private final long[] packed;
+    
+    /** Ring: argument b of each event */
+    private final int[] arguments;
+    
+    /** Ring: time of each event */
+    private final long[] times;
+    
+    /** Ring: hero names of HERO_CREATED events */
+    private final String[] names;
+    
+    /** Ring: hero titles of HERO_CREATED events */
+    private final String[] titles;
+    
+    /** Sequence number of the next event to record - written by the game thread only */
+    private final AtomicLong head;
+    
+    /** Sequence number of the next event to write - written by the writer only */
+    private final AtomicLong tail;
+    
+    /** Last value of tail seen by the game thread */
+    private long cachedTail;
+    
+    /** Time the log was opened, for event timestamps */
+    private final long startNanos;
+    
+    /** The background writer */
+    private final Thread writer;
+    
+    /** Flag telling the writer to finish */
+    private volatile boolean closed;
+    
+    /** Error that stopped the writer, if any */
+    private volatile IOException failure;
+    
+    /** Writer only: buffer events are encoded into */
+    private final ByteBuffer buffer;
+    
+    /** Writer only: the open segment */
+    private FileChannel channel;
+    
+    /** Writer only: number of the open segment */
+    private int segment;
+    
+    /** Writer only: bytes in the open segment, including buffered ones */
+    private long segmentSize;
+    
+    /**
+     * Opens a log with the default capacity and segment size
+     * 
+     * @param directory the directory to write segments to - created if missing
+     * @throws IOException if the directory or first segment cannot be created
+     */
+    public SegmentedEventLog(Path directory) throws IOException {
+        this(directory, DEFAULT_CAPACITY, DEFAULT_SEGMENT_BYTES);
+    }
+    
+    /**
+     * Opens a log
+     * 
+     * @param directory the directory to write segments to - created if missing
+     * @param capacity ring buffer size in events - rounded up to a power of two
+     * @param segmentBytes size at which a segment is closed and a new one started
+     * @throws IOException if the directory or first segment cannot be created
+     * 
+     * @throws IllegalArgumentException if directory is null or a size is not positive
+     */
+    public SegmentedEventLog(Path directory, int capacity, long segmentBytes) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        if (segmentBytes < HEADER_BYTES + RECORD_BYTES + 2 * (2 + MAX_STRING_BYTES)) {
+            throw new IllegalArgumentException("Segment size is too small");
+        }
+        
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.directory = directory;
+        this.segmentLimit = segmentBytes;
+        this.mask = size - 1;
+        this.packed = new long[size];
+        this.arguments = new int[size];
+        this.times = new long[size];
+        this.names = new String[size];
+        this.titles = new String[size];
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        this.startNanos = System.nanoTime();
+        
+        Files.createDirectories(directory);
+        List<Path> existing = listSegments(directory);
+        this.segment = existing.isEmpty() ? 0 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+        openSegment();
+        
+        this.writer = Thread.ofVirtual().name("event-log-writer").start(this::drain);
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return !this.closed;
+    }
+    
+    @Override
+    public void record(EventType type, int actor, int a, int b) {
+        long sequence = this.head.get();
+        if (!claim(sequence)) {
+            return;
+        }
+        int slot = (int) sequence & this.mask;
+        this.packed[slot] = pack(type, actor, a);
+        this.arguments[slot] = b;
+        this.times[slot] = System.nanoTime() - this.startNanos;
+        this.head.lazySet(sequence + 1);
+    }
+    
+    @Override
+    public void recordHero(String name, String title, int maxHealth, int power) {
+        long sequence = this.head.get();
+        if (!claim(sequence)) {
+            return;
+        }
+        int slot = (int) sequence & this.mask;
+        this.packed[slot] = pack(EventType.HERO_CREATED, ACTOR_HERO, maxHealth);
+        this.arguments[slot] = power;
+        this.times[slot] = System.nanoTime() - this.startNanos;
+        this.names[slot] = name != null ? name : "";
+        this.titles[slot] = title != null ? title : "";
+        this.head.lazySet(sequence + 1);
+    }
+    
+    /**
+     * Gets the number of events recorded so far
+     * 
+     * @return the number of events accepted by record()
+     */
+    public long getRecordedCount() {
+        return this.head.get();
+    }
+    
+    /**
+     * Gets the number of events handed to the file system so far
+     * 
+     * @return the number of events the writer has encoded
+     */
+    public long getWrittenCount() {
+        return this.tail.get();
+    }
+    
+    /**
+     * Gets the directory the segments are written to
+     * 
+     * @return the log directory
+     */
+    public Path getDirectory() {
+        return this.directory;
+    }
+    
+    /**
+     * Writes every recorded event, closes the segment and stops the writer
+     * 
+     * Events recorded after close() are discarded.
+     * 
+     * @throws IOException if the writer failed at any point
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing event log");
+        }
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+    
+    /**
+     * Makes sure the slot for a sequence number is free, waiting for the writer if needed
+     * 
+     * @param sequence the sequence number about to be recorded
+     * @return true if the event can be recorded, false if it must be discarded
+     */
+    private boolean claim(long sequence) {
+        if (this.closed) {
+            return false;
+        }
+        if (sequence - this.cachedTail <= this.mask) {
+            return true;
+        }
+        int spins = 0;
+        while (true) {
+            this.cachedTail = this.tail.get();
+            if (sequence - this.cachedTail <= this.mask) {
+                return true;
+            }
+            if (this.failure != null || !this.writer.isAlive()) {
+                return false;
+            }
+            LockSupport.unpark(this.writer);
+            if (spins++ < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+    }
+    
+    /**
+     * Packs an event's type, actor and first argument into one long
+     * 
+     * @param type the event type
+     * @param actor the actor code
+     * @param a the first argument
+     * @return the packed value
+     */
+    private static long pack(EventType type, int actor, int a) {
+        return ((long) type.getCode() << 56) | ((long) (actor & 0xFF) << 48) | (a & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Writer thread body - drains the ring into segment files until closed
+     */
+    private void drain() {
+        try {
+            int idle = 0;
+            while (true) {
+                long from = this.tail.get();
+                long to = this.head.get();
+                if (from == to) {
+                    if (this.closed) {
+                        if (this.head.get() == from) {
+                            break;
+                        }
+                        continue;
+                    }
+                    flushBuffer();
+                    LockSupport.parkNanos(idle < 20 ? 50_000 : idle < 200 ? 1_000_000 : 10_000_000);
+                    idle++;
+                    continue;
+                }
+                
+                idle = 0;
+                for (long sequence = from; sequence < to; sequence++) {
+                    encode((int) sequence & this.mask);
+                }
+                this.tail.lazySet(to);
+            }
+            flushBuffer();
+            this.channel.force(false);
+        } catch (IOException e) {
+            this.failure = e;
+        } finally {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                if (this.failure == null) {
+                    this.failure = e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Encodes one ring slot into the write buffer
+     * 
+     * @param slot the slot to encode
+     * @throws IOException if a segment cannot be written or rolled
+     */
+    private void encode(int slot) throws IOException {
+        long value = this.packed[slot];
+        byte type = (byte) (value >>> 56);
+        byte[] name = null;
+        byte[] title = null;
+        int size = RECORD_BYTES;
+        if (type == EventType.HERO_CREATED.getCode()) {
+            name = truncate(this.names[slot]);
+            title = truncate(this.titles[slot]);
+            this.names[slot] = null;
+            this.titles[slot] = null;
+            size += 2 + name.length + 2 + title.length;
+        }
+        
+        if (this.segmentSize + size > this.segmentLimit) {
+            rollSegment();
+        }
+        if (this.buffer.remaining() < size) {
+            flushBuffer();
+        }
+        
+        this.buffer.put(type);
+        this.buffer.put((byte) (value >>> 48));
+        this.buffer.putInt((int) value);
+        this.buffer.putInt(this.arguments[slot]);
+        this.buffer.putLong(this.times[slot]);
+        if (name != null) {
+            this.buffer.putShort((short) name.length);
+            this.buffer.put(name);
+            this.buffer.putShort((short) title.length);
+            this.buffer.put(title);
+        }
+        this.segmentSize += size;
+    }
+    
+    /**
+     * Encodes a string as UTF-8, cut to at most MAX_STRING_BYTES
+     * 
+     * @param value the string
+     * @return the encoded bytes
+     */
+    private static byte[] truncate(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_STRING_BYTES) {
+            return bytes;
+        }
+        byte[] cut = new byte[MAX_STRING_BYTES];
+        System.arraycopy(bytes, 0, cut, 0, MAX_STRING_BYTES);
+        return cut;
+    }
+    
+    /**
+     * Writes the buffered bytes to the open segment
+     * 
+     * @throws IOException if the write fails
+     */
+    private void flushBuffer() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+    
+    /**
+     * Closes the open segment and starts the next one
+     * 
+     * @throws IOException if a segment cannot be closed or created
+     */
+    private void rollSegment() throws IOException {
+        flushBuffer();
+        this.channel.force(false);
+        this.channel.close();
+        this.segment++;
+        openSegment();
+    }
+    
+    /**
+     * Creates the segment file for the current segment number and writes its header
+     * 
+     * @throws IOException if the file cannot be created
+     */
+    private void openSegment() throws IOException {
+        Path file = this.directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, this.segment, SEGMENT_SUFFIX));
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.buffer.putInt(MAGIC);
+        this.buffer.putShort(VERSION);
+        this.buffer.putInt(this.segment);
+        this.segmentSize = HEADER_BYTES;
+    }
+    
+    /**
+     * Lists the segment files of a log directory in the order they were written
+     * 
+     * @param directory the log directory
+     * @return the segment files, oldest first
+     * @throws IOException if the directory cannot be read
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(SegmentedEventLog::isSegment).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+        return segments;
+    }
+    
+    /**
+     * Checks if a file is a segment file
+     * 
+     * @param file the file
+     * @return true if the name matches events-NNNNNN.log
+     */
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX) && segmentNumber(file) >= 0;
+    }
+    
+    /**
+     * Gets the number of a segment file
+     * 
+     * @param file the segment file
+     * @return the segment number, or -1 if the name has none
+     */
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.game;
+
+/**
+ * GameMenu Enum - The prompts a game can be waiting on
+ * 
+ * Every line TalesofKnights reads answers one of these prompts. The game
+ * notes the prompt before it reads, so a GameInput that plays by itself
+ * (such as a BotInput) can ask TalesofKnights.getMenu() what it is being
+ * asked instead of parsing the menu text.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see TalesofKnights#getMenu()
+ */
+public enum GameMenu {
+    
+    /** The new character's name */
+    NAME,
+    
+    /** The new character's title */
+    TITLE,
+    
+    /** Main menu: 1 town, 2 dungeon, 3 status, 4 inventory, 5 quit */
+    MAIN,
+    
+    /** Town menu: 1 shop, 2 inn, 3 rest, 4 leave */
+    TOWN,
+    
+    /** Shop menu: 1 weapon, 2 armor, 3 healing item, 4 damage item, 5 sell, 6 leave */
+    SHOP,
+    
+    /** Inventory number of the item to sell, empty to cancel */
+    SELL,
+    
+    /** Inn menu: 1 drink, 2 gamble, 3 leave */
+    INN,
+    
+    /** Gold to bet, empty to cancel */
+    BET,
+    
+    /** Dungeon menu: 1 enter the chamber, 2 return to town */
+    DUNGEON,
+    
+    /** Battle menu: 1 attack, 2 use item, 3 analyze, 4 escape */
+    BATTLE,
+    
+    /** Inventory number of the item to use in battle, empty to cancel */
+    BATTLE_ITEM,
+    
+    /** Final chamber won: 1 replay it, 2 New Game+, 3 status */
+    VICTORY
+}
@@ -4,15 +4,38 @@
  */
 package tales.of.knights.game;
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import tales.of.knights.io.ConsoleOutput;
+import tales.of.knights.io.GameInput;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.io.StreamInput;
+import tales.of.knights.events.EventContext;
+import tales.of.knights.events.EventLog;
+import tales.of.knights.events.EventType;
+import tales.of.knights.events.NullEventLog;
 import tales.of.knights.characters.Hero;
 import tales.of.knights.characters.Monster;
+import tales.of.knights.characters.MonsterScaling;
 import tales.of.knights.characters.Shopkeeper;
 import tales.of.knights.characters.Gambler;
 import tales.of.knights.places.Town;
 import tales.of.knights.places.Dungeon;
 import tales.of.knights.places.Room;
+import tales.of.knights.effects.EffectContext;
+import tales.of.knights.effects.EffectWheel;
 import tales.of.knights.items.*;
+import tales.of.knights.leaderboard.FameContext;
+import tales.of.knights.leaderboard.FameLeaderboard;
+import tales.of.knights.leaderboard.FameListener;
+import tales.of.knights.metrics.GameMetrics;
+import tales.of.knights.persistence.SaveGame;
+import tales.of.knights.random.GameRandom;
+import tales.of.knights.random.RandomContext;
 
 /**
  * TalesofKnights Main Game Controller
@@ -34,8 +57,11 @@ public class TalesofKnights {
     /** The player character controlled by the user */
     private Hero player;
     
-    /** Scanner for handling user input from console */
-    private Scanner scanner;
+    /** Source of this game's player commands */
+    private GameInput input;
+    
+    /** Output that receives all of this game's menu, combat and status text */
+    private GameOutput out;
     
     /** The safe town location with shops and inn */
     private Town town;
@@ -52,21 +78,110 @@ public class TalesofKnights {
     /** Flag indicating if we're in New Game+ mode (harder difficulty) */
     private boolean isNewGamePlus;
     
+    /** File the game is loaded from and autosaved to - null disables saving */
+    private Path saveFile;
+    
+    /** Generator for every random roll in this game */
+    private GameRandom random;
+    
+    /** Log every state change of this game is recorded in */
+    private EventLog events;
+    
+    /** Statistics this game reports its battles, shopping and gambling to */
+    private GameMetrics metrics;
+    
+    /** Leaderboard the hero's fame is reported to - null if not ranked */
+    private FameLeaderboard leaderboard;
+    
+    /** Turn clock of this game's status effects, advanced once per combat turn */
+    private EffectWheel effects;
+    
+    /** Prompt the game is reading, or last read, a line for - null before the first */
+    private GameMenu menu;
+    
+    /** Number of battles the hero has won in this game */
+    private int victories;
+    
     /**
-     * Creates a new TalesofKnights game instance
+     * Creates a new TalesofKnights game instance on the console
      * 
-     * Initializes the game world with scanner, town, dungeon, and game state flags.
+     * Reads player input from System.in and writes to System.out.
      */
     public TalesofKnights() {
+        this(System.in, System.out);
+    }
+    
+    /**
+     * Creates a new TalesofKnights game instance on the given streams
+     * 
+     * Every line is written to the output stream as soon as it is produced.
+     * 
+     * @param in the stream player commands are read from - must not be null
+     * @param out the stream game text is written to - must not be null
+     * 
+     * @throws IllegalArgumentException if in or out is null
+     */
+    public TalesofKnights(InputStream in, PrintStream out) {
+        this(in, out != null ? new ConsoleOutput(out) : null);
+    }
+    
+    /**
+     * Creates a new TalesofKnights game instance on the given input and output
+     * 
+     * Initializes the game world with town, dungeon, and game state flags.
+     * Commands are read from the stream through a StreamInput.
+     * Each instance owns its own world, so several games can run side by side in
+     * one process as long as each gets its own input and output.
+     * 
+     * While the game runs, the output is bound to the game's thread through
+     * OutputContext, so combat and inventory messages land in the same place
+     * as the menus. The game's GameRandom is bound the same way through
+     * RandomContext, so a game started with setSeed() replays identically,
+     * and its EffectWheel through EffectContext.
+     * 
+     * @param in the stream player commands are read from - must not be null
+     * @param out the output game text is written to - must not be null
+     * 
+     * @throws IllegalArgumentException if in or out is null
+     */
+    public TalesofKnights(InputStream in, GameOutput out) {
+        this(in != null ? new StreamInput(in) : null, out);
+    }
+    
+    /**
+     * Creates a new TalesofKnights game instance on the given command source and output
+     * 
+     * Used to play scripted games, e.g. from a MappedInput. The game stops
+     * when the input runs out of lines. The output is already bound while the
+     * world is built, so the shops' setup messages go to it as well.
+     * 
+     * @param in the source player commands are read from - must not be null
+     * @param out the output game text is written to - must not be null
+     * 
+     * @throws IllegalArgumentException if in or out is null
+     */
+    public TalesofKnights(GameInput in, GameOutput out) {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("Input and output cannot be null");
+        }
+        this.out = out;
+        GameOutput previousOutput = OutputContext.bind(out);
         try {
-            this.scanner = new Scanner(System.in);
+            this.input = in;
             this.town = new Town();
-            this.dungeon = new Dungeon();
+            this.dungeon = new Dungeon(1, true);
             this.gameRunning = true;
             this.inBattle = false;
             this.isNewGamePlus = false;
+            this.random = new GameRandom();
+            this.events = NullEventLog.INSTANCE;
+            this.metrics = GameMetrics.INSTANCE;
+            this.leaderboard = FameLeaderboard.INSTANCE;
+            this.effects = new EffectWheel();
         } catch (Exception e) {
-            System.out.println("Error initializing game: " + e.getMessage());
+            this.out.println("Error initializing game: " + e.getMessage());
+        } finally {
+            OutputContext.bind(previousOutput);
         }
     }
     
@@ -77,39 +192,312 @@ public class TalesofKnights {
      * creates the player, and begins the main game loop.
      */
     public void startGame() {
+        GameOutput previousOutput = OutputContext.bind(this.out);
+        GameRandom previousRandom = RandomContext.bind(this.random);
+        EventLog previousEvents = EventContext.bind(this.events);
+        FameListener previousFame = FameContext.bind(this.leaderboard);
+        EffectWheel previousEffects = EffectContext.bind(this.effects);
         try {
-            System.out.println("\n════════════════════════════════════════════════════");
-            System.out.println("║        WELCOME TO TALES OF KNIGHTS         ║");
-            System.out.println("║      A Text-Based Fantasy Adventure        ║");
-            System.out.println("════════════════════════════════════════════════════\n");
-            
-            System.out.print("Enter your character's name: ");
-            String name = scanner.nextLine();
-            
-            if (name == null || name.trim().isEmpty()) {
-                System.out.println("Error: Name cannot be empty!");
-                name = "Hero";
-            }
-            
-            System.out.print("Enter your character's title: ");
-            String title = scanner.nextLine();
+            this.out.println("\n════════════════════════════════════════════════════");
+            this.out.println("║        WELCOME TO TALES OF KNIGHTS         ║");
+            this.out.println("║      A Text-Based Fantasy Adventure        ║");
+            this.out.println("════════════════════════════════════════════════════\n");
             
-            if (title == null || title.trim().isEmpty()) {
-                System.out.println("Error: Title cannot be empty!");
-                title = "Adventurer";
+            if (!loadSavedGame()) {
+                this.out.print("Enter your character's name: ");
+                String name = readLine(GameMenu.NAME);
+                
+                if (name == null || name.trim().isEmpty()) {
+                    this.out.println("Error: Name cannot be empty!");
+                    name = "Hero";
+                }
+                
+                this.out.print("Enter your character's title: ");
+                String title = readLine(GameMenu.TITLE);
+                
+                if (title == null || title.trim().isEmpty()) {
+                    this.out.println("Error: Title cannot be empty!");
+                    title = "Adventurer";
+                }
+                
+                this.player = new Hero(name, title, 100, 15);
             }
             
-            this.player = new Hero(name, title, 100, 15);
-            
             if (this.player != null) {
+                this.events.recordSnapshot(this.player, this.dungeon, this.isNewGamePlus);
+                if (this.leaderboard != null) {
+                    this.leaderboard.fameChanged(this.player, this.player.getFame());
+                }
                 this.player.introduce();
                 gameLoop();
             }
         } catch (Exception e) {
-            System.out.println("Error starting game: " + e.getMessage());
+            this.out.println("Error starting game: " + e.getMessage());
+        } finally {
+            this.out.flush();
+            EffectContext.bind(previousEffects);
+            FameContext.bind(previousFame);
+            EventContext.bind(previousEvents);
+            RandomContext.bind(previousRandom);
+            OutputContext.bind(previousOutput);
         }
     }
     
+    /**
+     * Seeds every random roll of this game
+     * 
+     * Two games with the same seed and the same player input play out exactly
+     * the same. Must be called before startGame().
+     * 
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.random = new GameRandom(seed);
+    }
+    
+    /**
+     * Switches the game to an endless dungeon
+     * 
+     * Chambers are generated from the seed as the hero goes deeper and never
+     * run out; there is no final chamber. Must be called before startGame().
+     * A saved game that is loaded keeps the dungeon it was saved in.
+     * 
+     * @param seed the seed the dungeon's chambers are generated from
+     */
+    public void setEndless(long seed) {
+        this.dungeon = Dungeon.endless(seed, 1);
+    }
+    
+    /**
+     * Sets the log every state change of this game is recorded in
+     * 
+     * The log is bound to the game's thread while it runs. When the game
+     * starts, the complete hero is recorded first, so the log can be replayed
+     * on its own with EventReplayer. Must be called before startGame().
+     * 
+     * @param events the log to record into, or null to record nothing
+     */
+    public void setEventLog(EventLog events) {
+        this.events = events != null ? events : NullEventLog.INSTANCE;
+    }
+    
+    /**
+     * Sets the leaderboard the hero's fame is reported to
+     * 
+     * Games report to FameLeaderboard.INSTANCE unless told otherwise, so all
+     * sessions in a process are ranked together. Must be called before
+     * startGame().
+     * 
+     * @param leaderboard the leaderboard to report to, or null to stay unranked
+     */
+    public void setLeaderboard(FameLeaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+    
+    /**
+     * Sets the statistics the game reports its battles, shopping and gambling to
+     * 
+     * Games report to GameMetrics.INSTANCE unless told otherwise, so all
+     * sessions in a process are counted together. Synthetic games, such as
+     * bot runs, pass null to stay out of the published numbers. Must be
+     * called before startGame().
+     * 
+     * @param metrics the metrics to report to, or null to report nothing
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Sets the stock the town's shopkeeper sells from
+     * 
+     * Games given the same SharedShopStock share one finite merchant
+     * inventory; by default every game's shop has an endless supply.
+     * 
+     * @param stock the shared stock, or null for an endless supply
+     */
+    public void setShopStock(SharedShopStock stock) {
+        this.town.getShopkeeper().setStock(stock);
+    }
+    
+    /**
+     * Sets the engine the town's shop prices come from
+     * 
+     * Games given the same PricingEngine see the same prices, driven by the
+     * trades of all of them; by default every item costs its fixed value.
+     * 
+     * @param pricing the pricing engine, or null for fixed prices
+     */
+    public void setPricing(PricingEngine pricing) {
+        this.town.getShopkeeper().setPricing(pricing);
+    }
+    
+    /**
+     * Sets the file the game is loaded from and autosaved to
+     * 
+     * If the file exists when the game starts, the saved hero and dungeon
+     * progress are restored instead of creating a new character. The game is
+     * saved after every battle and when the player quits.
+     * 
+     * @param saveFile the save file, or null to disable saving
+     */
+    public void setSaveFile(Path saveFile) {
+        this.saveFile = saveFile;
+    }
+    
+    /**
+     * Restores the game from the save file, if there is one
+     * 
+     * @return true if a saved game was loaded; false if a new character is needed
+     */
+    private boolean loadSavedGame() {
+        if (this.saveFile == null || !Files.exists(this.saveFile)) {
+            return false;
+        }
+        
+        try {
+            SaveGame save = SaveGame.read(this.saveFile);
+            this.player = save.getHero();
+            this.dungeon = save.createDungeon(true);
+            this.isNewGamePlus = save.isNewGamePlus();
+            this.out.println("Welcome back, " + this.player.getName() + "! Your adventure continues in Chamber "
+                    + this.dungeon.getCurrentLevel() + ".");
+            return true;
+        } catch (IOException e) {
+            this.out.println("Error loading saved game: " + e.getMessage());
+            this.out.println("Starting a new adventure instead.\n");
+            return false;
+        }
+    }
+    
+    /**
+     * Saves the game to the save file
+     * 
+     * Does nothing if saving is disabled or the player has fallen, so the last
+     * save made while the hero was alive is kept.
+     */
+    private void autosave() {
+        if (this.saveFile == null || this.player == null || !this.player.isAlive()) {
+            return;
+        }
+        
+        try {
+            SaveGame.write(this.saveFile, this.player, this.dungeon, this.isNewGamePlus);
+        } catch (IOException e) {
+            this.out.println("Error saving game: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Shows the hero's rank and the most famous heroes on the leaderboard
+     */
+    private void displayFameRanking() {
+        if (this.leaderboard == null) {
+            return;
+        }
+        this.out.println("========== HALL OF FAME ==========");
+        for (FameLeaderboard.Entry entry : this.leaderboard.getTop(5)) {
+            this.out.println(entry.rank() + ". " + entry.name() + " - " + entry.fame() + " fame");
+        }
+        int rank = this.leaderboard.getRank(this.player);
+        if (rank > 0) {
+            this.out.println("Your rank: #" + rank + " of " + this.leaderboard.size());
+        }
+        this.out.println("==================================\n");
+    }
+    
+    /**
+     * Reads the next line of player input
+     * 
+     * When the input stream is exhausted (the player disconnected or the piped
+     * input ran out) the game is stopped and null is returned, so every menu
+     * loop unwinds instead of spinning on a closed stream.
+     * 
+     * @param menu the prompt the line answers
+     * @return the next input line, or null if there is no more input
+     */
+    private String readLine(GameMenu menu) {
+        this.menu = menu;
+        this.out.flush();
+        String line;
+        try {
+            line = this.input.readLine();
+        } catch (IOException e) {
+            this.out.println("Error reading input: " + e.getMessage());
+            line = null;
+        }
+        if (line == null) {
+            this.gameRunning = false;
+        }
+        return line;
+    }
+    
+    /**
+     * Checks if the game is still running
+     * 
+     * @return true until the player quits, dies, or runs out of input
+     */
+    public boolean isRunning() {
+        return this.gameRunning;
+    }
+    
+    /**
+     * Gets the player character
+     * 
+     * @return the player's Hero, or null before the game has started
+     */
+    public Hero getPlayer() {
+        return this.player;
+    }
+    
+    /**
+     * Gets the prompt the game is waiting on
+     * 
+     * Set just before each line is read, so a GameInput can see from inside
+     * readLine() which menu it is answering.
+     * 
+     * @return the current prompt, or null before the first line is read
+     */
+    public GameMenu getMenu() {
+        return this.menu;
+    }
+    
+    /**
+     * Gets the town with the shop and the inn
+     * 
+     * @return the game's town
+     */
+    public Town getTown() {
+        return this.town;
+    }
+    
+    /**
+     * Gets the dungeon the hero fights through
+     * 
+     * @return the game's dungeon, on the hero's current chamber
+     */
+    public Dungeon getDungeon() {
+        return this.dungeon;
+    }
+    
+    /**
+     * Checks if the game is in New Game+ mode
+     * 
+     * @return true once the hero started New Game+ after the final chamber
+     */
+    public boolean isNewGamePlus() {
+        return this.isNewGamePlus;
+    }
+    
+    /**
+     * Gets the number of battles the hero has won
+     * 
+     * @return battles won in this game, final chamber replays included
+     */
+    public int getVictories() {
+        return this.victories;
+    }
+    
     /**
      * Main game loop that displays menu and handles player choices
      * 
@@ -120,19 +508,19 @@ public class TalesofKnights {
         try {
             while (this.gameRunning && this.player != null && this.player.isAlive()) {
                 try {
-                    System.out.println("========== MAIN MENU ==========");
-                    System.out.println("1. Go to Town");
-                    System.out.println("2. Enter Dungeon");
-                    System.out.println("3. Check Status");
-                    System.out.println("4. Check Inventory");
-                    System.out.println("5. Quit Game");
-                    System.out.println("==============================\n");
+                    this.out.println("========== MAIN MENU ==========");
+                    this.out.println("1. Go to Town");
+                    this.out.println("2. Enter Dungeon");
+                    this.out.println("3. Check Status");
+                    this.out.println("4. Check Inventory");
+                    this.out.println("5. Quit Game");
+                    this.out.println("==============================\n");
                     
-                    System.out.print("Choose an option: ");
-                    String choice = scanner.nextLine();
+                    this.out.print("Choose an option: ");
+                    String choice = readLine(GameMenu.MAIN);
                     
                     if (choice == null || choice.trim().isEmpty()) {
-                        System.out.println("Error: Please enter a valid option.\n");
+                        this.out.println("Error: Please enter a valid option.\n");
                         continue;
                     }
                     
@@ -146,6 +534,7 @@ public class TalesofKnights {
                         case "3":
                             if (this.player != null) {
                                 this.player.introduce();
+                                displayFameRanking();
                             }
                             break;
                         case "4":
@@ -157,14 +546,14 @@ public class TalesofKnights {
                             endGame();
                             break;
                         default:
-                            System.out.println("Error: Invalid choice. Please enter 1-5.\n");
+                            this.out.println("Error: Invalid choice. Please enter 1-5.\n");
                     }
                 } catch (Exception e) {
-                    System.out.println("Error in game loop: " + e.getMessage());
+                    this.out.println("Error in game loop: " + e.getMessage());
                 }
             }
         } catch (Exception e) {
-            System.out.println("Error in main game loop: " + e.getMessage());
+            this.out.println("Error in main game loop: " + e.getMessage());
         }
     }
     
@@ -176,26 +565,26 @@ public class TalesofKnights {
     private void townMenu() {
         try {
             if (this.player == null || this.town == null) {
-                System.out.println("Error: Town or player is null!");
+                this.out.println("Error: Town or player is null!");
                 return;
             }
             
             boolean inTown = true;
             
-            while (inTown && this.player.isAlive()) {
+            while (this.gameRunning && inTown && this.player.isAlive()) {
                 try {
-                    System.out.println("\n========== TOWN MENU ==========");
-                    System.out.println("1. Visit Shop");
-                    System.out.println("2. Visit Inn");
-                    System.out.println("3. Rest at Inn");
-                    System.out.println("4. Leave Town");
-                    System.out.println("==============================\n");
+                    this.out.println("\n========== TOWN MENU ==========");
+                    this.out.println("1. Visit Shop");
+                    this.out.println("2. Visit Inn");
+                    this.out.println("3. Rest at Inn");
+                    this.out.println("4. Leave Town");
+                    this.out.println("==============================\n");
                     
-                    System.out.print("Choose an option: ");
-                    String choice = scanner.nextLine();
+                    this.out.print("Choose an option: ");
+                    String choice = readLine(GameMenu.TOWN);
                     
                     if (choice == null || choice.trim().isEmpty()) {
-                        System.out.println("Error: Please enter a valid option.\n");
+                        this.out.println("Error: Please enter a valid option.\n");
                         continue;
                     }
                     
@@ -213,14 +602,14 @@ public class TalesofKnights {
                             inTown = false;
                             break;
                         default:
-                            System.out.println("Error: Invalid choice.\n");
+                            this.out.println("Error: Invalid choice.\n");
                     }
                 } catch (Exception e) {
-                    System.out.println("Error in town menu: " + e.getMessage());
+                    this.out.println("Error in town menu: " + e.getMessage());
                 }
             }
         } catch (Exception e) {
-            System.out.println("Error accessing town: " + e.getMessage());
+            this.out.println("Error accessing town: " + e.getMessage());
         }
     }
     
@@ -233,29 +622,35 @@ public class TalesofKnights {
     private void shopMenu() {
         try {
             if (this.player == null || this.town == null) {
-                System.out.println("Error: Cannot access shop!");
+                this.out.println("Error: Cannot access shop!");
                 return;
             }
             
             Shopkeeper shopkeeper = this.town.getShopkeeper();
             if (shopkeeper == null) {
-                System.out.println("Error: Shopkeeper not found!");
+                this.out.println("Error: Shopkeeper not found!");
                 return;
             }
             
             boolean inShop = true;
+            if (this.metrics != null) {
+                this.metrics.shopVisited();
+            }
             
-            while (inShop) {
+            while (this.gameRunning && inShop) {
                 try {
                     shopkeeper.displayShop();
-                    System.out.print("Choose an option: ");
-                    String choice = scanner.nextLine();
+                    this.out.print("Choose an option: ");
+                    String choice = readLine(GameMenu.SHOP);
                     
                     if (choice == null || choice.trim().isEmpty()) {
-                        System.out.println("Error: Please enter a valid option.\n");
+                        this.out.println("Error: Please enter a valid option.\n");
                         continue;
                     }
                     
+                    int moneyBefore = this.player.getMoney();
+                    int itemsBefore = this.player.getItemBag().getTotalQuantity();
+                    
                     switch (choice.trim()) {
                         case "1":
                             shopkeeper.sellItem(this.player, "weapon");
@@ -270,20 +665,29 @@ public class TalesofKnights {
                             shopkeeper.sellItem(this.player, "damage");
                             break;
                         case "5":
-                            sellMenu();
+                            sellMenu(shopkeeper);
                             break;
                         case "6":
                             inShop = false;
                             break;
                         default:
-                            System.out.println("Error: Invalid choice.\n");
+                            this.out.println("Error: Invalid choice.\n");
+                    }
+                    
+                    if (this.metrics != null) {
+                        int items = this.player.getItemBag().getTotalQuantity();
+                        if (items > itemsBefore) {
+                            this.metrics.itemBought(moneyBefore - this.player.getMoney());
+                        } else if (items < itemsBefore) {
+                            this.metrics.itemSold(this.player.getMoney() - moneyBefore);
+                        }
                     }
                 } catch (Exception e) {
-                    System.out.println("Error in shop: " + e.getMessage());
+                    this.out.println("Error in shop: " + e.getMessage());
                 }
             }
         } catch (Exception e) {
-            System.out.println("Error accessing shop: " + e.getMessage());
+            this.out.println("Error accessing shop: " + e.getMessage());
         }
     }
     
@@ -291,31 +695,33 @@ public class TalesofKnights {
      * Sell menu for trading inventory items for gold
      * 
      * Displays inventory and allows player to select items to sell.
+     * 
+     * @param shopkeeper the shopkeeper buying the item
      */
-    private void sellMenu() {
+    private void sellMenu(Shopkeeper shopkeeper) {
         try {
             if (this.player == null) {
-                System.out.println("Error: Player is null!");
+                this.out.println("Error: Player is null!");
                 return;
             }
             
             this.player.getItemBag().displayInventory();
-            System.out.print("Select item to sell (number): ");
+            this.out.print("Select item to sell (number): ");
             
             try {
-                String input = scanner.nextLine();
+                String input = readLine(GameMenu.SELL);
                 if (input == null || input.trim().isEmpty()) {
-                    System.out.println("Cancelled.\n");
+                    this.out.println("Cancelled.\n");
                     return;
                 }
                 
                 int itemIndex = Integer.parseInt(input.trim());
-                this.player.sell(itemIndex);
+                shopkeeper.buyItem(this.player, itemIndex);
             } catch (NumberFormatException e) {
-                System.out.println("Error: Please enter a valid number!\n");
+                this.out.println("Error: Please enter a valid number!\n");
             }
         } catch (Exception e) {
-            System.out.println("Error in sell menu: " + e.getMessage());
+            this.out.println("Error in sell menu: " + e.getMessage());
         }
     }
     
@@ -327,38 +733,44 @@ public class TalesofKnights {
     private void innMenu() {
         try {
             if (this.player == null) {
-                System.out.println("Error: Player is null!");
+                this.out.println("Error: Player is null!");
                 return;
             }
             
             Gambler gambler = new Gambler("Lucky");
             boolean inInn = true;
+            if (this.metrics != null) {
+                this.metrics.innVisited();
+            }
             
-            while (inInn) {
+            while (this.gameRunning && inInn) {
                 try {
-                    System.out.println("\n========== INN MENU ==========");
-                    System.out.println("1. Buy Drink (+5 Fame)");
-                    System.out.println("2. Gamble");
-                    System.out.println("3. Leave");
-                    System.out.println("=============================\n");
+                    this.out.println("\n========== INN MENU ==========");
+                    this.out.println("1. Buy Drink (+5 Fame)");
+                    this.out.println("2. Gamble");
+                    this.out.println("3. Leave");
+                    this.out.println("=============================\n");
                     
-                    System.out.print("Choose an option: ");
-                    String choice = scanner.nextLine();
+                    this.out.print("Choose an option: ");
+                    String choice = readLine(GameMenu.INN);
                     
                     if (choice == null || choice.trim().isEmpty()) {
-                        System.out.println("Error: Please enter a valid option.\n");
+                        this.out.println("Error: Please enter a valid option.\n");
                         continue;
                     }
                     
                     switch (choice.trim()) {
                         case "1":
                             this.player.addFame(5);
-                            System.out.println("You bought a drink! +5 Fame\n");
+                            if (this.metrics != null) {
+                                this.metrics.drinkBought();
+                            }
+                            this.out.println("You bought a drink! +5 Fame\n");
                             break;
                         case "2":
                             gambler.displayGamblingOptions();
-                            System.out.print("Choose: ");
-                            String bet = scanner.nextLine();
+                            this.out.print("Choose: ");
+                            String bet = readLine(GameMenu.BET);
                             
                             if (bet == null || bet.trim().isEmpty()) {
                                 continue;
@@ -367,26 +779,30 @@ public class TalesofKnights {
                             try {
                                 int betAmount = Integer.parseInt(bet.trim());
                                 if (betAmount > 0) {
-                                    gambler.gamble(this.player, betAmount);
+                                    int moneyBefore = this.player.getMoney();
+                                    boolean won = gambler.gamble(this.player, betAmount);
+                                    if (this.metrics != null && (won || this.player.getMoney() != moneyBefore)) {
+                                        this.metrics.betPlaced(betAmount, won);
+                                    }
                                 } else {
-                                    System.out.println("Error: Bet must be positive!\n");
+                                    this.out.println("Error: Bet must be positive!\n");
                                 }
                             } catch (NumberFormatException e) {
-                                System.out.println("Error: Please enter a valid number!\n");
+                                this.out.println("Error: Please enter a valid number!\n");
                             }
                             break;
                         case "3":
                             inInn = false;
                             break;
                         default:
-                            System.out.println("Error: Invalid choice.\n");
+                            this.out.println("Error: Invalid choice.\n");
                     }
                 } catch (Exception e) {
-                    System.out.println("Error in inn: " + e.getMessage());
+                    this.out.println("Error in inn: " + e.getMessage());
                 }
             }
         } catch (Exception e) {
-            System.out.println("Error accessing inn: " + e.getMessage());
+            this.out.println("Error accessing inn: " + e.getMessage());
         }
     }
     
@@ -399,33 +815,33 @@ public class TalesofKnights {
     private void dungeonMenu() {
         try {
             if (this.player == null || this.dungeon == null) {
-                System.out.println("Error: Dungeon or player is null!");
+                this.out.println("Error: Dungeon or player is null!");
                 return;
             }
             
             boolean inDungeon = true;
             
-            while (inDungeon && this.player.isAlive()) {
+            while (this.gameRunning && inDungeon && this.player.isAlive()) {
                 try {
                     int currentLevel = this.dungeon.getCurrentLevel();
                     
-                    System.out.println("\n========== ENTER DUNGEON ==========");
-                    System.out.println("1. Enter Chamber " + currentLevel);
+                    this.out.println("\n========== ENTER DUNGEON ==========");
+                    this.out.println("1. Enter Chamber " + currentLevel);
                     
                     // Chamber 5 is the final boss chamber
-                    if (currentLevel >= 5) {
-                        System.out.println("   ⚠️  WARNING: This is the FINAL CHAMBER!");
-                        System.out.println("   (The final boss awaits...)");
+                    if (this.dungeon.isFinalLevel()) {
+                        this.out.println("   ⚠️  WARNING: This is the FINAL CHAMBER!");
+                        this.out.println("   (The final boss awaits...)");
                     }
                     
-                    System.out.println("2. Return to Town");
-                    System.out.println("===================================\n");
+                    this.out.println("2. Return to Town");
+                    this.out.println("===================================\n");
                     
-                    System.out.print("Choose an option: ");
-                    String choice = scanner.nextLine();
+                    this.out.print("Choose an option: ");
+                    String choice = readLine(GameMenu.DUNGEON);
                     
                     if (choice == null || choice.trim().isEmpty()) {
-                        System.out.println("Error: Please enter a valid option.\n");
+                        this.out.println("Error: Please enter a valid option.\n");
                         continue;
                     }
                     
@@ -437,14 +853,14 @@ public class TalesofKnights {
                             inDungeon = false;
                             break;
                         default:
-                            System.out.println("Error: Invalid choice.\n");
+                            this.out.println("Error: Invalid choice.\n");
                     }
                 } catch (Exception e) {
-                    System.out.println("Error in dungeon menu: " + e.getMessage());
+                    this.out.println("Error in dungeon menu: " + e.getMessage());
                 }
             }
         } catch (Exception e) {
-            System.out.println("Error accessing dungeon: " + e.getMessage());
+            this.out.println("Error accessing dungeon: " + e.getMessage());
         }
     }
     
@@ -465,18 +881,18 @@ public class TalesofKnights {
             }
             
             // Dramatically increase monster stats for challenge
-            int scaledHealth = (int)(enemy.getMaxHealth() * 3);      // 3x health
-            int scaledPower = (int)(enemy.getPower() * 2.5);         // 2.5x damage
+            int scaledHealth = MonsterScaling.DEFAULT.newGamePlusHealth(enemy.getMaxHealth()); // 3x health
+            int scaledPower = MonsterScaling.DEFAULT.newGamePlusPower(enemy.getPower());       // 2.5x damage
             
             // Set new health and power
             enemy.setMaxHealth(scaledHealth);
             enemy.setHealth(scaledHealth);
             enemy.setPower(scaledPower);
             
-            System.out.println("\n⚠️  NEW GAME+ SCALING ACTIVATED!");
-            System.out.println("⚠️  This monster is SIGNIFICANTLY stronger!\n");
+            this.out.println("\n⚠️  NEW GAME+ SCALING ACTIVATED!");
+            this.out.println("⚠️  This monster is SIGNIFICANTLY stronger!\n");
         } catch (Exception e) {
-            System.out.println("Error scaling monster: " + e.getMessage());
+            this.out.println("Error scaling monster: " + e.getMessage());
         }
     }
     /**
@@ -485,23 +901,26 @@ public class TalesofKnights {
      * Handles one-on-one combat between player and enemy. Provides options to
      * attack, use items, analyze enemy, or escape. Continues until one side dies.
      * In New Game+, monsters are scaled to be significantly stronger.
+     * 
+     * Every action that takes a turn ends it on the game's EffectWheel, and
+     * the status effects of both fighters end with the battle.
      */
     private void battle() {
         try {
             if (this.player == null || this.dungeon == null) {
-                System.out.println("Error: Battle setup failed!");
+                this.out.println("Error: Battle setup failed!");
                 return;
             }
             
             Room currentRoom = this.dungeon.getCurrentRoom();
             if (currentRoom == null) {
-                System.out.println("Error: Room is null!");
+                this.out.println("Error: Room is null!");
                 return;
             }
             
             Monster enemy = currentRoom.getMonster();
             if (enemy == null) {
-                System.out.println("Error: Enemy is null!");
+                this.out.println("Error: Enemy is null!");
                 return;
             }
             
@@ -509,29 +928,36 @@ public class TalesofKnights {
             scaleMonsterForNewGamePlus(enemy);
             
             this.inBattle = true;
+            if (this.metrics != null) {
+                this.metrics.battleStarted();
+            }
+            long battleStart = System.nanoTime();
+            int turns = 0;
             
-            System.out.println("\n========== BATTLE START ==========");
+            this.out.println("\n========== BATTLE START ==========");
             enemy.display();
             
-            while (this.inBattle && this.player.isAlive() && enemy.isAlive()) {
+            while (this.gameRunning && this.inBattle && this.player.isAlive() && enemy.isAlive()) {
                 try {
-                    System.out.println("========== BATTLE MENU ==========");
-                    System.out.println("1. Attack");
-                    System.out.println("2. Use Item");
-                    System.out.println("3. Analyze Enemy");
-                    System.out.println("4. Escape");
-                    System.out.println("=================================\n");
+                    this.out.println("========== BATTLE MENU ==========");
+                    this.out.println("1. Attack");
+                    this.out.println("2. Use Item");
+                    this.out.println("3. Analyze Enemy");
+                    this.out.println("4. Escape");
+                    this.out.println("=================================\n");
                     
-                    System.out.print("Choose an action: ");
-                    String action = scanner.nextLine();
+                    this.out.print("Choose an action: ");
+                    String action = readLine(GameMenu.BATTLE);
                     
                     if (action == null || action.trim().isEmpty()) {
-                        System.out.println("Error: Please choose an action.\n");
+                        this.out.println("Error: Please choose an action.\n");
                         continue;
                     }
                     
+                    int turnsBefore = turns;
                     switch (action.trim()) {
                         case "1":
+                            turns++;
                             performAttack(enemy);
                             if (enemy.isAlive()) {
                                 enemyAttack(enemy);
@@ -539,19 +965,20 @@ public class TalesofKnights {
                             break;
                         case "2":
                             this.player.getItemBag().displayInventory();
-                            System.out.print("Select item to use (number): ");
+                            this.out.print("Select item to use (number): ");
                             
                             try {
-                                String itemChoice = scanner.nextLine();
+                                String itemChoice = readLine(GameMenu.BATTLE_ITEM);
                                 if (itemChoice == null || itemChoice.trim().isEmpty()) {
-                                    System.out.println("Cancelled.\n");
+                                    this.out.println("Cancelled.\n");
                                     break;
                                 }
                                 
                                 int itemIndex = Integer.parseInt(itemChoice.trim());
+                                turns++;
                                 this.player.useItem(itemIndex);
                             } catch (NumberFormatException e) {
-                                System.out.println("Error: Please enter a valid number!\n");
+                                this.out.println("Error: Please enter a valid number!\n");
                                 break;
                             }
                             
@@ -563,25 +990,41 @@ public class TalesofKnights {
                             this.player.analyzeEnemy(enemy);
                             break;
                         case "4":
-                            if (this.player.escape()) {
+                            turns++;
+                            boolean escaped = this.player.escape();
+                            if (this.metrics != null) {
+                                this.metrics.escapeAttempted(escaped);
+                            }
+                            if (escaped) {
                                 this.inBattle = false;
                             } else {
                                 enemyAttack(enemy);
                             }
                             break;
                         default:
-                            System.out.println("Error: Invalid action.\n");
+                            this.out.println("Error: Invalid action.\n");
+                    }
+                    if (turns != turnsBefore) {
+                        this.effects.advance();
                     }
                 } catch (Exception e) {
-                    System.out.println("Error in battle: " + e.getMessage());
+                    this.out.println("Error in battle: " + e.getMessage());
                 }
             }
             
+            this.player.clearEffects();
+            enemy.clearEffects();
+            if (this.metrics != null) {
+                this.metrics.battleCompleted(turns, System.nanoTime() - battleStart);
+            }
+            
             if (this.inBattle) {
                 endBattle(enemy);
             }
+            
+            autosave();
         } catch (Exception e) {
-            System.out.println("Error starting battle: " + e.getMessage());
+            this.out.println("Error starting battle: " + e.getMessage());
         }
     }
     
@@ -593,14 +1036,17 @@ public class TalesofKnights {
     private void performAttack(Monster enemy) {
         try {
             if (this.player == null || enemy == null) {
-                System.out.println("Error: Player or enemy is null!");
+                this.out.println("Error: Player or enemy is null!");
                 return;
             }
             
             int damage = this.player.attack();
             enemy.takeDamage(damage);
+            if (this.metrics != null) {
+                this.metrics.heroAttacked(damage);
+            }
         } catch (Exception e) {
-            System.out.println("Error performing attack: " + e.getMessage());
+            this.out.println("Error performing attack: " + e.getMessage());
         }
     }
     
@@ -612,16 +1058,19 @@ public class TalesofKnights {
     private void enemyAttack(Monster enemy) {
         try {
             if (this.player == null || enemy == null) {
-                System.out.println("Error: Player or enemy is null!");
+                this.out.println("Error: Player or enemy is null!");
                 return;
             }
             
             int damage = enemy.attack();
             this.player.takeDamage(damage);
+            if (this.metrics != null) {
+                this.metrics.monsterAttacked(enemy.getName(), damage);
+            }
         } catch (NullPointerException e) {
-            System.out.println("Error: Combat error - enemy is null!");
+            this.out.println("Error: Combat error - enemy is null!");
         } catch (Exception e) {
-            System.out.println("Error during enemy attack: " + e.getMessage());
+            this.out.println("Error during enemy attack: " + e.getMessage());
         }
     }
     
@@ -637,7 +1086,7 @@ public class TalesofKnights {
     private void endBattle(Monster enemy) {
         try {
             if (this.player == null || enemy == null) {
-                System.out.println("Error: Player or enemy is null!");
+                this.out.println("Error: Player or enemy is null!");
                 return;
             }
             
@@ -647,16 +1096,19 @@ public class TalesofKnights {
                 
                 this.player.addMoney(goldReward);
                 this.player.addFame(fameReward);
+                if (this.metrics != null) {
+                    this.metrics.victory();
+                }
+                this.victories++;
                 
-                System.out.println("\n========== VICTORY ==========");
-                System.out.println(enemy.getName() + " has been defeated!");
-                System.out.println("You gained " + goldReward + " gold!");
-                System.out.println("You gained " + fameReward + " fame!");
-                System.out.println("=============================\n");
+                this.out.println("\n========== VICTORY ==========");
+                this.out.println(enemy.getName() + " has been defeated!");
+                this.out.println("You gained " + goldReward + " gold!");
+                this.out.println("You gained " + fameReward + " fame!");
+                this.out.println("=============================\n");
                 
                 // Check if we're in Chamber 5 (final chamber)
-                int currentLevel = this.dungeon.getCurrentLevel();
-                if (currentLevel >= 5) {
+                if (this.dungeon.isFinalLevel()) {
                     // Chamber 5 victory - show special menu
                     chamber5VictoryMenu();
                 } else {
@@ -664,15 +1116,18 @@ public class TalesofKnights {
                     this.dungeon.nextRoom();
                 }
             } else if (!this.player.isAlive()) {
-                System.out.println("\n========== DEFEAT ==========");
-                System.out.println("You have been defeated!");
-                System.out.println("============================\n");
+                if (this.metrics != null) {
+                    this.metrics.defeat();
+                }
+                this.out.println("\n========== DEFEAT ==========");
+                this.out.println("You have been defeated!");
+                this.out.println("============================\n");
                 this.gameRunning = false;
             }
             
             this.inBattle = false;
         } catch (Exception e) {
-            System.out.println("Error ending battle: " + e.getMessage());
+            this.out.println("Error ending battle: " + e.getMessage());
         }
     }
     
@@ -686,63 +1141,65 @@ public class TalesofKnights {
     private void chamber5VictoryMenu() {
         try {
             if (this.player == null || this.dungeon == null) {
-                System.out.println("Error: Cannot access Chamber 5 victory menu!");
+                this.out.println("Error: Cannot access Chamber 5 victory menu!");
                 return;
             }
             
             boolean inVictoryMenu = true;
             
-            while (inVictoryMenu) {
+            while (this.gameRunning && inVictoryMenu) {
                 try {
-                    System.out.println("\n╔═══════════════════════════════════════════╗");
-                    System.out.println("║     CONGRATULATIONS! YOU WON!             ║");
-                    System.out.println("║   You defeated the final boss!            ║");
-                    System.out.println("╚═══════════════════════════════════════════╝\n");
+                    this.out.println("\n╔═══════════════════════════════════════════╗");
+                    this.out.println("║     CONGRATULATIONS! YOU WON!             ║");
+                    this.out.println("║   You defeated the final boss!            ║");
+                    this.out.println("╚═══════════════════════════════════════════╝\n");
                     
-                    System.out.println("What would you like to do?\n");
-                    System.out.println("1. Replay Chamber 5");
-                    System.out.println("   └─ Fight the final boss again!");
-                    System.out.println("   └─ Keep all your items, money, and fame");
-                    System.out.println("\n2. Start New Game+ from Chamber 1");
-                    System.out.println("   └─ Begin a new adventure!");
-                    System.out.println("   └─ Keep all your progress (items, money, fame)");
-                    System.out.println("   └─ The dungeon resets to Chamber 1");
-                    System.out.println("   └─ Monsters become stronger!\n");
+                    this.out.println("What would you like to do?\n");
+                    this.out.println("1. Replay Chamber 5");
+                    this.out.println("   └─ Fight the final boss again!");
+                    this.out.println("   └─ Keep all your items, money, and fame");
+                    this.out.println("\n2. Start New Game+ from Chamber 1");
+                    this.out.println("   └─ Begin a new adventure!");
+                    this.out.println("   └─ Keep all your progress (items, money, fame)");
+                    this.out.println("   └─ The dungeon resets to Chamber 1");
+                    this.out.println("   └─ Monsters become stronger!\n");
                     
-                    System.out.println("3. View Current Stats\n");
+                    this.out.println("3. View Current Stats\n");
                     
-                    System.out.print("Choose an option: ");
-                    String choice = scanner.nextLine();
+                    this.out.print("Choose an option: ");
+                    String choice = readLine(GameMenu.VICTORY);
                     
                     if (choice == null || choice.trim().isEmpty()) {
-                        System.out.println("Error: Please enter a valid option.\n");
+                        this.out.println("Error: Please enter a valid option.\n");
                         continue;
                     }
                     
                     switch (choice.trim()) {
                         case "1":
                             // Replay Chamber 5 - boss respawns but player keeps everything
-                            System.out.println("\n✓ The final boss has risen again...");
-                            System.out.println("✓ All your progress is saved.\n");
+                            this.out.println("\n✓ The final boss has risen again...");
+                            this.out.println("✓ All your progress is saved.\n");
                             // Don't advance dungeon level, keep at 5
+                            this.dungeon.respawn();
                             inVictoryMenu = false;
                             break;
                             
                         case "2":
                             // Start New Game+ from Chamber 1 - reset dungeon but keep player stats
-                            System.out.println("\n✓ Starting New Game+...");
-                            System.out.println("✓ You keep all your items, money, and fame!");
-                            System.out.println("✓ The dungeon resets to Chamber 1.");
-                            System.out.println("✓ WARNING: Enemies are SIGNIFICANTLY stronger!");
-                            System.out.println("✓ This will be a TRUE CHALLENGE!\n");
+                            this.out.println("\n✓ Starting New Game+...");
+                            this.out.println("✓ You keep all your items, money, and fame!");
+                            this.out.println("✓ The dungeon resets to Chamber 1.");
+                            this.out.println("✓ WARNING: Enemies are SIGNIFICANTLY stronger!");
+                            this.out.println("✓ This will be a TRUE CHALLENGE!\n");
                             
-                            // Reset dungeon to Chamber 1
-                            this.dungeon = new Dungeon();
+                            // Reset dungeon to Chamber 1, reusing its room and monster
+                            this.dungeon.reset();
                             
                             // Mark that we're in New Game+ mode (harder difficulty)
                             this.isNewGamePlus = true;
+                            this.events.record(EventType.NEW_GAME_PLUS, EventLog.ACTOR_OTHER, 1, 0);
                             
-                            System.out.println("✓ New Game+ started! Prepare for a real battle...\n");
+                            this.out.println("✓ New Game+ started! Prepare for a real battle...\n");
                             
                             inVictoryMenu = false;
                             return;
@@ -750,20 +1207,20 @@ public class TalesofKnights {
                         case "3":
                             // View stats
                             if (this.player != null) {
-                                System.out.println();
+                                this.out.println();
                                 this.player.introduce();
                             }
                             break;
                             
                         default:
-                            System.out.println("Error: Invalid choice. Please enter 1-3.\n");
+                            this.out.println("Error: Invalid choice. Please enter 1-3.\n");
                     }
                 } catch (Exception e) {
-                    System.out.println("Error in Chamber 5 victory menu: " + e.getMessage());
+                    this.out.println("Error in Chamber 5 victory menu: " + e.getMessage());
                 }
             }
         } catch (Exception e) {
-            System.out.println("Error accessing Chamber 5 victory menu: " + e.getMessage());
+            this.out.println("Error accessing Chamber 5 victory menu: " + e.getMessage());
         }
     }
     
@@ -775,18 +1232,19 @@ public class TalesofKnights {
      */
     private void endGame() {
         try {
-            System.out.println("\n========== GAME OVER ==========");
-            System.out.println("Thanks for playing Tales of Knights!");
+            this.out.println("\n========== GAME OVER ==========");
+            this.out.println("Thanks for playing Tales of Knights!");
             
             if (this.player != null) {
-                System.out.println("\nFinal Stats:");
+                this.out.println("\nFinal Stats:");
                 this.player.introduce();
             }
             
-            System.out.println("================================\n");
+            this.out.println("================================\n");
+            autosave();
             this.gameRunning = false;
         } catch (Exception e) {
-            System.out.println("Error ending game: " + e.getMessage());
+            this.out.println("Error ending game: " + e.getMessage());
             this.gameRunning = false;
         }
     }
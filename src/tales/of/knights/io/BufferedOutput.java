@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.io;
+
+import java.io.PrintStream;
+
+/**
+ * BufferedOutput Class - Collects game text and writes it once per turn
+ * 
+ * Lines are appended to an in-memory buffer. flush() writes the whole buffer
+ * to the target stream in one call, so a combat turn that produces a dozen
+ * messages takes the stream's lock only once.
+ * 
+ * If the buffer grows past its limit it is flushed early, so a long run of
+ * output without input cannot use unbounded memory.
+ * 
+ * Not thread safe - each session or thread uses its own BufferedOutput.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameOutput
+ */
+public class BufferedOutput implements GameOutput {
+    
+    /** Buffer size (in characters) that triggers an early flush */
+    private static final int FLUSH_THRESHOLD = 16 * 1024;
+    
+    /** Line separator used by println */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    
+    /** The stream that receives the text on flush */
+    private final PrintStream target;
+    
+    /** Text written since the last flush */
+    private final StringBuilder buffer;
+    
+    /**
+     * Creates a new BufferedOutput
+     * 
+     * @param target the stream that receives the text - must not be null
+     * 
+     * @throws IllegalArgumentException if target is null
+     */
+    public BufferedOutput(PrintStream target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target stream cannot be null");
+        }
+        this.target = target;
+        this.buffer = new StringBuilder(1024);
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+    
+    @Override
+    public void print(String text) {
+        this.buffer.append(text);
+        flushIfFull();
+    }
+    
+    @Override
+    public void println(String text) {
+        this.buffer.append(text).append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+    
+    @Override
+    public void println() {
+        this.buffer.append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+    
+    @Override
+    public void flush() {
+        if (this.buffer.length() > 0) {
+            this.target.append(this.buffer);
+            this.buffer.setLength(0);
+        }
+        this.target.flush();
+    }
+    
+    /**
+     * Flushes early if the buffer has grown past its limit
+     */
+    private void flushIfFull() {
+        if (this.buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+}
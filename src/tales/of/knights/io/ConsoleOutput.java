@@ -0,0 +1,70 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.io;
+
+import java.io.PrintStream;
+
+/**
+ * ConsoleOutput Class - Writes game text straight to a PrintStream
+ * 
+ * Every line is handed to the stream as soon as it is written. This is the
+ * default output for the interactive console game.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameOutput
+ */
+public class ConsoleOutput implements GameOutput {
+    
+    /** The stream that receives the text */
+    private final PrintStream target;
+    
+    /**
+     * Creates a new ConsoleOutput writing to System.out
+     */
+    public ConsoleOutput() {
+        this(System.out);
+    }
+    
+    /**
+     * Creates a new ConsoleOutput
+     * 
+     * @param target the stream that receives the text - must not be null
+     * 
+     * @throws IllegalArgumentException if target is null
+     */
+    public ConsoleOutput(PrintStream target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target stream cannot be null");
+        }
+        this.target = target;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+    
+    @Override
+    public void print(String text) {
+        this.target.print(text);
+    }
+    
+    @Override
+    public void println(String text) {
+        this.target.println(text);
+    }
+    
+    @Override
+    public void println() {
+        this.target.println();
+    }
+    
+    @Override
+    public void flush() {
+        this.target.flush();
+    }
+}
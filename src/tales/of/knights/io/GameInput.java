@@ -0,0 +1,44 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.io;
+
+import java.io.IOException;
+
+/**
+ * GameInput Interface - Source of the player's commands
+ * 
+ * The game reads every command as one line. Lines end at "\n", "\r\n" or "\r",
+ * and the line separator is not part of the returned text, exactly as with
+ * Scanner.nextLine().
+ * 
+ * Implementations:
+ * - StreamInput: reads bytes from any InputStream through its own buffer
+ * - MappedInput: reads a script file mapped straight into memory
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameOutput
+ */
+public interface GameInput {
+    
+    /**
+     * Reads the next line
+     * 
+     * Blocks until a whole line is available or the input ends.
+     * 
+     * @return the line without its line separator, or null if the input has ended
+     * 
+     * @throws IOException if the input cannot be read
+     */
+    String readLine() throws IOException;
+    
+    /**
+     * Gets the number of lines read so far
+     * 
+     * @return lines returned by readLine()
+     */
+    long getLineCount();
+}
@@ -0,0 +1,64 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.io;
+
+/**
+ * GameOutput Interface - Destination for all text the game shows the player
+ * 
+ * Characters, items and places never print to System.out directly. They write
+ * to the GameOutput bound to the current thread (see OutputContext), so the
+ * same game code can talk to a console, to a network session, or to nobody.
+ * 
+ * Hot paths such as combat messages first check isEnabled(), so when output is
+ * disabled the message strings are never built.
+ * 
+ * Implementations:
+ * - ConsoleOutput: writes every line straight to a PrintStream
+ * - BufferedOutput: collects lines and writes them in one go on flush()
+ * - NullOutput: discards everything
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see OutputContext
+ */
+public interface GameOutput {
+    
+    /**
+     * Checks if this output shows text to anyone
+     * 
+     * Callers that build messages by concatenation should check this first
+     * and skip building the message when it returns false.
+     * 
+     * @return true if text written here is displayed; false if it is discarded
+     */
+    boolean isEnabled();
+    
+    /**
+     * Writes text without ending the line
+     * 
+     * @param text the text to write
+     */
+    void print(String text);
+    
+    /**
+     * Writes text followed by a line break
+     * 
+     * @param text the text to write
+     */
+    void println(String text);
+    
+    /**
+     * Writes an empty line
+     */
+    void println();
+    
+    /**
+     * Pushes any buffered text to its destination
+     * 
+     * Called once per turn, before the game waits for the next command.
+     */
+    void flush();
+}
@@ -0,0 +1,106 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * MappedInput Class - Reads command lines from a memory-mapped script file
+ * 
+ * The whole file is mapped read-only when the input is created, so reading a
+ * line is a scan of memory the operating system pages in on demand - there
+ * are no read calls and no copies into an intermediate buffer. The file is
+ * closed right after mapping; the mapping stays valid on its own.
+ * 
+ * Used to replay command scripts as fast as the game can run them. Lines are
+ * decoded as UTF-8. Scripts are limited to 2 GB.
+ * 
+ * Not thread safe - each game uses its own MappedInput.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameInput
+ */
+public class MappedInput implements GameInput {
+    
+    /** The mapped script */
+    private final MappedByteBuffer script;
+    
+    /** Scratch array lines are copied into before decoding */
+    private byte[] line;
+    
+    /** Index of the next unread byte */
+    private int position;
+    
+    /** Number of lines returned so far */
+    private long lineCount;
+    
+    /**
+     * Maps a script file
+     * 
+     * @param file the script to read - must not be null
+     * 
+     * @throws IllegalArgumentException if file is null
+     * @throws IOException if the file cannot be opened or is larger than 2 GB
+     */
+    public MappedInput(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Script file cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Script is too large: " + size + " bytes");
+            }
+            this.script = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        this.line = new byte[128];
+    }
+    
+    @Override
+    public String readLine() {
+        MappedByteBuffer bytes = this.script;
+        int limit = bytes.limit();
+        int start = this.position;
+        if (start >= limit) {
+            return null;
+        }
+        
+        int end = start;
+        while (end < limit) {
+            byte b = bytes.get(end);
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            end++;
+        }
+        
+        this.position = end + 1;
+        if (end < limit - 1 && bytes.get(end) == '\r' && bytes.get(end + 1) == '\n') {
+            this.position++;
+        }
+        
+        int length = end - start;
+        if (length > this.line.length) {
+            this.line = Arrays.copyOf(this.line, Math.max(this.line.length * 2, length));
+        }
+        bytes.get(start, this.line, 0, length);
+        this.lineCount++;
+        return new String(this.line, 0, length, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public long getLineCount() {
+        return this.lineCount;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.io;
+
+/**
+ * NullOutput Class - Discards all game text
+ * 
+ * Used by simulations and servers that do not show text to anyone. Because
+ * isEnabled() returns false, combat code skips building its messages entirely.
+ * 
+ * The class has no state, so the shared INSTANCE can be used everywhere.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameOutput
+ */
+public final class NullOutput implements GameOutput {
+    
+    /** The shared instance */
+    public static final NullOutput INSTANCE = new NullOutput();
+    
+    /**
+     * Creates the NullOutput - use INSTANCE instead
+     */
+    private NullOutput() {
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+    
+    @Override
+    public void print(String text) {
+    }
+    
+    @Override
+    public void println(String text) {
+    }
+    
+    @Override
+    public void println() {
+    }
+    
+    @Override
+    public void flush() {
+    }
+}
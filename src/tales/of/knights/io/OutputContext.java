@@ -0,0 +1,67 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.io;
+
+/**
+ * OutputContext Class - Holds the GameOutput of the current thread
+ * 
+ * Game objects look up their output here instead of printing to System.out.
+ * A game session binds its own output on the thread that runs it, so sessions
+ * on different threads never write to each other's streams. Threads that never
+ * bind anything write to the console.
+ * 
+ * Example:
+ * GameOutput previous = OutputContext.bind(NullOutput.INSTANCE);
+ * try {
+ *     // run silent simulations
+ * } finally {
+ *     OutputContext.bind(previous);
+ * }
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameOutput
+ */
+public final class OutputContext {
+    
+    /** Output used by threads that have not bound one */
+    private static final GameOutput CONSOLE = new ConsoleOutput();
+    
+    /** Output bound to each thread, or null for the console */
+    private static final ThreadLocal<GameOutput> CURRENT = new ThreadLocal<>();
+    
+    /**
+     * Not instantiable - all methods are static
+     */
+    private OutputContext() {
+    }
+    
+    /**
+     * Gets the output bound to the current thread
+     * 
+     * @return the bound output, or the console output if none is bound
+     */
+    public static GameOutput current() {
+        GameOutput output = CURRENT.get();
+        return output != null ? output : CONSOLE;
+    }
+    
+    /**
+     * Binds an output to the current thread
+     * 
+     * @param output the output to use from now on, or null to go back to the console
+     * @return the output that was bound before, so it can be restored
+     */
+    public static GameOutput bind(GameOutput output) {
+        GameOutput previous = current();
+        if (output == null || output == CONSOLE) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(output);
+        }
+        return previous;
+    }
+}
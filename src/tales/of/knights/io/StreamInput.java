@@ -0,0 +1,174 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * StreamInput Class - Reads command lines from an InputStream
+ * 
+ * Bytes are read in large blocks into a buffer and scanned for line breaks
+ * directly, instead of going through a Reader and Scanner's regular
+ * expressions. Lines are decoded as UTF-8.
+ * 
+ * Only bytes that are already available are waited for, so a line typed on
+ * the console is returned as soon as its Enter arrives - a "\r" does not wait
+ * to see whether a "\n" follows.
+ * 
+ * A line is cut off after MAX_LINE_LENGTH bytes and the rest of it, up to
+ * its line break, is dropped, so a peer that never sends a line break (such
+ * as a remote player on a socket) cannot make the input grow without limit.
+ * 
+ * Not thread safe - each game uses its own StreamInput.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameInput
+ */
+public class StreamInput implements GameInput {
+    
+    /** Most bytes of a line that are kept; the rest of a longer line is dropped */
+    public static final int MAX_LINE_LENGTH = 4096;
+    
+    /** Number of bytes read from the stream at a time */
+    private static final int BUFFER_SIZE = 8192;
+    
+    /** The stream the lines are read from */
+    private final InputStream in;
+    
+    /** Bytes read from the stream but not yet returned */
+    private final byte[] buffer;
+    
+    /** Index of the next unread byte in buffer */
+    private int position;
+    
+    /** Number of valid bytes in buffer */
+    private int limit;
+    
+    /** Bytes of a line that spans more than one buffer fill */
+    private byte[] pending;
+    
+    /** Number of valid bytes in pending */
+    private int pendingLength;
+    
+    /** True if the last line ended in "\r", so a following "\n" belongs to it */
+    private boolean skipLineFeed;
+    
+    /** Number of lines returned so far */
+    private long lineCount;
+    
+    /**
+     * Creates a new StreamInput
+     * 
+     * @param in the stream to read from - must not be null
+     * 
+     * @throws IllegalArgumentException if in is null
+     */
+    public StreamInput(InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.pending = new byte[128];
+    }
+    
+    @Override
+    public String readLine() throws IOException {
+        this.pendingLength = 0;
+        while (true) {
+            if (this.position == this.limit && !fill()) {
+                if (this.pendingLength == 0) {
+                    return null;
+                }
+                return finishLine(null, 0, 0);
+            }
+            
+            if (this.skipLineFeed) {
+                this.skipLineFeed = false;
+                if (this.buffer[this.position] == '\n') {
+                    this.position++;
+                    continue;
+                }
+            }
+            
+            int start = this.position;
+            for (int i = start; i < this.limit; i++) {
+                byte b = this.buffer[i];
+                if (b == '\n' || b == '\r') {
+                    this.position = i + 1;
+                    this.skipLineFeed = b == '\r';
+                    return finishLine(this.buffer, start, i - start);
+                }
+            }
+            
+            append(start, this.limit - start);
+            this.position = this.limit;
+        }
+    }
+    
+    @Override
+    public long getLineCount() {
+        return this.lineCount;
+    }
+    
+    /**
+     * Reads the next block of bytes from the stream
+     * 
+     * @return true if bytes were read; false at the end of the stream
+     * 
+     * @throws IOException if the stream cannot be read
+     */
+    private boolean fill() throws IOException {
+        int read = this.in.read(this.buffer, 0, this.buffer.length);
+        this.position = 0;
+        this.limit = Math.max(read, 0);
+        return read > 0;
+    }
+    
+    /**
+     * Keeps part of a line that continues past the end of the buffer
+     * 
+     * Bytes past MAX_LINE_LENGTH are dropped.
+     * 
+     * @param start index of the first byte in buffer
+     * @param length number of bytes
+     */
+    private void append(int start, int length) {
+        length = Math.min(length, MAX_LINE_LENGTH - this.pendingLength);
+        if (length <= 0) {
+            return;
+        }
+        if (this.pendingLength + length > this.pending.length) {
+            this.pending = Arrays.copyOf(this.pending,
+                    Math.min(Math.max(this.pending.length * 2, this.pendingLength + length), MAX_LINE_LENGTH));
+        }
+        System.arraycopy(this.buffer, start, this.pending, this.pendingLength, length);
+        this.pendingLength += length;
+    }
+    
+    /**
+     * Decodes a finished line together with any bytes kept from earlier fills
+     * 
+     * @param bytes the array holding the end of the line, or null if there is none
+     * @param start index of the first byte of the end of the line
+     * @param length number of bytes at the end of the line
+     * @return the decoded line, cut off after MAX_LINE_LENGTH bytes
+     */
+    private String finishLine(byte[] bytes, int start, int length) {
+        this.lineCount++;
+        if (this.pendingLength == 0) {
+            return new String(bytes, start, Math.min(length, MAX_LINE_LENGTH), StandardCharsets.UTF_8);
+        }
+        if (length > 0) {
+            append(start, length);
+        }
+        return new String(this.pending, 0, this.pendingLength, StandardCharsets.UTF_8);
+    }
+}
@@ -4,6 +4,8 @@
  */
 package tales.of.knights.items;
 
+import tales.of.knights.io.OutputContext;
+
 /**
  * Armor Class - Protective Equipment Item
  * 
@@ -40,7 +42,7 @@ public class Armor extends Item {
             
             this.protection = protection;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating armor: " + e.getMessage());
+            OutputContext.current().println("Error creating armor: " + e.getMessage());
             this.protection = 0;
         }
     }
@@ -54,7 +56,7 @@ public class Armor extends Item {
         try {
             return this.protection >= 0 ? this.protection : 0;
         } catch (Exception e) {
-            System.out.println("Error getting protection: " + e.getMessage());
+            OutputContext.current().println("Error getting protection: " + e.getMessage());
             return 0;
         }
     }
@@ -67,9 +69,9 @@ public class Armor extends Item {
     @Override
     public void display() {
         try {
-            System.out.println(this.description + " (Protection: " + this.protection + ", Value: " + this.value + " gold)");
+            OutputContext.current().println(this.description + " (Protection: " + this.protection + ", Value: " + this.value + " gold)");
         } catch (Exception e) {
-            System.out.println("Error displaying armor: " + e.getMessage());
+            OutputContext.current().println("Error displaying armor: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -4,13 +4,17 @@
  */
 package tales.of.knights.items;
 import tales.of.knights.characters.Character;
+import tales.of.knights.effects.EffectType;
 import tales.of.knights.interfaces.Consumable;
+import tales.of.knights.io.OutputContext;
 
 /**
  * DamageItem Class - Consumable Damage Boost Item
  * 
- * Extends Item and implements Consumable. When used, temporarily increases
- * a character's power/damage stat for their next attack.
+ * Extends Item and implements Consumable. When used, puts a POWER_BOOST
+ * status effect on the character that lasts BOOST_TURNS turns. The base
+ * power is never changed, so boosts end with the battle instead of adding up
+ * forever.
  * 
  * @author cobbina
  * @version 1.0
@@ -18,9 +22,13 @@ import tales.of.knights.interfaces.Consumable;
  * @see Item
  * @see Consumable
  * @see HealingItem
+ * @see tales.of.knights.effects.EffectWheel
  */
 public class DamageItem extends Item implements Consumable {
     
+    /** Turns a boost lasts, counting the turn the item is used on */
+    public static final int BOOST_TURNS = 5;
+    
     /** Power boost value - amount to increase character's power */
     private int power;
     
@@ -42,7 +50,7 @@ public class DamageItem extends Item implements Consumable {
             
             this.power = power;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating damage item: " + e.getMessage());
+            OutputContext.current().println("Error creating damage item: " + e.getMessage());
             this.power = 0;
         }
     }
@@ -56,7 +64,7 @@ public class DamageItem extends Item implements Consumable {
         try {
             return this.power >= 0 ? this.power : 0;
         } catch (Exception e) {
-            System.out.println("Error getting power: " + e.getMessage());
+            OutputContext.current().println("Error getting power: " + e.getMessage());
             return 0;
         }
     }
@@ -64,7 +72,8 @@ public class DamageItem extends Item implements Consumable {
     /**
      * Uses the damage item to boost character's power
      * 
-     * Increases the character's attack power by this item's power value.
+     * Raises the character's effective power by this item's power value
+     * until BOOST_TURNS turns have passed.
      * 
      * @param character the character to boost - must not be null
      */
@@ -72,19 +81,19 @@ public class DamageItem extends Item implements Consumable {
     public void use(Character character) {
         try {
             if (character == null) {
-                System.out.println("Error: Character is null!");
+                OutputContext.current().println("Error: Character is null!");
                 return;
             }
             
-            int newPower = character.getPower() + this.power;
-            if (newPower < 0) {
-                newPower = character.getPower();
+            if (this.power <= 0) {
+                OutputContext.current().println("Nothing happens.");
+                return;
             }
             
-            character.setPower(newPower);
-            System.out.println("Your power increased by " + this.power + "!");
+            character.applyEffect(EffectType.POWER_BOOST, this.power, BOOST_TURNS);
+            OutputContext.current().println("Your power increased by " + this.power + " for " + BOOST_TURNS + " turns!");
         } catch (Exception e) {
-            System.out.println("Error using damage item: " + e.getMessage());
+            OutputContext.current().println("Error using damage item: " + e.getMessage());
         }
     }
     
@@ -98,7 +107,7 @@ public class DamageItem extends Item implements Consumable {
         try {
             return super.getDescription() + " (Power: " + this.power + ")";
         } catch (Exception e) {
-            System.out.println("Error getting description: " + e.getMessage());
+            OutputContext.current().println("Error getting description: " + e.getMessage());
             return "Damage Item";
         }
     }
@@ -111,9 +120,9 @@ public class DamageItem extends Item implements Consumable {
     @Override
     public void display() {
         try {
-            System.out.println(this.description + " (Power: " + this.power + ", Value: " + this.value + " gold)");
+            OutputContext.current().println(this.description + " (Power: " + this.power + ", Value: " + this.value + " gold)");
         } catch (Exception e) {
-            System.out.println("Error displaying damage item: " + e.getMessage());
+            OutputContext.current().println("Error displaying damage item: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
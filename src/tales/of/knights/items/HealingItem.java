@@ -5,6 +5,7 @@
 package tales.of.knights.items;
 import tales.of.knights.characters.Character;
 import tales.of.knights.interfaces.Consumable;
+import tales.of.knights.io.OutputContext;
 
 /**
  * HealingItem Class - Consumable Health Restoration Item
@@ -50,7 +51,7 @@ public class HealingItem extends Item implements Consumable {
             this.healAmount = healAmount;
             this.quality = quality;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating healing item: " + e.getMessage());
+            OutputContext.current().println("Error creating healing item: " + e.getMessage());
             this.healAmount = 0;
             this.quality = 0;
         }
@@ -65,7 +66,7 @@ public class HealingItem extends Item implements Consumable {
         try {
             return this.healAmount >= 0 ? this.healAmount : 0;
         } catch (Exception e) {
-            System.out.println("Error getting heal amount: " + e.getMessage());
+            OutputContext.current().println("Error getting heal amount: " + e.getMessage());
             return 0;
         }
     }
@@ -79,7 +80,7 @@ public class HealingItem extends Item implements Consumable {
         try {
             return this.quality >= 0 ? this.quality : 0;
         } catch (Exception e) {
-            System.out.println("Error getting quality: " + e.getMessage());
+            OutputContext.current().println("Error getting quality: " + e.getMessage());
             return 0;
         }
     }
@@ -93,13 +94,13 @@ public class HealingItem extends Item implements Consumable {
     public void use(Character character) {
         try {
             if (character == null) {
-                System.out.println("Error: Character is null!");
+                OutputContext.current().println("Error: Character is null!");
                 return;
             }
             
             character.heal(this.healAmount);
         } catch (Exception e) {
-            System.out.println("Error using healing item: " + e.getMessage());
+            OutputContext.current().println("Error using healing item: " + e.getMessage());
         }
     }
     
@@ -113,7 +114,7 @@ public class HealingItem extends Item implements Consumable {
         try {
             return super.getDescription() + " (Healing: " + this.healAmount + ", Quality: " + this.quality + ")";
         } catch (Exception e) {
-            System.out.println("Error getting description: " + e.getMessage());
+            OutputContext.current().println("Error getting description: " + e.getMessage());
             return "Healing Item";
         }
     }
@@ -126,9 +127,9 @@ public class HealingItem extends Item implements Consumable {
     @Override
     public void display() {
         try {
-            System.out.println(this.description + " (Quality: " + this.quality + ", Value: " + this.value + " gold)");
+            OutputContext.current().println(this.description + " (Quality: " + this.quality + ", Value: " + this.value + " gold)");
         } catch (Exception e) {
-            System.out.println("Error displaying healing item: " + e.getMessage());
+            OutputContext.current().println("Error displaying healing item: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
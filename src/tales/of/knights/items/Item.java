@@ -4,6 +4,8 @@
  */
 package tales.of.knights.items;
 
+import tales.of.knights.io.OutputContext;
+
 /**
  * Item Abstract Class - Base for All Game Items
  * 
@@ -51,7 +53,7 @@ public abstract class Item {
             this.description = description;
             this.value = value;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating item: " + e.getMessage());
+            OutputContext.current().println("Error creating item: " + e.getMessage());
             this.description = "Unknown Item";
             this.value = 0;
         }
@@ -66,11 +68,24 @@ public abstract class Item {
         try {
             return this.description != null ? this.description : "Unknown Item";
         } catch (Exception e) {
-            System.out.println("Error getting description: " + e.getMessage());
+            OutputContext.current().println("Error getting description: " + e.getMessage());
             return "Unknown Item";
         }
     }
     
+    /**
+     * Gets the item's plain name
+     * 
+     * Unlike getDescription(), which subclasses extend with their stats
+     * (e.g. "Health Potion (Healing: 25, Quality: 3)"), this always returns
+     * just the name the item was created with.
+     * 
+     * @return the item's name, e.g. "Health Potion"
+     */
+    public String getName() {
+        return this.description != null ? this.description : "Unknown Item";
+    }
+    
     /**
      * Gets the item's value in gold
      * 
@@ -80,7 +95,7 @@ public abstract class Item {
         try {
             return this.value >= 0 ? this.value : 0;
         } catch (Exception e) {
-            System.out.println("Error getting value: " + e.getMessage());
+            OutputContext.current().println("Error getting value: " + e.getMessage());
             return 0;
         }
     }
@@ -4,48 +4,132 @@
  */
 package tales.of.knights.items;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.OutputContext;
 
 /**
  * ItemBag Class - Inventory Management System
  * 
- * Manages a collection of items that a character carries. Has a maximum
- * capacity of 8 items. Supports adding, removing, and retrieving items.
+ * Manages a collection of items that a character carries. The bag has a
+ * number of slots - 8 by default, up to MAX_CAPACITY for bots and
+ * large-inventory game modes. Supports adding, removing, and retrieving items.
+ * 
+ * Items are immutable, so the bag only holds references: bought items are the
+ * shared ItemCatalog instances, and many bags can hold the same item object.
+ * 
+ * Identical catalog consumables stack: up to MAX_STACK Health Potions share
+ * one slot. Weapons, armor and items outside the catalog take a slot each.
+ * At most one stack of each catalog entry is ever short of MAX_STACK, so a
+ * new slot is only opened when every stack of the entry is full.
+ * 
+ * Every operation is O(1):
+ * - The bag keeps an index of the slots of every ItemCategory, so finding
+ *   e.g. the first healing item does not scan the bag
+ * - The one slot with room for another copy of each catalog entry is
+ *   tracked, so adding to a stack does not search for it
+ * - The number of items, in total and per category, is counted as items are
+ *   added and removed, so asking for it does not add up the stacks
+ * - When a slot empties, the last slot moves into its place instead of every
+ *   later slot shifting down, so removing an item can change the position of
+ *   one other item
+ * 
+ * A bag belongs to one hero and is not thread safe.
  * 
  * @author cobbina
  * @version 1.0
  * 
  * @see Item
+ * @see ItemCategory
  * @see Hero
  * @see Shopkeeper
+ * @see ItemCatalog
  */
 public class ItemBag {
     
-    /** List of items in the bag */
-    private List<Item> items;
+    /** Number of slots of a new hero's bag */
+    public static final int DEFAULT_CAPACITY = 8;
+    
+    /** Largest number of slots a bag can have */
+    public static final int MAX_CAPACITY = 4096;
+    
+    /** Largest number of identical consumables that share one slot */
+    public static final int MAX_STACK = 10;
+    
+    /** Item in each slot - only the first size entries are used */
+    private Item[] items;
+    
+    /** Number of copies of the item in each slot */
+    private int[] quantities;
+    
+    /** Position of each slot in its category's index */
+    private int[] categoryPositions;
     
-    /** Maximum capacity - bag can hold up to 8 items */
-    private static final int MAX_ITEMS = 8;
+    /** Slots holding items of each category, by category ordinal */
+    private final int[][] categorySlots;
+    
+    /** Number of slots in each category's index */
+    private final int[] categorySizes;
+    
+    /** Number of items of each category, counting every copy in a stack */
+    private final int[] categoryQuantities;
+    
+    /** The one stack of each catalog entry that is not full, or -1 if every stack is full */
+    private final int[] stackSlots;
+    
+    /** Number of slots in use */
+    private int size;
+    
+    /** Number of items in the bag, counting every copy in a stack */
+    private int totalQuantity;
+    
+    /** Maximum number of slots */
+    private int capacity;
     
     /**
-     * Creates a new empty ItemBag
+     * Creates a new empty ItemBag with the default 8 slots
      * 
      * Initializes an empty inventory ready to store items.
      */
     public ItemBag() {
-        try {
-            this.items = new ArrayList<>();
-        } catch (Exception e) {
-            System.out.println("Error creating item bag: " + e.getMessage());
-            this.items = new ArrayList<>();
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates a new empty ItemBag
+     * 
+     * Room for the slots is allocated as they are filled, so a large capacity
+     * costs nothing until it is used.
+     * 
+     * @param capacity the number of slots - 1 to MAX_CAPACITY
+     * 
+     * @throws IllegalArgumentException if capacity is out of range
+     */
+    public ItemBag(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        int initial = Math.min(capacity, DEFAULT_CAPACITY);
+        this.items = new Item[initial];
+        this.quantities = new int[initial];
+        this.categoryPositions = new int[initial];
+        
+        ItemCategory[] categories = ItemCategory.values();
+        this.categorySlots = new int[categories.length][];
+        for (int i = 0; i < categories.length; i++) {
+            this.categorySlots[i] = new int[initial];
         }
+        this.categorySizes = new int[categories.length];
+        this.categoryQuantities = new int[categories.length];
+        this.stackSlots = new int[ItemCatalog.size()];
+        Arrays.fill(this.stackSlots, -1);
     }
     
     /**
      * Adds an item to the bag
      * 
-     * Fails if bag is full (max 8 items) or item is null.
+     * A catalog consumable joins a stack of the same entry when one has room.
+     * Otherwise the item needs a free slot, and fails if the bag is full or
+     * the item is null.
      * 
      * @param item the item to add - must not be null
      * @return true if item was successfully added, false if bag is full or error
@@ -53,27 +137,43 @@ public class ItemBag {
     public boolean addItem(Item item) {
         try {
             if (item == null) {
-                System.out.println("Error: Cannot add null item!");
+                OutputContext.current().println("Error: Cannot add null item!");
                 return false;
             }
             
-            if (this.items == null) {
-                this.items = new ArrayList<>();
+            int id = ItemCategory.of(item).isConsumable() ? ItemCatalog.idOf(item) : -1;
+            if (id >= 0 && this.stackSlots[id] >= 0) {
+                int slot = this.stackSlots[id];
+                this.quantities[slot]++;
+                if (this.quantities[slot] >= MAX_STACK) {
+                    this.stackSlots[id] = -1;
+                }
+                count(item, 1);
+                added(item);
+                return true;
             }
             
-            if (this.items.size() >= MAX_ITEMS) {
-                System.out.println("Error: Your bag is full! Maximum " + MAX_ITEMS + " items.");
+            if (this.size >= this.capacity) {
+                OutputContext.current().println("Error: Your bag is full! Maximum " + this.capacity + " slots.");
                 return false;
             }
             
-            this.items.add(item);
-            System.out.println("Added " + item.getDescription() + " to inventory.");
+            int slot = this.size;
+            if (slot == this.items.length) {
+                grow();
+            }
+            this.items[slot] = item;
+            this.quantities[slot] = 1;
+            this.size++;
+            addToCategory(slot, ItemCategory.of(item));
+            if (id >= 0) {
+                this.stackSlots[id] = slot;
+            }
+            count(item, 1);
+            added(item);
             return true;
-        } catch (UnsupportedOperationException e) {
-            System.out.println("Error: Cannot modify item list!");
-            return false;
         } catch (Exception e) {
-            System.out.println("Error adding item: " + e.getMessage());
+            OutputContext.current().println("Error adding item: " + e.getMessage());
             return false;
         }
     }
@@ -81,79 +181,159 @@ public class ItemBag {
     /**
      * Gets an item from the bag by index
      * 
-     * @param index the position of the item (0-7)
-     * @return the Item at that index, or null if invalid index
+     * @param index the position of the slot (0 to getItemCount() - 1)
+     * @return the Item in that slot, or null if invalid index
      */
     public Item getItem(int index) {
-        try {
-            if (this.items == null) {
-                System.out.println("Error: Item bag is null!");
-                return null;
-            }
-            
-            if (index < 0 || index >= this.items.size()) {
-                System.out.println("Error: Invalid item index! Valid range: 0-" + (this.items.size() - 1));
-                return null;
-            }
-            
-            return this.items.get(index);
-        } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error: Item index out of bounds!");
-            return null;
-        } catch (Exception e) {
-            System.out.println("Error getting item: " + e.getMessage());
+        if (index < 0 || index >= this.size) {
+            OutputContext.current().println("Error: Invalid item index! Valid range: 0-" + (this.size - 1));
             return null;
         }
+        return this.items[index];
     }
     
     /**
-     * Removes an item from the bag by index
+     * Gets the number of copies of the item in a slot
      * 
-     * @param index the position of the item to remove
+     * @param index the position of the slot
+     * @return 1 to MAX_STACK, or 0 if invalid index
+     */
+    public int getQuantity(int index) {
+        if (index < 0 || index >= this.size) {
+            return 0;
+        }
+        return this.quantities[index];
+    }
+    
+    /**
+     * Removes one item from the bag by index
+     * 
+     * Takes one copy off a stack. When the slot empties, the last slot moves
+     * into its place.
+     * 
+     * Copies of a catalog entry are interchangeable, so if another stack of
+     * the same entry is not full, the copy is taken from that stack instead.
+     * This keeps at most one stack of each entry short of MAX_STACK, and that
+     * stack can empty and move rather than the slot at index.
+     * 
+     * @param index the position of the slot to remove an item from
      * @return true if item was successfully removed, false if invalid index
      */
     public boolean removeItem(int index) {
         try {
-            if (this.items == null) {
-                System.out.println("Error: Item bag is null!");
+            if (index < 0 || index >= this.size) {
+                OutputContext.current().println("Error: Invalid item index!");
                 return false;
             }
             
-            if (index < 0 || index >= this.items.size()) {
-                System.out.println("Error: Invalid item index!");
-                return false;
+            Item removed = this.items[index];
+            int id = ItemCategory.of(removed).isConsumable() ? ItemCatalog.idOf(removed) : -1;
+            int slot = index;
+            if (id >= 0) {
+                if (this.stackSlots[id] >= 0) {
+                    slot = this.stackSlots[id];
+                } else {
+                    this.stackSlots[id] = index;
+                }
             }
             
-            Item removed = this.items.remove(index);
-            System.out.println("Removed " + removed.getDescription() + " from inventory.");
+            this.quantities[slot]--;
+            count(removed, -1);
+            if (this.quantities[slot] == 0) {
+                if (id >= 0) {
+                    this.stackSlots[id] = -1;
+                }
+                removeSlot(slot);
+            }
+            GameOutput out = OutputContext.current();
+            if (out.isEnabled()) {
+                out.println("Removed " + removed.getDescription() + " from inventory.");
+            }
             return true;
-        } catch (IndexOutOfBoundsException e) {
-            System.out.println("Error: Item index out of range!");
-            return false;
-        } catch (UnsupportedOperationException e) {
-            System.out.println("Error: Cannot modify item list!");
-            return false;
         } catch (Exception e) {
-            System.out.println("Error removing item: " + e.getMessage());
+            OutputContext.current().println("Error removing item: " + e.getMessage());
             return false;
         }
     }
     
     /**
-     * Gets the number of items currently in the bag
+     * Finds the first slot holding an item of a category
+     * 
+     * "First" is the first entry of the category's index, which is the
+     * earliest filled slot until items start being removed.
+     * 
+     * @param category the category to look for
+     * @return the index of the slot, or -1 if the bag has no such item
+     */
+    public int findFirst(ItemCategory category) {
+        int ordinal = category.ordinal();
+        return this.categorySizes[ordinal] > 0 ? this.categorySlots[ordinal][0] : -1;
+    }
+    
+    /**
+     * Gets the number of slots holding items of a category
+     * 
+     * @param category the category to count
+     * @return the number of slots - stacks count once
+     */
+    public int getCategoryCount(ItemCategory category) {
+        return this.categorySizes[category.ordinal()];
+    }
+    
+    /**
+     * Gets the number of items of a category, counting every copy in a stack
+     * 
+     * @param category the category to count
+     * @return the total quantity of the category's slots
+     */
+    public int getCategoryQuantity(ItemCategory category) {
+        return this.categoryQuantities[category.ordinal()];
+    }
+    
+    /**
+     * Gets the number of slots currently in use
+     * 
+     * A stack of potions counts once; valid indexes are 0 to getItemCount() - 1.
      * 
-     * @return the count of items (0-8)
+     * @return the count of used slots (0 to getCapacity())
      */
     public int getItemCount() {
-        try {
-            if (this.items == null) {
-                return 0;
-            }
-            return this.items.size();
-        } catch (Exception e) {
-            System.out.println("Error getting item count: " + e.getMessage());
-            return 0;
+        return this.size;
+    }
+    
+    /**
+     * Gets the number of items in the bag, counting every copy in a stack
+     * 
+     * @return the total quantity of all slots
+     */
+    public int getTotalQuantity() {
+        return this.totalQuantity;
+    }
+    
+    /**
+     * Gets the maximum number of slots
+     * 
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+    
+    /**
+     * Changes the maximum number of slots
+     * 
+     * @param capacity the new number of slots - 1 to MAX_CAPACITY, and at
+     *        least the number of slots in use
+     * 
+     * @throws IllegalArgumentException if capacity is out of range or too small
+     *         for the items in the bag
+     */
+    public void setCapacity(int capacity) {
+        checkCapacity(capacity);
+        if (capacity < this.size) {
+            throw new IllegalArgumentException("Bag holds " + this.size + " slots, more than " + capacity);
         }
+        this.capacity = capacity;
     }
     
     /**
@@ -163,21 +343,19 @@ public class ItemBag {
      */
     public void displayInventory() {
         try {
-            if (this.items == null || this.items.isEmpty()) {
-                System.out.println("\nYour inventory is empty!");
+            if (this.size == 0) {
+                OutputContext.current().println("\nYour inventory is empty!");
                 return;
             }
             
-            System.out.println("\n========== INVENTORY ==========");
-            for (int i = 0; i < this.items.size(); i++) {
-                Item item = this.items.get(i);
-                if (item != null) {
-                    System.out.println(i + ": " + item.getDescription());
-                }
+            OutputContext.current().println("\n========== INVENTORY ==========");
+            for (int i = 0; i < this.size; i++) {
+                String quantity = this.quantities[i] > 1 ? " x" + this.quantities[i] : "";
+                OutputContext.current().println(i + ": " + this.items[i].getDescription() + quantity);
             }
-            System.out.println("===============================\n");
+            OutputContext.current().println("===============================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying inventory: " + e.getMessage());
+            OutputContext.current().println("Error displaying inventory: " + e.getMessage());
         }
     }
     
@@ -187,12 +365,119 @@ public class ItemBag {
      * Removes every item, leaving the bag empty.
      */
     public void clear() {
-        try {
-            if (this.items != null) {
-                this.items.clear();
+        Arrays.fill(this.items, 0, this.size, null);
+        Arrays.fill(this.categorySizes, 0);
+        Arrays.fill(this.categoryQuantities, 0);
+        Arrays.fill(this.stackSlots, -1);
+        this.size = 0;
+        this.totalQuantity = 0;
+    }
+    
+    /**
+     * Tells the player an item was added
+     * 
+     * @param item the item
+     */
+    private static void added(Item item) {
+        GameOutput out = OutputContext.current();
+        if (out.isEnabled()) {
+            out.println("Added " + item.getDescription() + " to inventory.");
+        }
+    }
+    
+    /**
+     * Updates the item counts after copies of an item were added or removed
+     * 
+     * @param item the item
+     * @param change number of copies added, negative if removed
+     */
+    private void count(Item item, int change) {
+        this.totalQuantity += change;
+        this.categoryQuantities[ItemCategory.of(item).ordinal()] += change;
+    }
+    
+    /**
+     * Empties a slot by moving the last slot into it
+     * 
+     * @param index the slot to empty
+     */
+    private void removeSlot(int index) {
+        removeFromCategory(index, ItemCategory.of(this.items[index]));
+        int last = this.size - 1;
+        if (index != last) {
+            Item moved = this.items[last];
+            this.items[index] = moved;
+            this.quantities[index] = this.quantities[last];
+            int position = this.categoryPositions[last];
+            this.categoryPositions[index] = position;
+            this.categorySlots[ItemCategory.of(moved).ordinal()][position] = index;
+            
+            int id = ItemCategory.of(moved).isConsumable() ? ItemCatalog.idOf(moved) : -1;
+            if (id >= 0 && this.stackSlots[id] == last) {
+                this.stackSlots[id] = index;
             }
-        } catch (Exception e) {
-            System.out.println("Error clearing inventory: " + e.getMessage());
+        }
+        this.items[last] = null;
+        this.size = last;
+    }
+    
+    /**
+     * Adds a slot to the end of its category's index
+     * 
+     * @param slot the slot
+     * @param category the category of the slot's item
+     */
+    private void addToCategory(int slot, ItemCategory category) {
+        int ordinal = category.ordinal();
+        int position = this.categorySizes[ordinal];
+        if (position == this.categorySlots[ordinal].length) {
+            this.categorySlots[ordinal] = Arrays.copyOf(this.categorySlots[ordinal], this.items.length);
+        }
+        this.categorySlots[ordinal][position] = slot;
+        this.categoryPositions[slot] = position;
+        this.categorySizes[ordinal]++;
+    }
+    
+    /**
+     * Takes a slot out of its category's index
+     * 
+     * The last entry of the index moves into the slot's position.
+     * 
+     * @param slot the slot
+     * @param category the category of the slot's item
+     */
+    private void removeFromCategory(int slot, ItemCategory category) {
+        int ordinal = category.ordinal();
+        int[] slots = this.categorySlots[ordinal];
+        int position = this.categoryPositions[slot];
+        int last = --this.categorySizes[ordinal];
+        if (position != last) {
+            int moved = slots[last];
+            slots[position] = moved;
+            this.categoryPositions[moved] = position;
+        }
+    }
+    
+    /**
+     * Doubles the room for slots, up to the capacity
+     */
+    private void grow() {
+        int length = (int) Math.min((long) this.items.length * 2, this.capacity);
+        this.items = Arrays.copyOf(this.items, length);
+        this.quantities = Arrays.copyOf(this.quantities, length);
+        this.categoryPositions = Arrays.copyOf(this.categoryPositions, length);
+    }
+    
+    /**
+     * Validates a capacity
+     * 
+     * @param capacity the capacity to check
+     * 
+     * @throws IllegalArgumentException if capacity is not 1 to MAX_CAPACITY
+     */
+    private static void checkCapacity(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.items;
+
+/**
+ * ItemCatalog Class - Shared catalog of every item sold in the game
+ * 
+ * Items carry no per-owner state: once created, an Iron Sword never changes
+ * its name, damage or value. So instead of building a new item on every
+ * purchase, the game hands out these shared instances. A thousand heroes
+ * carrying an Iron Sword all reference the same object, shops no longer keep
+ * their own copies, and buying an item allocates nothing.
+ * 
+ * Every entry also has a small numeric id (its position in the catalog), for
+ * code that wants to refer to items compactly.
+ * 
+ * The catalog is built once when the class is loaded and never changes, so it
+ * can be read from any thread without locking.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see Item
+ * @see tales.of.knights.characters.Shopkeeper
+ */
+public final class ItemCatalog {
+    
+    /** Basic sword sold by every shop */
+    public static final Weapon IRON_SWORD = new Weapon("Iron Sword", 20, 50);
+    
+    /** Stronger sword */
+    public static final Weapon STEEL_SWORD = new Weapon("Steel Sword", 30, 75);
+    
+    /** Basic armor sold by every shop */
+    public static final Armor LEATHER_ARMOR = new Armor("Leather Armor", 5, 40);
+    
+    /** Stronger armor */
+    public static final Armor STEEL_ARMOR = new Armor("Steel Armor", 10, 60);
+    
+    /** Basic healing potion sold by every shop */
+    public static final HealingItem HEALTH_POTION = new HealingItem("Health Potion", 25, 3, 25);
+    
+    /** Stronger healing potion */
+    public static final HealingItem GREATER_POTION = new HealingItem("Greater Potion", 50, 5, 40);
+    
+    /** Power boosting bomb sold by every shop */
+    public static final DamageItem EXPLOSIVE_BOMB = new DamageItem("Explosive Bomb", 25, 30);
+    
+    /** Every catalog entry - the index of an entry is its id */
+    private static final Item[] ENTRIES = {
+        IRON_SWORD, STEEL_SWORD, LEATHER_ARMOR, STEEL_ARMOR,
+        HEALTH_POTION, GREATER_POTION, EXPLOSIVE_BOMB
+    };
+    
+    /**
+     * Not instantiable - all methods are static
+     */
+    private ItemCatalog() {
+    }
+    
+    /**
+     * Gets the number of items in the catalog
+     * 
+     * @return the number of entries; valid ids are 0 to size() - 1
+     */
+    public static int size() {
+        return ENTRIES.length;
+    }
+    
+    /**
+     * Gets a catalog entry by id
+     * 
+     * @param id the entry's id
+     * @return the shared item
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    public static Item get(int id) {
+        if (id < 0 || id >= ENTRIES.length) {
+            throw new IllegalArgumentException("Unknown catalog id: " + id);
+        }
+        return ENTRIES[id];
+    }
+    
+    /**
+     * Gets the id of an item
+     * 
+     * Finds the catalog entry the item is, or is identical to.
+     * 
+     * @param item the item to look up
+     * @return the catalog id, or -1 if the item is null or not a catalog item
+     */
+    public static int idOf(Item item) {
+        if (item == null) {
+            return -1;
+        }
+        for (int i = 0; i < ENTRIES.length; i++) {
+            if (ENTRIES[i] == item) {
+                return i;
+            }
+        }
+        for (int i = 0; i < ENTRIES.length; i++) {
+            if (sameItem(ENTRIES[i], item)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Swaps an item for its shared catalog entry
+     * 
+     * Used when items are rebuilt from outside the game (e.g. a save file), so
+     * the rebuilt copies can be dropped and only the shared entry is kept.
+     * 
+     * @param item the item to intern
+     * @return the identical catalog entry, or the item itself if there is none
+     */
+    public static Item intern(Item item) {
+        int id = idOf(item);
+        return id >= 0 ? ENTRIES[id] : item;
+    }
+    
+    /**
+     * Checks if two items have the same type, name and stats
+     * 
+     * @param a the first item
+     * @param b the second item
+     * @return true if the items are interchangeable
+     */
+    private static boolean sameItem(Item a, Item b) {
+        if (a.getClass() != b.getClass()
+                || a.getValue() != b.getValue()
+                || !a.getName().equals(b.getName())) {
+            return false;
+        }
+        if (a instanceof Weapon weapon) {
+            return weapon.getDamage() == ((Weapon) b).getDamage();
+        }
+        if (a instanceof Armor armor) {
+            return armor.getProtection() == ((Armor) b).getProtection();
+        }
+        if (a instanceof HealingItem healing) {
+            HealingItem other = (HealingItem) b;
+            return healing.getHealAmount() == other.getHealAmount()
+                    && healing.getQuality() == other.getQuality();
+        }
+        if (a instanceof DamageItem damage) {
+            return damage.getPower() == ((DamageItem) b).getPower();
+        }
+        return false;
+    }
+}
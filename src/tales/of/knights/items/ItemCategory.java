@@ -0,0 +1,65 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.items;
+
+/**
+ * ItemCategory Enum - Kinds of item an ItemBag keeps an index of
+ * 
+ * Every item belongs to exactly one category, decided by its class.
+ * HEALING and DAMAGE together are the Consumable items.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see ItemBag
+ */
+public enum ItemCategory {
+    
+    /** Weapons the hero can equip */
+    WEAPON,
+    
+    /** Armor the hero can equip */
+    ARMOR,
+    
+    /** Consumables that restore health */
+    HEALING,
+    
+    /** Consumables that boost power */
+    DAMAGE,
+    
+    /** Any other item */
+    OTHER;
+    
+    /**
+     * Finds the category of an item
+     * 
+     * @param item the item - must not be null
+     * @return the category the item's class belongs to
+     */
+    public static ItemCategory of(Item item) {
+        if (item instanceof Weapon) {
+            return WEAPON;
+        }
+        if (item instanceof Armor) {
+            return ARMOR;
+        }
+        if (item instanceof HealingItem) {
+            return HEALING;
+        }
+        if (item instanceof DamageItem) {
+            return DAMAGE;
+        }
+        return OTHER;
+    }
+    
+    /**
+     * Checks if items of this category are used up
+     * 
+     * @return true for HEALING and DAMAGE
+     */
+    public boolean isConsumable() {
+        return this == HEALING || this == DAMAGE;
+    }
+}
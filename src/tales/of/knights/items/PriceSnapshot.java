@@ -0,0 +1,100 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.items;
+
+/**
+ * PriceSnapshot Class - Shop prices of every catalog entry at one moment
+ * 
+ * Built by the PricingEngine after each recompute and never changed
+ * afterwards, so a purchase can read it from any thread without locking.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see PricingEngine
+ */
+public final class PriceSnapshot {
+    
+    /** Price the shop sells each entry for, by catalog id */
+    private final int[] buyPrices;
+    
+    /** Price the shop pays for each entry, by catalog id */
+    private final int[] sellPrices;
+    
+    /** Number of recomputes before this snapshot was built */
+    private final long generation;
+    
+    /**
+     * Creates a new PriceSnapshot
+     * 
+     * @param buyPrices price the shop sells each entry for - copied
+     * @param sellPrices price the shop pays for each entry - copied
+     * @param generation number of recomputes before this snapshot was built
+     * 
+     * @throws IllegalArgumentException if the arrays do not cover the catalog or hold a negative price
+     */
+    public PriceSnapshot(int[] buyPrices, int[] sellPrices, long generation) {
+        if (buyPrices == null || sellPrices == null
+                || buyPrices.length != ItemCatalog.size() || sellPrices.length != ItemCatalog.size()) {
+            throw new IllegalArgumentException("Prices must cover every catalog entry");
+        }
+        for (int id = 0; id < buyPrices.length; id++) {
+            if (buyPrices[id] < 0 || sellPrices[id] < 0) {
+                throw new IllegalArgumentException("Prices cannot be negative");
+            }
+        }
+        this.buyPrices = buyPrices.clone();
+        this.sellPrices = sellPrices.clone();
+        this.generation = generation;
+    }
+    
+    /**
+     * Gets the price the shop sells an entry for
+     * 
+     * @param id the entry's catalog id
+     * @return the price in gold
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    public int getBuyPrice(int id) {
+        checkId(id);
+        return this.buyPrices[id];
+    }
+    
+    /**
+     * Gets the price the shop pays for an entry
+     * 
+     * @param id the entry's catalog id
+     * @return the price in gold
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    public int getSellPrice(int id) {
+        checkId(id);
+        return this.sellPrices[id];
+    }
+    
+    /**
+     * Gets the number of recomputes before this snapshot was built
+     * 
+     * @return 0 for the engine's starting prices
+     */
+    public long getGeneration() {
+        return this.generation;
+    }
+    
+    /**
+     * Validates a catalog id
+     * 
+     * @param id the id to check
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    private void checkId(int id) {
+        if (id < 0 || id >= this.buyPrices.length) {
+            throw new IllegalArgumentException("Unknown catalog id: " + id);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.items;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PricingEngine Class - Shop prices that follow the demand of every session
+ * 
+ * Every purchase and sell-back of a catalog item, from any session, is
+ * counted in a LongAdder, which stripes its count across cells so the
+ * sessions never contend on one counter. A background thread turns the counts
+ * into new prices every recompute interval:
+ * - Rolling demand decays by DECAY each interval, then the interval's
+ *   purchases are added and its sell-backs taken off
+ * - The price moves away from the item's catalog value by up to MAX_SWING,
+ *   halfway there when the demand reaches HALF_DEMAND items
+ * - The shop pays sellPercent of its current price when buying back
+ * 
+ * The result is published as an immutable PriceSnapshot in a volatile field,
+ * so a purchase reads its price with one volatile read and never waits on a
+ * lock. Prices are at most one interval behind the latest demand.
+ * 
+ * All methods are thread safe.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see PriceSnapshot
+ * @see tales.of.knights.characters.Shopkeeper
+ */
+public final class PricingEngine implements AutoCloseable {
+    
+    /** Default time between two recomputes, in milliseconds */
+    public static final long DEFAULT_RECOMPUTE_MILLIS = 5000;
+    
+    /** Default share of its price the shop pays when buying an item back */
+    public static final int DEFAULT_SELL_PERCENT = 80;
+    
+    /** Share of the rolling demand kept from one interval to the next */
+    private static final double DECAY = 0.8;
+    
+    /** Largest relative change from the catalog value, either way */
+    private static final double MAX_SWING = 0.5;
+    
+    /** Demand at which a price has moved half of MAX_SWING */
+    private static final double HALF_DEMAND = 50.0;
+    
+    /** Purchases of each entry since the last recompute */
+    private final LongAdder[] purchases;
+    
+    /** Sell-backs of each entry since the last recompute */
+    private final LongAdder[] sales;
+    
+    /** Rolling demand of each entry - only touched while recomputing */
+    private final double[] demand;
+    
+    /** Share of its price the shop pays when buying back, in percent */
+    private final int sellPercent;
+    
+    /** Number of recomputes so far - only touched while recomputing */
+    private long generation;
+    
+    /** Prices as of the last recompute */
+    private volatile PriceSnapshot snapshot;
+    
+    /** Thread that recomputes the prices */
+    private final ScheduledExecutorService recomputer;
+    
+    /**
+     * Creates a new PricingEngine starting at the catalog prices
+     * 
+     * @param recomputeMillis time between two recomputes - must be positive
+     * @param sellPercent share of its price the shop pays when buying back - 0 to 100
+     * 
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public PricingEngine(long recomputeMillis, int sellPercent) {
+        if (recomputeMillis <= 0) {
+            throw new IllegalArgumentException("Recompute interval must be positive");
+        }
+        if (sellPercent < 0 || sellPercent > 100) {
+            throw new IllegalArgumentException("Sell percentage must be between 0 and 100");
+        }
+        int size = ItemCatalog.size();
+        this.purchases = new LongAdder[size];
+        this.sales = new LongAdder[size];
+        for (int id = 0; id < size; id++) {
+            this.purchases[id] = new LongAdder();
+            this.sales[id] = new LongAdder();
+        }
+        this.demand = new double[size];
+        this.sellPercent = sellPercent;
+        this.snapshot = buildSnapshot();
+        this.recomputer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "tok-pricing");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.recomputer.scheduleWithFixedDelay(this::recompute, recomputeMillis, recomputeMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Gets the current prices
+     * 
+     * @return the snapshot built by the last recompute
+     */
+    public PriceSnapshot current() {
+        return this.snapshot;
+    }
+    
+    /**
+     * Counts a purchase from the shop
+     * 
+     * @param id the item's catalog id - ignored if not a catalog id
+     */
+    public void recordPurchase(int id) {
+        if (id >= 0 && id < this.purchases.length) {
+            this.purchases[id].increment();
+        }
+    }
+    
+    /**
+     * Counts a sell-back to the shop
+     * 
+     * @param id the item's catalog id - ignored if not a catalog id
+     */
+    public void recordSale(int id) {
+        if (id >= 0 && id < this.sales.length) {
+            this.sales[id].increment();
+        }
+    }
+    
+    /**
+     * Folds the latest purchases and sell-backs into the demand and publishes new prices
+     * 
+     * Runs on the background thread every recompute interval.
+     */
+    public void recompute() {
+        synchronized (this.demand) {
+            for (int id = 0; id < this.demand.length; id++) {
+                long net = this.purchases[id].sumThenReset() - this.sales[id].sumThenReset();
+                this.demand[id] = this.demand[id] * DECAY + net;
+            }
+            this.generation++;
+            this.snapshot = buildSnapshot();
+        }
+    }
+    
+    /**
+     * Gets the rolling demand of an entry
+     * 
+     * @param id the entry's catalog id
+     * @return purchases minus sell-backs, decayed, as of the last recompute
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    public double getDemand(int id) {
+        if (id < 0 || id >= this.demand.length) {
+            throw new IllegalArgumentException("Unknown catalog id: " + id);
+        }
+        synchronized (this.demand) {
+            return this.demand[id];
+        }
+    }
+    
+    /**
+     * Stops the background recomputes
+     */
+    @Override
+    public void close() {
+        this.recomputer.shutdownNow();
+    }
+    
+    /**
+     * Computes the prices for the current demand
+     * 
+     * @return a new snapshot
+     */
+    private PriceSnapshot buildSnapshot() {
+        int[] buyPrices = new int[this.demand.length];
+        int[] sellPrices = new int[this.demand.length];
+        for (int id = 0; id < this.demand.length; id++) {
+            double demand = this.demand[id];
+            double factor = 1.0 + MAX_SWING * demand / (Math.abs(demand) + HALF_DEMAND);
+            long price = Math.max(1, Math.round(ItemCatalog.get(id).getValue() * factor));
+            buyPrices[id] = (int) Math.min(price, Integer.MAX_VALUE);
+            sellPrices[id] = (int) (buyPrices[id] * (long) this.sellPercent / 100);
+        }
+        return new PriceSnapshot(buyPrices, sellPrices, this.generation);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.items;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import tales.of.knights.random.GameRandom;
+
+/**
+ * SharedShopStock Class - One finite, restocking merchant inventory for every session
+ * 
+ * Normally every Shopkeeper has an endless supply. A Shopkeeper given a
+ * SharedShopStock instead sells from, and buys back into, this stock, so
+ * every hero in the process competes for the same items.
+ * 
+ * The stock of each catalog entry is split into stripes, each a separate
+ * atomic counter on its own cache line. A thread takes from and returns to
+ * the stripe its thread id hashes to, so thousands of heroes buying the same
+ * Health Potion are spread over many counters instead of fighting over one.
+ * Only when its own stripe is empty does a buyer look at the others.
+ * Every update is a single compare-and-set - no locks are taken.
+ * 
+ * A background thread tops every stripe back up to its share of the
+ * capacity every restock interval. Items sold back can push the stock above
+ * the capacity; restocking never takes them away.
+ * 
+ * All methods are thread safe.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see ItemCatalog
+ * @see tales.of.knights.characters.Shopkeeper
+ */
+public final class SharedShopStock implements AutoCloseable {
+    
+    /** Default time between two restocks, in milliseconds */
+    public static final long DEFAULT_RESTOCK_MILLIS = 10_000;
+    
+    /** Ints per counter slot - one 64-byte cache line */
+    private static final int PADDING = 16;
+    
+    /** Number of stripes per catalog entry - a power of two, at least twice the cores */
+    private final int stripes;
+    
+    /** Stock of every stripe of every entry, one counter per cache line */
+    private final AtomicIntegerArray counts;
+    
+    /** Stock of one entry when fully restocked */
+    private final int capacity;
+    
+    /** Thread that restocks the shop */
+    private final ScheduledExecutorService restocker;
+    
+    /**
+     * Creates a new, fully stocked SharedShopStock
+     * 
+     * @param capacity stock of every catalog entry when fully restocked - must be positive
+     * @param restockMillis time between two restocks - must be positive
+     * 
+     * @throws IllegalArgumentException if capacity or restockMillis is not positive
+     */
+    public SharedShopStock(int capacity, long restockMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (restockMillis <= 0) {
+            throw new IllegalArgumentException("Restock interval must be positive");
+        }
+        this.capacity = capacity;
+        this.stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) * 2;
+        this.counts = new AtomicIntegerArray((ItemCatalog.size() * this.stripes + 1) * PADDING);
+        restock();
+        this.restocker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "tok-restock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.restocker.scheduleWithFixedDelay(this::restock, restockMillis, restockMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Takes one item out of stock
+     * 
+     * @param id the item's catalog id
+     * @return true if the item was in stock and has been taken
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    public boolean take(int id) {
+        checkId(id);
+        int home = homeStripe();
+        for (int i = 0; i < this.stripes; i++) {
+            int slot = slot(id, (home + i) & (this.stripes - 1));
+            int count;
+            while ((count = this.counts.get(slot)) > 0) {
+                if (this.counts.compareAndSet(slot, count, count - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Puts one item into stock, e.g. when a hero sells it back
+     * 
+     * @param id the item's catalog id
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    public void put(int id) {
+        checkId(id);
+        int slot = slot(id, homeStripe());
+        int count;
+        do {
+            count = this.counts.get(slot);
+            if (count == Integer.MAX_VALUE) {
+                return;
+            }
+        } while (!this.counts.compareAndSet(slot, count, count + 1));
+    }
+    
+    /**
+     * Tops every stripe back up to its share of the capacity
+     * 
+     * Runs on the background thread every restock interval.
+     */
+    public void restock() {
+        for (int id = 0; id < ItemCatalog.size(); id++) {
+            for (int stripe = 0; stripe < this.stripes; stripe++) {
+                this.counts.accumulateAndGet(slot(id, stripe), share(stripe), Math::max);
+            }
+        }
+    }
+    
+    /**
+     * Gets the current stock of an item
+     * 
+     * The stripes are read one after another, so under load the total is
+     * only approximate.
+     * 
+     * @param id the item's catalog id
+     * @return the number of items in stock
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    public int getStock(int id) {
+        checkId(id);
+        long total = 0;
+        for (int stripe = 0; stripe < this.stripes; stripe++) {
+            total += this.counts.get(slot(id, stripe));
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Gets the stock of one entry when fully restocked
+     * 
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+    
+    /**
+     * Stops the background restocks
+     */
+    @Override
+    public void close() {
+        this.restocker.shutdownNow();
+    }
+    
+    /**
+     * Gets a stripe's share of the capacity
+     * 
+     * @param stripe the stripe
+     * @return capacity / stripes, with the remainder going to the first stripes
+     */
+    private int share(int stripe) {
+        return this.capacity / this.stripes + (stripe < this.capacity % this.stripes ? 1 : 0);
+    }
+    
+    /**
+     * Picks the stripe of the current thread
+     * 
+     * @return a stripe spread evenly over thread ids
+     */
+    private int homeStripe() {
+        return (int) GameRandom.hash(Thread.currentThread().threadId(), 0) & (this.stripes - 1);
+    }
+    
+    /**
+     * Finds the counter of a stripe of an entry
+     * 
+     * The first cache line is left empty so no counter shares a line with the
+     * array header.
+     * 
+     * @param id the catalog id
+     * @param stripe the stripe
+     * @return the counter's index in counts
+     */
+    private int slot(int id, int stripe) {
+        return (id * this.stripes + stripe + 1) * PADDING;
+    }
+    
+    /**
+     * Validates a catalog id
+     * 
+     * @param id the id to check
+     * 
+     * @throws IllegalArgumentException if there is no entry with that id
+     */
+    private static void checkId(int id) {
+        if (id < 0 || id >= ItemCatalog.size()) {
+            throw new IllegalArgumentException("Unknown catalog id: " + id);
+        }
+    }
+}
@@ -4,6 +4,8 @@
  */
 package tales.of.knights.items;
 
+import tales.of.knights.io.OutputContext;
+
 /**
  * Weapon Class - Offensive Equipment Item
  * 
@@ -40,7 +42,7 @@ public class Weapon extends Item {
             
             this.damage = damage;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating weapon: " + e.getMessage());
+            OutputContext.current().println("Error creating weapon: " + e.getMessage());
             this.damage = 0;
         }
     }
@@ -54,7 +56,7 @@ public class Weapon extends Item {
         try {
             return this.damage >= 0 ? this.damage : 0;
         } catch (Exception e) {
-            System.out.println("Error getting damage: " + e.getMessage());
+            OutputContext.current().println("Error getting damage: " + e.getMessage());
             return 0;
         }
     }
@@ -67,9 +69,9 @@ public class Weapon extends Item {
     @Override
     public void display() {
         try {
-            System.out.println(this.description + " (Damage: " + this.damage + ", Value: " + this.value + " gold)");
+            OutputContext.current().println(this.description + " (Damage: " + this.damage + ", Value: " + this.value + " gold)");
         } catch (Exception e) {
-            System.out.println("Error displaying weapon: " + e.getMessage());
+            OutputContext.current().println("Error displaying weapon: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
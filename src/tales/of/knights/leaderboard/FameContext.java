@@ -0,0 +1,55 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.leaderboard;
+
+/**
+ * FameContext Class - Holds the FameListener of the current thread
+ * 
+ * Works like OutputContext: a game binds its leaderboard on the thread that
+ * runs it, and every fame change made on that thread is reported there.
+ * Threads that never bind one - simulations, replays, save loading in tools -
+ * report to nobody.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see FameListener
+ * @see tales.of.knights.io.OutputContext
+ */
+public final class FameContext {
+    
+    /** Listener that ignores every change */
+    private static final FameListener NONE = (player, fame) -> { };
+    
+    /** Listener bound to each thread */
+    private static final ThreadLocal<FameListener> CURRENT = ThreadLocal.withInitial(() -> NONE);
+    
+    /**
+     * Not instantiable - all methods are static
+     */
+    private FameContext() {
+    }
+    
+    /**
+     * Gets the listener bound to the current thread
+     * 
+     * @return the bound listener, never null
+     */
+    public static FameListener current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Binds a listener to the current thread
+     * 
+     * @param listener the listener to use from now on, or null to report to nobody
+     * @return the listener that was bound before, so it can be restored
+     */
+    public static FameListener bind(FameListener listener) {
+        FameListener previous = CURRENT.get();
+        CURRENT.set(listener != null ? listener : NONE);
+        return previous;
+    }
+}
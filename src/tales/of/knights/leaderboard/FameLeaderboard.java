@@ -0,0 +1,270 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import tales.of.knights.characters.Character;
+
+/**
+ * FameLeaderboard Class - Ranks every hero in the process by fame
+ * 
+ * Fed by FameListener calls from any number of game threads at once:
+ * - Each hero's current standing is kept in a ConcurrentHashMap, keyed by
+ *   the hero's id
+ * - All standings are also kept in a ConcurrentSkipListSet ordered by fame,
+ *   highest first, ties going to whoever reached the fame first
+ * 
+ * An update swaps the hero's standing in the map and then adds the new one to
+ * the skip list and removes the old one. The skip list is lock-free and no
+ * lock is held across the update, so a game thread never waits for another.
+ * For a moment a hero can be in the list twice; queries skip any standing
+ * that is no longer the hero's current one.
+ * 
+ * Queries:
+ * - getTop(k) walks the head of the skip list: O(log n + k)
+ * - getRank(hero) binary-searches a sorted array of every hero's fame that a
+ *   background thread rebuilds every refresh interval: O(log n), and at most
+ *   one interval behind the other heroes' latest fame
+ * 
+ * Heroes stay on the board after their game ends, like a high score table;
+ * remove() takes one off. A standing holds only the hero's id, name and
+ * fame, never the hero itself, so a finished game's hero, inventory and
+ * effects can be garbage collected while its score stays on the board.
+ * All methods are thread safe.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see FameListener
+ * @see FameContext
+ */
+public final class FameLeaderboard implements FameListener, AutoCloseable {
+    
+    /** Default time between two rebuilds of the rank snapshot, in milliseconds */
+    public static final long DEFAULT_REFRESH_MILLIS = 1000;
+    
+    /** Orders standings by fame, highest first, then by who got there first - set before INSTANCE is built */
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingInt(Standing::fame).reversed()
+            .thenComparingLong(Standing::sequence);
+    
+    /** The process-wide leaderboard every game reports to by default */
+    public static final FameLeaderboard INSTANCE = new FameLeaderboard(DEFAULT_REFRESH_MILLIS);
+    
+    /** Each hero's current standing, by the hero's id */
+    private final Map<Long, Standing> current;
+    
+    /** Every standing, best first - may briefly hold outdated ones */
+    private final ConcurrentSkipListSet<Standing> ranking;
+    
+    /** Source of standing sequence numbers, used to break ties */
+    private final AtomicLong sequence;
+    
+    /** Sequence number the rank snapshot was built at */
+    private long snapshotSequence;
+    
+    /** Fame of every hero, ascending, as of the last rebuild */
+    private volatile int[] snapshot;
+    
+    /** Thread that rebuilds the rank snapshot */
+    private final ScheduledExecutorService refresher;
+    
+    /**
+     * Creates a new, empty FameLeaderboard
+     * 
+     * @param refreshMillis time between two rebuilds of the rank snapshot - must be positive
+     * 
+     * @throws IllegalArgumentException if refreshMillis is not positive
+     */
+    public FameLeaderboard(long refreshMillis) {
+        if (refreshMillis <= 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive");
+        }
+        this.current = new ConcurrentHashMap<>();
+        this.ranking = new ConcurrentSkipListSet<>(ORDER);
+        this.sequence = new AtomicLong();
+        this.snapshot = new int[0];
+        this.refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "tok-leaderboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refresher.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Records a hero's new fame
+     * 
+     * @param player the hero - ignored if null
+     * @param fame the hero's new fame
+     */
+    @Override
+    public void fameChanged(Character player, int fame) {
+        if (player == null) {
+            return;
+        }
+        Long id = player.getId();
+        while (true) {
+            Standing previous = this.current.get(id);
+            if (previous != null && previous.fame() == fame) {
+                return;
+            }
+            Standing updated = new Standing(id, player.getName(), fame, this.sequence.incrementAndGet());
+            boolean swapped = previous == null
+                    ? this.current.putIfAbsent(id, updated) == null
+                    : this.current.replace(id, previous, updated);
+            if (swapped) {
+                this.ranking.add(updated);
+                if (previous != null) {
+                    this.ranking.remove(previous);
+                }
+                // A newer update may have replaced ours before it was added
+                if (this.current.get(id) != updated) {
+                    this.ranking.remove(updated);
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Takes a hero off the board
+     * 
+     * @param player the hero to remove
+     */
+    public void remove(Character player) {
+        if (player == null) {
+            return;
+        }
+        Standing removed = this.current.remove(player.getId());
+        if (removed != null) {
+            this.ranking.remove(removed);
+        }
+    }
+    
+    /**
+     * Gets the best heroes
+     * 
+     * @param k the number of heroes wanted
+     * @return up to k entries, best first
+     */
+    public List<Entry> getTop(int k) {
+        List<Entry> top = new ArrayList<>(Math.max(0, Math.min(k, 64)));
+        for (Standing standing : this.ranking) {
+            if (top.size() >= k) {
+                break;
+            }
+            if (this.current.get(standing.id()) == standing) {
+                top.add(new Entry(top.size() + 1, standing.name(), standing.fame()));
+            }
+        }
+        return top;
+    }
+    
+    /**
+     * Gets a hero's rank
+     * 
+     * The hero's own fame is always the latest; the heroes it is compared
+     * against are as of the last snapshot rebuild.
+     * 
+     * @param player the hero
+     * @return the rank, 1 for the most famous, or 0 if the hero is not on the board
+     */
+    public int getRank(Character player) {
+        Standing standing = player != null ? this.current.get(player.getId()) : null;
+        if (standing == null) {
+            return 0;
+        }
+        int[] fames = this.snapshot;
+        
+        // First index with fame above the hero's
+        int low = 0;
+        int high = fames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (fames[middle] <= standing.fame()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return fames.length - low + 1;
+    }
+    
+    /**
+     * Gets the number of heroes on the board
+     * 
+     * @return the number of heroes
+     */
+    public int size() {
+        return this.current.size();
+    }
+    
+    /**
+     * Rebuilds the rank snapshot now
+     * 
+     * Runs on the background thread every refresh interval, and does nothing
+     * if no fame changed since the last rebuild.
+     */
+    public void refresh() {
+        long at = this.sequence.get();
+        synchronized (this.refresher) {
+            if (at == this.snapshotSequence && this.snapshot.length == this.current.size()) {
+                return;
+            }
+            int[] fames = new int[this.current.size()];
+            int count = 0;
+            for (Standing standing : this.current.values()) {
+                if (count == fames.length) {
+                    fames = Arrays.copyOf(fames, fames.length * 2 + 1);
+                }
+                fames[count++] = standing.fame();
+            }
+            fames = Arrays.copyOf(fames, count);
+            Arrays.sort(fames);
+            this.snapshot = fames;
+            this.snapshotSequence = at;
+        }
+    }
+    
+    /**
+     * Stops the background rebuilds
+     */
+    @Override
+    public void close() {
+        this.refresher.shutdownNow();
+    }
+    
+    /**
+     * One line of the leaderboard
+     * 
+     * @param rank the position on the board, starting at 1
+     * @param name the hero's name
+     * @param fame the hero's fame
+     */
+    public record Entry(int rank, String name, int fame) {
+    }
+    
+    /**
+     * A hero's fame at one moment
+     * 
+     * @param id the hero's id
+     * @param name the hero's name when the fame was reported
+     * @param fame the hero's fame
+     * @param sequence order in which standings were created
+     */
+    private record Standing(long id, String name, int fame, long sequence) {
+    }
+}
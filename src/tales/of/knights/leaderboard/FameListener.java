@@ -0,0 +1,34 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.leaderboard;
+
+import tales.of.knights.characters.Character;
+
+/**
+ * FameListener Interface - Told whenever a hero's fame changes
+ * 
+ * Heroes report every change of their fame (battle rewards, stories at the
+ * inn, gambling wins, loading a save) to the listener bound to the current
+ * thread through FameContext.
+ * 
+ * Listeners are called on the game thread in the middle of play, so they
+ * must be quick and must never block.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see FameContext
+ * @see FameLeaderboard
+ */
+public interface FameListener {
+    
+    /**
+     * Called after a character's fame changed
+     * 
+     * @param player the character whose fame changed
+     * @param fame the character's new fame
+     */
+    void fameChanged(Character player, int fame);
+}
@@ -0,0 +1,484 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * GameMetrics Class - Process-wide combat, shop and inn statistics
+ * 
+ * Every running game reports what happens in battles, the shop and the inn to
+ * the single INSTANCE. Counters are LongAdders and distributions are
+ * Log2Histograms, so games on many threads record without contending, and a
+ * record call is a few nanoseconds whether or not anybody is watching.
+ * Nothing is aggregated until a value is read.
+ * 
+ * The battle rate is kept by the recording side in a ring of one-second
+ * buckets, so reading it has no side effects and every JMX client sees the
+ * same rate however often the others poll.
+ * 
+ * register() publishes the metrics to the platform MBeanServer as
+ * "tales.of.knights:type=GameMetrics", where JConsole or any JMX client can
+ * read them.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameMetricsMXBean
+ * @see Log2Histogram
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+    
+    /** The metrics shared by every game in this process */
+    public static final GameMetrics INSTANCE = new GameMetrics();
+    
+    /** Whole seconds the battle rate is averaged over */
+    private static final int RATE_WINDOW_SECONDS = 10;
+    
+    /** Nanoseconds in a second */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    /** Name the metrics are published under */
+    public static final String OBJECT_NAME = "tales.of.knights:type=GameMetrics";
+    
+    /** Game sessions opened */
+    private final LongAdder sessionsOpened = new LongAdder();
+    
+    /** Game sessions finished */
+    private final LongAdder sessionsFinished = new LongAdder();
+    
+    /** Battles started */
+    private final LongAdder battlesStarted = new LongAdder();
+    
+    /** Battles won by the hero */
+    private final LongAdder victories = new LongAdder();
+    
+    /** Battles lost by the hero */
+    private final LongAdder defeats = new LongAdder();
+    
+    /** Turns per completed battle */
+    private final Log2Histogram turnsPerBattle = new Log2Histogram();
+    
+    /** Duration of completed battles in nanoseconds */
+    private final Log2Histogram battleNanos = new Log2Histogram();
+    
+    /** Escape attempts */
+    private final LongAdder escapeAttempts = new LongAdder();
+    
+    /** Successful escapes */
+    private final LongAdder escapes = new LongAdder();
+    
+    /** Damage of hero attacks */
+    private final Log2Histogram heroDamage = new Log2Histogram();
+    
+    /** Damage of monster attacks, by monster name */
+    private final ConcurrentHashMap<String, Log2Histogram> monsterDamage = new ConcurrentHashMap<>();
+    
+    /** Shop visits */
+    private final LongAdder shopVisits = new LongAdder();
+    
+    /** Items bought */
+    private final LongAdder purchases = new LongAdder();
+    
+    /** Gold spent on items */
+    private final LongAdder goldSpent = new LongAdder();
+    
+    /** Items sold */
+    private final LongAdder sales = new LongAdder();
+    
+    /** Gold received for items */
+    private final LongAdder goldFromSales = new LongAdder();
+    
+    /** Inn visits */
+    private final LongAdder innVisits = new LongAdder();
+    
+    /** Drinks bought */
+    private final LongAdder drinks = new LongAdder();
+    
+    /** Bets placed */
+    private final LongAdder bets = new LongAdder();
+    
+    /** Bets won */
+    private final LongAdder betsWon = new LongAdder();
+    
+    /** Gold wagered */
+    private final LongAdder goldWagered = new LongAdder();
+    
+    /**
+     * Battles completed in each of the last seconds, the current one included:
+     * the second's number in the high 32 bits and the count in the low 32 bits
+     */
+    private final AtomicLongArray battlesBySecond = new AtomicLongArray(RATE_WINDOW_SECONDS + 1);
+    
+    /**
+     * Use INSTANCE instead
+     */
+    private GameMetrics() {
+    }
+    
+    /**
+     * Publishes the metrics to the platform MBeanServer
+     * 
+     * Safe to call more than once.
+     * 
+     * @return true if the metrics are published, false if JMX refused them
+     */
+    public boolean register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            synchronized (this) {
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(this, name);
+                }
+            }
+            return true;
+        } catch (JMException e) {
+            System.out.println("Error publishing metrics: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Removes the metrics from the platform MBeanServer
+     */
+    public synchronized void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            System.out.println("Error removing metrics: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Records a game session being opened
+     */
+    public void sessionOpened() {
+        this.sessionsOpened.increment();
+    }
+    
+    /**
+     * Records a game session finishing
+     */
+    public void sessionFinished() {
+        this.sessionsFinished.increment();
+    }
+    
+    /**
+     * Records the start of a battle
+     */
+    public void battleStarted() {
+        this.battlesStarted.increment();
+    }
+    
+    /**
+     * Records a finished battle, however it ended
+     * 
+     * @param turns number of turns played
+     * @param nanos how long the battle took
+     */
+    public void battleCompleted(int turns, long nanos) {
+        this.turnsPerBattle.record(turns);
+        this.battleNanos.record(nanos);
+        
+        long second = Math.floorDiv(System.nanoTime(), NANOS_PER_SECOND);
+        int bucket = (int) Math.floorMod(second, (long) this.battlesBySecond.length());
+        long stamp = second << 32;
+        while (true) {
+            long current = this.battlesBySecond.get(bucket);
+            long updated = (current & 0xFFFFFFFF00000000L) == stamp ? current + 1 : stamp | 1;
+            if (this.battlesBySecond.compareAndSet(bucket, current, updated)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Records a battle won by the hero
+     */
+    public void victory() {
+        this.victories.increment();
+    }
+    
+    /**
+     * Records a battle lost by the hero
+     */
+    public void defeat() {
+        this.defeats.increment();
+    }
+    
+    /**
+     * Records an escape attempt
+     * 
+     * @param success true if the hero got away
+     */
+    public void escapeAttempted(boolean success) {
+        this.escapeAttempts.increment();
+        if (success) {
+            this.escapes.increment();
+        }
+    }
+    
+    /**
+     * Records a hero attack
+     * 
+     * @param damage the damage dealt
+     */
+    public void heroAttacked(int damage) {
+        this.heroDamage.record(damage);
+    }
+    
+    /**
+     * Records a monster attack
+     * 
+     * @param monster the attacking monster's name
+     * @param damage the damage dealt
+     */
+    public void monsterAttacked(String monster, int damage) {
+        Log2Histogram histogram = this.monsterDamage.get(monster);
+        if (histogram == null) {
+            histogram = this.monsterDamage.computeIfAbsent(monster, name -> new Log2Histogram());
+        }
+        histogram.record(damage);
+    }
+    
+    /**
+     * Records a visit to the shop
+     */
+    public void shopVisited() {
+        this.shopVisits.increment();
+    }
+    
+    /**
+     * Records an item bought
+     * 
+     * @param gold the price paid
+     */
+    public void itemBought(int gold) {
+        this.purchases.increment();
+        this.goldSpent.add(gold);
+    }
+    
+    /**
+     * Records an item sold
+     * 
+     * @param gold the price received
+     */
+    public void itemSold(int gold) {
+        this.sales.increment();
+        this.goldFromSales.add(gold);
+    }
+    
+    /**
+     * Records a visit to the inn
+     */
+    public void innVisited() {
+        this.innVisits.increment();
+    }
+    
+    /**
+     * Records a drink bought at the inn
+     */
+    public void drinkBought() {
+        this.drinks.increment();
+    }
+    
+    /**
+     * Records a bet placed at the gambling table
+     * 
+     * @param gold the amount wagered
+     * @param won true if the bet was won
+     */
+    public void betPlaced(int gold, boolean won) {
+        this.bets.increment();
+        this.goldWagered.add(gold);
+        if (won) {
+            this.betsWon.increment();
+        }
+    }
+    
+    @Override
+    public long getSessionsOpened() {
+        return this.sessionsOpened.sum();
+    }
+    
+    @Override
+    public long getActiveSessions() {
+        return this.sessionsOpened.sum() - this.sessionsFinished.sum();
+    }
+    
+    @Override
+    public long getBattlesStarted() {
+        return this.battlesStarted.sum();
+    }
+    
+    @Override
+    public long getBattlesCompleted() {
+        return this.turnsPerBattle.getCount();
+    }
+    
+    @Override
+    public double getBattlesPerSecond() {
+        long second = Math.floorDiv(System.nanoTime(), NANOS_PER_SECOND);
+        long total = 0;
+        for (long ago = 1; ago <= RATE_WINDOW_SECONDS; ago++) {
+            long past = second - ago;
+            long entry = this.battlesBySecond.get((int) Math.floorMod(past, (long) this.battlesBySecond.length()));
+            if ((entry & 0xFFFFFFFF00000000L) == past << 32) {
+                total += entry & 0xFFFFFFFFL;
+            }
+        }
+        return (double) total / RATE_WINDOW_SECONDS;
+    }
+    
+    @Override
+    public long getVictories() {
+        return this.victories.sum();
+    }
+    
+    @Override
+    public long getDefeats() {
+        return this.defeats.sum();
+    }
+    
+    @Override
+    public double getAverageTurnsPerBattle() {
+        return this.turnsPerBattle.getMean();
+    }
+    
+    @Override
+    public long getTurnsPerBattle99thPercentile() {
+        return this.turnsPerBattle.getPercentile(99.0);
+    }
+    
+    @Override
+    public double getAverageBattleMillis() {
+        return this.battleNanos.getMean() / 1e6;
+    }
+    
+    @Override
+    public long getEscapeAttempts() {
+        return this.escapeAttempts.sum();
+    }
+    
+    @Override
+    public double getEscapeSuccessRate() {
+        long attempts = getEscapeAttempts();
+        return attempts > 0 ? (double) this.escapes.sum() / attempts : 0.0;
+    }
+    
+    @Override
+    public long getHeroAttacks() {
+        return this.heroDamage.getCount();
+    }
+    
+    @Override
+    public double getAverageHeroDamage() {
+        return this.heroDamage.getMean();
+    }
+    
+    @Override
+    public long getMonsterAttacks() {
+        long total = 0;
+        for (Log2Histogram histogram : this.monsterDamage.values()) {
+            total += histogram.getCount();
+        }
+        return total;
+    }
+    
+    @Override
+    public Map<String, Double> getAverageDamageByMonster() {
+        Map<String, Double> averages = new TreeMap<>();
+        this.monsterDamage.forEach((name, histogram) -> averages.put(name, histogram.getMean()));
+        return averages;
+    }
+    
+    @Override
+    public Map<String, Long> getDamage99thPercentileByMonster() {
+        Map<String, Long> percentiles = new TreeMap<>();
+        this.monsterDamage.forEach((name, histogram) -> percentiles.put(name, histogram.getPercentile(99.0)));
+        return percentiles;
+    }
+    
+    @Override
+    public long getShopVisits() {
+        return this.shopVisits.sum();
+    }
+    
+    @Override
+    public long getPurchases() {
+        return this.purchases.sum();
+    }
+    
+    @Override
+    public long getGoldSpent() {
+        return this.goldSpent.sum();
+    }
+    
+    @Override
+    public long getSales() {
+        return this.sales.sum();
+    }
+    
+    @Override
+    public long getGoldFromSales() {
+        return this.goldFromSales.sum();
+    }
+    
+    @Override
+    public long getInnVisits() {
+        return this.innVisits.sum();
+    }
+    
+    @Override
+    public long getDrinks() {
+        return this.drinks.sum();
+    }
+    
+    @Override
+    public long getBets() {
+        return this.bets.sum();
+    }
+    
+    @Override
+    public long getBetsWon() {
+        return this.betsWon.sum();
+    }
+    
+    @Override
+    public long getGoldWagered() {
+        return this.goldWagered.sum();
+    }
+    
+    @Override
+    public void reset() {
+        for (LongAdder counter : new LongAdder[] {
+            this.sessionsOpened, this.sessionsFinished, this.battlesStarted, this.victories, this.defeats, this.escapeAttempts, this.escapes,
+            this.shopVisits, this.purchases, this.goldSpent, this.sales, this.goldFromSales,
+            this.innVisits, this.drinks, this.bets, this.betsWon, this.goldWagered
+        }) {
+            counter.reset();
+        }
+        this.turnsPerBattle.reset();
+        this.battleNanos.reset();
+        this.heroDamage.reset();
+        this.monsterDamage.clear();
+        for (int i = 0; i < this.battlesBySecond.length(); i++) {
+            this.battlesBySecond.set(i, 0);
+        }
+    }
+}
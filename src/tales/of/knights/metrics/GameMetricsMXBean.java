@@ -0,0 +1,219 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.metrics;
+
+import java.util.Map;
+
+/**
+ * GameMetricsMXBean Interface - Management view of GameMetrics
+ * 
+ * Every getter is an attribute of the "tales.of.knights:type=GameMetrics"
+ * MBean and can be read with JConsole, VisualVM or any JMX client. The values
+ * are computed only when they are read.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameMetrics
+ */
+public interface GameMetricsMXBean {
+    
+    /**
+     * Gets the number of game sessions opened
+     * 
+     * @return the number of game sessions opened
+     */
+    long getSessionsOpened();
+    
+    /**
+     * Gets the number of game sessions still running
+     * 
+     * @return the number of game sessions still running
+     */
+    long getActiveSessions();
+    
+    /**
+     * Gets the number of battles started
+     * 
+     * @return the number of battles started
+     */
+    long getBattlesStarted();
+    
+    /**
+     * Gets the number of battles finished in any way
+     * 
+     * @return the number of battles finished in any way
+     */
+    long getBattlesCompleted();
+    
+    /**
+     * Gets the battles completed per second over the last ten whole seconds
+     * 
+     * Reading the rate changes nothing, so any number of clients can poll it
+     * and all see the same value.
+     * 
+     * @return the battles completed per second over the last ten whole seconds
+     */
+    double getBattlesPerSecond();
+    
+    /**
+     * Gets the number of battles the hero won
+     * 
+     * @return the number of battles the hero won
+     */
+    long getVictories();
+    
+    /**
+     * Gets the number of battles the hero lost
+     * 
+     * @return the number of battles the hero lost
+     */
+    long getDefeats();
+    
+    /**
+     * Gets the average number of turns per battle
+     * 
+     * @return the average number of turns per battle
+     */
+    double getAverageTurnsPerBattle();
+    
+    /**
+     * Gets the 99th percentile of turns per battle (power-of-two precision)
+     * 
+     * @return the 99th percentile of turns per battle (power-of-two precision)
+     */
+    long getTurnsPerBattle99thPercentile();
+    
+    /**
+     * Gets the average time a battle takes in milliseconds, including waiting for input
+     * 
+     * @return the average time a battle takes in milliseconds, including waiting for input
+     */
+    double getAverageBattleMillis();
+    
+    /**
+     * Gets the number of escape attempts
+     * 
+     * @return the number of escape attempts
+     */
+    long getEscapeAttempts();
+    
+    /**
+     * Gets the fraction of escape attempts that succeeded
+     * 
+     * @return the fraction of escape attempts that succeeded
+     */
+    double getEscapeSuccessRate();
+    
+    /**
+     * Gets the number of hero attacks
+     * 
+     * @return the number of hero attacks
+     */
+    long getHeroAttacks();
+    
+    /**
+     * Gets the average damage of a hero attack
+     * 
+     * @return the average damage of a hero attack
+     */
+    double getAverageHeroDamage();
+    
+    /**
+     * Gets the number of monster attacks
+     * 
+     * @return the number of monster attacks
+     */
+    long getMonsterAttacks();
+    
+    /**
+     * Gets the average damage of a monster attack, per monster name
+     * 
+     * @return the average damage of a monster attack, per monster name
+     */
+    Map<String, Double> getAverageDamageByMonster();
+    
+    /**
+     * Gets the 99th percentile damage of a monster attack, per monster name
+     * 
+     * @return the 99th percentile damage of a monster attack, per monster name
+     */
+    Map<String, Long> getDamage99thPercentileByMonster();
+    
+    /**
+     * Gets the number of visits to the shop
+     * 
+     * @return the number of visits to the shop
+     */
+    long getShopVisits();
+    
+    /**
+     * Gets the number of items bought
+     * 
+     * @return the number of items bought
+     */
+    long getPurchases();
+    
+    /**
+     * Gets the gold spent in the shop
+     * 
+     * @return the gold spent in the shop
+     */
+    long getGoldSpent();
+    
+    /**
+     * Gets the number of items sold
+     * 
+     * @return the number of items sold
+     */
+    long getSales();
+    
+    /**
+     * Gets the gold received for sold items
+     * 
+     * @return the gold received for sold items
+     */
+    long getGoldFromSales();
+    
+    /**
+     * Gets the number of visits to the inn
+     * 
+     * @return the number of visits to the inn
+     */
+    long getInnVisits();
+    
+    /**
+     * Gets the number of drinks bought
+     * 
+     * @return the number of drinks bought
+     */
+    long getDrinks();
+    
+    /**
+     * Gets the number of bets placed
+     * 
+     * @return the number of bets placed
+     */
+    long getBets();
+    
+    /**
+     * Gets the number of bets won
+     * 
+     * @return the number of bets won
+     */
+    long getBetsWon();
+    
+    /**
+     * Gets the gold wagered on all bets
+     * 
+     * @return the gold wagered on all bets
+     */
+    long getGoldWagered();
+    
+    /**
+     * Clears every counter and histogram
+     */
+    void reset();
+}
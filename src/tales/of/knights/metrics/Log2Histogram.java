@@ -0,0 +1,153 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log2Histogram Class - Low-contention histogram with power-of-two buckets
+ * 
+ * Bucket i counts values between 2^i and 2^(i+1) - 1 (bucket 0 also holds 0),
+ * so 64 buckets cover every long. Every bucket is a LongAdder, so many game
+ * threads can record at once without fighting over one counter, and a
+ * record() costs a few nanoseconds. Percentiles are only as precise as the
+ * bucket they fall in - within a factor of two - which is plenty for spotting
+ * trends.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameMetrics
+ */
+public class Log2Histogram {
+    
+    /** Number of buckets - one per bit of a long */
+    private static final int BUCKETS = 64;
+    
+    /** Count of values per bucket */
+    private final LongAdder[] buckets;
+    
+    /** Number of values recorded */
+    private final LongAdder count;
+    
+    /** Sum of all values recorded */
+    private final LongAdder sum;
+    
+    /** Largest value recorded */
+    private final LongAccumulator max;
+    
+    /**
+     * Creates a new, empty Log2Histogram
+     */
+    public Log2Histogram() {
+        this.buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+    
+    /**
+     * Records one value
+     * 
+     * @param value the value - negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        this.buckets[bucketOf(value)].increment();
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+    
+    /**
+     * Gets the number of values recorded
+     * 
+     * @return the count
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+    
+    /**
+     * Gets the sum of all values recorded
+     * 
+     * @return the sum
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+    
+    /**
+     * Gets the average value
+     * 
+     * @return the mean, or 0.0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = getCount();
+        return n > 0 ? (double) getSum() / n : 0.0;
+    }
+    
+    /**
+     * Gets the largest value recorded
+     * 
+     * @return the maximum, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+    
+    /**
+     * Gets an upper bound for a percentile
+     * 
+     * @param percentile the percentile, between 0.0 and 100.0
+     * @return the top of the bucket the percentile falls in, capped at the maximum
+     */
+    public long getPercentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.buckets[i].sum();
+            if (seen >= rank && seen > 0) {
+                long top = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                return Math.min(top, getMax());
+            }
+        }
+        return getMax();
+    }
+    
+    /**
+     * Clears all recorded values
+     * 
+     * Values recorded while the reset is running may be partly kept.
+     */
+    public void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.reset();
+    }
+    
+    /**
+     * Gets the bucket a value belongs in
+     * 
+     * @param value a non-negative value
+     * @return the bucket index
+     */
+    private static int bucketOf(long value) {
+        return value == 0 ? 0 : 63 - Long.numberOfLeadingZeros(value);
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.persistence;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.events.EventContext;
+import tales.of.knights.events.EventLog;
+import tales.of.knights.events.NullEventLog;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.items.Armor;
+import tales.of.knights.items.DamageItem;
+import tales.of.knights.items.HealingItem;
+import tales.of.knights.items.Item;
+import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCatalog;
+import tales.of.knights.items.Weapon;
+import tales.of.knights.places.Dungeon;
+
+/**
+ * SaveGame Class - Compact binary save files
+ * 
+ * Stores everything needed to resume a game: the hero's stats, equipped
+ * weapon and armor, every item in the bag, the dungeon level, whether
+ * New Game+ is active, and whether the dungeon is endless and its seed.
+ * 
+ * A save is built in a heap ByteBuffer and written or read with a single
+ * FileChannel call. A typical save is a few hundred bytes, so encoding and
+ * decoding take well under a millisecond. The files are deliberately not
+ * memory-mapped: a mapping stays open until it is garbage collected, and on
+ * Windows an open mapping stops the save file from being replaced.
+ * 
+ * A save is written to a new temporary file next to the save file, forced
+ * to disk, and only then moved over the old save in one atomic step, so a
+ * crash or a full disk in the middle of a save leaves the previous save
+ * intact. The force() is an fsync and usually costs far more than the
+ * sub-millisecond encoding; it is traded deliberately against the autosave
+ * speed, since a save that is fast but lost on a crash is worth nothing.
+ * 
+ * File layout (big-endian):
+ * - int magic ("TOKS"), short format version
+ * - hero: name, title, health, max health, power, fame, money
+ * - equipped weapon and armor: a presence flag, then an item record
+ * - int bag capacity, int slot count, then per bag slot an item record and
+ *   an int quantity
+ * - int dungeon level, byte New Game+ flag
+ * - byte endless flag, long endless dungeon seed (0 if classic)
+ * 
+ * Version 1 files, written before items stacked, are still read: they have
+ * no capacity and one item per slot, and load into a bag of the default size.
+ * Version 1 and 2 files have no endless flag and load as classic games.
+ * 
+ * Strings are stored as a short byte length followed by UTF-8 bytes. Item
+ * records start with a type byte followed by the fields of that item type.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see Hero
+ * @see Dungeon
+ */
+public final class SaveGame {
+    
+    /** Marks the start of every save file ("TOKS") */
+    private static final int MAGIC = 0x544F4B53;
+    
+    /** Largest save file that is read, far above any real save */
+    private static final long MAX_FILE_SIZE = 16 * 1024 * 1024;
+    
+    /** Current format version */
+    private static final short VERSION = 3;
+    
+    /** Format version without the endless flag and seed */
+    private static final short VERSION_CLASSIC = 2;
+    
+    /** Format version without bag capacity and stack quantities */
+    private static final short VERSION_UNSTACKED = 1;
+    
+    /** Item record type for weapons */
+    private static final byte TYPE_WEAPON = 1;
+    
+    /** Item record type for armor */
+    private static final byte TYPE_ARMOR = 2;
+    
+    /** Item record type for healing items */
+    private static final byte TYPE_HEALING = 3;
+    
+    /** Item record type for damage items */
+    private static final byte TYPE_DAMAGE = 4;
+    
+    /** The saved hero */
+    private final Hero hero;
+    
+    /** The saved dungeon level */
+    private final int dungeonLevel;
+    
+    /** Whether New Game+ was active */
+    private final boolean newGamePlus;
+    
+    /** Whether the dungeon was endless */
+    private final boolean endless;
+    
+    /** Seed of the endless dungeon, 0 if classic */
+    private final long seed;
+    
+    /**
+     * Creates a SaveGame from loaded values
+     * 
+     * @param hero the restored hero
+     * @param dungeonLevel the restored dungeon level
+     * @param newGamePlus whether New Game+ was active
+     * @param endless whether the dungeon was endless
+     * @param seed the endless dungeon's seed
+     */
+    private SaveGame(Hero hero, int dungeonLevel, boolean newGamePlus, boolean endless, long seed) {
+        this.hero = hero;
+        this.dungeonLevel = dungeonLevel;
+        this.newGamePlus = newGamePlus;
+        this.endless = endless;
+        this.seed = seed;
+    }
+    
+    /**
+     * Writes the game state to a file, replacing any previous save
+     * 
+     * The previous save is only replaced once the new one is completely on
+     * disk.
+     * 
+     * @param file the file to write - must not be null
+     * @param hero the player's hero - must not be null
+     * @param dungeon the dungeon - must not be null
+     * @param newGamePlus whether New Game+ is active
+     * 
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public static void write(Path file, Hero hero, Dungeon dungeon, boolean newGamePlus) throws IOException {
+        if (file == null || hero == null || dungeon == null) {
+            throw new IllegalArgumentException("File, hero and dungeon cannot be null");
+        }
+        
+        byte[] name = encode(hero.getName());
+        byte[] title = encode(hero.getTitle());
+        ItemBag bag = hero.getItemBag();
+        int itemCount = bag.getItemCount();
+        
+        int size = 4 + 2
+                + 2 + name.length + 2 + title.length + 5 * 4
+                + 1 + itemSize(hero.getWeapon())
+                + 1 + itemSize(hero.getArmor())
+                + 4 + 4
+                + 4 + 1
+                + 1 + 8;
+        for (int i = 0; i < itemCount; i++) {
+            size += itemSize(bag.getItem(i)) + 4;
+        }
+        
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(size);
+                
+                buffer.putInt(MAGIC);
+                buffer.putShort(VERSION);
+                
+                putString(buffer, name);
+                putString(buffer, title);
+                buffer.putInt(hero.getHealth());
+                buffer.putInt(hero.getMaxHealth());
+                buffer.putInt(hero.getPower());
+                buffer.putInt(hero.getFame());
+                buffer.putInt(hero.getMoney());
+                
+                putOptionalItem(buffer, hero.getWeapon());
+                putOptionalItem(buffer, hero.getArmor());
+                
+                buffer.putInt(bag.getCapacity());
+                buffer.putInt(itemCount);
+                for (int i = 0; i < itemCount; i++) {
+                    putItem(buffer, bag.getItem(i));
+                    buffer.putInt(bag.getQuantity(i));
+                }
+                
+                buffer.putInt(dungeon.getCurrentLevel());
+                buffer.put((byte) (newGamePlus ? 1 : 0));
+                buffer.put((byte) (dungeon.isEndless() ? 1 : 0));
+                buffer.putLong(dungeon.getSeed());
+                
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+    
+    /**
+     * Reads a save file
+     * 
+     * The hero is rebuilt silently - no "equipped" or "added to inventory"
+     * messages are shown while loading, and nothing is recorded in the
+     * event log.
+     * 
+     * @param file the file to read - must not be null
+     * @return the loaded game state
+     * 
+     * @throws IOException if the file cannot be read or is not a valid save file
+     * @throws IllegalArgumentException if file is null
+     */
+    public static SaveGame read(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        
+        GameOutput previous = OutputContext.bind(NullOutput.INSTANCE);
+        EventLog previousLog = EventContext.bind(NullEventLog.INSTANCE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > MAX_FILE_SIZE) {
+                throw new IOException("Save file is too large: " + length + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            int read = 0;
+            while (buffer.hasRemaining() && read >= 0) {
+                read = channel.read(buffer);
+            }
+            buffer.flip();
+            
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a Tales of Knights save file");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION && version != VERSION_CLASSIC && version != VERSION_UNSTACKED) {
+                throw new IOException("Unsupported save file version: " + version);
+            }
+            
+            String name = getString(buffer);
+            String title = getString(buffer);
+            int health = buffer.getInt();
+            int maxHealth = buffer.getInt();
+            int power = buffer.getInt();
+            int fame = buffer.getInt();
+            int money = buffer.getInt();
+            
+            Hero hero = new Hero(name, title, maxHealth, power);
+            hero.setHealth(health);
+            hero.setFame(fame);
+            hero.setMoney(money);
+            
+            if (buffer.get() != 0) {
+                Item weapon = getItem(buffer);
+                if (!(weapon instanceof Weapon)) {
+                    throw new IOException("Equipped weapon is not a weapon");
+                }
+                hero.equipWeapon((Weapon) weapon);
+            }
+            if (buffer.get() != 0) {
+                Item armor = getItem(buffer);
+                if (!(armor instanceof Armor)) {
+                    throw new IOException("Equipped armor is not armor");
+                }
+                hero.equipArmor((Armor) armor);
+            }
+            
+            ItemBag bag = hero.getItemBag();
+            if (version != VERSION_UNSTACKED) {
+                bag.setCapacity(buffer.getInt());
+            }
+            int itemCount = buffer.getInt();
+            if (itemCount < 0) {
+                throw new IOException("Invalid item count: " + itemCount);
+            }
+            for (int i = 0; i < itemCount; i++) {
+                Item item = getItem(buffer);
+                int quantity = version != VERSION_UNSTACKED ? buffer.getInt() : 1;
+                if (quantity < 1 || quantity > ItemBag.MAX_STACK) {
+                    throw new IOException("Invalid item quantity: " + quantity);
+                }
+                for (int copy = 0; copy < quantity; copy++) {
+                    bag.addItem(item);
+                }
+            }
+            
+            int dungeonLevel = buffer.getInt();
+            boolean newGamePlus = buffer.get() != 0;
+            boolean endless = false;
+            long seed = 0;
+            if (version == VERSION) {
+                endless = buffer.get() != 0;
+                seed = buffer.getLong();
+            }
+            return new SaveGame(hero, dungeonLevel, newGamePlus, endless, seed);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Save file is truncated", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Save file is corrupted: " + e.getMessage(), e);
+        } finally {
+            EventContext.bind(previousLog);
+            OutputContext.bind(previous);
+        }
+    }
+    
+    /**
+     * Computes the size of an item record
+     * 
+     * @param item the item, or null
+     * @return the number of bytes the record takes, 0 for null
+     */
+    private static int itemSize(Item item) {
+        if (item == null) {
+            return 0;
+        }
+        int fields;
+        if (item instanceof HealingItem) {
+            fields = 3;
+        } else if (item instanceof Weapon || item instanceof Armor || item instanceof DamageItem) {
+            fields = 2;
+        } else {
+            throw new IllegalArgumentException("Cannot save item type " + item.getClass().getSimpleName());
+        }
+        return 1 + 2 + encode(item.getName()).length + fields * 4;
+    }
+    
+    /**
+     * Writes a presence flag and, if present, an item record
+     * 
+     * @param buffer the buffer to write to
+     * @param item the item, or null
+     */
+    private static void putOptionalItem(ByteBuffer buffer, Item item) {
+        if (item == null) {
+            buffer.put((byte) 0);
+        } else {
+            buffer.put((byte) 1);
+            putItem(buffer, item);
+        }
+    }
+    
+    /**
+     * Writes an item record
+     * 
+     * @param buffer the buffer to write to
+     * @param item the item - must not be null
+     */
+    private static void putItem(ByteBuffer buffer, Item item) {
+        if (item instanceof Weapon weapon) {
+            buffer.put(TYPE_WEAPON);
+            putString(buffer, encode(weapon.getName()));
+            buffer.putInt(weapon.getDamage());
+        } else if (item instanceof Armor armor) {
+            buffer.put(TYPE_ARMOR);
+            putString(buffer, encode(armor.getName()));
+            buffer.putInt(armor.getProtection());
+        } else if (item instanceof HealingItem healing) {
+            buffer.put(TYPE_HEALING);
+            putString(buffer, encode(healing.getName()));
+            buffer.putInt(healing.getHealAmount());
+            buffer.putInt(healing.getQuality());
+        } else if (item instanceof DamageItem damage) {
+            buffer.put(TYPE_DAMAGE);
+            putString(buffer, encode(damage.getName()));
+            buffer.putInt(damage.getPower());
+        }
+        buffer.putInt(item.getValue());
+    }
+    
+    /**
+     * Reads an item record
+     * 
+     * Items that match a catalog entry are swapped for the shared instance.
+     * 
+     * @param buffer the buffer to read from
+     * @return the rebuilt item
+     * @throws IOException if the record has an unknown type
+     */
+    private static Item getItem(ByteBuffer buffer) throws IOException {
+        return ItemCatalog.intern(readItem(buffer));
+    }
+    
+    /**
+     * Reads an item record into a new item
+     * 
+     * @param buffer the buffer to read from
+     * @return the new item
+     * @throws IOException if the record has an unknown type
+     */
+    private static Item readItem(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        String name = getString(buffer);
+        switch (type) {
+            case TYPE_WEAPON: {
+                int damage = buffer.getInt();
+                return new Weapon(name, damage, buffer.getInt());
+            }
+            case TYPE_ARMOR: {
+                int protection = buffer.getInt();
+                return new Armor(name, protection, buffer.getInt());
+            }
+            case TYPE_HEALING: {
+                int healAmount = buffer.getInt();
+                int quality = buffer.getInt();
+                return new HealingItem(name, healAmount, quality, buffer.getInt());
+            }
+            case TYPE_DAMAGE: {
+                int power = buffer.getInt();
+                return new DamageItem(name, power, buffer.getInt());
+            }
+            default:
+                throw new IOException("Unknown item type: " + type);
+        }
+    }
+    
+    /**
+     * Encodes a string as UTF-8, truncated to fit a short length
+     * 
+     * @param text the text to encode
+     * @return the encoded bytes
+     */
+    private static byte[] encode(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Text is too long to save");
+        }
+        return bytes;
+    }
+    
+    /**
+     * Writes a length-prefixed string
+     * 
+     * @param buffer the buffer to write to
+     * @param bytes the UTF-8 bytes of the string
+     */
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+    
+    /**
+     * Reads a length-prefixed string
+     * 
+     * @param buffer the buffer to read from
+     * @return the decoded string
+     * @throws IOException if the length is negative
+     */
+    private static String getString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getShort();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Gets the restored hero
+     * 
+     * @return the hero with all stats, equipment and items
+     */
+    public Hero getHero() {
+        return this.hero;
+    }
+    
+    /**
+     * Gets the saved dungeon level
+     * 
+     * @return the level the player had reached (1-5, or deeper if endless)
+     */
+    public int getDungeonLevel() {
+        return this.dungeonLevel;
+    }
+    
+    /**
+     * Checks if New Game+ was active
+     * 
+     * @return true if the save was made during New Game+
+     */
+    public boolean isNewGamePlus() {
+        return this.newGamePlus;
+    }
+    
+    /**
+     * Checks if the dungeon was endless
+     * 
+     * @return true if the save was made in an endless dungeon
+     */
+    public boolean isEndless() {
+        return this.endless;
+    }
+    
+    /**
+     * Gets the seed of the endless dungeon
+     * 
+     * @return the seed, or 0 if the dungeon was classic
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    /**
+     * Creates a dungeon at the saved level
+     * 
+     * An endless run is rebuilt from its saved seed.
+     * 
+     * @param pooled true to reuse one Room and Monster for every level of a classic dungeon
+     * @return a new Dungeon, endless if the saved game was
+     */
+    public Dungeon createDungeon(boolean pooled) {
+        return this.endless ? Dungeon.endless(this.seed, this.dungeonLevel) : new Dungeon(this.dungeonLevel, pooled);
+    }
+}
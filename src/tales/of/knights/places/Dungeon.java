@@ -4,6 +4,11 @@
  */
 package tales.of.knights.places;
 
+import tales.of.knights.events.EventContext;
+import tales.of.knights.events.EventLog;
+import tales.of.knights.events.EventType;
+import tales.of.knights.io.OutputContext;
+
 /**
  * Dungeon Class - Dangerous Combat Location with Multiple Levels
  * 
@@ -11,6 +16,18 @@ package tales.of.knights.places;
  * Each level contains a Room with enemies. Players progress through levels
  * by defeating enemies and advancing.
  * 
+ * A pooled dungeon keeps a single Room and Monster for its whole life: moving
+ * to the next level, respawning the boss and resetting for New Game+ all
+ * reinitialize them in place. A hero farming Chamber 5 then creates no
+ * garbage at all. Rooms handed out by a pooled dungeon change when it moves
+ * on, so callers should not hold on to them.
+ * 
+ * An endless dungeon, created with endless(), has no final chamber. Its rooms
+ * are generated on demand from a seed and the level, so only the current room
+ * and LOOKAHEAD rooms ahead of it are ever held. They sit in a small ring that
+ * slides down as the hero advances: the room just left is regenerated as the
+ * new furthest one. Memory stays the same on floor 5 or on floor 5 million.
+ * 
  * @author cobbina
  * @version 1.0
  * 
@@ -20,29 +37,113 @@ package tales.of.knights.places;
  */
 public class Dungeon extends Place {
     
+    /** Number of rooms an endless dungeon generates ahead of the current one */
+    public static final int LOOKAHEAD = 2;
+    
+    /** Deepest level an endless dungeon can reach */
+    public static final int MAX_ENDLESS_LEVEL = Integer.MAX_VALUE - LOOKAHEAD;
+    
     /** The current room/chamber the player is in */
     private Room currentRoom;
     
     /** Current dungeon level (1-5, capped at 5) */
     private int currentLevel;
     
+    /** True if the current room is reused instead of replaced */
+    private final boolean pooled;
+    
+    /** True if the dungeon has no final chamber */
+    private final boolean endless;
+    
+    /** Seed the rooms of an endless dungeon are generated from */
+    private final long seed;
+    
+    /** Rooms of an endless dungeon: the current one at windowStart, then the ones ahead */
+    private final Room[] window;
+    
+    /** Index of the current room in window */
+    private int windowStart;
+    
     /**
      * Creates a new Dungeon
      * 
      * Initializes dungeon starting at level 1 with the first room.
      */
     public Dungeon() {
+        this(1);
+    }
+    
+    /**
+     * Creates a new Dungeon starting at a given level
+     * 
+     * Used when resuming a saved game. Levels outside 1-5 are clamped.
+     * 
+     * @param level the level to start at (1-5)
+     */
+    public Dungeon(int level) {
+        this(level, false);
+    }
+    
+    /**
+     * Creates a new Dungeon starting at a given level, optionally pooled
+     * 
+     * @param level the level to start at (1-5)
+     * @param pooled true to reuse one Room and Monster for every level
+     */
+    public Dungeon(int level, boolean pooled) {
         super("Dungeon", "A dark and dangerous dungeon");
+        this.pooled = pooled;
+        this.endless = false;
+        this.seed = 0;
+        this.window = null;
         try {
-            this.currentLevel = 1;
-            this.currentRoom = new Room(1);
+            if (level < 1) {
+                level = 1;
+            }
+            if (level > 5) {
+                level = 5;
+            }
+            this.currentLevel = level;
+            this.currentRoom = new Room(level);
         } catch (Exception e) {
-            System.out.println("Error creating dungeon: " + e.getMessage());
+            OutputContext.current().println("Error creating dungeon: " + e.getMessage());
             this.currentLevel = 1;
             this.currentRoom = new Room(1);
         }
     }
     
+    /**
+     * Creates an endless dungeon
+     * 
+     * @param seed the seed the rooms are generated from
+     * @param level the level to start at (1 or deeper)
+     */
+    private Dungeon(long seed, int level) {
+        super("Dungeon", "An endless dungeon that winds ever deeper");
+        this.pooled = true;
+        this.endless = true;
+        this.seed = seed;
+        this.window = new Room[LOOKAHEAD + 1];
+        for (int i = 0; i < this.window.length; i++) {
+            this.window[i] = new Room(1);
+        }
+        this.currentLevel = clampEndless(level);
+        fillWindow(this.currentLevel);
+    }
+    
+    /**
+     * Creates an endless dungeon
+     * 
+     * The same seed always generates the same rooms.
+     * 
+     * @param seed the seed the rooms are generated from
+     * @param level the level to start at - values below 1 are clamped
+     * @return the new dungeon
+     */
+    public static Dungeon endless(long seed, int level) {
+        return new Dungeon(seed, level);
+    }
+    
     /**
      * Gets the current room the player is in
      * 
@@ -55,7 +156,7 @@ public class Dungeon extends Place {
             }
             return this.currentRoom;
         } catch (Exception e) {
-            System.out.println("Error getting current room: " + e.getMessage());
+            OutputContext.current().println("Error getting current room: " + e.getMessage());
             return new Room(1);
         }
     }
@@ -64,30 +165,209 @@ public class Dungeon extends Place {
      * Advances to the next dungeon level
      * 
      * Increases current level by 1 (capped at level 5).
-     * Creates a new room with increased difficulty.
+     * Creates a new room with increased difficulty, or resets the pooled one.
      */
     public void nextRoom() {
         try {
+            if (this.endless) {
+                advanceWindow();
+                return;
+            }
             this.currentLevel++;
             if (this.currentLevel > 5) {
                 this.currentLevel = 5; // Cap at level 5
             }
-            this.currentRoom = new Room(this.currentLevel);
+            enterRoom(this.currentLevel);
+        } catch (Exception e) {
+            OutputContext.current().println("Error moving to next room: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Brings the current room's monster back to full strength
+     * 
+     * Used when the player replays a chamber they already cleared.
+     */
+    public void respawn() {
+        try {
+            if (this.endless) {
+                this.currentRoom.generate(this.seed, this.currentLevel);
+                return;
+            }
+            enterRoom(this.currentLevel);
+        } catch (Exception e) {
+            OutputContext.current().println("Error respawning room: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Resets the dungeon back to Chamber 1
+     * 
+     * Used when starting New Game+.
+     */
+    public void reset() {
+        reset(1);
+    }
+    
+    /**
+     * Resets the dungeon to a given level
+     * 
+     * Levels outside 1-5 are clamped, or below 1 in an endless dungeon.
+     * 
+     * @param level the level to continue from (1-5)
+     */
+    public void reset(int level) {
+        try {
+            if (this.endless) {
+                this.currentLevel = clampEndless(level);
+                fillWindow(this.currentLevel);
+                return;
+            }
+            if (level < 1) {
+                level = 1;
+            }
+            if (level > 5) {
+                level = 5;
+            }
+            this.currentLevel = level;
+            enterRoom(level);
         } catch (Exception e) {
-            System.out.println("Error moving to next room: " + e.getMessage());
+            OutputContext.current().println("Error resetting dungeon: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Checks if this dungeon reuses its room
+     * 
+     * @return true if the dungeon is pooled
+     */
+    public boolean isPooled() {
+        return this.pooled;
+    }
+    
+    /**
+     * Checks if this dungeon has no final chamber
+     * 
+     * @return true if the dungeon is endless
+     */
+    public boolean isEndless() {
+        return this.endless;
+    }
+    
+    /**
+     * Gets the seed an endless dungeon's rooms are generated from
+     * 
+     * @return the seed, or 0 for a classic dungeon
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    /**
+     * Checks if the current chamber is the final one
+     * 
+     * @return true on level 5 of a classic dungeon; always false if endless
+     */
+    public boolean isFinalLevel() {
+        return !this.endless && this.currentLevel >= 5;
+    }
+    
+    /**
+     * Looks at a room ahead of the current one without entering it
+     * 
+     * Rooms ahead only exist in an endless dungeon, where they are already
+     * generated. Like the current room, they change as the dungeon moves on.
+     * 
+     * @param ahead how many rooms ahead to look (0 for the current room)
+     * @return the room, or null if it is not held by this dungeon
+     */
+    public Room peekRoom(int ahead) {
+        if (ahead == 0) {
+            return getCurrentRoom();
+        }
+        if (!this.endless || ahead < 0 || ahead > LOOKAHEAD) {
+            return null;
+        }
+        return this.window[(this.windowStart + ahead) % this.window.length];
+    }
+    
+    /**
+     * Moves an endless dungeon one level down
+     * 
+     * The room being left is regenerated as the new furthest room of the
+     * window, so the rooms already ahead are kept and nothing is allocated.
+     */
+    private void advanceWindow() {
+        if (this.currentLevel >= MAX_ENDLESS_LEVEL) {
+            respawn();
+            return;
+        }
+        this.window[this.windowStart].generate(this.seed, this.currentLevel + this.window.length);
+        this.windowStart = (this.windowStart + 1) % this.window.length;
+        this.currentLevel++;
+        this.currentRoom = this.window[this.windowStart];
+        recordLevel(this.currentLevel);
+    }
+    
+    /**
+     * Regenerates every room of an endless dungeon's window from a level on
+     * 
+     * @param level the level of the current room
+     */
+    private void fillWindow(int level) {
+        for (int i = 0; i < this.window.length; i++) {
+            this.window[(this.windowStart + i) % this.window.length].generate(this.seed, level + i);
+        }
+        this.currentRoom = this.window[this.windowStart];
+        recordLevel(level);
+    }
+    
+    /**
+     * Clamps a level to the levels an endless dungeon can reach
+     * 
+     * @param level the requested level
+     * @return the level, between 1 and MAX_ENDLESS_LEVEL
+     */
+    private static int clampEndless(int level) {
+        return Math.max(1, Math.min(level, MAX_ENDLESS_LEVEL));
+    }
+    
+    /**
+     * Makes a fresh room of the given level the current room
+     * 
+     * @param level the room's level
+     */
+    private void enterRoom(int level) {
+        if (this.pooled && this.currentRoom != null) {
+            this.currentRoom.reset(level);
+        } else {
+            this.currentRoom = new Room(level);
+        }
+        recordLevel(level);
+    }
+    
+    /**
+     * Records a level change in the event log bound to the current thread
+     * 
+     * @param level the level entered
+     */
+    private void recordLevel(int level) {
+        EventLog log = EventContext.current();
+        if (log.isEnabled()) {
+            log.record(EventType.LEVEL_CHANGED, EventLog.ACTOR_OTHER, level, 0);
         }
     }
     
     /**
      * Gets the current dungeon level
      * 
-     * @return the current level (1-5)
+     * @return the current level (1-5, or deeper if endless)
      */
     public int getCurrentLevel() {
         try {
             return this.currentLevel > 0 ? this.currentLevel : 1;
         } catch (Exception e) {
-            System.out.println("Error getting current level: " + e.getMessage());
+            OutputContext.current().println("Error getting current level: " + e.getMessage());
             return 1;
         }
     }
@@ -100,14 +380,18 @@ public class Dungeon extends Place {
     @Override
     public void display() {
         try {
-            System.out.println("\n========== DUNGEON (Level " + this.currentLevel + ") ==========");
-            System.out.println(this.description);
+            OutputContext.current().println("\n========== DUNGEON (Level " + this.currentLevel + ") ==========");
+            OutputContext.current().println(this.description);
             if (this.currentRoom != null) {
-                System.out.println("You enter Chamber " + this.currentLevel);
+                OutputContext.current().println("You enter Chamber " + this.currentLevel);
+            }
+            Room ahead = peekRoom(1);
+            if (ahead != null) {
+                OutputContext.current().println("Deeper down, something stirs: " + ahead.getMonster().getName());
             }
-            System.out.println("================================================\n");
+            OutputContext.current().println("================================================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying dungeon: " + e.getMessage());
+            OutputContext.current().println("Error displaying dungeon: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@
  */
 package tales.of.knights.places;
 
+import tales.of.knights.io.OutputContext;
+
 /**
  * Place Abstract Class - Base for All Game Locations
  * 
@@ -48,7 +50,7 @@ public abstract class Place {
             this.name = name;
             this.description = description;
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating place: " + e.getMessage());
+            OutputContext.current().println("Error creating place: " + e.getMessage());
             this.name = "Unknown Place";
             this.description = "Unknown";
         }
@@ -63,7 +65,7 @@ public abstract class Place {
         try {
             return this.name != null ? this.name : "Unknown Place";
         } catch (Exception e) {
-            System.out.println("Error getting name: " + e.getMessage());
+            OutputContext.current().println("Error getting name: " + e.getMessage());
             return "Unknown Place";
         }
     }
@@ -77,7 +79,7 @@ public abstract class Place {
         try {
             return this.description != null ? this.description : "Unknown";
         } catch (Exception e) {
-            System.out.println("Error getting description: " + e.getMessage());
+            OutputContext.current().println("Error getting description: " + e.getMessage());
             return "Unknown";
         }
     }
@@ -4,6 +4,9 @@
  */
 package tales.of.knights.places;
 import tales.of.knights.characters.Monster;
+import tales.of.knights.characters.MonsterScaling;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.random.GameRandom;
 
 /**
  * Room Class - Dungeon Chamber with Enemy
@@ -11,15 +14,38 @@ import tales.of.knights.characters.Monster;
  * Extends Place to represent a single dungeon chamber containing one enemy monster.
  * Each room has a difficulty level (1-5) that determines the enemy's strength.
  * 
+ * Rooms of an endless dungeon are generated from a seed instead and can have
+ * any positive level. Their stats grow with the level but saturate at
+ * MAX_STAT, so even the deepest floors never overflow an int.
+ * 
  * @author cobbina
  * @version 1.0
  * 
  * @see Place
  * @see Dungeon
  * @see Monster
+ * @see MonsterScaling
  */
 public class Room extends Place {
     
+    /** Monster types by level - level 1 is a Goblin, level 5 a Demon */
+    private static final String[] MONSTER_NAMES = {"Goblin", "Orc", "Troll", "Dragon", "Demon"};
+    
+    /** Prefixes for the monsters of generated rooms deeper than level 5 */
+    private static final String[] MONSTER_PREFIXES = {"Ancient", "Cursed", "Savage", "Shadow", "Elder", "Frenzied", "Dread", "Infernal"};
+    
+    /** Every prefixed monster name, built once so generating a room allocates nothing */
+    private static final String[] GENERATED_NAMES = new String[MONSTER_PREFIXES.length * MONSTER_NAMES.length];
+    
+    static {
+        for (int i = 0; i < GENERATED_NAMES.length; i++) {
+            GENERATED_NAMES[i] = MONSTER_PREFIXES[i / MONSTER_NAMES.length] + " " + MONSTER_NAMES[i % MONSTER_NAMES.length];
+        }
+    }
+    
+    /** Largest health or power a generated monster can have */
+    public static final int MAX_STAT = MonsterScaling.MAX_STAT;
+    
     /** The enemy monster in this room */
     private Monster monster;
     
@@ -46,7 +72,7 @@ public class Room extends Place {
             this.level = level;
             createMonster(level);
         } catch (IllegalArgumentException e) {
-            System.out.println("Error creating room: " + e.getMessage());
+            OutputContext.current().println("Error creating room: " + e.getMessage());
             this.level = 1;
             createMonster(1);
         }
@@ -56,7 +82,8 @@ public class Room extends Place {
      * Creates a monster appropriate for the room level
      * 
      * Spawns different monster types (Goblin, Orc, Troll, Dragon, Demon)
-     * based on level. Monster stats scale with difficulty.
+     * based on level. Monster stats follow MonsterScaling.DEFAULT. If the room
+     * already has a monster, it is reset in place instead of creating a new one.
      * 
      * @param level the difficulty level for the monster
      */
@@ -66,19 +93,72 @@ public class Room extends Place {
                 level = 1;
             }
             
-            String[] monsterNames = {"Goblin", "Orc", "Troll", "Dragon", "Demon"};
-            String name = monsterNames[(level - 1) % monsterNames.length];
+            String name = MONSTER_NAMES[(level - 1) % MONSTER_NAMES.length];
             
-            int health = 30 + (level * 10);
-            int power = 10 + (level * 2);
+            int health = MonsterScaling.DEFAULT.getHealth(level);
+            int power = MonsterScaling.DEFAULT.getPower(level);
             
-            this.monster = new Monster(name, health, power, level);
+            if (this.monster != null) {
+                this.monster.reset(name, health, power, level);
+            } else {
+                this.monster = new Monster(name, health, power, level);
+            }
         } catch (Exception e) {
-            System.out.println("Error creating monster: " + e.getMessage());
+            OutputContext.current().println("Error creating monster: " + e.getMessage());
             this.monster = new Monster("Goblin", 30, 10, 1);
         }
     }
     
+    /**
+     * Turns this room into a fresh room of the given level
+     * 
+     * The room and its monster are reused: the monster is reset in place with
+     * full health and the stats of the new level, so nothing is allocated.
+     * 
+     * @param level the room's new difficulty (1-5)
+     */
+    public void reset(int level) {
+        if (level < 1) {
+            OutputContext.current().println("Error resetting room: Level must be positive");
+            level = 1;
+        }
+        this.level = level;
+        createMonster(level);
+    }
+    
+    /**
+     * Turns this room into the generated room of an endless dungeon
+     * 
+     * The same seed and level always give the same monster. Levels 1-5 keep
+     * the classic monsters; deeper levels get a prefixed name and stats that
+     * vary by up to 10% either way. Like reset(), nothing is allocated.
+     * 
+     * @param seed the dungeon's seed
+     * @param level the room's new difficulty - any positive level
+     */
+    public void generate(long seed, int level) {
+        if (level < 1) {
+            OutputContext.current().println("Error generating room: Level must be positive");
+            level = 1;
+        }
+        this.level = level;
+        if (level <= MONSTER_NAMES.length) {
+            createMonster(level);
+            return;
+        }
+        
+        long hash = GameRandom.hash(seed, level);
+        String name = GENERATED_NAMES[(int) Long.remainderUnsigned(hash, GENERATED_NAMES.length)];
+        int health = MonsterScaling.DEFAULT.getHealth(level, 90 + (int) ((hash >>> 16) & 0xFFFF) % 21);
+        int power = MonsterScaling.DEFAULT.getPower(level, 90 + (int) ((hash >>> 32) & 0xFFFF) % 21);
+        
+        if (this.monster != null) {
+            this.monster.reset(name, health, power, level);
+        } else {
+            this.monster = new Monster(name, health, power, level);
+        }
+    }
+    
     /**
      * Gets the enemy monster in this room
      * 
@@ -91,7 +171,7 @@ public class Room extends Place {
             }
             return this.monster;
         } catch (Exception e) {
-            System.out.println("Error getting monster: " + e.getMessage());
+            OutputContext.current().println("Error getting monster: " + e.getMessage());
             return new Monster("Goblin", 30, 10, 1);
         }
     }
@@ -99,13 +179,13 @@ public class Room extends Place {
     /**
      * Gets the room's difficulty level
      * 
-     * @return the level (1-5)
+     * @return the level (1-5, or higher in an endless dungeon)
      */
     public int getLevel() {
         try {
             return this.level > 0 ? this.level : 1;
         } catch (Exception e) {
-            System.out.println("Error getting level: " + e.getMessage());
+            OutputContext.current().println("Error getting level: " + e.getMessage());
             return 1;
         }
     }
@@ -118,14 +198,14 @@ public class Room extends Place {
     @Override
     public void display() {
         try {
-            System.out.println("\n========== DUNGEON ROOM (Level " + this.level + ") ==========");
-            System.out.println(this.description);
+            OutputContext.current().println("\n========== DUNGEON ROOM (Level " + this.level + ") ==========");
+            OutputContext.current().println(this.description);
             if (this.monster != null) {
-                System.out.println("A wild " + this.monster.getName() + " appears!");
+                OutputContext.current().println("A wild " + this.monster.getName() + " appears!");
             }
-            System.out.println("================================================\n");
+            OutputContext.current().println("================================================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying room: " + e.getMessage());
+            OutputContext.current().println("Error displaying room: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@
  */
 package tales.of.knights.places;
 import tales.of.knights.characters.Shopkeeper;
+import tales.of.knights.io.OutputContext;
 
 /**
  * Town Class - Safe Hub Location with Shopkeeper
@@ -33,7 +34,7 @@ public class Town extends Place {
         try {
             this.shopkeeper = new Shopkeeper("Merchant");
         } catch (Exception e) {
-            System.out.println("Error creating town: " + e.getMessage());
+            OutputContext.current().println("Error creating town: " + e.getMessage());
             this.shopkeeper = new Shopkeeper("Merchant");
         }
     }
@@ -50,7 +51,7 @@ public class Town extends Place {
             }
             return this.shopkeeper;
         } catch (Exception e) {
-            System.out.println("Error getting shopkeeper: " + e.getMessage());
+            OutputContext.current().println("Error getting shopkeeper: " + e.getMessage());
             return new Shopkeeper("Merchant");
         }
     }
@@ -63,11 +64,11 @@ public class Town extends Place {
     @Override
     public void display() {
         try {
-            System.out.println("\n========== " + this.name.toUpperCase() + " ==========");
-            System.out.println(this.description);
-            System.out.println("=====================================\n");
+            OutputContext.current().println("\n========== " + this.name.toUpperCase() + " ==========");
+            OutputContext.current().println(this.description);
+            OutputContext.current().println("=====================================\n");
         } catch (Exception e) {
-            System.out.println("Error displaying town: " + e.getMessage());
+            OutputContext.current().println("Error displaying town: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
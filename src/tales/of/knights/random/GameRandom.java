@@ -0,0 +1,138 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * GameRandom Class - Seeded random number source for one game session
+ * 
+ * Every random decision in the game (monster damage rolls, gambling, escape
+ * attempts) is drawn from a GameRandom. A session created with a seed makes
+ * exactly the same rolls every time it is replayed with the same input, so
+ * bugs and balance runs can be reproduced bit for bit.
+ * 
+ * Built on SplittableRandom, which keeps its state in a plain field instead of
+ * the atomic seed of java.util.Random, so rolls never contend between threads.
+ * A GameRandom is not thread safe: each session or worker thread uses its own,
+ * and split() hands out independent generators for child tasks.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see RandomContext
+ */
+public final class GameRandom {
+    
+    /** The underlying generator */
+    private final SplittableRandom random;
+    
+    /**
+     * Creates a new GameRandom with an unpredictable seed
+     */
+    public GameRandom() {
+        this.random = new SplittableRandom();
+    }
+    
+    /**
+     * Creates a new GameRandom that always produces the same rolls for the same seed
+     * 
+     * @param seed the seed
+     */
+    public GameRandom(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+    
+    /**
+     * Wraps an existing generator
+     * 
+     * @param random the generator to draw from
+     */
+    private GameRandom(SplittableRandom random) {
+        this.random = random;
+    }
+    
+    /**
+     * Returns a random int between 0 (inclusive) and bound (exclusive)
+     * 
+     * @param bound the upper bound - must be positive
+     * @return the random value
+     * 
+     * @throws IllegalArgumentException if bound is not positive
+     */
+    public int nextInt(int bound) {
+        return this.random.nextInt(bound);
+    }
+    
+    /**
+     * Returns a random int between min and max, both inclusive
+     * 
+     * @param min the lowest possible value
+     * @param max the highest possible value - must not be less than min
+     * @return the random value
+     * 
+     * @throws IllegalArgumentException if max is less than min
+     */
+    public int nextIntBetween(int min, int max) {
+        return this.random.nextInt(min, max + 1);
+    }
+    
+    /**
+     * Returns a random long
+     * 
+     * @return the random value
+     */
+    public long nextLong() {
+        return this.random.nextLong();
+    }
+    
+    /**
+     * Returns a random double between 0.0 (inclusive) and 1.0 (exclusive)
+     * 
+     * @return the random value
+     */
+    public double nextDouble() {
+        return this.random.nextDouble();
+    }
+    
+    /**
+     * Returns a random boolean - a fair coin flip
+     * 
+     * @return true or false with equal probability
+     */
+    public boolean nextBoolean() {
+        return this.random.nextBoolean();
+    }
+    
+    /**
+     * Mixes a seed and an index into a well-spread random value
+     * 
+     * Stateless: the same seed and index always give the same value, so
+     * content can be generated on demand (e.g. dungeon floor number index of
+     * a seeded dungeon) without keeping any generator around.
+     * 
+     * @param seed the seed
+     * @param index the index to generate a value for
+     * @return a random-looking value determined by seed and index
+     */
+    public static long hash(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Creates an independent generator for another thread or task
+     * 
+     * The new generator's rolls are fully determined by this generator's
+     * state, so splitting keeps a seeded run reproducible.
+     * 
+     * @return a new GameRandom
+     */
+    public GameRandom split() {
+        return new GameRandom(this.random.split());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.random;
+
+/**
+ * RandomContext Class - Holds the GameRandom of the current thread
+ * 
+ * Works like OutputContext: a game session binds its own seeded GameRandom on
+ * the thread that runs it, and Monster.attack(), Gambler.gamble() and
+ * Hero.escape() draw from it. Threads that never bind one get a private
+ * unseeded generator, so threads never share random state.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameRandom
+ * @see tales.of.knights.io.OutputContext
+ */
+public final class RandomContext {
+    
+    /** Generator bound to each thread, created on first use */
+    private static final ThreadLocal<GameRandom> CURRENT = ThreadLocal.withInitial(GameRandom::new);
+    
+    /**
+     * Not instantiable - all methods are static
+     */
+    private RandomContext() {
+    }
+    
+    /**
+     * Gets the generator bound to the current thread
+     * 
+     * @return the bound generator, never null
+     */
+    public static GameRandom current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Binds a generator to the current thread
+     * 
+     * @param random the generator to use from now on, or null for a fresh unseeded one
+     * @return the generator that was bound before, so it can be restored
+     */
+    public static GameRandom bind(GameRandom random) {
+        GameRandom previous = CURRENT.get();
+        CURRENT.set(random != null ? random : new GameRandom());
+        return previous;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * BufferPool Class - Reuses direct byte buffers for network I/O
+ * 
+ * Direct buffers can be handed to the operating system without another copy,
+ * but they are slow to allocate and are only freed by the garbage collector.
+ * The pool keeps released buffers and hands them out again, so a busy server
+ * allocates new ones only while traffic grows.
+ * 
+ * At most maxPooled buffers are kept; extra released buffers are left to the
+ * garbage collector. All methods are thread safe.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see TcpFrontend
+ */
+public class BufferPool {
+    
+    /** Capacity of every buffer in the pool */
+    private final int bufferSize;
+    
+    /** Released buffers waiting to be reused */
+    private final ArrayBlockingQueue<ByteBuffer> free;
+    
+    /**
+     * Creates a new BufferPool
+     * 
+     * @param bufferSize capacity of every buffer - must be positive
+     * @param maxPooled most buffers kept for reuse - must be positive
+     * 
+     * @throws IllegalArgumentException if a value is not positive
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0 || maxPooled <= 0) {
+            throw new IllegalArgumentException("Buffer size and pool size must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(maxPooled);
+    }
+    
+    /**
+     * Takes a buffer from the pool, allocating one if the pool is empty
+     * 
+     * @return a cleared direct buffer of getBufferSize() bytes
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = this.free.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(this.bufferSize);
+    }
+    
+    /**
+     * Returns a buffer to the pool
+     * 
+     * The buffer must not be used by the caller afterwards. Buffers of another
+     * size are ignored.
+     * 
+     * @param buffer the buffer to return, may be null
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != this.bufferSize || !buffer.isDirect()) {
+            return;
+        }
+        buffer.clear();
+        this.free.offer(buffer);
+    }
+    
+    /**
+     * Gets the capacity of the pool's buffers
+     * 
+     * @return the buffer size in bytes
+     */
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+    
+    /**
+     * Gets the number of buffers waiting to be reused
+     * 
+     * @return the number of pooled buffers
+     */
+    public int getPooledCount() {
+        return this.free.size();
+    }
+}
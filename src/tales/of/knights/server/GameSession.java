@@ -0,0 +1,143 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import tales.of.knights.game.TalesofKnights;
+import tales.of.knights.io.BufferedOutput;
+
+/**
+ * GameSession Class - One player's game running inside a SessionHost
+ * 
+ * Wraps a TalesofKnights instance together with the streams it talks to.
+ * Every session has its own Hero, Town and Dungeon (created by TalesofKnights)
+ * and shares nothing with other sessions, so sessions never need to lock.
+ * 
+ * Output goes through a BufferedOutput and is only pushed to the client when
+ * the game waits for the next command, so one command costs one write to the
+ * underlying stream.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see SessionHost
+ * @see TalesofKnights
+ */
+public class GameSession implements Runnable {
+    
+    /** Unique id of this session within its host */
+    private final long id;
+    
+    /** Stream the player's commands are read from */
+    private final InputStream in;
+    
+    /** Stream the game text is written to */
+    private final PrintStream out;
+    
+    /** The game played in this session */
+    private final TalesofKnights game;
+    
+    /** The host that started this session, notified when the session ends */
+    private final SessionHost host;
+    
+    /** Time the session was opened, from System.nanoTime() */
+    private final long startNanos;
+    
+    /** Flag indicating the session has finished */
+    private volatile boolean finished;
+    
+    /**
+     * Creates a new GameSession
+     * 
+     * @param id the session id
+     * @param in stream the player's commands are read from
+     * @param out stream the game text is written to
+     * @param host the host running this session
+     */
+    GameSession(long id, InputStream in, OutputStream out, SessionHost host) {
+        this.id = id;
+        this.in = in;
+        this.out = new PrintStream(out, false, StandardCharsets.UTF_8);
+        this.game = new TalesofKnights(in, new BufferedOutput(this.out));
+        this.host = host;
+        this.startNanos = System.nanoTime();
+    }
+    
+    /**
+     * Plays the game until the player quits, dies or disconnects
+     * 
+     * Closes both streams afterwards and removes the session from its host.
+     */
+    @Override
+    public void run() {
+        try {
+            this.game.startGame();
+        } catch (Exception e) {
+            this.out.println("Fatal error: " + e.getMessage());
+        } finally {
+            this.finished = true;
+            this.out.close();
+            try {
+                this.in.close();
+            } catch (IOException e) {
+                // The player is gone either way
+            }
+            this.host.sessionFinished(this);
+        }
+    }
+    
+    /**
+     * Ends the session by closing its input
+     * 
+     * The game sees the end of its input on the next read and shuts down.
+     */
+    public void close() {
+        try {
+            this.in.close();
+        } catch (IOException e) {
+            System.out.println("Error closing session " + this.id + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets the session id
+     * 
+     * @return the id, unique within the host
+     */
+    public long getId() {
+        return this.id;
+    }
+    
+    /**
+     * Gets the game played in this session
+     * 
+     * @return the session's TalesofKnights instance
+     */
+    public TalesofKnights getGame() {
+        return this.game;
+    }
+    
+    /**
+     * Checks if the session has finished
+     * 
+     * @return true once the game has ended and the streams are closed
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+    
+    /**
+     * Gets how long the session has been open
+     * 
+     * @return the session age in milliseconds
+     */
+    public long getAgeMillis() {
+        return (System.nanoTime() - this.startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.server;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IoWorker Class - One selector thread serving many connections
+ * 
+ * Every connection belongs to exactly one worker for its whole life. The
+ * worker waits in select() for any of its sockets to become readable or
+ * writable and hands the event to the connection. Idle connections cost the
+ * worker nothing but a registered key.
+ * 
+ * Other threads never touch the selector's keys. New connections and interest
+ * changes requested by sessions are queued and picked up by the worker after
+ * a wakeup().
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see TcpConnection
+ * @see TcpFrontend
+ */
+final class IoWorker implements Runnable {
+    
+    /** The selector all of this worker's channels are registered with */
+    private final Selector selector;
+    
+    /** Connections waiting to be registered */
+    private final Queue<TcpConnection> registrations;
+    
+    /** Connections waiting for an interest update */
+    private final Queue<TcpConnection> updates;
+    
+    /** Open connections of the whole frontend */
+    private final AtomicInteger connectionCount;
+    
+    /** Flag that keeps the select loop running */
+    private volatile boolean running;
+    
+    /**
+     * Creates a new IoWorker
+     * 
+     * @param connectionCount counter of open connections to keep up to date
+     * 
+     * @throws IOException if the selector cannot be opened
+     */
+    IoWorker(AtomicInteger connectionCount) throws IOException {
+        this.selector = Selector.open();
+        this.registrations = new ConcurrentLinkedQueue<>();
+        this.updates = new ConcurrentLinkedQueue<>();
+        this.connectionCount = connectionCount;
+        this.running = true;
+    }
+    
+    /**
+     * Runs the select loop until stop() is called, then closes every connection
+     */
+    @Override
+    public void run() {
+        try {
+            while (this.running) {
+                this.selector.select();
+                
+                TcpConnection connection;
+                while ((connection = this.registrations.poll()) != null) {
+                    connection.register(this.selector);
+                }
+                while ((connection = this.updates.poll()) != null) {
+                    connection.update();
+                }
+                
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    TcpConnection target = (TcpConnection) key.attachment();
+                    if (key.isValid() && key.isReadable()) {
+                        target.onReadable();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        target.onWritable();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error in network worker: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : this.selector.keys()) {
+                ((TcpConnection) key.attachment()).close();
+            }
+            TcpConnection connection;
+            while ((connection = this.registrations.poll()) != null) {
+                connection.close();
+            }
+            try {
+                this.selector.close();
+            } catch (IOException e) {
+                System.out.println("Error closing selector: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Hands a new connection to this worker
+     * 
+     * @param connection the connection to serve
+     */
+    void register(TcpConnection connection) {
+        this.connectionCount.incrementAndGet();
+        this.registrations.add(connection);
+        this.selector.wakeup();
+    }
+    
+    /**
+     * Queues a connection for an interest update on the selector thread
+     * 
+     * @param connection the connection whose state changed
+     */
+    void queueUpdate(TcpConnection connection) {
+        this.updates.add(connection);
+        this.selector.wakeup();
+    }
+    
+    /**
+     * Notes that one of this worker's connections has closed
+     */
+    void connectionClosed() {
+        this.connectionCount.decrementAndGet();
+    }
+    
+    /**
+     * Stops the select loop; the worker closes its connections on the way out
+     */
+    void stop() {
+        this.running = false;
+        this.selector.wakeup();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.server;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import tales.of.knights.items.PricingEngine;
+import tales.of.knights.items.SharedShopStock;
+import tales.of.knights.metrics.GameMetrics;
+
+/**
+ * SessionHost Class - Runs many independent game sessions in one process
+ * 
+ * Every session is started on its own virtual thread. A session spends almost
+ * all of its life blocked on the next player command, and a virtual thread
+ * blocked on a read does not hold a platform thread, so thousands of idle
+ * players cost only their heap, not OS threads.
+ * 
+ * Example:
+ * SessionHost host = new SessionHost();
+ * host.open(socket.getInputStream(), socket.getOutputStream());
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GameSession
+ */
+public class SessionHost implements AutoCloseable {
+    
+    /** Executor that starts one virtual thread per session */
+    private final ExecutorService executor;
+    
+    /** Sessions that are currently running, by id */
+    private final Map<Long, GameSession> sessions;
+    
+    /** Source of session ids */
+    private final AtomicLong nextId;
+    
+    /** Number of sessions opened since the host started */
+    private final AtomicLong totalOpened;
+    
+    /** Stock every new session's shop sells from, or null for endless shops */
+    private volatile SharedShopStock shopStock;
+    
+    /** Engine every new session's shop prices come from, or null for fixed prices */
+    private volatile PricingEngine pricing;
+    
+    /**
+     * Creates a new SessionHost
+     * 
+     * The host does not publish GameMetrics itself; the application registers
+     * it once over JMX (see Main).
+     */
+    public SessionHost() {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.sessions = new ConcurrentHashMap<>();
+        this.nextId = new AtomicLong(1);
+        this.totalOpened = new AtomicLong();
+    }
+    
+    /**
+     * Opens a new game session on the given streams
+     * 
+     * The session starts immediately on its own virtual thread and runs until
+     * the player quits, dies, or the input stream ends.
+     * 
+     * @param in stream the player's commands are read from - must not be null
+     * @param out stream the game text is written to - must not be null
+     * @return the new session
+     * 
+     * @throws IllegalArgumentException if in or out is null
+     * @throws java.util.concurrent.RejectedExecutionException if the host is closed
+     */
+    public GameSession open(InputStream in, OutputStream out) {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("Session streams cannot be null");
+        }
+        
+        return launch(new GameSession(this.nextId.getAndIncrement(), in, out, this));
+    }
+    
+    /**
+     * Opens a new game session whose random rolls are seeded
+     * 
+     * A session opened with the same seed and fed the same input plays out
+     * exactly the same, which makes reported games reproducible.
+     * 
+     * @param in stream the player's commands are read from - must not be null
+     * @param out stream the game text is written to - must not be null
+     * @param seed the seed for every random roll in the session
+     * @return the new session
+     * 
+     * @throws IllegalArgumentException if in or out is null
+     * @throws java.util.concurrent.RejectedExecutionException if the host is closed
+     */
+    public GameSession open(InputStream in, OutputStream out, long seed) {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("Session streams cannot be null");
+        }
+        
+        GameSession session = new GameSession(this.nextId.getAndIncrement(), in, out, this);
+        session.getGame().setSeed(seed);
+        return launch(session);
+    }
+    
+    /**
+     * Registers a session and starts it on its own virtual thread
+     * 
+     * The session's shop is given the host's shared stock and pricing engine, if any.
+     * 
+     * @param session the session to start
+     * @return the session
+     */
+    private GameSession launch(GameSession session) {
+        session.getGame().setShopStock(this.shopStock);
+        session.getGame().setPricing(this.pricing);
+        this.sessions.put(session.getId(), session);
+        this.totalOpened.incrementAndGet();
+        GameMetrics.INSTANCE.sessionOpened();
+        try {
+            this.executor.execute(session);
+        } catch (RuntimeException e) {
+            this.sessions.remove(session.getId());
+            GameMetrics.INSTANCE.sessionFinished();
+            throw e;
+        }
+        return session;
+    }
+    
+    /**
+     * Sets the stock the shops of sessions opened from now on sell from
+     * 
+     * All those sessions then share one finite merchant inventory.
+     * 
+     * @param shopStock the shared stock, or null to give every session an endless shop
+     */
+    public void setShopStock(SharedShopStock shopStock) {
+        this.shopStock = shopStock;
+    }
+    
+    /**
+     * Sets the engine the shop prices of sessions opened from now on come from
+     * 
+     * @param pricing the pricing engine, or null to give every session fixed prices
+     */
+    public void setPricing(PricingEngine pricing) {
+        this.pricing = pricing;
+    }
+    
+    /**
+     * Removes a finished session
+     * 
+     * Called by the session itself from its own thread.
+     * 
+     * @param session the session that ended
+     */
+    void sessionFinished(GameSession session) {
+        this.sessions.remove(session.getId());
+        GameMetrics.INSTANCE.sessionFinished();
+    }
+    
+    /**
+     * Gets a running session by id
+     * 
+     * @param id the session id
+     * @return the session, or null if no running session has that id
+     */
+    public GameSession getSession(long id) {
+        return this.sessions.get(id);
+    }
+    
+    /**
+     * Gets all running sessions
+     * 
+     * @return an unmodifiable live view of the running sessions
+     */
+    public Collection<GameSession> getSessions() {
+        return Collections.unmodifiableCollection(this.sessions.values());
+    }
+    
+    /**
+     * Gets the number of running sessions
+     * 
+     * @return how many sessions are currently active
+     */
+    public int getActiveSessionCount() {
+        return this.sessions.size();
+    }
+    
+    /**
+     * Gets the number of sessions opened since the host started
+     * 
+     * @return the total number of sessions, finished or not
+     */
+    public long getTotalSessionCount() {
+        return this.totalOpened.get();
+    }
+    
+    /**
+     * Closes every session and stops the host
+     * 
+     * Waits up to the given time for the sessions to wind down.
+     * 
+     * @param timeout how long to wait
+     * @param unit the unit of the timeout
+     * @return true if all sessions ended within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        this.executor.shutdown();
+        for (GameSession session : this.sessions.values()) {
+            session.close();
+        }
+        return this.executor.awaitTermination(timeout, unit);
+    }
+    
+    /**
+     * Closes every session and waits for them to end
+     */
+    @Override
+    public void close() {
+        try {
+            shutdown(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,487 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TcpConnection Class - Bridges one non-blocking socket to a game session
+ * 
+ * A GameSession reads and writes plain blocking streams on its own virtual
+ * thread. This class gives it those streams on top of a non-blocking
+ * SocketChannel served by an IoWorker's selector:
+ * - Input: the worker reads whatever arrives into a small inbox and wakes the
+ *   session. When the inbox is full the worker stops reading the socket until
+ *   the session catches up, so a client cannot flood the server
+ * - Output: the session writes into pooled direct buffers. On flush, once per
+ *   command, it writes to the socket straight away and only hands what the
+ *   socket did not take to the worker. A session that gets too far ahead of
+ *   a slow client waits until the worker has sent enough
+ * 
+ * The channel is closed once the session has closed its output and all of it
+ * was sent, or at once if the client disconnects or the socket fails.
+ * 
+ * All state is guarded by one lock shared by the session thread and the worker.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see IoWorker
+ * @see TcpFrontend
+ */
+final class TcpConnection {
+    
+    /** Bytes of input buffered before the worker stops reading */
+    private static final int INBOX_SIZE = 1024;
+    
+    /** Full output buffers queued before the session has to wait */
+    private static final int MAX_PENDING_BUFFERS = 16;
+    
+    /** The client's socket */
+    private final SocketChannel channel;
+    
+    /** The worker whose selector serves this connection */
+    private final IoWorker worker;
+    
+    /** Pool the output buffers and read buffers come from */
+    private final BufferPool pool;
+    
+    /** Guards every field below */
+    private final ReentrantLock lock;
+    
+    /** Signalled when input arrives or ends */
+    private final Condition readable;
+    
+    /** Signalled when queued output has been sent */
+    private final Condition writable;
+    
+    /** Input received but not yet read by the session */
+    private final byte[] inbox;
+    
+    /** Index of the first unread byte in inbox */
+    private int inboxStart;
+    
+    /** Number of unread bytes in inbox */
+    private int inboxLength;
+    
+    /** True once the client has sent its last byte or the session closed its input */
+    private boolean inputEnded;
+    
+    /** True while the worker has stopped reading because the inbox is full */
+    private boolean readPaused;
+    
+    /** Output buffers waiting to be sent, flipped for reading */
+    private final ArrayDeque<ByteBuffer> outbox;
+    
+    /** Buffer the session is currently writing into, or null */
+    private ByteBuffer current;
+    
+    /** True once the session has closed its output */
+    private boolean outputClosed;
+    
+    /** True once the channel is closed */
+    private boolean closed;
+    
+    /** True while the connection is queued for an interest update */
+    private final AtomicBoolean updateQueued;
+    
+    /** The channel's key in the worker's selector - selector thread only */
+    private SelectionKey key;
+    
+    /** Stream the session reads the client's commands from */
+    private final InputStream input;
+    
+    /** Stream the session writes its text to */
+    private final OutputStream output;
+    
+    /**
+     * Creates a new TcpConnection
+     * 
+     * @param channel the client's socket, already non-blocking
+     * @param worker the worker that will serve it
+     * @param pool pool for the connection's buffers
+     */
+    TcpConnection(SocketChannel channel, IoWorker worker, BufferPool pool) {
+        this.channel = channel;
+        this.worker = worker;
+        this.pool = pool;
+        this.lock = new ReentrantLock();
+        this.readable = this.lock.newCondition();
+        this.writable = this.lock.newCondition();
+        this.inbox = new byte[INBOX_SIZE];
+        this.outbox = new ArrayDeque<>();
+        this.updateQueued = new AtomicBoolean();
+        this.input = new Input();
+        this.output = new Output();
+    }
+    
+    /**
+     * Gets the stream the session reads commands from
+     * 
+     * @return the input stream
+     */
+    InputStream getInput() {
+        return this.input;
+    }
+    
+    /**
+     * Gets the stream the session writes text to
+     * 
+     * @return the output stream
+     */
+    OutputStream getOutput() {
+        return this.output;
+    }
+    
+    /**
+     * Registers the channel with a selector - selector thread only
+     * 
+     * @param selector the worker's selector
+     */
+    void register(Selector selector) {
+        this.lock.lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.key = this.channel.register(selector, 0, this);
+            applyInterest();
+        } catch (ClosedChannelException e) {
+            closeNow();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * Reads what the client sent into the inbox - selector thread only
+     */
+    void onReadable() {
+        this.lock.lock();
+        try {
+            if (this.inboxStart > 0 && this.inboxStart + this.inboxLength == this.inbox.length) {
+                System.arraycopy(this.inbox, this.inboxStart, this.inbox, 0, this.inboxLength);
+                this.inboxStart = 0;
+            }
+            int free = this.inbox.length - this.inboxStart - this.inboxLength;
+            if (free > 0) {
+                ByteBuffer buffer = this.pool.acquire();
+                try {
+                    buffer.limit(Math.min(free, buffer.capacity()));
+                    int read = this.channel.read(buffer);
+                    if (read < 0) {
+                        this.inputEnded = true;
+                    } else if (read > 0) {
+                        buffer.flip();
+                        buffer.get(this.inbox, this.inboxStart + this.inboxLength, read);
+                        this.inboxLength += read;
+                    }
+                } finally {
+                    this.pool.release(buffer);
+                }
+                this.readable.signalAll();
+            }
+            this.readPaused = !this.inputEnded && this.inboxStart + this.inboxLength == this.inbox.length;
+            applyInterest();
+        } catch (IOException e) {
+            closeNow();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * Sends queued output - selector thread only
+     */
+    void onWritable() {
+        this.lock.lock();
+        try {
+            drain();
+            applyInterest();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * Brings the selector interest up to date after the session changed state
+     * 
+     * Selector thread only, called for connections queued by requestUpdate.
+     */
+    void update() {
+        this.updateQueued.set(false);
+        this.lock.lock();
+        try {
+            applyInterest();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * Closes the connection at once, dropping unsent output
+     */
+    void close() {
+        this.lock.lock();
+        try {
+            closeNow();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+    
+    /**
+     * Sets which events the selector watches for - lock held, selector thread only
+     */
+    private void applyInterest() {
+        if (this.closed) {
+            return;
+        }
+        if (this.outputClosed && this.outbox.isEmpty()) {
+            closeNow();
+            return;
+        }
+        if (this.key == null || !this.key.isValid()) {
+            return;
+        }
+        int ops = 0;
+        if (!this.inputEnded && !this.readPaused) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (!this.outbox.isEmpty()) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        this.key.interestOps(ops);
+    }
+    
+    /**
+     * Asks the worker to call update() on its selector thread
+     */
+    private void requestUpdate() {
+        if (this.updateQueued.compareAndSet(false, true)) {
+            this.worker.queueUpdate(this);
+        }
+    }
+    
+    /**
+     * Writes queued output to the socket until it would block - lock held
+     */
+    private void drain() {
+        try {
+            while (!this.outbox.isEmpty()) {
+                ByteBuffer buffer = this.outbox.peekFirst();
+                this.channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    break;
+                }
+                this.pool.release(this.outbox.pollFirst());
+            }
+        } catch (IOException e) {
+            closeNow();
+        }
+        if (this.outbox.size() < MAX_PENDING_BUFFERS) {
+            this.writable.signalAll();
+        }
+    }
+    
+    /**
+     * Closes the channel and wakes the session - lock held
+     */
+    private void closeNow() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.inputEnded = true;
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            // The client is gone either way
+        }
+        while (!this.outbox.isEmpty()) {
+            this.pool.release(this.outbox.pollFirst());
+        }
+        this.pool.release(this.current);
+        this.current = null;
+        this.readable.signalAll();
+        this.writable.signalAll();
+        this.worker.connectionClosed();
+    }
+    
+    /**
+     * Input Class - The session's side of the inbox
+     */
+    private final class Input extends InputStream {
+        
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            lock.lock();
+            try {
+                while (inboxLength == 0 && !inputEnded) {
+                    readable.await();
+                }
+                if (inboxLength == 0) {
+                    return -1;
+                }
+                int count = Math.min(length, inboxLength);
+                System.arraycopy(inbox, inboxStart, bytes, offset, count);
+                inboxStart += count;
+                inboxLength -= count;
+                if (inboxLength == 0) {
+                    inboxStart = 0;
+                }
+                if (readPaused) {
+                    readPaused = false;
+                    requestUpdate();
+                }
+                return count;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for input");
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        public int available() {
+            lock.lock();
+            try {
+                return inboxLength;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                inputEnded = true;
+                readable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            requestUpdate();
+        }
+    }
+    
+    /**
+     * Output Class - The session's side of the outbox
+     */
+    private final class Output extends OutputStream {
+        
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            lock.lock();
+            try {
+                while (length > 0) {
+                    if (closed || outputClosed) {
+                        throw new IOException("Connection closed");
+                    }
+                    if (current == null) {
+                        current = pool.acquire();
+                    }
+                    int count = Math.min(length, current.remaining());
+                    current.put(bytes, offset, count);
+                    offset += count;
+                    length -= count;
+                    if (!current.hasRemaining()) {
+                        queueCurrent();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (current != null && current.position() > 0) {
+                    queueCurrent();
+                }
+                drain();
+                if (!outbox.isEmpty()) {
+                    requestUpdate();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            flush();
+            lock.lock();
+            try {
+                outputClosed = true;
+            } finally {
+                lock.unlock();
+            }
+            requestUpdate();
+        }
+        
+        /**
+         * Moves the buffer being written into the outbox - lock held
+         * 
+         * Waits while too much output is already queued for the client.
+         * 
+         * @throws IOException if interrupted or the connection closes while waiting
+         */
+        private void queueCurrent() throws IOException {
+            current.flip();
+            outbox.addLast(current);
+            current = null;
+            if (outbox.size() < MAX_PENDING_BUFFERS) {
+                return;
+            }
+            
+            drain();
+            try {
+                while (outbox.size() >= MAX_PENDING_BUFFERS && !closed) {
+                    requestUpdate();
+                    writable.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while sending output");
+            }
+            if (closed) {
+                throw new IOException("Connection closed");
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TcpFrontend Class - Lets remote players connect over plain TCP
+ * 
+ * Anyone can play with a line-based client such as netcat or telnet:
+ * nc localhost 4000
+ * 
+ * One acceptor thread accepts connections and deals them out round-robin to a
+ * small pool of IoWorker threads, each running a selector over its share of
+ * the sockets. Every connection gets its own GameSession in the SessionHost,
+ * which plays the normal menus on a virtual thread and reads and writes
+ * through a TcpConnection. Socket I/O goes through pooled direct buffers.
+ * 
+ * An idle player costs a registered selector key, a 1 KB inbox and a parked
+ * virtual thread - no OS thread - so tens of thousands of idle connections fit
+ * in one process.
+ * 
+ * Example:
+ * SessionHost host = new SessionHost();
+ * TcpFrontend frontend = new TcpFrontend(host, 4000);
+ * frontend.start();
+ * 
+ * Binding port 0 picks a free port, see getPort(), which makes the frontend
+ * easy to try out on localhost.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see SessionHost
+ * @see IoWorker
+ * @see TcpConnection
+ */
+public class TcpFrontend implements AutoCloseable {
+    
+    /** Size of every pooled network buffer */
+    public static final int BUFFER_SIZE = 8192;
+    
+    /** Most network buffers kept for reuse */
+    public static final int MAX_POOLED_BUFFERS = 1024;
+    
+    /** Connections the operating system queues before accept() */
+    private static final int BACKLOG = 1024;
+    
+    /** Pause after the first failed accept(), in milliseconds */
+    private static final long MIN_ACCEPT_BACKOFF_MILLIS = 5;
+    
+    /** Longest pause between failed accept() calls, in milliseconds */
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000;
+    
+    /** The host the sessions run in */
+    private final SessionHost host;
+    
+    /** Port to listen on, 0 for any free port */
+    private final int port;
+    
+    /** The selector threads, created on start */
+    private final IoWorker[] workers;
+    
+    /** Buffers shared by every connection */
+    private final BufferPool pool;
+    
+    /** Number of open connections */
+    private final AtomicInteger connectionCount;
+    
+    /** Number of connections accepted since the frontend started */
+    private final AtomicLong acceptedCount;
+    
+    /** The listening socket, null until started */
+    private ServerSocketChannel server;
+    
+    /** Thread accepting new connections */
+    private Thread acceptor;
+    
+    /**
+     * Creates a new TcpFrontend with one worker per two processors, up to four
+     * 
+     * @param host the host to run the sessions in - must not be null
+     * @param port the port to listen on, or 0 for any free port
+     * 
+     * @throws IllegalArgumentException if host is null or port is out of range
+     */
+    public TcpFrontend(SessionHost host, int port) {
+        this(host, port, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+    }
+    
+    /**
+     * Creates a new TcpFrontend
+     * 
+     * @param host the host to run the sessions in - must not be null
+     * @param port the port to listen on, or 0 for any free port
+     * @param workers number of selector threads - must be positive
+     * 
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public TcpFrontend(SessionHost host, int port, int workers) {
+        if (host == null) {
+            throw new IllegalArgumentException("Host cannot be null");
+        }
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Port out of range: " + port);
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Workers must be positive");
+        }
+        this.host = host;
+        this.port = port;
+        this.pool = new BufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+        this.connectionCount = new AtomicInteger();
+        this.acceptedCount = new AtomicLong();
+        this.workers = new IoWorker[workers];
+    }
+    
+    /**
+     * Binds the port and starts accepting players
+     * 
+     * @throws IOException if the port cannot be bound or a selector cannot be opened
+     * @throws IllegalStateException if the frontend was already started
+     */
+    public synchronized void start() throws IOException {
+        if (this.server != null) {
+            throw new IllegalStateException("Frontend already started");
+        }
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            channel.bind(new InetSocketAddress(this.port), BACKLOG);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.server = channel;
+        
+        for (int i = 0; i < this.workers.length; i++) {
+            this.workers[i] = new IoWorker(this.connectionCount);
+            Thread thread = new Thread(this.workers[i], "tok-io-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        this.acceptor = new Thread(this::acceptLoop, "tok-acceptor");
+        this.acceptor.start();
+    }
+    
+    /**
+     * Accepts connections until the listening socket is closed
+     * 
+     * A failing accept() (such as running out of file descriptors) is
+     * retried after a pause that doubles with every failure in a row, up to
+     * MAX_ACCEPT_BACKOFF_MILLIS, so the acceptor does not spin a core. Only
+     * the first failure of a run is reported.
+     */
+    private void acceptLoop() {
+        int next = 0;
+        long backoff = 0;
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = this.server.accept();
+                backoff = 0;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (backoff == 0) {
+                    System.out.println("Error accepting connection: " + e.getMessage());
+                }
+                backoff = Math.min(Math.max(backoff * 2, MIN_ACCEPT_BACKOFF_MILLIS), MAX_ACCEPT_BACKOFF_MILLIS);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                continue;
+            }
+            
+            TcpConnection connection = null;
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                IoWorker worker = this.workers[next];
+                next = (next + 1) % this.workers.length;
+                connection = new TcpConnection(channel, worker, this.pool);
+                worker.register(connection);
+                this.host.open(connection.getInput(), connection.getOutput());
+                this.acceptedCount.incrementAndGet();
+            } catch (IOException | RejectedExecutionException e) {
+                if (connection != null) {
+                    connection.close();
+                } else {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                        // Nothing left to clean up
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Gets the port the frontend listens on
+     * 
+     * @return the bound port, or the configured port if not started yet
+     */
+    public synchronized int getPort() {
+        if (this.server == null) {
+            return this.port;
+        }
+        try {
+            return ((InetSocketAddress) this.server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return this.port;
+        }
+    }
+    
+    /**
+     * Gets the number of open connections
+     * 
+     * @return connections whose socket is still open
+     */
+    public int getConnectionCount() {
+        return this.connectionCount.get();
+    }
+    
+    /**
+     * Gets the number of connections accepted so far
+     * 
+     * @return the total number of accepted connections
+     */
+    public long getAcceptedCount() {
+        return this.acceptedCount.get();
+    }
+    
+    /**
+     * Waits until the frontend is closed
+     * 
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void join() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = this.acceptor;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+    
+    /**
+     * Stops accepting players and closes every connection
+     * 
+     * The sessions see their input end and wind down in the SessionHost,
+     * which stays open.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (this.server != null) {
+                this.server.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Error closing frontend: " + e.getMessage());
+        }
+        for (IoWorker worker : this.workers) {
+            if (worker != null) {
+                worker.stop();
+            }
+        }
+    }
+}
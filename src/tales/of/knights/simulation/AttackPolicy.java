@@ -0,0 +1,47 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+
+/**
+ * AttackPolicy Class - Always attacks
+ * 
+ * The simplest battle policy: the hero attacks every turn and never uses
+ * items or tries to escape. Useful as a baseline for balance sweeps.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BattlePolicy
+ */
+public class AttackPolicy implements BattlePolicy {
+    
+    /**
+     * Always chooses to attack
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @param turn the current turn number
+     * @return always ATTACK
+     */
+    @Override
+    public BattleAction chooseAction(Hero hero, Monster enemy, int turn) {
+        return BattleAction.ATTACK;
+    }
+    
+    /**
+     * Never called, since this policy never uses items
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @return always 0
+     */
+    @Override
+    public int chooseItem(Hero hero, Monster enemy) {
+        return 0;
+    }
+}
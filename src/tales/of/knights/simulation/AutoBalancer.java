@@ -0,0 +1,482 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import tales.of.knights.characters.MonsterScaling;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.random.GameRandom;
+
+/**
+ * AutoBalancer Class - Genetic search for a monster curve that hits target win rates
+ * 
+ * Searches the MonsterScaling parameters (health and power curve, gold per
+ * challenge level and the New Game+ percentages) for a set that gives each
+ * chamber a target win rate. Fame has no effect on combat and is kept from
+ * the starting curve.
+ * 
+ * Every candidate is scored by playing whole runs with a RunSimulator, shop
+ * visits included, and summing the squared differences between each
+ * chamber's win rate and its target. With five targets only the classic
+ * chambers are played; with ten, a New Game+ pass follows and its
+ * percentages are searched as well.
+ * 
+ * Each generation keeps its best ELITES candidates, and the rest of the next
+ * generation is bred from tournament winners by uniform crossover and
+ * mutation. Scoring is split across a ForkJoinPool. All candidates of a
+ * generation are scored on the same seeded rolls, so they are ranked on
+ * equal terms, and a new seed each generation stops a lucky candidate from
+ * staying on top. A seeded search gives the same answer however the tasks
+ * are scheduled.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see RunSimulator
+ * @see BalanceResult
+ * @see MonsterScaling
+ */
+public class AutoBalancer {
+    
+    /** Default number of candidates per generation */
+    public static final int DEFAULT_POPULATION = 64;
+    
+    /** Default number of runs each candidate is scored on */
+    public static final int DEFAULT_RUNS = 2000;
+    
+    /** Default win rate targets: the five chambers, then New Game+ */
+    private static final double[] DEFAULT_TARGETS = {
+        0.99, 0.97, 0.93, 0.87, 0.75,
+        0.95, 0.90, 0.85, 0.75, 0.60
+    };
+    
+    /** Best candidates copied unchanged into the next generation */
+    private static final int ELITES = 4;
+    
+    /** Candidates drawn for each tournament selection */
+    private static final int TOURNAMENT = 3;
+    
+    /** Candidates scored by one task before it stops splitting */
+    private static final int CANDIDATES_PER_TASK = 2;
+    
+    /** Final results are measured on this many times the usual runs */
+    private static final int VERIFY_FACTOR = 10;
+    
+    /** Number of parameters that only matter for the classic chambers */
+    private static final int CLASSIC_GENES = 5;
+    
+    /** Lowest value of each gene: health base and per level, power base and per level, gold, NG+ health and power */
+    private static final int[] GENE_MIN = {1, 0, 1, 0, 0, 100, 100};
+    
+    /** Highest value of each gene */
+    private static final int[] GENE_MAX = {500, 200, 100, 40, 1000, 1000, 1000};
+    
+    /** Target win rate of each chamber */
+    private final double[] targets;
+    
+    /** Number of candidates per generation */
+    private final int populationSize;
+    
+    /** Number of runs each candidate is scored on */
+    private final int runs;
+    
+    /** Pool candidates are scored on */
+    private final ForkJoinPool pool;
+    
+    /** Number of genes searched - CLASSIC_GENES, or all with New Game+ */
+    private final int genes;
+    
+    /** Curve the first generation is bred from */
+    private MonsterScaling start;
+    
+    /** Seed for the next search */
+    private long seed;
+    
+    /** Output progress is reported to */
+    private GameOutput output;
+    
+    /**
+     * Creates a new AutoBalancer with the default targets for all ten chambers
+     */
+    public AutoBalancer() {
+        this(DEFAULT_TARGETS);
+    }
+    
+    /**
+     * Creates a new AutoBalancer on the common fork/join pool
+     * 
+     * @param targets win rate of each chamber - 5 values, or 10 to include New Game+
+     * 
+     * @throws IllegalArgumentException if targets has the wrong length or a rate outside 0.0-1.0
+     */
+    public AutoBalancer(double[] targets) {
+        this(targets, DEFAULT_POPULATION, DEFAULT_RUNS, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates a new AutoBalancer
+     * 
+     * @param targets win rate of each chamber - 5 values, or 10 to include New Game+
+     * @param populationSize candidates per generation - must be larger than the elites kept
+     * @param runs runs each candidate is scored on - must be positive
+     * @param pool the pool to score candidates on - must not be null
+     * 
+     * @throws IllegalArgumentException if an argument is out of range or null
+     */
+    public AutoBalancer(double[] targets, int populationSize, int runs, ForkJoinPool pool) {
+        if (targets == null || (targets.length != RunSimulator.CHAMBERS && targets.length != RunSimulator.CHAMBERS * 2)) {
+            throw new IllegalArgumentException("Targets must cover 5 or 10 chambers");
+        }
+        for (double target : targets) {
+            if (!(target >= 0.0 && target <= 1.0)) {
+                throw new IllegalArgumentException("Target win rates must be between 0.0 and 1.0");
+            }
+        }
+        if (populationSize <= ELITES) {
+            throw new IllegalArgumentException("Population must be larger than " + ELITES);
+        }
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Runs must be positive");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.targets = targets.clone();
+        this.populationSize = populationSize;
+        this.runs = runs;
+        this.pool = pool;
+        this.genes = targets.length > RunSimulator.CHAMBERS ? GENE_MIN.length : CLASSIC_GENES;
+        this.start = MonsterScaling.DEFAULT;
+        this.seed = System.nanoTime();
+        this.output = NullOutput.INSTANCE;
+    }
+    
+    /**
+     * Searches for the curves closest to the targets
+     * 
+     * The best candidates of the last generation are measured again on ten
+     * times as many fresh runs before they are returned.
+     * 
+     * @param generations number of generations to breed - must not be negative
+     * @param results number of distinct curves to return - must be positive
+     * @return the best curves found, closest to the targets first
+     * 
+     * @throws IllegalArgumentException if generations or results is out of range
+     */
+    public BalanceResult[] search(int generations, int results) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generations cannot be negative");
+        }
+        if (results <= 0) {
+            throw new IllegalArgumentException("Results must be positive");
+        }
+        
+        GameRandom random = new GameRandom(this.seed);
+        int[] origin = genesOf(this.start);
+        int[][] population = new int[this.populationSize][];
+        population[0] = origin;
+        for (int i = 1; i < population.length; i++) {
+            population[i] = origin.clone();
+            mutate(population[i], random);
+        }
+        
+        for (int generation = 0; generation < generations; generation++) {
+            double[] errors = errorsOf(evaluate(population, GameRandom.hash(this.seed, generation), this.runs));
+            Integer[] ranking = rank(errors);
+            if (this.output.isEnabled()) {
+                this.output.println("Generation " + (generation + 1) + "/" + generations
+                        + ": best error " + String.format("%.5f", errors[ranking[0]])
+                        + " | " + scalingOf(population[ranking[0]]));
+                this.output.flush();
+            }
+            population = breed(population, errors, ranking, random);
+        }
+        
+        return verify(population, results);
+    }
+    
+    /**
+     * Measures the final generation and picks its best distinct curves
+     * 
+     * @param population the final generation
+     * @param results number of distinct curves to return
+     * @return the best curves, measured on VERIFY_FACTOR times the usual runs
+     */
+    private BalanceResult[] verify(int[][] population, int results) {
+        double[] errors = errorsOf(evaluate(population, GameRandom.hash(this.seed, -1), this.runs));
+        Integer[] ranking = rank(errors);
+        
+        int[][] best = new int[Math.min(results, population.length)][];
+        int found = 0;
+        for (int i = 0; i < ranking.length && found < best.length; i++) {
+            int[] candidate = population[ranking[i]];
+            boolean duplicate = false;
+            for (int j = 0; j < found && !duplicate; j++) {
+                duplicate = Arrays.equals(best[j], candidate);
+            }
+            if (!duplicate) {
+                best[found++] = candidate;
+            }
+        }
+        best = Arrays.copyOf(best, found);
+        
+        RunReport[] reports = evaluate(best, GameRandom.hash(this.seed, -2), this.runs * VERIFY_FACTOR);
+        BalanceResult[] verified = new BalanceResult[found];
+        for (int i = 0; i < found; i++) {
+            verified[i] = new BalanceResult(scalingOf(best[i]), reports[i], errorOf(reports[i]));
+        }
+        Arrays.sort(verified, (a, b) -> Double.compare(a.getError(), b.getError()));
+        return verified;
+    }
+    
+    /**
+     * Breeds the next generation
+     * 
+     * @param population the current generation
+     * @param errors the error of each candidate
+     * @param ranking candidate indexes, best first
+     * @param random the generator for selection and mutation
+     * @return the next generation
+     */
+    private int[][] breed(int[][] population, double[] errors, Integer[] ranking, GameRandom random) {
+        int[][] next = new int[population.length][];
+        for (int i = 0; i < ELITES; i++) {
+            next[i] = population[ranking[i]];
+        }
+        for (int i = ELITES; i < next.length; i++) {
+            int[] first = population[select(errors, random)];
+            int[] second = population[select(errors, random)];
+            int[] child = new int[first.length];
+            for (int gene = 0; gene < child.length; gene++) {
+                child[gene] = random.nextBoolean() ? first[gene] : second[gene];
+            }
+            mutate(child, random);
+            next[i] = child;
+        }
+        return next;
+    }
+    
+    /**
+     * Picks a parent by tournament
+     * 
+     * @param errors the error of each candidate
+     * @param random the generator for the draw
+     * @return the index of the best of TOURNAMENT random candidates
+     */
+    private int select(double[] errors, GameRandom random) {
+        int winner = random.nextInt(errors.length);
+        for (int i = 1; i < TOURNAMENT; i++) {
+            int challenger = random.nextInt(errors.length);
+            if (errors[challenger] < errors[winner]) {
+                winner = challenger;
+            }
+        }
+        return winner;
+    }
+    
+    /**
+     * Mutates a candidate in place
+     * 
+     * Each searched gene changes with a chance of two in the gene count,
+     * half the time by a small step and half the time by a large one.
+     * 
+     * @param candidate the genes to mutate
+     * @param random the generator for the mutation
+     */
+    private void mutate(int[] candidate, GameRandom random) {
+        for (int gene = 0; gene < this.genes; gene++) {
+            if (random.nextInt(this.genes) >= 2) {
+                continue;
+            }
+            int span = GENE_MAX[gene] - GENE_MIN[gene];
+            int step = Math.max(1, random.nextBoolean() ? span / 100 : span / 10);
+            int value = candidate[gene] + random.nextIntBetween(-step, step);
+            candidate[gene] = Math.max(GENE_MIN[gene], Math.min(value, GENE_MAX[gene]));
+        }
+    }
+    
+    /**
+     * Scores candidates in parallel
+     * 
+     * @param population the candidates
+     * @param seed the seed every candidate's runs are played with
+     * @param runs number of runs per candidate
+     * @return the report of each candidate
+     */
+    private RunReport[] evaluate(int[][] population, long seed, int runs) {
+        MonsterScaling[] candidates = new MonsterScaling[population.length];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = scalingOf(population[i]);
+        }
+        RunReport[] reports = new RunReport[candidates.length];
+        this.pool.invoke(new EvaluateTask(candidates, reports, 0, candidates.length, seed, runs));
+        return reports;
+    }
+    
+    /**
+     * Computes how far a report is from the targets
+     * 
+     * @param report the report to score
+     * @return sum of squared differences between each chamber's win rate and its target
+     */
+    private double errorOf(RunReport report) {
+        double error = 0.0;
+        for (int chamber = 1; chamber <= this.targets.length; chamber++) {
+            double difference = report.getWinRate(chamber) - this.targets[chamber - 1];
+            error += difference * difference;
+        }
+        return error;
+    }
+    
+    /**
+     * Computes the error of every report
+     * 
+     * @param reports the reports to score
+     * @return the error of each report
+     */
+    private double[] errorsOf(RunReport[] reports) {
+        double[] errors = new double[reports.length];
+        for (int i = 0; i < reports.length; i++) {
+            errors[i] = errorOf(reports[i]);
+        }
+        return errors;
+    }
+    
+    /**
+     * Orders candidates by error
+     * 
+     * @param errors the error of each candidate
+     * @return candidate indexes, lowest error first
+     */
+    private static Integer[] rank(double[] errors) {
+        Integer[] ranking = new Integer[errors.length];
+        for (int i = 0; i < ranking.length; i++) {
+            ranking[i] = i;
+        }
+        Arrays.sort(ranking, (a, b) -> Double.compare(errors[a], errors[b]));
+        return ranking;
+    }
+    
+    /**
+     * Turns a curve into genes
+     * 
+     * @param scaling the curve
+     * @return its searched parameters, clamped into the search range
+     */
+    private static int[] genesOf(MonsterScaling scaling) {
+        int[] values = {
+            scaling.getHealthBase(), scaling.getHealthPerLevel(),
+            scaling.getPowerBase(), scaling.getPowerPerLevel(),
+            scaling.getGoldPerChallenge(),
+            scaling.getNewGamePlusHealthPercent(), scaling.getNewGamePlusPowerPercent()
+        };
+        for (int gene = 0; gene < values.length; gene++) {
+            values[gene] = Math.max(GENE_MIN[gene], Math.min(values[gene], GENE_MAX[gene]));
+        }
+        return values;
+    }
+    
+    /**
+     * Turns genes back into a curve
+     * 
+     * @param genes the searched parameters
+     * @return the curve, with the starting curve's fame
+     */
+    private MonsterScaling scalingOf(int[] genes) {
+        return new MonsterScaling(genes[0], genes[1], genes[2], genes[3], genes[4],
+                this.start.getFamePerChallenge(), genes[5], genes[6]);
+    }
+    
+    /**
+     * Sets the curve the first generation is bred from
+     * 
+     * @param start the starting curve, or null for MonsterScaling.DEFAULT
+     */
+    public void setStart(MonsterScaling start) {
+        this.start = start != null ? start : MonsterScaling.DEFAULT;
+    }
+    
+    /**
+     * Sets the seed used by the following searches
+     * 
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Sets the output the best candidate of each generation is reported to
+     * 
+     * @param output the output to use, or null to search silently
+     */
+    public void setOutput(GameOutput output) {
+        this.output = output != null ? output : NullOutput.INSTANCE;
+    }
+    
+    /**
+     * EvaluateTask Class - Scores a range of candidates, splitting it across workers
+     */
+    private final class EvaluateTask extends RecursiveAction {
+        
+        /** Tasks are never serialized, but RecursiveAction is Serializable */
+        private static final long serialVersionUID = 1L;
+        
+        /** All candidates */
+        private final transient MonsterScaling[] candidates;
+        
+        /** Where each candidate's report is stored */
+        private final transient RunReport[] reports;
+        
+        /** First candidate of this task */
+        private final int from;
+        
+        /** One past the last candidate of this task */
+        private final int to;
+        
+        /** Seed every candidate's runs are played with */
+        private final long seed;
+        
+        /** Number of runs per candidate */
+        private final int runs;
+        
+        /**
+         * Creates a new EvaluateTask
+         * 
+         * @param candidates all candidates
+         * @param reports where each candidate's report is stored
+         * @param from first candidate of this task
+         * @param to one past the last candidate of this task
+         * @param seed seed every candidate's runs are played with
+         * @param runs number of runs per candidate
+         */
+        EvaluateTask(MonsterScaling[] candidates, RunReport[] reports, int from, int to, long seed, int runs) {
+            this.candidates = candidates;
+            this.reports = reports;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.runs = runs;
+        }
+        
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= CANDIDATES_PER_TASK) {
+                RunSimulator simulator = new RunSimulator(AutoBalancer.this.genes > CLASSIC_GENES);
+                for (int i = this.from; i < this.to; i++) {
+                    this.reports[i] = simulator.run(this.candidates[i], new GameRandom(this.seed), this.runs);
+                }
+                return;
+            }
+            
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new EvaluateTask(this.candidates, this.reports, this.from, middle, this.seed, this.runs),
+                      new EvaluateTask(this.candidates, this.reports, middle, this.to, this.seed, this.runs));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.characters.MonsterScaling;
+
+/**
+ * BalanceResult Class - One monster curve found by the AutoBalancer
+ * 
+ * Pairs the curve with the runs it was measured on and how far their
+ * per-chamber win rates are from the targets.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see AutoBalancer
+ */
+public class BalanceResult {
+    
+    /** The monster curve */
+    private final MonsterScaling scaling;
+    
+    /** Results of the runs played with the curve */
+    private final RunReport report;
+    
+    /** Sum of squared differences between the win rates and the targets */
+    private final double error;
+    
+    /**
+     * Creates a new BalanceResult
+     * 
+     * @param scaling the monster curve
+     * @param report results of the runs played with the curve
+     * @param error sum of squared differences between the win rates and the targets
+     */
+    public BalanceResult(MonsterScaling scaling, RunReport report, double error) {
+        this.scaling = scaling;
+        this.report = report;
+        this.error = error;
+    }
+    
+    /**
+     * Gets the monster curve
+     * 
+     * @return the scaling parameters
+     */
+    public MonsterScaling getScaling() {
+        return this.scaling;
+    }
+    
+    /**
+     * Gets the results of the runs played with the curve
+     * 
+     * @return the run report
+     */
+    public RunReport getReport() {
+        return this.report;
+    }
+    
+    /**
+     * Gets how far the curve is from the targets
+     * 
+     * @return sum of squared win rate differences - 0.0 is a perfect match
+     */
+    public double getError() {
+        return this.error;
+    }
+    
+    /**
+     * Describes the curve and its win rates on one line
+     * 
+     * @return the scaling, the win rate per chamber and the error
+     */
+    @Override
+    public String toString() {
+        return this.scaling + " | " + this.report + " | error " + String.format("%.5f", this.error);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+/**
+ * BattleAction Enum - Actions a hero can take during one combat turn
+ * 
+ * Mirrors the options of the interactive battle menu in TalesofKnights.
+ * "Analyze Enemy" is left out because it does not change the state of the fight.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BattlePolicy
+ * @see BattleSimulator
+ */
+public enum BattleAction {
+    
+    /** Attack the enemy with the hero's power and equipped weapon */
+    ATTACK,
+    
+    /** Use a consumable item from the hero's inventory */
+    USE_ITEM,
+    
+    /** Try to flee from the battle (30% chance) */
+    ESCAPE
+}
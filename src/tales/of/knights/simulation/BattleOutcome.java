@@ -0,0 +1,29 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Enum.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+/**
+ * BattleOutcome Enum - How a simulated battle ended
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BattleSimulator
+ * @see BattleReport
+ */
+public enum BattleOutcome {
+    
+    /** The monster was defeated */
+    VICTORY,
+    
+    /** The hero was defeated */
+    DEFEAT,
+    
+    /** The hero escaped from the battle */
+    ESCAPED,
+    
+    /** Neither side won before the simulator's turn limit was reached */
+    TURN_LIMIT
+}
@@ -0,0 +1,48 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+
+/**
+ * BattlePolicy Interface - Decides what the hero does on each simulated turn
+ * 
+ * A policy takes the place of the player at the battle menu. The BattleSimulator
+ * asks the policy for an action every turn and, when the policy chooses to use an
+ * item, asks which inventory slot to use.
+ * 
+ * Policies must not block or read input - they are called in a tight loop.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BattleSimulator
+ * @see AttackPolicy
+ * @see HealingPolicy
+ */
+public interface BattlePolicy {
+    
+    /**
+     * Chooses the hero's action for the current turn
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @param turn the current turn number, starting at 1
+     * @return the action to perform this turn. Never null.
+     */
+    BattleAction chooseAction(Hero hero, Monster enemy, int turn);
+    
+    /**
+     * Chooses which inventory item to use
+     * 
+     * Only called after chooseAction returned USE_ITEM.
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @return the index of the item in the hero's ItemBag
+     */
+    int chooseItem(Hero hero, Monster enemy);
+}
@@ -0,0 +1,134 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+/**
+ * BattleReport Class - Aggregated results of many simulated battles
+ * 
+ * Counts how each battle ended and accumulates turns and remaining hero health,
+ * so a batch of any size is summarised in a handful of fields.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BattleSimulator
+ * @see BattleOutcome
+ */
+public class BattleReport {
+    
+    /** Number of battles per outcome, indexed by BattleOutcome.ordinal() */
+    private final long[] outcomes;
+    
+    /** Total turns played across all battles */
+    private long totalTurns;
+    
+    /** Total hero health left at the end of all won battles */
+    private long totalHealthOnVictory;
+    
+    /**
+     * Creates a new, empty BattleReport
+     */
+    public BattleReport() {
+        this.outcomes = new long[BattleOutcome.values().length];
+    }
+    
+    /**
+     * Records the result of one battle
+     * 
+     * @param outcome how the battle ended
+     * @param turns how many turns the battle lasted
+     * @param heroHealth the hero's health when the battle ended
+     */
+    public void record(BattleOutcome outcome, int turns, int heroHealth) {
+        this.outcomes[outcome.ordinal()]++;
+        this.totalTurns += turns;
+        if (outcome == BattleOutcome.VICTORY) {
+            this.totalHealthOnVictory += heroHealth;
+        }
+    }
+    
+    /**
+     * Adds all results of another report to this one
+     * 
+     * @param other the report to merge in - must not be null
+     */
+    public void merge(BattleReport other) {
+        for (int i = 0; i < this.outcomes.length; i++) {
+            this.outcomes[i] += other.outcomes[i];
+        }
+        this.totalTurns += other.totalTurns;
+        this.totalHealthOnVictory += other.totalHealthOnVictory;
+    }
+    
+    /**
+     * Gets the number of battles that ended with a given outcome
+     * 
+     * @param outcome the outcome to count
+     * @return the number of battles with that outcome
+     */
+    public long getCount(BattleOutcome outcome) {
+        return this.outcomes[outcome.ordinal()];
+    }
+    
+    /**
+     * Gets the total number of battles recorded
+     * 
+     * @return the number of battles
+     */
+    public long getBattles() {
+        long total = 0;
+        for (long count : this.outcomes) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Gets the fraction of battles the hero won
+     * 
+     * @return win rate between 0.0 and 1.0, or 0.0 if no battles were recorded
+     */
+    public double getWinRate() {
+        long battles = getBattles();
+        return battles > 0 ? (double) getCount(BattleOutcome.VICTORY) / battles : 0.0;
+    }
+    
+    /**
+     * Gets the average length of a battle
+     * 
+     * @return the average number of turns, or 0.0 if no battles were recorded
+     */
+    public double getAverageTurns() {
+        long battles = getBattles();
+        return battles > 0 ? (double) this.totalTurns / battles : 0.0;
+    }
+    
+    /**
+     * Gets the average health the hero had left after a victory
+     * 
+     * @return the average remaining health, or 0.0 if the hero never won
+     */
+    public double getAverageHealthOnVictory() {
+        long victories = getCount(BattleOutcome.VICTORY);
+        return victories > 0 ? (double) this.totalHealthOnVictory / victories : 0.0;
+    }
+    
+    /**
+     * Displays the report
+     * 
+     * Shows the number of battles, each outcome, the win rate and average turns.
+     */
+    public void display() {
+        System.out.println("\n========== BATTLE REPORT ==========");
+        System.out.println("Battles: " + getBattles());
+        for (BattleOutcome outcome : BattleOutcome.values()) {
+            System.out.println(outcome + ": " + getCount(outcome));
+        }
+        System.out.printf("Win rate: %.2f%%%n", getWinRate() * 100);
+        System.out.printf("Average turns: %.2f%n", getAverageTurns());
+        System.out.printf("Average health on victory: %.2f%n", getAverageHealthOnVictory());
+        System.out.println("===================================\n");
+    }
+}
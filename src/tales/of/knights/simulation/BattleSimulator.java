@@ -0,0 +1,352 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import java.util.function.Supplier;
+import tales.of.knights.characters.CombatStats;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.effects.EffectContext;
+import tales.of.knights.effects.EffectWheel;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.random.GameRandom;
+
+/**
+ * BattleSimulator Class - Headless combat engine
+ * 
+ * Resolves whole fights between a Hero and a Monster without any menus or input.
+ * A BattlePolicy takes the place of the player and picks an action every turn.
+ * 
+ * The turn rules are the same as TalesofKnights.battle():
+ * - Attack: hero.attack() hits the monster through monster.takeDamage(),
+ *   then the monster strikes back if it is still alive
+ * - Use Item: hero.useItem() is called, then the monster strikes back if alive
+ * - Escape: hero.escape() is tried, and the monster strikes back on failure
+ * - Every full turn ends on the simulator's own EffectWheel, and the status
+ *   effects of both fighters end with the battle
+ * 
+ * A turn limit protects batch runs from fights that can never end.
+ * 
+ * Battles run silently: the simulator binds a NullOutput while it fights, so
+ * none of the combat messages are even built. Use setOutput() to watch a fight.
+ * 
+ * Monster rolls and escape attempts are drawn from the simulator's own
+ * GameRandom. Give it a seeded one with setRandom() to replay a batch exactly.
+ * 
+ * For plain attack-every-turn fights there is a faster path: duel() and
+ * runDuels() fight on validated CombatStats instead of objects. They follow
+ * the same rules and draw the same rolls as fight() with an AttackPolicy, but
+ * touch no getters, print nothing and allocate nothing.
+ * 
+ * A simulator keeps per-battle state and is not thread safe - use one simulator
+ * per thread.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BattlePolicy
+ * @see BattleReport
+ */
+public class BattleSimulator {
+    
+    /** Default maximum number of turns before a battle is stopped */
+    public static final int DEFAULT_MAX_TURNS = 1000;
+    
+    /** The policy that decides the hero's actions */
+    private final BattlePolicy policy;
+    
+    /** Maximum number of turns per battle */
+    private final int maxTurns;
+    
+    /** Number of turns the last battle lasted */
+    private int lastTurns;
+    
+    /** Hero health left after the last duel */
+    private int lastHealth;
+    
+    /** Output the combat messages are sent to while fighting */
+    private GameOutput output;
+    
+    /** Generator for monster damage rolls and escape attempts */
+    private GameRandom random;
+    
+    /** Turn clock of the status effects applied while fighting */
+    private final EffectWheel effects = new EffectWheel();
+    
+    /**
+     * Creates a new BattleSimulator with the default turn limit
+     * 
+     * @param policy the policy that decides the hero's actions - must not be null
+     * 
+     * @throws IllegalArgumentException if policy is null
+     */
+    public BattleSimulator(BattlePolicy policy) {
+        this(policy, DEFAULT_MAX_TURNS);
+    }
+    
+    /**
+     * Creates a new BattleSimulator
+     * 
+     * @param policy the policy that decides the hero's actions - must not be null
+     * @param maxTurns maximum number of turns per battle - must be positive
+     * 
+     * @throws IllegalArgumentException if policy is null or maxTurns is not positive
+     */
+    public BattleSimulator(BattlePolicy policy, int maxTurns) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("Max turns must be positive");
+        }
+        this.policy = policy;
+        this.maxTurns = maxTurns;
+        this.output = NullOutput.INSTANCE;
+        this.random = new GameRandom();
+    }
+    
+    /**
+     * Fights one battle to the end
+     * 
+     * The hero and monster are modified in place, exactly as in an interactive battle.
+     * No rewards are handed out - that stays the job of the caller.
+     * 
+     * @param hero the hero - must not be null
+     * @param enemy the monster - must not be null
+     * @return how the battle ended
+     * 
+     * @throws IllegalArgumentException if hero or enemy is null
+     */
+    public BattleOutcome fight(Hero hero, Monster enemy) {
+        if (hero == null || enemy == null) {
+            throw new IllegalArgumentException("Hero and enemy cannot be null");
+        }
+        
+        GameOutput previous = OutputContext.bind(this.output);
+        try {
+            return resolve(hero, enemy);
+        } finally {
+            OutputContext.bind(previous);
+        }
+    }
+    
+    /**
+     * Plays one battle with the simulator's output already bound
+     * 
+     * @param hero the hero
+     * @param enemy the monster
+     * @return how the battle ended
+     */
+    private BattleOutcome resolve(Hero hero, Monster enemy) {
+        EffectWheel previous = EffectContext.bind(this.effects);
+        try {
+            return playTurns(hero, enemy);
+        } finally {
+            hero.clearEffects();
+            enemy.clearEffects();
+            EffectContext.bind(previous);
+        }
+    }
+    
+    /**
+     * Plays the turns of one battle
+     * 
+     * @param hero the hero
+     * @param enemy the monster
+     * @return how the battle ended
+     */
+    private BattleOutcome playTurns(Hero hero, Monster enemy) {
+        int turn = 0;
+        while (hero.isAlive() && enemy.isAlive()) {
+            if (turn == this.maxTurns) {
+                this.lastTurns = turn;
+                return BattleOutcome.TURN_LIMIT;
+            }
+            turn++;
+            
+            switch (this.policy.chooseAction(hero, enemy, turn)) {
+                case ATTACK -> enemy.takeDamage(hero.attack());
+                case USE_ITEM -> hero.useItem(this.policy.chooseItem(hero, enemy));
+                case ESCAPE -> {
+                    if (hero.escape(this.random)) {
+                        this.lastTurns = turn;
+                        return BattleOutcome.ESCAPED;
+                    }
+                }
+            }
+            
+            if (enemy.isAlive()) {
+                hero.takeDamage(enemy.attack(this.random));
+            }
+            this.effects.advance();
+        }
+        
+        this.lastTurns = turn;
+        return enemy.isAlive() ? BattleOutcome.DEFEAT : BattleOutcome.VICTORY;
+    }
+    
+    /**
+     * Fights many independent battles and summarises the results
+     * 
+     * A fresh hero and monster are taken from the suppliers for every battle.
+     * 
+     * @param heroes supplies a new hero for each battle - must not be null
+     * @param monsters supplies a new monster for each battle - must not be null
+     * @param battles number of battles to fight - must not be negative
+     * @return a report with the results of all battles
+     * 
+     * @throws IllegalArgumentException if a supplier is null or battles is negative
+     */
+    public BattleReport runBatch(Supplier<Hero> heroes, Supplier<Monster> monsters, int battles) {
+        if (heroes == null || monsters == null) {
+            throw new IllegalArgumentException("Suppliers cannot be null");
+        }
+        if (battles < 0) {
+            throw new IllegalArgumentException("Battles cannot be negative");
+        }
+        
+        BattleReport report = new BattleReport();
+        GameOutput previous = OutputContext.bind(this.output);
+        try {
+            for (int i = 0; i < battles; i++) {
+                Hero hero = heroes.get();
+                BattleOutcome outcome = resolve(hero, monsters.get());
+                report.record(outcome, this.lastTurns, hero.getHealth());
+            }
+        } finally {
+            OutputContext.bind(previous);
+        }
+        return report;
+    }
+    
+    /**
+     * Fights one battle on combat stats, the hero attacking every turn
+     * 
+     * The stats are not changed; the hero's remaining health is available
+     * from getLastHealth() afterwards. The policy is not consulted.
+     * 
+     * @param hero the hero's stats - must not be null
+     * @param enemy the monster's stats - must not be null
+     * @return VICTORY, DEFEAT or TURN_LIMIT
+     * 
+     * @throws IllegalArgumentException if hero or enemy is null
+     */
+    public BattleOutcome duel(CombatStats hero, CombatStats enemy) {
+        if (hero == null || enemy == null) {
+            throw new IllegalArgumentException("Hero and enemy stats cannot be null");
+        }
+        return resolve(hero, enemy);
+    }
+    
+    /**
+     * Plays the turns of one duel
+     * 
+     * @param hero the hero's stats
+     * @param enemy the monster's stats
+     * @return how the duel ended
+     */
+    private BattleOutcome resolve(CombatStats hero, CombatStats enemy) {
+        int heroHealth = hero.getHealth();
+        int enemyHealth = enemy.getHealth();
+        int turn = 0;
+        BattleOutcome outcome;
+        while (true) {
+            if (heroHealth <= 0) {
+                outcome = BattleOutcome.DEFEAT;
+                break;
+            }
+            if (enemyHealth <= 0) {
+                outcome = BattleOutcome.VICTORY;
+                break;
+            }
+            if (turn == this.maxTurns) {
+                outcome = BattleOutcome.TURN_LIMIT;
+                break;
+            }
+            turn++;
+            
+            enemyHealth -= enemy.reduce(hero.rollAttack(this.random));
+            if (enemyHealth > 0) {
+                heroHealth -= hero.reduce(enemy.rollAttack(this.random));
+            }
+        }
+        this.lastTurns = turn;
+        this.lastHealth = Math.max(0, heroHealth);
+        return outcome;
+    }
+    
+    /**
+     * Fights many duels between the same stats and summarises the results
+     * 
+     * @param hero the hero's stats - must not be null
+     * @param enemy the monster's stats - must not be null
+     * @param battles number of duels to fight - must not be negative
+     * @return a report with the results of all duels
+     * 
+     * @throws IllegalArgumentException if stats are null or battles is negative
+     */
+    public BattleReport runDuels(CombatStats hero, CombatStats enemy, int battles) {
+        if (hero == null || enemy == null) {
+            throw new IllegalArgumentException("Hero and enemy stats cannot be null");
+        }
+        if (battles < 0) {
+            throw new IllegalArgumentException("Battles cannot be negative");
+        }
+        
+        BattleReport report = new BattleReport();
+        for (int i = 0; i < battles; i++) {
+            BattleOutcome outcome = resolve(hero, enemy);
+            report.record(outcome, this.lastTurns, this.lastHealth);
+        }
+        return report;
+    }
+    
+    /**
+     * Gets the hero health left after the last duel
+     * 
+     * @return health remaining after the most recent call to duel() or runDuels()
+     */
+    public int getLastHealth() {
+        return this.lastHealth;
+    }
+    
+    /**
+     * Gets the number of turns the last battle lasted
+     * 
+     * @return turns played in the most recent call to fight()
+     */
+    public int getLastTurns() {
+        return this.lastTurns;
+    }
+    
+    /**
+     * Sets the output combat messages are sent to
+     * 
+     * @param output the output to use, or null to fight silently again
+     */
+    public void setOutput(GameOutput output) {
+        this.output = output != null ? output : NullOutput.INSTANCE;
+    }
+    
+    /**
+     * Sets the generator monster rolls and escape attempts are drawn from
+     * 
+     * @param random the generator to use, or null for a fresh unseeded one
+     */
+    public void setRandom(GameRandom random) {
+        this.random = random != null ? random : new GameRandom();
+    }
+    
+    /**
+     * Gets the policy used by this simulator
+     * 
+     * @return the battle policy
+     */
+    public BattlePolicy getPolicy() {
+        return this.policy;
+    }
+}
@@ -0,0 +1,480 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import java.util.Arrays;
+import tales.of.knights.characters.Fighter;
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.items.Armor;
+import tales.of.knights.items.Weapon;
+import tales.of.knights.random.GameRandom;
+
+/**
+ * CombatArena Class - Large battles stored as plain arrays
+ * 
+ * Instead of one Hero or Monster object per combatant, the arena keeps every
+ * stat in its own int array (structure of arrays). Combatant i is simply
+ * index i in every array, so a tick over thousands of fighters walks a few
+ * flat arrays instead of chasing Character, Weapon and Armor objects.
+ * 
+ * The damage rules are the same as the object model:
+ * - Heroes deal power + weapon damage, minimum 1 (Fighter.attack)
+ * - Monsters roll between power - 3 (minimum 1) and power + 3 (Monster.attack)
+ * - Armor reduces incoming damage, but at least 1 always gets through (Fighter.takeDamage)
+ * 
+ * There are two teams, TEAM_HEROES and TEAM_MONSTERS. Each team keeps a dense
+ * list of its living members, so picking a random target and removing the
+ * dead are both O(1).
+ * 
+ * Fighters are copied in with addHero/addMonster and copied back out with
+ * writeBack, toHero or toMonster. All randomness comes from one shared
+ * generator, so an arena built from a seed replays identically.
+ * 
+ * Not thread safe - use one arena per thread.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see Fighter
+ * @see BattleSimulator
+ */
+public class CombatArena {
+    
+    /** Team index of the heroes */
+    public static final int TEAM_HEROES = 0;
+    
+    /** Team index of the monsters */
+    public static final int TEAM_MONSTERS = 1;
+    
+    /** Returned by runUntilDecided when neither team was wiped out */
+    public static final int UNDECIDED = -1;
+    
+    /** Default starting capacity */
+    private static final int DEFAULT_CAPACITY = 64;
+    
+    /** Current health of each combatant */
+    private int[] health;
+    
+    /** Maximum health of each combatant */
+    private int[] maxHealth;
+    
+    /** Power of each combatant */
+    private int[] power;
+    
+    /** Damage of each combatant's weapon (0 if none) */
+    private int[] weaponDamage;
+    
+    /** Protection of each combatant's armor (0 if none) */
+    private int[] armorProtection;
+    
+    /** Challenge level of each monster (0 for heroes) */
+    private int[] challenge;
+    
+    /** Team of each combatant */
+    private byte[] team;
+    
+    /** Current target of each combatant, or -1 if none */
+    private int[] target;
+    
+    /** Name of each combatant - only read when converting back to objects */
+    private String[] names;
+    
+    /** Living members of each team, packed at the front of the array */
+    private final int[][] alive;
+    
+    /** Number of living members of each team */
+    private final int[] aliveCount;
+    
+    /** Position of each combatant in its team's alive list, or -1 if dead */
+    private int[] alivePosition;
+    
+    /** Number of combatants in the arena */
+    private int size;
+    
+    /** Number of ticks resolved so far */
+    private long ticks;
+    
+    /** Shared random number generator for monster rolls and targeting */
+    private final GameRandom random;
+    
+    /**
+     * Creates a new, empty CombatArena with a random seed
+     */
+    public CombatArena() {
+        this(new GameRandom());
+    }
+    
+    /**
+     * Creates a new, empty CombatArena that replays identically for the same seed
+     * 
+     * @param seed the seed for all random rolls in this arena
+     */
+    public CombatArena(long seed) {
+        this(new GameRandom(seed));
+    }
+    
+    /**
+     * Creates a new, empty CombatArena
+     * 
+     * @param random the generator for all random rolls in this arena
+     */
+    public CombatArena(GameRandom random) {
+        this.random = random;
+        this.health = new int[DEFAULT_CAPACITY];
+        this.maxHealth = new int[DEFAULT_CAPACITY];
+        this.power = new int[DEFAULT_CAPACITY];
+        this.weaponDamage = new int[DEFAULT_CAPACITY];
+        this.armorProtection = new int[DEFAULT_CAPACITY];
+        this.challenge = new int[DEFAULT_CAPACITY];
+        this.team = new byte[DEFAULT_CAPACITY];
+        this.target = new int[DEFAULT_CAPACITY];
+        this.names = new String[DEFAULT_CAPACITY];
+        this.alivePosition = new int[DEFAULT_CAPACITY];
+        this.alive = new int[][] {new int[DEFAULT_CAPACITY], new int[DEFAULT_CAPACITY]};
+        this.aliveCount = new int[2];
+    }
+    
+    /**
+     * Adds a combatant with explicit stats
+     * 
+     * Challenge level 0 marks a hero (fixed damage); 1 or higher marks a
+     * monster (random damage roll around its power).
+     * 
+     * @param team TEAM_HEROES or TEAM_MONSTERS
+     * @param name the combatant's name - must not be null
+     * @param health current health - must not be negative
+     * @param maxHealth maximum health - must be positive
+     * @param power attack power - must be positive
+     * @param weaponDamage weapon damage bonus - must not be negative
+     * @param armorProtection armor protection - must not be negative
+     * @param challenge 0 for a hero, or the monster's challenge level
+     * @return the index of the new combatant
+     * 
+     * @throws IllegalArgumentException if any value is invalid
+     */
+    public int add(int team, String name, int health, int maxHealth, int power,
+                   int weaponDamage, int armorProtection, int challenge) {
+        if (team != TEAM_HEROES && team != TEAM_MONSTERS) {
+            throw new IllegalArgumentException("Unknown team: " + team);
+        }
+        if (name == null) {
+            throw new IllegalArgumentException("Name cannot be null");
+        }
+        if (maxHealth <= 0 || health < 0 || power <= 0) {
+            throw new IllegalArgumentException("Health and power must be positive");
+        }
+        if (weaponDamage < 0 || armorProtection < 0 || challenge < 0) {
+            throw new IllegalArgumentException("Equipment and challenge cannot be negative");
+        }
+        
+        if (this.size == this.health.length) {
+            grow();
+        }
+        
+        int index = this.size++;
+        this.health[index] = Math.min(health, maxHealth);
+        this.maxHealth[index] = maxHealth;
+        this.power[index] = power;
+        this.weaponDamage[index] = weaponDamage;
+        this.armorProtection[index] = armorProtection;
+        this.challenge[index] = challenge;
+        this.team[index] = (byte) team;
+        this.target[index] = -1;
+        this.names[index] = name;
+        this.alivePosition[index] = -1;
+        
+        if (this.health[index] > 0) {
+            int position = this.aliveCount[team]++;
+            this.alive[team][position] = index;
+            this.alivePosition[index] = position;
+        }
+        return index;
+    }
+    
+    /**
+     * Copies a hero into the arena on TEAM_HEROES
+     * 
+     * @param hero the hero to copy - must not be null
+     * @return the index of the new combatant
+     */
+    public int addHero(Hero hero) {
+        return addFighter(TEAM_HEROES, hero, 0);
+    }
+    
+    /**
+     * Copies a monster into the arena on TEAM_MONSTERS
+     * 
+     * @param monster the monster to copy - must not be null
+     * @return the index of the new combatant
+     */
+    public int addMonster(Monster monster) {
+        return addFighter(TEAM_MONSTERS, monster, monster.getChallenge());
+    }
+    
+    /**
+     * Copies any fighter into the arena
+     * 
+     * @param team the team to join
+     * @param fighter the fighter to copy
+     * @param challenge 0 for fixed damage, otherwise the monster's challenge level
+     * @return the index of the new combatant
+     */
+    private int addFighter(int team, Fighter fighter, int challenge) {
+        Weapon weapon = fighter.getWeapon();
+        Armor armor = fighter.getArmor();
+        return add(team, fighter.getName(), fighter.getHealth(), fighter.getMaxHealth(), fighter.getPower(),
+                weapon != null ? weapon.getDamage() : 0,
+                armor != null ? armor.getProtection() : 0,
+                challenge);
+    }
+    
+    /**
+     * Resolves one tick of combat
+     * 
+     * Every living combatant, in index order, attacks its target. A combatant
+     * whose target has died picks a new random living enemy first. Combatants
+     * killed earlier in the tick do not attack.
+     * 
+     * @return the number of attacks made during the tick
+     */
+    public int tick() {
+        int attacks = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (this.health[i] <= 0) {
+                continue;
+            }
+            int enemyTeam = this.team[i] ^ 1;
+            if (this.aliveCount[enemyTeam] == 0) {
+                break;
+            }
+            
+            int victim = this.target[i];
+            if (victim < 0 || this.health[victim] <= 0) {
+                victim = this.alive[enemyTeam][this.random.nextInt(this.aliveCount[enemyTeam])];
+                this.target[i] = victim;
+            }
+            
+            strike(i, victim);
+            attacks++;
+        }
+        this.ticks++;
+        return attacks;
+    }
+    
+    /**
+     * Ticks until one team is wiped out or the tick limit is reached
+     * 
+     * @param maxTicks the maximum number of ticks to resolve
+     * @return the winning team, or UNDECIDED if both teams still stand
+     */
+    public int runUntilDecided(int maxTicks) {
+        for (int t = 0; t < maxTicks; t++) {
+            if (this.aliveCount[TEAM_HEROES] == 0) {
+                return TEAM_MONSTERS;
+            }
+            if (this.aliveCount[TEAM_MONSTERS] == 0) {
+                return TEAM_HEROES;
+            }
+            tick();
+        }
+        if (this.aliveCount[TEAM_HEROES] == 0) {
+            return TEAM_MONSTERS;
+        }
+        return this.aliveCount[TEAM_MONSTERS] == 0 ? TEAM_HEROES : UNDECIDED;
+    }
+    
+    /**
+     * One combatant attacks another
+     * 
+     * @param attacker index of the attacker
+     * @param victim index of the victim
+     */
+    private void strike(int attacker, int victim) {
+        int damage;
+        if (this.challenge[attacker] > 0) {
+            int minDamage = Math.max(1, this.power[attacker] - 3);
+            int maxDamage = (int) Math.min(this.power[attacker] + 3L, Integer.MAX_VALUE - 1);
+            damage = this.random.nextIntBetween(minDamage, maxDamage);
+        } else {
+            damage = (int) Math.min((long) this.power[attacker] + this.weaponDamage[attacker], Integer.MAX_VALUE);
+            if (damage <= 0) {
+                damage = 1;
+            }
+        }
+        
+        int protection = this.armorProtection[victim];
+        if (protection > 0) {
+            damage = Math.max(1, damage - protection);
+        }
+        
+        int remaining = this.health[victim] - damage;
+        if (remaining <= 0) {
+            this.health[victim] = 0;
+            removeFromAlive(victim);
+        } else {
+            this.health[victim] = remaining;
+        }
+    }
+    
+    /**
+     * Removes a dead combatant from its team's alive list by swapping in the last entry
+     * 
+     * @param index the combatant that died
+     */
+    private void removeFromAlive(int index) {
+        int team = this.team[index];
+        int position = this.alivePosition[index];
+        int last = --this.aliveCount[team];
+        int moved = this.alive[team][last];
+        this.alive[team][position] = moved;
+        this.alivePosition[moved] = position;
+        this.alivePosition[index] = -1;
+    }
+    
+    /**
+     * Doubles the capacity of every array
+     */
+    private void grow() {
+        int capacity = this.health.length * 2;
+        this.health = Arrays.copyOf(this.health, capacity);
+        this.maxHealth = Arrays.copyOf(this.maxHealth, capacity);
+        this.power = Arrays.copyOf(this.power, capacity);
+        this.weaponDamage = Arrays.copyOf(this.weaponDamage, capacity);
+        this.armorProtection = Arrays.copyOf(this.armorProtection, capacity);
+        this.challenge = Arrays.copyOf(this.challenge, capacity);
+        this.team = Arrays.copyOf(this.team, capacity);
+        this.target = Arrays.copyOf(this.target, capacity);
+        this.names = Arrays.copyOf(this.names, capacity);
+        this.alivePosition = Arrays.copyOf(this.alivePosition, capacity);
+        this.alive[TEAM_HEROES] = Arrays.copyOf(this.alive[TEAM_HEROES], capacity);
+        this.alive[TEAM_MONSTERS] = Arrays.copyOf(this.alive[TEAM_MONSTERS], capacity);
+    }
+    
+    /**
+     * Copies a combatant's health back onto a fighter object
+     * 
+     * Typically used on the same Hero or Monster that was added, once the
+     * battle is over.
+     * 
+     * @param index the combatant index
+     * @param fighter the fighter to update - must not be null
+     */
+    public void writeBack(int index, Fighter fighter) {
+        checkIndex(index);
+        fighter.setHealth(this.health[index]);
+    }
+    
+    /**
+     * Creates a Monster object from a combatant
+     * 
+     * @param index the combatant index
+     * @return a new Monster with the combatant's name, stats and current health
+     */
+    public Monster toMonster(int index) {
+        checkIndex(index);
+        Monster monster = new Monster(this.names[index], this.maxHealth[index], this.power[index],
+                Math.max(1, this.challenge[index]));
+        copyEquipment(index, monster);
+        monster.setHealth(this.health[index]);
+        return monster;
+    }
+    
+    /**
+     * Creates a Hero object from a combatant
+     * 
+     * The arena only keeps equipment values, so any weapon or armor is
+     * recreated as a plain item with those values.
+     * 
+     * @param index the combatant index
+     * @param title the title to give the hero
+     * @return a new Hero with the combatant's name, stats and current health
+     */
+    public Hero toHero(int index, String title) {
+        checkIndex(index);
+        Hero hero = new Hero(this.names[index], title, this.maxHealth[index], this.power[index]);
+        copyEquipment(index, hero);
+        hero.setHealth(this.health[index]);
+        return hero;
+    }
+    
+    /**
+     * Recreates a combatant's weapon and armor on a fighter
+     * 
+     * @param index the combatant index
+     * @param fighter the fighter to equip
+     */
+    private void copyEquipment(int index, Fighter fighter) {
+        if (this.weaponDamage[index] > 0) {
+            fighter.equipWeapon(new Weapon("Arena Weapon", this.weaponDamage[index], 0));
+        }
+        if (this.armorProtection[index] > 0) {
+            fighter.equipArmor(new Armor("Arena Armor", this.armorProtection[index], 0));
+        }
+    }
+    
+    /**
+     * Validates a combatant index
+     * 
+     * @param index the index to check
+     * 
+     * @throws IndexOutOfBoundsException if the index is not a combatant
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("No combatant at index " + index);
+        }
+    }
+    
+    /**
+     * Gets a combatant's current health
+     * 
+     * @param index the combatant index
+     * @return the combatant's health
+     */
+    public int getHealth(int index) {
+        checkIndex(index);
+        return this.health[index];
+    }
+    
+    /**
+     * Checks if a combatant is still alive
+     * 
+     * @param index the combatant index
+     * @return true if the combatant's health is above 0
+     */
+    public boolean isAlive(int index) {
+        checkIndex(index);
+        return this.health[index] > 0;
+    }
+    
+    /**
+     * Gets the number of living members of a team
+     * 
+     * @param team TEAM_HEROES or TEAM_MONSTERS
+     * @return the number of team members still alive
+     */
+    public int getAliveCount(int team) {
+        return this.aliveCount[team];
+    }
+    
+    /**
+     * Gets the number of combatants in the arena, living or dead
+     * 
+     * @return the number of combatants
+     */
+    public int size() {
+        return this.size;
+    }
+    
+    /**
+     * Gets the number of ticks resolved so far
+     * 
+     * @return the tick count
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.random.GameRandom;
+
+/**
+ * FocusTargetSelector Class - The whole team attacks the same enemy
+ * 
+ * Always picks the first entry of the enemy team's alive list. A fighter
+ * that dies is replaced by the last entry of the list, so the team keeps
+ * hitting one enemy until it falls and then moves on together.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see TargetSelector
+ */
+public class FocusTargetSelector implements TargetSelector {
+    
+    @Override
+    public int selectTarget(PartyBattle battle, int attacker, int enemyTeam, GameRandom random) {
+        return battle.getAlive(enemyTeam, 0);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import tales.of.knights.characters.Gambler;
+import tales.of.knights.random.GameRandom;
+
+/**
+ * GamblingAnalyzer Class - Parallel Monte Carlo model of the gambling table
+ * 
+ * Plays huge numbers of gambling sessions under the same rules as
+ * Gambler.gamble(): a fair coin flip, a win pays bet * WIN_MULTIPLIER while the
+ * bet is kept, a loss takes the bet, and every win earns WIN_FAME fame.
+ * A session stops after a fixed number of bets or as soon as the bankroll can
+ * no longer cover the bet.
+ * 
+ * The work is split across a ForkJoinPool. Every task gets its own GameRandom,
+ * split off its parent before forking, so workers never share random state and
+ * a seeded analysis gives the same numbers however the tasks are scheduled.
+ * 
+ * Coin flips are taken 64 at a time from one random long. While a session is
+ * more than 64 losses away from ruin, a whole block of bets is settled with a
+ * single bit count instead of 64 separate rolls.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GamblingReport
+ * @see Gambler
+ */
+public class GamblingAnalyzer {
+    
+    /** Default number of bets a player places in an hour (one every 10 seconds) */
+    public static final int DEFAULT_BETS_PER_HOUR = 360;
+    
+    /** Sessions played by one task before it stops splitting */
+    private static final long SESSIONS_PER_TASK = 1 << 14;
+    
+    /** Gold every session starts with */
+    private final int startingGold;
+    
+    /** Maximum number of bets in one session */
+    private final int betsPerSession;
+    
+    /** Pool the sessions are played on */
+    private final ForkJoinPool pool;
+    
+    /** Seed for the next analysis */
+    private long seed;
+    
+    /**
+     * Creates a new GamblingAnalyzer on the common fork/join pool
+     * 
+     * @param startingGold gold every session starts with - must not be negative
+     * @param betsPerSession maximum number of bets in one session - must be positive
+     * 
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public GamblingAnalyzer(int startingGold, int betsPerSession) {
+        this(startingGold, betsPerSession, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates a new GamblingAnalyzer
+     * 
+     * @param startingGold gold every session starts with - must not be negative
+     * @param betsPerSession maximum number of bets in one session - must be positive
+     * @param pool the pool to play sessions on - must not be null
+     * 
+     * @throws IllegalArgumentException if an argument is out of range or null
+     */
+    public GamblingAnalyzer(int startingGold, int betsPerSession, ForkJoinPool pool) {
+        if (startingGold < 0) {
+            throw new IllegalArgumentException("Starting gold cannot be negative");
+        }
+        if (betsPerSession <= 0) {
+            throw new IllegalArgumentException("Bets per session must be positive");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.startingGold = startingGold;
+        this.betsPerSession = betsPerSession;
+        this.pool = pool;
+        this.seed = System.nanoTime();
+    }
+    
+    /**
+     * Sets the seed used by the following analyses
+     * 
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Plays many sessions with a fixed bet
+     * 
+     * @param bet gold wagered on every bet - must be positive
+     * @param sessions number of sessions to play - must not be negative
+     * @return the aggregated results
+     * 
+     * @throws IllegalArgumentException if bet or sessions is out of range
+     */
+    public GamblingReport analyze(int bet, long sessions) {
+        if (bet <= 0) {
+            throw new IllegalArgumentException("Bet must be positive");
+        }
+        if (sessions < 0) {
+            throw new IllegalArgumentException("Sessions cannot be negative");
+        }
+        return this.pool.invoke(new SessionTask(bet, sessions, new GameRandom(this.seed)));
+    }
+    
+    /**
+     * Plays many sessions for each bet offered at the gambling table
+     * 
+     * @param sessions number of sessions to play per bet - must not be negative
+     * @return one report each for the small, medium and large bet
+     * 
+     * @throws IllegalArgumentException if sessions is negative
+     */
+    public GamblingReport[] analyzeTableBets(long sessions) {
+        return new GamblingReport[] {
+            analyze(Gambler.SMALL_BET, sessions),
+            analyze(Gambler.MEDIUM_BET, sessions),
+            analyze(Gambler.LARGE_BET, sessions)
+        };
+    }
+    
+    /**
+     * Plays one session
+     * 
+     * @param bet gold wagered on every bet
+     * @param random the generator for the coin flips
+     * @param report the report to record the session in
+     */
+    private void playSession(int bet, GameRandom random, GamblingReport report) {
+        long gold = this.startingGold;
+        long winGold = (long) bet * Gambler.WIN_MULTIPLIER;
+        int remaining = this.betsPerSession;
+        long wins = 0;
+        
+        while (remaining > 0 && gold >= bet) {
+            long flips = random.nextLong();
+            int block = Math.min(remaining, Long.SIZE);
+            
+            if (gold >= (long) bet * (block + 1)) {
+                // Cannot go broke within this block - settle it in one step
+                int won = Long.bitCount(block == Long.SIZE ? flips : flips & ((1L << block) - 1));
+                gold += won * winGold - (long) (block - won) * bet;
+                wins += won;
+                remaining -= block;
+            } else {
+                for (int i = 0; i < block && gold >= bet; i++) {
+                    if ((flips & (1L << i)) != 0) {
+                        gold += winGold;
+                        wins++;
+                    } else {
+                        gold -= bet;
+                    }
+                    remaining--;
+                }
+            }
+        }
+        
+        report.record(this.betsPerSession - remaining, wins, gold - this.startingGold, remaining > 0);
+    }
+    
+    /**
+     * SessionTask Class - Plays a range of sessions, splitting it across workers
+     */
+    private final class SessionTask extends RecursiveTask<GamblingReport> {
+        
+        /** Tasks are never serialized, but RecursiveTask is Serializable */
+        private static final long serialVersionUID = 1L;
+        
+        /** Gold wagered on every bet */
+        private final int bet;
+        
+        /** Number of sessions this task plays */
+        private final long sessions;
+        
+        /** This task's own generator */
+        private final transient GameRandom random;
+        
+        /**
+         * Creates a new SessionTask
+         * 
+         * @param bet gold wagered on every bet
+         * @param sessions number of sessions to play
+         * @param random the task's own generator
+         */
+        SessionTask(int bet, long sessions, GameRandom random) {
+            this.bet = bet;
+            this.sessions = sessions;
+            this.random = random;
+        }
+        
+        @Override
+        protected GamblingReport compute() {
+            if (this.sessions <= SESSIONS_PER_TASK) {
+                GamblingReport report = new GamblingReport(this.bet);
+                for (long i = 0; i < this.sessions; i++) {
+                    playSession(this.bet, this.random, report);
+                }
+                return report;
+            }
+            
+            long half = this.sessions / 2;
+            SessionTask left = new SessionTask(this.bet, half, this.random.split());
+            SessionTask right = new SessionTask(this.bet, this.sessions - half, this.random.split());
+            left.fork();
+            GamblingReport report = right.compute();
+            report.merge(left.join());
+            return report;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.characters.Gambler;
+
+/**
+ * GamblingReport Class - Aggregated results of many simulated gambling sessions
+ * 
+ * Every session starts with the same bankroll and places the same bet over and
+ * over until it has placed its quota of bets or can no longer cover the bet
+ * (ruin). The report keeps running sums, so any number of sessions fits in a
+ * handful of fields and reports from different threads can simply be merged.
+ * 
+ * The spread of the session results is tracked with Welford's method (a
+ * running mean and sum of squared deviations) rather than a sum of squares,
+ * which loses all precision once the mean is large next to the spread.
+ * Merged reports are combined with the pairwise update of Chan et al.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see GamblingAnalyzer
+ * @see Gambler
+ */
+public class GamblingReport {
+    
+    /** Gold wagered on every bet */
+    private final int bet;
+    
+    /** Number of sessions recorded */
+    private long sessions;
+    
+    /** Number of bets placed across all sessions */
+    private long bets;
+    
+    /** Number of bets won across all sessions */
+    private long wins;
+    
+    /** Number of sessions that ran out of gold */
+    private long ruined;
+    
+    /** Sum of the net gold change of every session */
+    private long totalNet;
+    
+    /** Running mean of the net gold change of a session */
+    private double meanNet;
+    
+    /** Sum of the squared deviations of every session's net change from the mean */
+    private double netDeviationSquared;
+    
+    /**
+     * Creates a new, empty GamblingReport
+     * 
+     * @param bet the gold wagered on every bet
+     */
+    public GamblingReport(int bet) {
+        this.bet = bet;
+    }
+    
+    /**
+     * Records the result of one session
+     * 
+     * @param bets number of bets the session placed
+     * @param wins number of those bets that were won
+     * @param net the session's net gold change
+     * @param ruin true if the session stopped because it could not cover the bet
+     */
+    public void record(long bets, long wins, long net, boolean ruin) {
+        this.sessions++;
+        this.bets += bets;
+        this.wins += wins;
+        this.totalNet += net;
+        double delta = net - this.meanNet;
+        this.meanNet += delta / this.sessions;
+        this.netDeviationSquared += delta * (net - this.meanNet);
+        if (ruin) {
+            this.ruined++;
+        }
+    }
+    
+    /**
+     * Adds all results of another report to this one
+     * 
+     * @param other the report to merge in - must not be null
+     */
+    public void merge(GamblingReport other) {
+        if (other.sessions == 0) {
+            return;
+        }
+        long combined = this.sessions + other.sessions;
+        double delta = other.meanNet - this.meanNet;
+        this.netDeviationSquared += other.netDeviationSquared
+                + delta * delta * ((double) this.sessions * other.sessions / combined);
+        this.meanNet += delta * other.sessions / combined;
+        
+        this.sessions = combined;
+        this.bets += other.bets;
+        this.wins += other.wins;
+        this.ruined += other.ruined;
+        this.totalNet += other.totalNet;
+    }
+    
+    /**
+     * Gets the gold wagered on every bet
+     * 
+     * @return the bet size
+     */
+    public int getBet() {
+        return this.bet;
+    }
+    
+    /**
+     * Gets the number of sessions recorded
+     * 
+     * @return the number of sessions
+     */
+    public long getSessions() {
+        return this.sessions;
+    }
+    
+    /**
+     * Gets the number of bets placed across all sessions
+     * 
+     * @return the number of bets
+     */
+    public long getBets() {
+        return this.bets;
+    }
+    
+    /**
+     * Gets the fraction of bets that were won
+     * 
+     * @return win rate between 0.0 and 1.0, or 0.0 if no bets were placed
+     */
+    public double getWinRate() {
+        return this.bets > 0 ? (double) this.wins / this.bets : 0.0;
+    }
+    
+    /**
+     * Gets the average gold gained per bet
+     * 
+     * @return the expected value of one bet, or 0.0 if no bets were placed
+     */
+    public double getExpectedValuePerBet() {
+        return this.bets > 0 ? (double) this.totalNet / this.bets : 0.0;
+    }
+    
+    /**
+     * Gets the average gold gained per session
+     * 
+     * @return the expected net change of one session, or 0.0 if none were recorded
+     */
+    public double getExpectedValuePerSession() {
+        return this.sessions > 0 ? (double) this.totalNet / this.sessions : 0.0;
+    }
+    
+    /**
+     * Gets the variance of the net gold change of a session
+     * 
+     * @return the variance, or 0.0 if fewer than two sessions were recorded
+     */
+    public double getSessionVariance() {
+        if (this.sessions < 2) {
+            return 0.0;
+        }
+        return this.netDeviationSquared / (this.sessions - 1);
+    }
+    
+    /**
+     * Gets the fraction of sessions that ran out of gold
+     * 
+     * @return ruin probability between 0.0 and 1.0, or 0.0 if no sessions were recorded
+     */
+    public double getRuinProbability() {
+        return this.sessions > 0 ? (double) this.ruined / this.sessions : 0.0;
+    }
+    
+    /**
+     * Gets the fame a player earns per hour at the table
+     * 
+     * @param betsPerHour how many bets a player places in an hour
+     * @return the average fame gained per hour
+     */
+    public double getFamePerHour(int betsPerHour) {
+        return getWinRate() * Gambler.WIN_FAME * betsPerHour;
+    }
+    
+    /**
+     * Displays the report
+     * 
+     * Shows the bet size, expected value, variance, ruin probability and fame per hour.
+     * 
+     * @param betsPerHour how many bets a player places in an hour
+     */
+    public void display(int betsPerHour) {
+        System.out.println("\n========== GAMBLING REPORT ==========");
+        System.out.println("Bet: " + this.bet + " gold");
+        System.out.println("Sessions: " + this.sessions + " (" + this.bets + " bets)");
+        System.out.printf("Win rate: %.4f%%%n", getWinRate() * 100);
+        System.out.printf("Expected value per bet: %.4f gold%n", getExpectedValuePerBet());
+        System.out.printf("Expected value per session: %.2f gold%n", getExpectedValuePerSession());
+        System.out.printf("Session variance: %.2f (std dev %.2f)%n", getSessionVariance(), Math.sqrt(getSessionVariance()));
+        System.out.printf("Ruin probability: %.4f%%%n", getRuinProbability() * 100);
+        System.out.printf("Fame per hour: %.2f (%d bets/hour)%n", getFamePerHour(betsPerHour), betsPerHour);
+        System.out.println("=====================================\n");
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.characters.Hero;
+import tales.of.knights.characters.Monster;
+import tales.of.knights.items.HealingItem;
+import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCategory;
+
+/**
+ * HealingPolicy Class - Attacks, but drinks a potion when health runs low
+ * 
+ * The hero attacks every turn unless their health drops below a threshold
+ * (a percentage of maximum health) and a HealingItem is in the inventory.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see BattlePolicy
+ * @see HealingItem
+ */
+public class HealingPolicy implements BattlePolicy {
+    
+    /** Health percentage (0-100) below which the hero heals */
+    private final int thresholdPercent;
+    
+    /**
+     * Creates a new HealingPolicy
+     * 
+     * @param thresholdPercent health percentage (0-100) below which the hero heals
+     * 
+     * @throws IllegalArgumentException if thresholdPercent is outside 0-100
+     */
+    public HealingPolicy(int thresholdPercent) {
+        if (thresholdPercent < 0 || thresholdPercent > 100) {
+            throw new IllegalArgumentException("Threshold must be between 0 and 100");
+        }
+        this.thresholdPercent = thresholdPercent;
+    }
+    
+    /**
+     * Heals when below the threshold and a potion is available, otherwise attacks
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @param turn the current turn number
+     * @return USE_ITEM or ATTACK
+     */
+    @Override
+    public BattleAction chooseAction(Hero hero, Monster enemy, int turn) {
+        if (hero.getHealth() * 100L < (long) hero.getMaxHealth() * this.thresholdPercent
+                && findHealingItem(hero.getItemBag()) >= 0) {
+            return BattleAction.USE_ITEM;
+        }
+        return BattleAction.ATTACK;
+    }
+    
+    /**
+     * Picks the first healing item in the inventory
+     * 
+     * @param hero the hero controlled by this policy
+     * @param enemy the monster the hero is fighting
+     * @return index of the first HealingItem, or 0 if there is none
+     */
+    @Override
+    public int chooseItem(Hero hero, Monster enemy) {
+        int index = findHealingItem(hero.getItemBag());
+        return index >= 0 ? index : 0;
+    }
+    
+    /**
+     * Finds the first healing item in a bag
+     * 
+     * @param bag the inventory to search
+     * @return the index of the first HealingItem, or -1 if there is none
+     */
+    private int findHealingItem(ItemBag bag) {
+        return bag.findFirst(ItemCategory.HEALING);
+    }
+}
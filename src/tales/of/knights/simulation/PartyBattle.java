@@ -0,0 +1,518 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import java.util.Arrays;
+import tales.of.knights.effects.EffectContext;
+import tales.of.knights.effects.EffectWheel;
+import tales.of.knights.interfaces.Aggression;
+import tales.of.knights.io.GameOutput;
+import tales.of.knights.io.NullOutput;
+import tales.of.knights.io.OutputContext;
+import tales.of.knights.random.GameRandom;
+import tales.of.knights.random.RandomContext;
+
+/**
+ * PartyBattle Class - A party of heroes against a party of monsters
+ * 
+ * Unlike CombatArena, the fighters stay real objects: any Aggression can
+ * join, and every action is an attack() on the actor and a takeDamage() on
+ * its target, so weapons, armor and monster rolls behave exactly as in the
+ * one-on-one battle.
+ * 
+ * Turn order comes from initiative. Each fighter has a speed and acts once
+ * every TURN_LENGTH / speed time units, so a fighter with speed 20 acts twice
+ * as often as one with speed 10. The next actor is the top of a binary heap
+ * of fighter indices ordered by their next action time (ties go to the lower
+ * index). The heap is indexed - every fighter knows its heap position - so a
+ * fighter that dies is removed in O(log n) instead of lingering in the queue.
+ * 
+ * Targets are picked by a pluggable TargetSelector from per-team lists of the
+ * living fighters. Choosing a target and removing the dead are O(1), so an
+ * action costs O(log n) no matter how large the raid.
+ * 
+ * Everything lives in arrays that only grow when fighters are added; fighting
+ * allocates nothing. While fighting, the battle binds its own output and
+ * GameRandom, so monster rolls replay identically for the same seed.
+ * 
+ * Status effects run on the battle's own EffectWheel, bound while fighting.
+ * One effect turn is one action interval of a DEFAULT_SPEED fighter; the
+ * wheel is advanced to the time of every action before it is resolved.
+ * 
+ * Not thread safe - use one battle per thread.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see TargetSelector
+ * @see CombatArena
+ * @see Aggression
+ */
+public class PartyBattle {
+    
+    /** Team index of the heroes */
+    public static final int TEAM_HEROES = 0;
+    
+    /** Team index of the monsters */
+    public static final int TEAM_MONSTERS = 1;
+    
+    /** Returned by fight when neither team was wiped out */
+    public static final int UNDECIDED = -1;
+    
+    /** Speed of fighters added without one */
+    public static final int DEFAULT_SPEED = 10;
+    
+    /** Time units a fighter with speed 1 waits between actions */
+    public static final int TURN_LENGTH = 1_000_000;
+    
+    /** Time units in one turn of the status effect clock */
+    private static final int EFFECT_TURN = TURN_LENGTH / DEFAULT_SPEED;
+    
+    /** Default starting capacity */
+    private static final int DEFAULT_CAPACITY = 16;
+    
+    /** The fighters, by index */
+    private Aggression[] fighters;
+    
+    /** Team of each fighter */
+    private byte[] team;
+    
+    /** Time units between two actions of each fighter */
+    private int[] interval;
+    
+    /** Time of each fighter's next action */
+    private long[] nextAction;
+    
+    /** Binary min-heap of fighter indices, ordered by next action time */
+    private int[] heap;
+    
+    /** Position of each fighter in heap, or -1 if it no longer acts */
+    private int[] heapPosition;
+    
+    /** Number of fighters in heap */
+    private int heapSize;
+    
+    /** Living members of each team, packed at the front of the array */
+    private final int[][] alive;
+    
+    /** Number of living members of each team */
+    private final int[] aliveCount;
+    
+    /** Position of each fighter in its team's alive list, or -1 if dead */
+    private int[] alivePosition;
+    
+    /** Number of fighters in the battle */
+    private int size;
+    
+    /** Number of actions resolved so far */
+    private long actions;
+    
+    /** Picks the target of every attack */
+    private TargetSelector selector;
+    
+    /** Generator bound while fighting, for monster rolls and targeting */
+    private final GameRandom random;
+    
+    /** Output the combat messages are sent to while fighting */
+    private GameOutput output;
+    
+    /** Turn clock of the status effects on the fighters */
+    private final EffectWheel effects = new EffectWheel();
+    
+    /**
+     * Creates a new, empty PartyBattle with a random seed
+     */
+    public PartyBattle() {
+        this(new GameRandom());
+    }
+    
+    /**
+     * Creates a new, empty PartyBattle that replays identically for the same seed
+     * 
+     * @param seed the seed for all random rolls in this battle
+     */
+    public PartyBattle(long seed) {
+        this(new GameRandom(seed));
+    }
+    
+    /**
+     * Creates a new, empty PartyBattle
+     * 
+     * @param random the generator for all random rolls in this battle - must not be null
+     * 
+     * @throws IllegalArgumentException if random is null
+     */
+    public PartyBattle(GameRandom random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random cannot be null");
+        }
+        this.random = random;
+        this.selector = new RandomTargetSelector();
+        this.output = NullOutput.INSTANCE;
+        this.fighters = new Aggression[DEFAULT_CAPACITY];
+        this.team = new byte[DEFAULT_CAPACITY];
+        this.interval = new int[DEFAULT_CAPACITY];
+        this.nextAction = new long[DEFAULT_CAPACITY];
+        this.heap = new int[DEFAULT_CAPACITY];
+        this.heapPosition = new int[DEFAULT_CAPACITY];
+        this.alivePosition = new int[DEFAULT_CAPACITY];
+        this.alive = new int[][] {new int[DEFAULT_CAPACITY], new int[DEFAULT_CAPACITY]};
+        this.aliveCount = new int[2];
+    }
+    
+    /**
+     * Adds a fighter with the default speed
+     * 
+     * @param team TEAM_HEROES or TEAM_MONSTERS
+     * @param fighter the fighter - must not be null
+     * @return the index of the new fighter
+     * 
+     * @throws IllegalArgumentException if team or fighter is invalid
+     */
+    public int add(int team, Aggression fighter) {
+        return add(team, fighter, DEFAULT_SPEED);
+    }
+    
+    /**
+     * Adds a fighter
+     * 
+     * The fighter's first action comes one interval after the battle starts,
+     * so faster fighters open the battle. A fighter that is already dead is
+     * kept but never acts or gets targeted.
+     * 
+     * @param team TEAM_HEROES or TEAM_MONSTERS
+     * @param fighter the fighter - must not be null
+     * @param speed how often the fighter acts - between 1 and TURN_LENGTH
+     * @return the index of the new fighter
+     * 
+     * @throws IllegalArgumentException if any value is invalid
+     */
+    public int add(int team, Aggression fighter, int speed) {
+        if (team != TEAM_HEROES && team != TEAM_MONSTERS) {
+            throw new IllegalArgumentException("Unknown team: " + team);
+        }
+        if (fighter == null) {
+            throw new IllegalArgumentException("Fighter cannot be null");
+        }
+        if (speed < 1 || speed > TURN_LENGTH) {
+            throw new IllegalArgumentException("Speed must be between 1 and " + TURN_LENGTH);
+        }
+        
+        if (this.size == this.fighters.length) {
+            grow();
+        }
+        
+        int index = this.size++;
+        this.fighters[index] = fighter;
+        this.team[index] = (byte) team;
+        this.interval[index] = TURN_LENGTH / speed;
+        this.nextAction[index] = this.interval[index];
+        this.heapPosition[index] = -1;
+        this.alivePosition[index] = -1;
+        
+        if (fighter.isAlive()) {
+            int position = this.aliveCount[team]++;
+            this.alive[team][position] = index;
+            this.alivePosition[index] = position;
+            
+            this.heap[this.heapSize] = index;
+            this.heapPosition[index] = this.heapSize;
+            siftUp(this.heapSize++);
+        }
+        return index;
+    }
+    
+    /**
+     * Fights until one team is wiped out or the action limit is reached
+     * 
+     * Every action, the fighter with the earliest next action attacks the
+     * target its TargetSelector picks. Fighters that die leave the turn order
+     * and the alive lists at once. The battle can be continued by calling
+     * fight again.
+     * 
+     * @param maxActions the maximum number of actions to resolve
+     * @return the winning team, or UNDECIDED if both teams still stand
+     */
+    public int fight(long maxActions) {
+        GameOutput previousOutput = OutputContext.bind(this.output);
+        GameRandom previousRandom = RandomContext.bind(this.random);
+        EffectWheel previousEffects = EffectContext.bind(this.effects);
+        try {
+            for (long a = 0; a < maxActions && !isDecided(); a++) {
+                act();
+            }
+            return getWinner();
+        } finally {
+            OutputContext.bind(previousOutput);
+            RandomContext.bind(previousRandom);
+            EffectContext.bind(previousEffects);
+        }
+    }
+    
+    /**
+     * Resolves the action of the fighter at the top of the turn order
+     */
+    private void act() {
+        int actor = this.heap[0];
+        long turn = (this.nextAction[actor] - 1) / EFFECT_TURN;
+        while (this.effects.getTurn() < turn) {
+            this.effects.advance();
+        }
+        if (!this.fighters[actor].isAlive()) {
+            // Hurt outside the battle since it last acted
+            kill(actor);
+            return;
+        }
+        
+        int victim = this.selector.selectTarget(this, actor, this.team[actor] ^ 1, this.random);
+        Aggression target = this.fighters[victim];
+        target.takeDamage(this.fighters[actor].attack());
+        if (!target.isAlive()) {
+            kill(victim);
+        }
+        
+        this.nextAction[actor] += this.interval[actor];
+        siftDown(this.heapPosition[actor]);
+        this.actions++;
+    }
+    
+    /**
+     * Removes a dead fighter from the turn order and its team's alive list
+     * 
+     * @param index the fighter that died
+     */
+    private void kill(int index) {
+        int heapIndex = this.heapPosition[index];
+        if (heapIndex >= 0) {
+            int last = this.heap[--this.heapSize];
+            this.heapPosition[index] = -1;
+            if (heapIndex < this.heapSize) {
+                this.heap[heapIndex] = last;
+                this.heapPosition[last] = heapIndex;
+                siftDown(heapIndex);
+                siftUp(this.heapPosition[last]);
+            }
+        }
+        
+        int position = this.alivePosition[index];
+        if (position >= 0) {
+            int team = this.team[index];
+            int last = --this.aliveCount[team];
+            int moved = this.alive[team][last];
+            this.alive[team][position] = moved;
+            this.alivePosition[moved] = position;
+            this.alivePosition[index] = -1;
+        }
+    }
+    
+    /**
+     * Checks if fighter a acts before fighter b
+     * 
+     * @param a a fighter index
+     * @param b another fighter index
+     * @return true if a's next action is earlier, or at the same time with a lower index
+     */
+    private boolean before(int a, int b) {
+        long timeA = this.nextAction[a];
+        long timeB = this.nextAction[b];
+        return timeA < timeB || (timeA == timeB && a < b);
+    }
+    
+    /**
+     * Moves a heap entry up until its parent acts before it
+     * 
+     * @param position the entry's position in heap
+     */
+    private void siftUp(int position) {
+        int index = this.heap[position];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = this.heap[parentPosition];
+            if (!before(index, parent)) {
+                break;
+            }
+            this.heap[position] = parent;
+            this.heapPosition[parent] = position;
+            position = parentPosition;
+        }
+        this.heap[position] = index;
+        this.heapPosition[index] = position;
+    }
+    
+    /**
+     * Moves a heap entry down until it acts before both children
+     * 
+     * @param position the entry's position in heap
+     */
+    private void siftDown(int position) {
+        int index = this.heap[position];
+        int half = this.heapSize >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = this.heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < this.heapSize && before(this.heap[rightPosition], child)) {
+                childPosition = rightPosition;
+                child = this.heap[rightPosition];
+            }
+            if (!before(child, index)) {
+                break;
+            }
+            this.heap[position] = child;
+            this.heapPosition[child] = position;
+            position = childPosition;
+        }
+        this.heap[position] = index;
+        this.heapPosition[index] = position;
+    }
+    
+    /**
+     * Doubles the capacity of every array
+     */
+    private void grow() {
+        int capacity = this.fighters.length * 2;
+        this.fighters = Arrays.copyOf(this.fighters, capacity);
+        this.team = Arrays.copyOf(this.team, capacity);
+        this.interval = Arrays.copyOf(this.interval, capacity);
+        this.nextAction = Arrays.copyOf(this.nextAction, capacity);
+        this.heap = Arrays.copyOf(this.heap, capacity);
+        this.heapPosition = Arrays.copyOf(this.heapPosition, capacity);
+        this.alivePosition = Arrays.copyOf(this.alivePosition, capacity);
+        this.alive[TEAM_HEROES] = Arrays.copyOf(this.alive[TEAM_HEROES], capacity);
+        this.alive[TEAM_MONSTERS] = Arrays.copyOf(this.alive[TEAM_MONSTERS], capacity);
+    }
+    
+    /**
+     * Checks if one team has been wiped out
+     * 
+     * @return true if either team has no living members
+     */
+    public boolean isDecided() {
+        return this.aliveCount[TEAM_HEROES] == 0 || this.aliveCount[TEAM_MONSTERS] == 0;
+    }
+    
+    /**
+     * Gets the team that won
+     * 
+     * @return the winning team, or UNDECIDED if both teams still stand
+     */
+    public int getWinner() {
+        if (this.aliveCount[TEAM_HEROES] == 0) {
+            return TEAM_MONSTERS;
+        }
+        return this.aliveCount[TEAM_MONSTERS] == 0 ? TEAM_HEROES : UNDECIDED;
+    }
+    
+    /**
+     * Gets a fighter
+     * 
+     * @param index the fighter index
+     * @return the fighter
+     */
+    public Aggression getFighter(int index) {
+        checkIndex(index);
+        return this.fighters[index];
+    }
+    
+    /**
+     * Gets a fighter's team
+     * 
+     * @param index the fighter index
+     * @return TEAM_HEROES or TEAM_MONSTERS
+     */
+    public int getTeam(int index) {
+        checkIndex(index);
+        return this.team[index];
+    }
+    
+    /**
+     * Gets the number of living members of a team
+     * 
+     * @param team TEAM_HEROES or TEAM_MONSTERS
+     * @return the number of team members still alive
+     */
+    public int getAliveCount(int team) {
+        return this.aliveCount[team];
+    }
+    
+    /**
+     * Gets a living member of a team
+     * 
+     * The order of the alive list changes as fighters die.
+     * 
+     * @param team TEAM_HEROES or TEAM_MONSTERS
+     * @param position position in the team's alive list, below getAliveCount(team)
+     * @return the fighter index
+     * 
+     * @throws IndexOutOfBoundsException if position is out of range
+     */
+    public int getAlive(int team, int position) {
+        if (position < 0 || position >= this.aliveCount[team]) {
+            throw new IndexOutOfBoundsException("Alive position " + position + " out of range");
+        }
+        return this.alive[team][position];
+    }
+    
+    /**
+     * Sets how targets are picked
+     * 
+     * @param selector the selector to use, or null for a RandomTargetSelector
+     */
+    public void setTargetSelector(TargetSelector selector) {
+        this.selector = selector != null ? selector : new RandomTargetSelector();
+    }
+    
+    /**
+     * Sets the output combat messages are sent to
+     * 
+     * @param output the output to use, or null to fight silently again
+     */
+    public void setOutput(GameOutput output) {
+        this.output = output != null ? output : NullOutput.INSTANCE;
+    }
+    
+    /**
+     * Gets the number of fighters in the battle, living or dead
+     * 
+     * @return the number of fighters
+     */
+    public int size() {
+        return this.size;
+    }
+    
+    /**
+     * Gets the number of actions resolved so far
+     * 
+     * @return the action count
+     */
+    public long getActions() {
+        return this.actions;
+    }
+    
+    /**
+     * Gets the turn clock of the fighters' status effects
+     * 
+     * Effects meant to run in this battle must be applied on this wheel,
+     * either directly or with Character.applyEffect() while fighting.
+     * 
+     * @return the battle's EffectWheel
+     */
+    public EffectWheel getEffectWheel() {
+        return this.effects;
+    }
+    
+    /**
+     * Checks that a fighter index exists
+     * 
+     * @param index the index to check
+     * 
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Fighter " + index + " out of range");
+        }
+    }
+}
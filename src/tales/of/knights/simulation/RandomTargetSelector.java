@@ -0,0 +1,26 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.random.GameRandom;
+
+/**
+ * RandomTargetSelector Class - Attacks a random living enemy
+ * 
+ * Every attack picks a new target, so damage spreads over the whole enemy
+ * team. The default selector of PartyBattle.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see TargetSelector
+ */
+public class RandomTargetSelector implements TargetSelector {
+    
+    @Override
+    public int selectTarget(PartyBattle battle, int attacker, int enemyTeam, GameRandom random) {
+        return battle.getAlive(enemyTeam, random.nextInt(battle.getAliveCount(enemyTeam)));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+/**
+ * RunReport Class - Aggregated results of many simulated dungeon runs
+ * 
+ * For every chamber the report counts how many runs reached it and how many
+ * of those won it, so the win rate of a chamber is measured only over the
+ * heroes who actually got there. Reports from different threads can simply be
+ * merged.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see RunSimulator
+ */
+public class RunReport {
+    
+    /** Number of runs that reached each chamber, indexed from 0 */
+    private final long[] reached;
+    
+    /** Number of runs that won each chamber, indexed from 0 */
+    private final long[] won;
+    
+    /**
+     * Creates a new, empty RunReport
+     * 
+     * @param chambers number of chambers in a run - must be positive
+     * 
+     * @throws IllegalArgumentException if chambers is not positive
+     */
+    public RunReport(int chambers) {
+        if (chambers <= 0) {
+            throw new IllegalArgumentException("Chambers must be positive");
+        }
+        this.reached = new long[chambers];
+        this.won = new long[chambers];
+    }
+    
+    /**
+     * Records the result of one run
+     * 
+     * @param chambersWon how many chambers the run won before it ended
+     */
+    public void record(int chambersWon) {
+        for (int i = 0; i < chambersWon; i++) {
+            this.reached[i]++;
+            this.won[i]++;
+        }
+        if (chambersWon < this.reached.length) {
+            this.reached[chambersWon]++;
+        }
+    }
+    
+    /**
+     * Adds all results of another report to this one
+     * 
+     * @param other the report to merge in - must not be null and must have as many chambers
+     * 
+     * @throws IllegalArgumentException if the reports have different chamber counts
+     */
+    public void merge(RunReport other) {
+        if (other.reached.length != this.reached.length) {
+            throw new IllegalArgumentException("Reports cover different chamber counts");
+        }
+        for (int i = 0; i < this.reached.length; i++) {
+            this.reached[i] += other.reached[i];
+            this.won[i] += other.won[i];
+        }
+    }
+    
+    /**
+     * Gets the number of chambers in a run
+     * 
+     * @return the chamber count
+     */
+    public int getChambers() {
+        return this.reached.length;
+    }
+    
+    /**
+     * Gets the number of runs recorded
+     * 
+     * @return the number of runs
+     */
+    public long getRuns() {
+        return this.reached[0];
+    }
+    
+    /**
+     * Gets the number of runs that reached a chamber
+     * 
+     * @param chamber the chamber, starting at 1
+     * @return how many runs got to fight in it
+     */
+    public long getReached(int chamber) {
+        return this.reached[chamber - 1];
+    }
+    
+    /**
+     * Gets the fraction of heroes who won a chamber after reaching it
+     * 
+     * @param chamber the chamber, starting at 1
+     * @return win rate between 0.0 and 1.0, or 1.0 if no run reached the chamber
+     */
+    public double getWinRate(int chamber) {
+        long reached = this.reached[chamber - 1];
+        return reached > 0 ? (double) this.won[chamber - 1] / reached : 1.0;
+    }
+    
+    /**
+     * Gets the fraction of runs that won every chamber
+     * 
+     * @return clear rate between 0.0 and 1.0, or 0.0 if no runs were recorded
+     */
+    public double getClearRate() {
+        long runs = getRuns();
+        return runs > 0 ? (double) this.won[this.won.length - 1] / runs : 0.0;
+    }
+    
+    /**
+     * Summarises the win rate of every chamber on one line
+     * 
+     * @return e.g. "99.8% 97.1% 90.4% 81.0% 64.2%"
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int chamber = 1; chamber <= this.reached.length; chamber++) {
+            if (chamber > 1) {
+                text.append(' ');
+            }
+            text.append(String.format("%.1f%%", getWinRate(chamber) * 100));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.characters.MonsterScaling;
+import tales.of.knights.items.DamageItem;
+import tales.of.knights.items.ItemBag;
+import tales.of.knights.items.ItemCatalog;
+import tales.of.knights.random.GameRandom;
+
+/**
+ * RunSimulator Class - Headless model of a whole trip through the dungeon
+ * 
+ * Plays a new hero through the five chambers, and optionally on through a
+ * New Game+ pass of five more. Players differ, so every run first draws a
+ * player: how many potions they like to carry (0 to MAX_POTIONS), how often
+ * they rest at the inn between chambers (0 to MAX_RESTS times), and whether
+ * they buy bombs at all (three players in four do). Then, before each chamber:
+ * - The hero rests, each rest healing REST_HEAL as in Hero.rest()
+ * - The hero shops: tops up to their potion count and, if they buy bombs,
+ *   spends the rest of the gold on them, as far as the bag allows
+ * - In battle, a bomb is used whenever no boost is running and the power it
+ *   adds for the next BOOST_TURNS - 1 attacks wins the fight in fewer turns,
+ *   the bomb's own turn included; a potion is drunk when the next hit could
+ *   be fatal; otherwise the hero attacks
+ * - A won chamber pays the monster's gold; losing ends the run
+ * 
+ * Weapons and armor are never bought: the game has no way to equip bought
+ * gear, so in a real game they only take up bag space.
+ * 
+ * Monster stats and rewards come from the MonsterScaling being evaluated,
+ * and the turn rules match BattleSimulator. The hero is kept in a few local
+ * ints instead of objects, so a full run costs about a microsecond and
+ * allocates nothing.
+ * 
+ * Not thread safe - use one simulator per thread.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see RunReport
+ * @see AutoBalancer
+ */
+public class RunSimulator {
+    
+    /** Number of chambers in the dungeon */
+    public static final int CHAMBERS = 5;
+    
+    /** Most health potions a player keeps in the bag */
+    public static final int MAX_POTIONS = 3;
+    
+    /** Most times a player rests at the inn between chambers */
+    public static final int MAX_RESTS = 2;
+    
+    /** Health one rest at the inn restores, as in Hero.rest() */
+    private static final int REST_HEAL = 50;
+    
+    /** Health of a new hero, as in TalesofKnights */
+    private static final int START_HEALTH = 100;
+    
+    /** Power of a new hero */
+    private static final int START_POWER = 15;
+    
+    /** Gold of a new hero, as in Character */
+    private static final int START_GOLD = 100;
+    
+    /** Bombs the hero carries at most - one stack, as in ItemBag */
+    private static final int MAX_BOMBS = ItemBag.MAX_STACK;
+    
+    /** Turns a bomb's boost lasts, its own turn included, as in DamageItem */
+    private static final int BOOST_TURNS = DamageItem.BOOST_TURNS;
+    
+    /** Number of chambers in a run - CHAMBERS, or twice that with New Game+ */
+    private final int chambers;
+    
+    /** Maximum number of turns per battle */
+    private final int maxTurns;
+    
+    /** Price of a health potion */
+    private final int potionPrice;
+    
+    /** Health a potion restores */
+    private final int potionHeal;
+    
+    /** Price of an explosive bomb */
+    private final int bombPrice;
+    
+    /** Power a bomb adds */
+    private final int bombPower;
+    
+    /**
+     * Creates a new RunSimulator
+     * 
+     * @param newGamePlus true to follow the five chambers with a New Game+ pass
+     */
+    public RunSimulator(boolean newGamePlus) {
+        this.chambers = newGamePlus ? CHAMBERS * 2 : CHAMBERS;
+        this.maxTurns = BattleSimulator.DEFAULT_MAX_TURNS;
+        this.potionPrice = ItemCatalog.HEALTH_POTION.getValue();
+        this.potionHeal = ItemCatalog.HEALTH_POTION.getHealAmount();
+        this.bombPrice = ItemCatalog.EXPLOSIVE_BOMB.getValue();
+        this.bombPower = ItemCatalog.EXPLOSIVE_BOMB.getPower();
+    }
+    
+    /**
+     * Plays one run
+     * 
+     * @param scaling the monster curve - must not be null
+     * @param random the generator for monster rolls - must not be null
+     * @return how many chambers the hero won before the run ended
+     */
+    public int play(MonsterScaling scaling, GameRandom random) {
+        int potionReserve = random.nextInt(MAX_POTIONS + 1);
+        int rests = random.nextInt(MAX_RESTS + 1);
+        boolean buysBombs = random.nextInt(4) != 0;
+        
+        int health = START_HEALTH;
+        int power = START_POWER;
+        long gold = START_GOLD;
+        int potions = 0;
+        int bombs = 0;
+        
+        for (int chamber = 0; chamber < this.chambers; chamber++) {
+            int level = chamber % CHAMBERS + 1;
+            health = Math.min(health + rests * REST_HEAL, START_HEALTH);
+            
+            while (potions < potionReserve && gold >= this.potionPrice) {
+                potions++;
+                gold -= this.potionPrice;
+            }
+            while (buysBombs && bombs < MAX_BOMBS && gold >= this.bombPrice) {
+                bombs++;
+                gold -= this.bombPrice;
+            }
+            
+            int enemyHealth = scaling.getHealth(level);
+            int enemyPower = scaling.getPower(level);
+            if (chamber >= CHAMBERS) {
+                enemyHealth = scaling.newGamePlusHealth(enemyHealth);
+                enemyPower = scaling.newGamePlusPower(enemyPower);
+            }
+            int minHit = Math.max(1, enemyPower - 3);
+            int maxHit = (int) Math.min(enemyPower + 3L, Integer.MAX_VALUE - 1);
+            
+            int boostLeft = 0;
+            for (int turn = 0; turn < this.maxTurns && health > 0 && enemyHealth > 0; turn++) {
+                long attack = boostLeft > 0 ? power + (long) this.bombPower : power;
+                if (bombs > 0 && boostLeft == 0 && hitsToKill(enemyHealth, power) > boostedHitsToKill(enemyHealth, power) + 1) {
+                    bombs--;
+                    boostLeft = BOOST_TURNS;
+                } else if (potions > 0 && health <= maxHit && enemyHealth > attack && health < START_HEALTH) {
+                    potions--;
+                    health = Math.min(health + this.potionHeal, START_HEALTH);
+                } else {
+                    enemyHealth -= (int) Math.min(attack, Integer.MAX_VALUE);
+                }
+                if (enemyHealth > 0) {
+                    health -= random.nextIntBetween(minHit, maxHit);
+                }
+                if (boostLeft > 0) {
+                    boostLeft--;
+                }
+            }
+            
+            if (enemyHealth > 0) {
+                return chamber;
+            }
+            gold += scaling.getGold(level);
+        }
+        return this.chambers;
+    }
+    
+    /**
+     * Counts the attacks needed to kill a monster
+     * 
+     * @param health the monster's health
+     * @param power the hero's power
+     * @return health / power, rounded up
+     */
+    private static long hitsToKill(int health, long power) {
+        return (health + power - 1) / power;
+    }
+    
+    /**
+     * Counts the attacks needed to kill a monster right after using a bomb
+     * 
+     * @param health the monster's health
+     * @param power the hero's power without the boost
+     * @return attacks needed when the next BOOST_TURNS - 1 are boosted
+     */
+    private long boostedHitsToKill(int health, int power) {
+        long boosted = power + (long) this.bombPower;
+        long boostedHits = BOOST_TURNS - 1;
+        if (health <= boostedHits * boosted) {
+            return hitsToKill(health, boosted);
+        }
+        return boostedHits + hitsToKill((int) (health - boostedHits * boosted), power);
+    }
+    
+    /**
+     * Plays many independent runs and summarises the results
+     * 
+     * @param scaling the monster curve - must not be null
+     * @param random the generator for monster rolls - must not be null
+     * @param runs number of runs to play - must not be negative
+     * @return a report with the win rate of every chamber
+     * 
+     * @throws IllegalArgumentException if an argument is null or runs is negative
+     */
+    public RunReport run(MonsterScaling scaling, GameRandom random, int runs) {
+        if (scaling == null || random == null) {
+            throw new IllegalArgumentException("Scaling and random cannot be null");
+        }
+        if (runs < 0) {
+            throw new IllegalArgumentException("Runs cannot be negative");
+        }
+        RunReport report = new RunReport(this.chambers);
+        for (int i = 0; i < runs; i++) {
+            report.record(play(scaling, random));
+        }
+        return report;
+    }
+    
+    /**
+     * Gets the number of chambers in a run
+     * 
+     * @return CHAMBERS, or twice that with New Game+
+     */
+    public int getChambers() {
+        return this.chambers;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package tales.of.knights.simulation;
+
+import tales.of.knights.random.GameRandom;
+
+/**
+ * TargetSelector Interface - Decides whom a fighter attacks in a party battle
+ * 
+ * A selector picks one living member of the enemy team. PartyBattle keeps a
+ * dense list of each team's living members (getAliveCount and getAlive), so
+ * a selector should pick from that list in constant time rather than scan
+ * every fighter - a scan per action makes a large raid quadratic.
+ * 
+ * Selectors are called in a tight loop and must not block or allocate.
+ * 
+ * @author cobbina
+ * @version 1.0
+ * 
+ * @see PartyBattle
+ * @see RandomTargetSelector
+ * @see FocusTargetSelector
+ */
+public interface TargetSelector {
+    
+    /**
+     * Chooses the target of an attack
+     * 
+     * Only called while the enemy team has at least one living member.
+     * 
+     * @param battle the battle being fought
+     * @param attacker index of the fighter about to attack
+     * @param enemyTeam the team the target must come from
+     * @param random the battle's generator, for selectors that roll
+     * @return the index of a living fighter of enemyTeam
+     */
+    int selectTarget(PartyBattle battle, int attacker, int enemyTeam, GameRandom random);
+}